@@ -49,6 +49,9 @@ public class SecurityConfig {
                 .requestMatchers("/css/**", "/js/**", "/images/**", "/image/**", "/favicon.*", "/manifest.json", "/robots.txt", "/sitemap.xml", "/ads.txt", "/og-image.svg", "/og-image.png", "/1dfcb4404e1d4f6fae3423fd163f97b8.txt").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
 
+                // Actuator — management 포트(127.0.0.1 바인딩)에서만 열리므로 로컬 스크레이프용으로 허용
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+
                 // 러너 공개 경로
                 .requestMatchers("/runners").permitAll()
                 .requestMatchers("/runners/announce").permitAll()
@@ -0,0 +1,64 @@
+package me.singingsandhill.calendar.stock.application.backtest;
+
+import me.singingsandhill.calendar.stock.domain.candle.CandleInterval;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 백테스트 캔들 CSV fixture 로더. stock_candles 컬럼 순서와 같다:
+ * <pre>
+ * stock_code,candle_date_time,interval,open,high,low,close,volume,trade_value
+ * 005930,2026-03-02T09:00:00,MINUTE_1,71000,71200,70900,71100,120000,8532000000
+ * </pre>
+ * 헤더 행과 '#' 주석 행은 건너뛴다. trade_value 는 비워둘 수 있다.
+ */
+public final class BacktestCandleCsv {
+
+    private BacktestCandleCsv() {
+    }
+
+    public static List<StockCandle> read(Reader reader) throws IOException {
+        List<StockCandle> candles = new ArrayList<>();
+        BufferedReader in = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        String line;
+        int lineNo = 0;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#") || line.startsWith("stock_code")) {
+                continue;
+            }
+            try {
+                candles.add(parse(line));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid candle CSV line " + lineNo + ": " + line, e);
+            }
+        }
+        return candles;
+    }
+
+    private static StockCandle parse(String line) {
+        String[] f = line.split(",", -1);
+        if (f.length < 8) {
+            throw new IllegalArgumentException("expected 9 columns, got " + f.length);
+        }
+        return StockCandle.of(
+            f[0].strip(),
+            LocalDateTime.parse(f[1].strip()),
+            CandleInterval.valueOf(f[2].strip()),
+            new BigDecimal(f[3].strip()),
+            new BigDecimal(f[4].strip()),
+            new BigDecimal(f[5].strip()),
+            new BigDecimal(f[6].strip()),
+            Long.parseLong(f[7].strip()),
+            f.length > 8 && !f[8].isBlank() ? new BigDecimal(f[8].strip()) : null
+        );
+    }
+}
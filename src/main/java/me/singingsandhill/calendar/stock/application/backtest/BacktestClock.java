@@ -0,0 +1,44 @@
+package me.singingsandhill.calendar.stock.application.backtest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 백테스트 가상 시계. 엔진이 분봉 단위로 직접 전진시킨다.
+ * 리스크/상태 머신 서비스에 {@link Clock} 으로 주입돼 시간 기반 판단(눌림목 지속 시간, 시간 감소 익절)을 재현한다.
+ */
+public class BacktestClock extends Clock {
+
+    private final ZoneId zone;
+    private volatile Instant instant;
+
+    public BacktestClock(LocalDateTime start, ZoneId zone) {
+        this.zone = zone;
+        this.instant = start.atZone(zone).toInstant();
+    }
+
+    public void set(LocalDateTime dateTime) {
+        this.instant = dateTime.atZone(zone).toInstant();
+    }
+
+    public LocalDateTime now() {
+        return LocalDateTime.ofInstant(instant, zone);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return Clock.fixed(instant, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
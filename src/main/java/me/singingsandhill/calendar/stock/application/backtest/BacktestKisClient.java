@@ -0,0 +1,184 @@
+package me.singingsandhill.calendar.stock.application.backtest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisMarketDataCache;
+import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisBalanceResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisDailyPriceResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisOrderResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisOrderbookResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisRankingQuery;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BACKTEST 모드 KIS 클라이언트. 시세는 {@link BacktestMarket}, 주문은 현재 분봉 종가로 즉시 체결한다.
+ *
+ * 가상 예수금을 들고 매수 시 수수료, 매도 시 수수료 + 매도세를 반영한다
+ * (포지션 손익 계산과 같은 commissionRate / sellTaxRate).
+ * 실 KIS 호출 경로(인증/REST)는 쓰지 않는다.
+ */
+public class BacktestKisClient extends KoreaInvestmentApiClient {
+
+    private final BacktestMarket market;
+    private final BacktestClock clock;
+    private final BigDecimal commissionRate;
+    private final BigDecimal sellTaxRate;
+    private final List<Fill> fills = new ArrayList<>();
+    private BigDecimal cash;
+    private long orderSeq;
+
+    public BacktestKisClient(BacktestMarket market, BacktestClock clock,
+                             StockProperties stockProperties, BigDecimal initialCash) {
+        super(null, null, stockProperties, new KisMarketDataCache(new SimpleMeterRegistry()));
+        this.market = market;
+        this.clock = clock;
+        this.commissionRate = stockProperties.getRisk().getCommissionRate();
+        this.sellTaxRate = stockProperties.getRisk().getSellTaxRate();
+        this.cash = initialCash;
+    }
+
+    // ========== Market Data ==========
+
+    @Override
+    public boolean isConfigured() {
+        return true;
+    }
+
+    @Override
+    public KisQuoteResponse getQuote(String stockCode) {
+        return market.quote(stockCode);
+    }
+
+    @Override
+    public Map<String, KisQuoteResponse> getQuotes(Collection<String> stockCodes) {
+        Map<String, KisQuoteResponse> quotes = new LinkedHashMap<>();
+        for (String stockCode : stockCodes) {
+            KisQuoteResponse quote = market.quote(stockCode);
+            if (quote != null) {
+                quotes.put(stockCode, quote);
+            }
+        }
+        return quotes;
+    }
+
+    @Override
+    public KisOrderbookResponse getOrderbook(String stockCode) {
+        return market.orderbook(stockCode);
+    }
+
+    @Override
+    public List<KisDailyPriceResponse> getDailyPrices(String stockCode, int days) {
+        return List.of();
+    }
+
+    @Override
+    public List<String> getTopVolumeCodes(int count) {
+        return market.getStockCodes().stream().limit(count).toList();
+    }
+
+    @Override
+    public List<String> getRankingCodes(KisRankingQuery query) {
+        return getTopVolumeCodes(query.count());
+    }
+
+    // ========== Account ==========
+
+    @Override
+    public synchronized BigDecimal getAvailableCash() {
+        return cash;
+    }
+
+    @Override
+    public synchronized int getBuyableQuantity(String stockCode, BigDecimal price) {
+        if (price == null || price.signum() <= 0) {
+            return 0;
+        }
+        BigDecimal unitCost = price.multiply(BigDecimal.ONE.add(commissionRate));
+        return cash.divide(unitCost, 0, RoundingMode.DOWN).intValue();
+    }
+
+    @Override
+    public KisBalanceResponse getBalance() {
+        return null;
+    }
+
+    @Override
+    public List<KisBalanceResponse.HoldingStock> getHoldings() {
+        return List.of();
+    }
+
+    // ========== Orders ==========
+
+    @Override
+    public KisOrderResponse buyMarket(String stockCode, int quantity) {
+        return fill(stockCode, quantity, true);
+    }
+
+    @Override
+    public KisOrderResponse buyLimit(String stockCode, int quantity, BigDecimal price) {
+        return fill(stockCode, quantity, true);
+    }
+
+    @Override
+    public KisOrderResponse sellMarket(String stockCode, int quantity) {
+        return fill(stockCode, quantity, false);
+    }
+
+    @Override
+    public KisOrderResponse sellLimit(String stockCode, int quantity, BigDecimal price) {
+        return fill(stockCode, quantity, false);
+    }
+
+    private synchronized KisOrderResponse fill(String stockCode, int quantity, boolean buy) {
+        BigDecimal price = market.lastPrice(stockCode);
+        if (price == null || quantity <= 0) {
+            return new KisOrderResponse("1", "SIM", "no market data", null);
+        }
+
+        BigDecimal notional = price.multiply(BigDecimal.valueOf(quantity));
+        BigDecimal fee = notional.multiply(buy ? commissionRate : commissionRate.add(sellTaxRate));
+        if (buy) {
+            BigDecimal cost = notional.add(fee);
+            if (cost.compareTo(cash) > 0) {
+                return new KisOrderResponse("1", "SIM", "insufficient cash", null);
+            }
+            cash = cash.subtract(cost);
+        } else {
+            cash = cash.add(notional.subtract(fee));
+        }
+
+        String orderId = "BT-" + (++orderSeq);
+        fills.add(new Fill(clock.now(), stockCode, buy ? "BUY" : "SELL", quantity, price, fee));
+        return KisOrderResponse.simulated(orderId);
+    }
+
+    public synchronized List<Fill> getFills() {
+        return List.copyOf(fills);
+    }
+
+    public synchronized BigDecimal getCash() {
+        return cash;
+    }
+
+    /**
+     * 시뮬레이션 체결 1건. fee 는 수수료(+매도세).
+     */
+    public record Fill(
+        LocalDateTime time,
+        String stockCode,
+        String side,
+        int quantity,
+        BigDecimal price,
+        BigDecimal fee
+    ) {}
+}
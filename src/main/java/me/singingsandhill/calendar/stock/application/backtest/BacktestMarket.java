@@ -0,0 +1,221 @@
+package me.singingsandhill.calendar.stock.application.backtest;
+
+import me.singingsandhill.calendar.stock.domain.candle.CandleInterval;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandle;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisOrderbookResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 백테스트 시세 소스. 1분봉을 가상 시계 기준으로 잘라 KIS 현재가/호가 응답 형태로 돌려준다.
+ *
+ * - 분봉은 마감 후에만 보인다: 09:05:00 시점에는 09:00~09:04 봉까지 (미래 데이터 누설 방지).
+ * - 전일 종가는 거래일 이전 마지막 일봉(DAILY) 종가.
+ * - 체결강도는 분봉으로 근사: 양봉 거래량 / 음봉 거래량 × 100 (KIS cttr 와 같은 스케일).
+ * - 호가는 종가 기준 1틱 스프레드, 잔량 비율은 최근 5개 봉의 양봉/음봉 거래량 비율로 근사.
+ */
+public class BacktestMarket {
+
+    private static final int ORDERBOOK_LOOKBACK_BARS = 5;
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final BigDecimal MAX_STRENGTH = new BigDecimal("500");
+
+    private final BacktestClock clock;
+    private final Map<String, Series> series = new LinkedHashMap<>();
+
+    public BacktestMarket(LocalDate tradingDate, List<StockCandle> candles, BacktestClock clock) {
+        this.clock = clock;
+
+        Map<String, List<StockCandle>> minuteBars = new LinkedHashMap<>();
+        Map<String, StockCandle> prevDaily = new HashMap<>();
+        for (StockCandle candle : candles) {
+            LocalDate date = candle.getCandleDateTime().toLocalDate();
+            if (candle.getInterval() == CandleInterval.MINUTE_1 && date.equals(tradingDate)) {
+                minuteBars.computeIfAbsent(candle.getStockCode(), k -> new ArrayList<>()).add(candle);
+            } else if (candle.getInterval() == CandleInterval.DAILY && date.isBefore(tradingDate)) {
+                prevDaily.merge(candle.getStockCode(), candle,
+                    (a, b) -> a.getCandleDateTime().isAfter(b.getCandleDateTime()) ? a : b);
+            }
+        }
+
+        minuteBars.forEach((code, bars) -> {
+            bars.sort(Comparator.comparing(StockCandle::getCandleDateTime));
+            StockCandle daily = prevDaily.get(code);
+            series.put(code, new Series(daily != null ? daily.getClosePrice() : null, bars));
+        });
+    }
+
+    public List<String> getStockCodes() {
+        return List.copyOf(series.keySet());
+    }
+
+    /**
+     * 현재 시각까지 마감된 분봉 기준 현재가 시세. 아직 마감된 봉이 없으면 null (장 시작 전).
+     */
+    public KisQuoteResponse quote(String stockCode) {
+        Series s = series.get(stockCode);
+        int i = s != null ? s.lastClosedIndex(clock.now()) : -1;
+        if (i < 0) {
+            return null;
+        }
+        BigDecimal close = s.bars.get(i).getClosePrice();
+        BigDecimal change = s.prevClose != null ? close.subtract(s.prevClose) : BigDecimal.ZERO;
+        BigDecimal changeRate = s.prevClose != null && s.prevClose.signum() > 0
+            ? change.multiply(HUNDRED).divide(s.prevClose, 2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO;
+
+        return new KisQuoteResponse(
+            stockCode,
+            close,
+            s.bars.get(0).getOpenPrice(),
+            s.runningHigh[i],
+            s.runningLow[i],
+            s.prevClose,
+            change,
+            changeRate,
+            s.cumVolume[i],
+            s.cumValue[i],
+            null,
+            null,
+            BigDecimal.valueOf(s.cumDownVolume[i]),
+            BigDecimal.valueOf(s.cumUpVolume[i]),
+            strength(s.cumUpVolume[i], s.cumDownVolume[i])
+        );
+    }
+
+    /**
+     * 종가 기준 1틱 스프레드 호가. 아직 마감된 봉이 없으면 null.
+     */
+    public KisOrderbookResponse orderbook(String stockCode) {
+        Series s = series.get(stockCode);
+        int i = s != null ? s.lastClosedIndex(clock.now()) : -1;
+        if (i < 0) {
+            return null;
+        }
+        BigDecimal bid = s.bars.get(i).getClosePrice();
+        BigDecimal tick = tickSize(bid);
+        BigDecimal ask = bid.add(tick);
+
+        int from = Math.max(0, i - ORDERBOOK_LOOKBACK_BARS + 1);
+        long up = s.cumUpVolume[i] - (from > 0 ? s.cumUpVolume[from - 1] : 0);
+        long down = s.cumDownVolume[i] - (from > 0 ? s.cumDownVolume[from - 1] : 0);
+        long totalBid = up + 1;
+        long totalAsk = down + 1;
+
+        return new KisOrderbookResponse(
+            stockCode,
+            ask, ask.add(tick), ask.add(tick).add(tick),
+            bid, bid.subtract(tick), bid.subtract(tick).subtract(tick),
+            totalAsk, 0L, 0L,
+            totalBid, 0L, 0L,
+            totalAsk, totalBid
+        );
+    }
+
+    /**
+     * 현재 시각의 체결가 (마지막 마감 봉 종가). 시뮬레이션 체결가로 쓴다.
+     */
+    public BigDecimal lastPrice(String stockCode) {
+        KisQuoteResponse quote = quote(stockCode);
+        return quote != null ? quote.currentPrice() : null;
+    }
+
+    private static BigDecimal strength(long upVolume, long downVolume) {
+        if (upVolume == 0 && downVolume == 0) {
+            return HUNDRED;
+        }
+        if (downVolume == 0) {
+            return MAX_STRENGTH;
+        }
+        return BigDecimal.valueOf(upVolume).multiply(HUNDRED)
+            .divide(BigDecimal.valueOf(downVolume), 2, RoundingMode.HALF_UP)
+            .min(MAX_STRENGTH);
+    }
+
+    /**
+     * KRX 호가 단위 (2023 개편 기준).
+     */
+    static BigDecimal tickSize(BigDecimal price) {
+        long p = price.longValue();
+        if (p < 2_000) return BigDecimal.ONE;
+        if (p < 5_000) return BigDecimal.valueOf(5);
+        if (p < 20_000) return BigDecimal.TEN;
+        if (p < 50_000) return BigDecimal.valueOf(50);
+        if (p < 200_000) return BigDecimal.valueOf(100);
+        if (p < 500_000) return BigDecimal.valueOf(500);
+        return BigDecimal.valueOf(1_000);
+    }
+
+    /**
+     * 종목 1개의 당일 분봉 + 누적 지표 (봉 인덱스 기준 prefix 배열).
+     */
+    private static final class Series {
+        private final BigDecimal prevClose;
+        private final List<StockCandle> bars;
+        private final LocalDateTime[] closeTimes;
+        private final BigDecimal[] runningHigh;
+        private final BigDecimal[] runningLow;
+        private final long[] cumVolume;
+        private final BigDecimal[] cumValue;
+        private final long[] cumUpVolume;
+        private final long[] cumDownVolume;
+
+        Series(BigDecimal prevClose, List<StockCandle> bars) {
+            this.prevClose = prevClose;
+            this.bars = bars;
+            int n = bars.size();
+            closeTimes = new LocalDateTime[n];
+            runningHigh = new BigDecimal[n];
+            runningLow = new BigDecimal[n];
+            cumVolume = new long[n];
+            cumValue = new BigDecimal[n];
+            cumUpVolume = new long[n];
+            cumDownVolume = new long[n];
+
+            for (int i = 0; i < n; i++) {
+                StockCandle bar = bars.get(i);
+                long volume = bar.getVolume() != null ? bar.getVolume() : 0L;
+                BigDecimal value = bar.getTradeValue() != null
+                    ? bar.getTradeValue()
+                    : bar.getClosePrice().multiply(BigDecimal.valueOf(volume));
+
+                closeTimes[i] = bar.getCandleDateTime().plusSeconds(bar.getInterval().getSeconds());
+                runningHigh[i] = i == 0 ? bar.getHighPrice() : runningHigh[i - 1].max(bar.getHighPrice());
+                runningLow[i] = i == 0 ? bar.getLowPrice() : runningLow[i - 1].min(bar.getLowPrice());
+                cumVolume[i] = (i == 0 ? 0 : cumVolume[i - 1]) + volume;
+                cumValue[i] = (i == 0 ? BigDecimal.ZERO : cumValue[i - 1]).add(value);
+                cumUpVolume[i] = (i == 0 ? 0 : cumUpVolume[i - 1]) + (bar.isBullish() ? volume : 0);
+                cumDownVolume[i] = (i == 0 ? 0 : cumDownVolume[i - 1]) + (bar.isBearish() ? volume : 0);
+            }
+        }
+
+        /**
+         * now 시점까지 마감된 마지막 봉 인덱스 (이진 탐색). 없으면 -1.
+         */
+        int lastClosedIndex(LocalDateTime now) {
+            int lo = 0;
+            int hi = closeTimes.length - 1;
+            int found = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (!closeTimes[mid].isAfter(now)) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package me.singingsandhill.calendar.stock.application.backtest;
+
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionStatus;
+import me.singingsandhill.calendar.stock.domain.screening.EntryAttempt;
+import me.singingsandhill.calendar.stock.domain.screening.EntryAttemptRepository;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignal;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignalRepository;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignalType;
+import me.singingsandhill.calendar.stock.domain.stock.Stock;
+import me.singingsandhill.calendar.stock.domain.stock.StockRepository;
+import me.singingsandhill.calendar.stock.domain.stock.StockState;
+import me.singingsandhill.calendar.stock.domain.trade.StockTrade;
+import me.singingsandhill.calendar.stock.domain.trade.StockTradeRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 백테스트용 인메모리 저장소 (Port 구현). 백테스트 1회 실행 동안만 살아 있고 DB 에는 쓰지 않는다.
+ */
+final class BacktestRepositories {
+
+    private BacktestRepositories() {
+    }
+
+    /**
+     * id 채번 + 스냅샷 조회 공통 부분.
+     */
+    private abstract static class InMemory<T> {
+        private final AtomicLong sequence = new AtomicLong();
+        protected final Map<Long, T> rows = new ConcurrentHashMap<>();
+
+        protected T store(T row, Long id, Consumer<Long> idSetter) {
+            Long key = id;
+            if (key == null) {
+                key = sequence.incrementAndGet();
+                idSetter.accept(key);
+            }
+            rows.put(key, row);
+            return row;
+        }
+
+        protected List<T> where(Predicate<T> predicate) {
+            return rows.values().stream().filter(predicate).toList();
+        }
+
+        public List<T> findAll() {
+            return List.copyOf(rows.values());
+        }
+    }
+
+    static final class Stocks extends InMemory<Stock> implements StockRepository {
+
+        @Override
+        public Stock save(Stock stock) {
+            return store(stock, stock.getId(), stock::setId);
+        }
+
+        @Override
+        public List<Stock> saveAll(List<Stock> stocks) {
+            stocks.forEach(this::save);
+            return stocks;
+        }
+
+        @Override
+        public Optional<Stock> findById(Long id) {
+            return Optional.ofNullable(rows.get(id));
+        }
+
+        @Override
+        public Optional<Stock> findByStockCodeAndTradingDate(String stockCode, LocalDate tradingDate) {
+            return where(s -> s.getStockCode().equals(stockCode) && s.getTradingDate().equals(tradingDate))
+                .stream().findFirst();
+        }
+
+        @Override
+        public List<Stock> findByTradingDate(LocalDate tradingDate) {
+            return where(s -> s.getTradingDate().equals(tradingDate));
+        }
+
+        @Override
+        public List<Stock> findByTradingDateAndState(LocalDate tradingDate, StockState state) {
+            return where(s -> s.getTradingDate().equals(tradingDate) && s.getState() == state);
+        }
+
+        @Override
+        public List<Stock> findByTradingDateAndStateIn(LocalDate tradingDate, List<StockState> states) {
+            return where(s -> s.getTradingDate().equals(tradingDate) && states.contains(s.getState()));
+        }
+
+        @Override
+        public List<Stock> findByTradingDateOrderByGapPercentDesc(LocalDate tradingDate) {
+            return findByTradingDate(tradingDate).stream()
+                .sorted(Comparator.comparing(Stock::getGapPercent,
+                    Comparator.nullsLast(Comparator.<BigDecimal>reverseOrder())))
+                .toList();
+        }
+
+        @Override
+        public List<Stock> findActiveStocks(LocalDate tradingDate) {
+            return where(s -> s.getTradingDate().equals(tradingDate) && s.getState().isActive());
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            rows.remove(id);
+        }
+
+        @Override
+        public void deleteByTradingDateBefore(LocalDate date) {
+            rows.values().removeIf(s -> s.getTradingDate().isBefore(date));
+        }
+
+        @Override
+        public int countByTradingDateAndState(LocalDate tradingDate, StockState state) {
+            return findByTradingDateAndState(tradingDate, state).size();
+        }
+    }
+
+    static final class Positions extends InMemory<StockPosition> implements StockPositionRepository {
+
+        @Override
+        public StockPosition save(StockPosition position) {
+            return store(position, position.getId(), position::setId);
+        }
+
+        @Override
+        public Optional<StockPosition> findById(Long id) {
+            return Optional.ofNullable(rows.get(id));
+        }
+
+        @Override
+        public Optional<StockPosition> findByStockCodeAndTradingDateAndStatusNot(
+                String stockCode, LocalDate tradingDate, StockPositionStatus status) {
+            return where(p -> p.getStockCode().equals(stockCode)
+                    && p.getTradingDate().equals(tradingDate) && p.getStatus() != status)
+                .stream().findFirst();
+        }
+
+        @Override
+        public List<StockPosition> findByTradingDate(LocalDate tradingDate) {
+            return where(p -> p.getTradingDate().equals(tradingDate));
+        }
+
+        @Override
+        public List<StockPosition> findByTradingDateBetween(LocalDate from, LocalDate to) {
+            return where(p -> !p.getTradingDate().isBefore(from) && !p.getTradingDate().isAfter(to));
+        }
+
+        @Override
+        public List<LocalDate> findTradingDates(LocalDate from, LocalDate to) {
+            return findByTradingDateBetween(from, to).stream()
+                .map(StockPosition::getTradingDate)
+                .distinct()
+                .sorted()
+                .toList();
+        }
+
+        @Override
+        public List<StockPosition> findByTradingDateAndStatus(LocalDate tradingDate, StockPositionStatus status) {
+            return where(p -> p.getTradingDate().equals(tradingDate) && p.getStatus() == status);
+        }
+
+        @Override
+        public List<StockPosition> findOpenPositions(LocalDate tradingDate) {
+            return where(p -> p.getTradingDate().equals(tradingDate) && p.getStatus().isOpen());
+        }
+
+        @Override
+        public List<StockPosition> findClosedPositions(LocalDate tradingDate) {
+            return findByTradingDateAndStatus(tradingDate, StockPositionStatus.CLOSED);
+        }
+
+        @Override
+        public int countOpenPositions(LocalDate tradingDate) {
+            return findOpenPositions(tradingDate).size();
+        }
+
+        @Override
+        public List<StockPosition> findEnteredBefore(LocalDate tradingDate, LocalDateTime before,
+                                                     long beforeId, int limit) {
+            return where(p -> p.getTradingDate().equals(tradingDate)
+                    && keysetBefore(p.getEnteredAt(), p.getId(), before, beforeId)).stream()
+                .sorted(Comparator.comparing(StockPosition::getEnteredAt)
+                    .thenComparing(StockPosition::getId).reversed())
+                .limit(limit)
+                .toList();
+        }
+
+        @Override
+        public List<StockPosition> findClosedBefore(LocalDate tradingDate, LocalDateTime before,
+                                                    long beforeId, int limit) {
+            return where(p -> p.getTradingDate().equals(tradingDate) && p.getCloseReason() != null
+                    && keysetBefore(p.getClosedAt(), p.getId(), before, beforeId)).stream()
+                .sorted(Comparator.comparing(StockPosition::getClosedAt)
+                    .thenComparing(StockPosition::getId).reversed())
+                .limit(limit)
+                .toList();
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            rows.remove(id);
+        }
+
+        @Override
+        public void deleteByTradingDateBefore(LocalDate date) {
+            rows.values().removeIf(p -> p.getTradingDate().isBefore(date));
+        }
+    }
+
+    static final class Trades extends InMemory<StockTrade> implements StockTradeRepository {
+
+        @Override
+        public StockTrade save(StockTrade trade) {
+            return store(trade, trade.getId(), trade::setId);
+        }
+
+        @Override
+        public Optional<StockTrade> findById(Long id) {
+            return Optional.ofNullable(rows.get(id));
+        }
+
+        @Override
+        public Optional<StockTrade> findByOrderId(String orderId) {
+            return where(t -> Objects.equals(t.getOrderId(), orderId)).stream().findFirst();
+        }
+
+        @Override
+        public List<StockTrade> findByPositionId(Long positionId) {
+            return where(t -> Objects.equals(t.getPositionId(), positionId));
+        }
+
+        @Override
+        public List<StockTrade> findByStockCodeAndOrderedAtBetween(
+                String stockCode, LocalDateTime from, LocalDateTime to) {
+            return where(t -> t.getStockCode().equals(stockCode) && between(t.getOrderedAt(), from, to));
+        }
+
+        @Override
+        public List<StockTrade> findByOrderedAtBetween(LocalDateTime from, LocalDateTime to) {
+            return where(t -> between(t.getOrderedAt(), from, to));
+        }
+
+        @Override
+        public List<StockTrade> findTodayTrades() {
+            return findAll();
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            rows.remove(id);
+        }
+
+        @Override
+        public void deleteByOrderedAtBefore(LocalDateTime dateTime) {
+            rows.values().removeIf(t -> t.getOrderedAt().isBefore(dateTime));
+        }
+    }
+
+    static final class Signals extends InMemory<StockSignal> implements StockSignalRepository {
+
+        @Override
+        public StockSignal save(StockSignal signal) {
+            return store(signal, signal.getId(), signal::setId);
+        }
+
+        @Override
+        public Optional<StockSignal> findById(Long id) {
+            return Optional.ofNullable(rows.get(id));
+        }
+
+        @Override
+        public List<StockSignal> findByStockCodeAndSignalTimeBetween(
+                String stockCode, LocalDateTime from, LocalDateTime to) {
+            return where(s -> s.getStockCode().equals(stockCode) && between(s.getSignalTime(), from, to));
+        }
+
+        @Override
+        public List<StockSignal> findBySignalTimeBetween(LocalDateTime from, LocalDateTime to) {
+            return where(s -> between(s.getSignalTime(), from, to));
+        }
+
+        @Override
+        public List<StockSignal> findByStockCodeAndSignalType(String stockCode, StockSignalType signalType) {
+            return where(s -> s.getStockCode().equals(stockCode) && s.getSignalType() == signalType);
+        }
+
+        @Override
+        public List<StockSignal> findByTypesBefore(Collection<StockSignalType> types, LocalDateTime from,
+                                                   LocalDateTime before, long beforeId, int limit) {
+            return where(s -> types.contains(s.getSignalType()) && !s.getSignalTime().isBefore(from)
+                    && keysetBefore(s.getSignalTime(), s.getId(), before, beforeId)).stream()
+                .sorted(Comparator.comparing(StockSignal::getSignalTime)
+                    .thenComparing(StockSignal::getId).reversed())
+                .limit(limit)
+                .toList();
+        }
+
+        @Override
+        public List<StockSignal> findTodaySignals() {
+            return findAll();
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            rows.remove(id);
+        }
+
+        @Override
+        public void deleteBySignalTimeBefore(LocalDateTime dateTime) {
+            rows.values().removeIf(s -> s.getSignalTime().isBefore(dateTime));
+        }
+    }
+
+    static final class EntryAttempts extends InMemory<EntryAttempt> implements EntryAttemptRepository {
+
+        @Override
+        public EntryAttempt save(EntryAttempt attempt) {
+            return store(attempt, attempt.getId(), attempt::setId);
+        }
+
+        @Override
+        public List<EntryAttempt> findByTradingDate(LocalDate tradingDate) {
+            return where(a -> a.getTradingDate().equals(tradingDate));
+        }
+
+        @Override
+        public long countAcceptedByTradingDate(LocalDate tradingDate) {
+            return findByTradingDate(tradingDate).stream().filter(EntryAttempt::isAccepted).count();
+        }
+
+        @Override
+        public List<LocalDate> findTradingDates(LocalDate from, LocalDate to) {
+            return findAll().stream()
+                .map(EntryAttempt::getTradingDate)
+                .filter(d -> !d.isBefore(from) && !d.isAfter(to))
+                .distinct()
+                .sorted()
+                .toList();
+        }
+
+        @Override
+        public long countRejectedByTradingDate(LocalDate tradingDate) {
+            return findByTradingDate(tradingDate).stream().filter(a -> !a.isAccepted()).count();
+        }
+    }
+
+    /** (time, id) &lt; (before, beforeId) — JPA keyset 쿼리와 같은 비교. */
+    private static boolean keysetBefore(LocalDateTime time, Long id, LocalDateTime before, long beforeId) {
+        if (time == null) {
+            return false;
+        }
+        return time.isBefore(before) || (time.isEqual(before) && id < beforeId);
+    }
+
+    private static boolean between(LocalDateTime value, LocalDateTime from, LocalDateTime to) {
+        return value != null && !value.isBefore(from) && !value.isAfter(to);
+    }
+}
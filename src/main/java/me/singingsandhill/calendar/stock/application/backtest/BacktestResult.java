@@ -0,0 +1,29 @@
+package me.singingsandhill.calendar.stock.application.backtest;
+
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 백테스트 1일 실행 결과.
+ *
+ * realizedPnl 은 포지션 손익(수수료/매도세 차감 후) 합계, totalFees 는 체결별 수수료 + 매도세 합계.
+ * 전 포지션이 청산됐다면 endingCash - initialCash == realizedPnl (매수 수수료 포함 기준).
+ */
+public record BacktestResult(
+    LocalDate tradingDate,
+    int universeSize,
+    int watchlistSize,
+    int ticks,
+    List<StockPosition> positions,
+    List<BacktestKisClient.Fill> fills,
+    long acceptedEntryAttempts,
+    long rejectedEntryAttempts,
+    BigDecimal realizedPnl,
+    BigDecimal totalFees,
+    BigDecimal initialCash,
+    BigDecimal endingCash,
+    long elapsedMs
+) {}
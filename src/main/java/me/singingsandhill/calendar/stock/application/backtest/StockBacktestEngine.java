@@ -0,0 +1,172 @@
+package me.singingsandhill.calendar.stock.application.backtest;
+
+import me.singingsandhill.calendar.stock.application.concurrency.StockCodeLocks;
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
+import me.singingsandhill.calendar.stock.application.service.MinuteBarRecorder;
+import me.singingsandhill.calendar.stock.application.service.PreMarketWarmup;
+import me.singingsandhill.calendar.stock.application.service.PullbackDetectionService;
+import me.singingsandhill.calendar.stock.application.service.ScreeningService;
+import me.singingsandhill.calendar.stock.application.service.StockPositionService;
+import me.singingsandhill.calendar.stock.application.service.StockRiskService;
+import me.singingsandhill.calendar.stock.application.service.StockStateRegistry;
+import me.singingsandhill.calendar.stock.application.service.StockWriteTransactions;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandle;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.domain.stock.Stock;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisRealtimeClient;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 갭 눌림목 전략 백테스트 엔진 (BACKTEST 모드).
+ *
+ * 운영과 같은 서비스(스크리닝 / 상태 머신 / 포지션 / 리스크)를 인메모리 저장소 + {@link BacktestKisClient} 로 조립하고,
+ * 가상 시계를 1분봉 단위로 전진시키며 스케줄러와 같은 순서로 호출한다:
+ * <pre>
+ * tradingLoopStart : 스크리닝
+ * 매 분             : 리스크 → 상태 머신 → 진입 (GapPullbackBotService.executeTradingLoop 와 동일 순서)
+ * finalExitTime    : 시간 청산
+ * </pre>
+ * 대기(sleep)가 없으므로 CPU 속도로 재생된다. 엔진 1개는 1회 실행 전용.
+ * 재생 중 거래 이벤트는 로그에만 남기고 실거래 이벤트 저장소(TradeEventStore)로는 넘기지 않는다.
+ */
+public class StockBacktestEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(StockBacktestEngine.class);
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final StockProperties stockProperties;
+
+    public StockBacktestEngine(StockProperties stockProperties) {
+        this.stockProperties = stockProperties;
+    }
+
+    /**
+     * tradingDate 하루를 재생한다.
+     *
+     * @param candles 당일 MINUTE_1 봉 + 전일 종가용 DAILY 봉 (종목 섞여 있어도 됨)
+     */
+    public BacktestResult run(LocalDate tradingDate, List<StockCandle> candles, BigDecimal initialCash) {
+        try (TradeEvents.SinkScope ignored = TradeEvents.suppressSink()) {
+            return replay(tradingDate, candles, initialCash);
+        }
+    }
+
+    private BacktestResult replay(LocalDate tradingDate, List<StockCandle> candles, BigDecimal initialCash) {
+        long startNanos = System.nanoTime();
+
+        LocalTime loopStart = LocalTime.parse(stockProperties.getTrading().getTradingLoopStart());
+        LocalTime finalExit = LocalTime.parse(stockProperties.getExit().getFinalExitTime());
+
+        BacktestClock clock = new BacktestClock(tradingDate.atTime(loopStart), KST);
+        BacktestMarket market = new BacktestMarket(tradingDate, candles, clock);
+        BacktestKisClient kisClient = new BacktestKisClient(market, clock, stockProperties, initialCash);
+
+        BacktestRepositories.Stocks stockRepository = new BacktestRepositories.Stocks();
+        BacktestRepositories.Positions positionRepository = new BacktestRepositories.Positions();
+        BacktestRepositories.Trades tradeRepository = new BacktestRepositories.Trades();
+        BacktestRepositories.Signals signalRepository = new BacktestRepositories.Signals();
+        BacktestRepositories.EntryAttempts entryAttemptRepository = new BacktestRepositories.EntryAttempts();
+        StockCodeLocks locks = new StockCodeLocks();
+
+        // 워밍업 없이 스크리닝 — 백테스트 분봉 시세만으로 평가
+        ScreeningService screeningService = new ScreeningService(
+            stockRepository, signalRepository, kisClient, stockProperties,
+            new PreMarketWarmup(kisClient, stockProperties), StockBotMetrics.noop(), StockWriteTransactions.inline());
+        // 실시간 피드는 연결하지 않는다 — getFreshTrade 가 항상 null 이라 분봉 시세(REST 경로)만 사용
+        StockStateRegistry stateRegistry = new StockStateRegistry(stockRepository, stockProperties, locks, clock);
+        PullbackDetectionService pullbackService = new PullbackDetectionService(
+            stateRegistry, signalRepository, kisClient, stockProperties, entryAttemptRepository,
+            KisRealtimeClient.disabled(), locks, MinuteBarRecorder.disabled(), clock);
+        StockPositionService positionService = new StockPositionService(
+            positionRepository, tradeRepository, stockRepository, signalRepository,
+            kisClient, stockProperties, locks, stateRegistry, clock, StockWriteTransactions.inline());
+        // 리스크 체크는 호출 스레드에서 순서대로 — 인메모리 저장소/가상 체결을 단일 스레드로 유지
+        StockRiskService riskService = new StockRiskService(
+            positionRepository, positionService, kisClient, stockProperties, locks, clock, Runnable::run);
+
+        List<String> universe = market.getStockCodes();
+        List<Stock> watchlist = screeningService.executeScreening(tradingDate, universe);
+        pullbackService.reloadStates(tradingDate);
+        log.info("[BACKTEST] {} screening: {}/{} selected", tradingDate, watchlist.size(), universe.size());
+
+        int ticks = 0;
+        LocalDateTime end = tradingDate.atTime(finalExit);
+        for (LocalDateTime now = tradingDate.atTime(loopStart); !now.isAfter(end); now = now.plusMinutes(1)) {
+            clock.set(now);
+            riskService.checkAndExecuteRiskRules(tradingDate);
+            pullbackService.updateAllStockStates(tradingDate);
+            executeEntries(tradingDate, pullbackService, positionService);
+            ticks++;
+        }
+
+        clock.set(end);
+        riskService.executeTimeBasedExit(tradingDate);
+
+        List<StockPosition> positions = positionRepository.findByTradingDate(tradingDate).stream()
+            .sorted(Comparator.comparing(StockPosition::getId))
+            .toList();
+        BigDecimal realizedPnl = positions.stream()
+            .map(StockPosition::getRealizedPnl)
+            .filter(pnl -> pnl != null)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<BacktestKisClient.Fill> fills = kisClient.getFills();
+        BigDecimal totalFees = fills.stream()
+            .map(BacktestKisClient.Fill::fee)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        BacktestResult result = new BacktestResult(
+            tradingDate,
+            universe.size(),
+            watchlist.size(),
+            ticks,
+            positions,
+            fills,
+            entryAttemptRepository.countAcceptedByTradingDate(tradingDate),
+            entryAttemptRepository.countRejectedByTradingDate(tradingDate),
+            realizedPnl,
+            totalFees,
+            initialCash,
+            kisClient.getCash(),
+            elapsedMs
+        );
+        log.info("[BACKTEST] {} done in {}ms: positions={}, fills={}, realizedPnl={}, fees={}, cash {} -> {}",
+            tradingDate, elapsedMs, positions.size(), fills.size(), realizedPnl, totalFees,
+            initialCash, result.endingCash());
+        return result;
+    }
+
+    /**
+     * GapPullbackBotService.executeEntries 와 같은 규칙 (최대 포지션 수 안에서 ENTRY_READY 순서대로).
+     */
+    private void executeEntries(LocalDate tradingDate, PullbackDetectionService pullbackService,
+                                StockPositionService positionService) {
+        int maxPositions = stockProperties.getBot().getMaxPositions();
+        int currentPositions = positionService.countOpenPositions(tradingDate);
+        if (currentPositions >= maxPositions) {
+            return;
+        }
+
+        for (Stock stock : pullbackService.getEntryReadyStocks(tradingDate)) {
+            if (currentPositions >= maxPositions) {
+                break;
+            }
+            if (positionService.openPosition(stock) != null) {
+                currentPositions++;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package me.singingsandhill.calendar.stock.application.backtest;
+
+import me.singingsandhill.calendar.stock.domain.candle.CandleInterval;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandle;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandleRepository;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * stock_candles 에 적재된 분봉으로 백테스트를 실행한다.
+ *
+ * 저장소는 읽기만 하고, 재생 중 생기는 종목/포지션/거래는 엔진의 인메모리 저장소에만 남는다.
+ */
+@Service
+public class StockBacktestService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockBacktestService.class);
+
+    /** 전일 종가 조회 시 거슬러 올라갈 최대 일수 (연휴 포함) */
+    private static final int PREV_DAILY_LOOKBACK_DAYS = 10;
+
+    private final StockCandleRepository candleRepository;
+    private final StockProperties stockProperties;
+
+    public StockBacktestService(StockCandleRepository candleRepository, StockProperties stockProperties) {
+        this.candleRepository = candleRepository;
+        this.stockProperties = stockProperties;
+    }
+
+    public BacktestResult run(LocalDate tradingDate, List<String> stockCodes, BigDecimal initialCash) {
+        List<StockCandle> candles = new ArrayList<>();
+        for (String stockCode : stockCodes) {
+            candles.addAll(candleRepository.findByStockCodeAndIntervalAndDateTimeRange(
+                stockCode, CandleInterval.MINUTE_1,
+                tradingDate.atStartOfDay(), tradingDate.plusDays(1).atStartOfDay().minusNanos(1)));
+            candles.addAll(candleRepository.findByStockCodeAndIntervalAndDateTimeRange(
+                stockCode, CandleInterval.DAILY,
+                tradingDate.minusDays(PREV_DAILY_LOOKBACK_DAYS).atStartOfDay(),
+                tradingDate.atStartOfDay().minusNanos(1)));
+        }
+        log.info("[BACKTEST] Loaded {} candles for {} stocks on {}", candles.size(), stockCodes.size(), tradingDate);
+        return replay(tradingDate, candles, initialCash);
+    }
+
+    /**
+     * 이미 로드된 캔들(CSV fixture 등)로 실행.
+     */
+    public BacktestResult replay(LocalDate tradingDate, List<StockCandle> candles, BigDecimal initialCash) {
+        return new StockBacktestEngine(stockProperties).run(tradingDate, candles, initialCash);
+    }
+}
@@ -0,0 +1,95 @@
+package me.singingsandhill.calendar.stock.application.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 동시 실행 수를 제한한 가상 스레드 fan-out.
+ *
+ * 입력마다 가상 스레드를 띄우되 동시에 도는 작업은 parallelism 개까지만 허용하고, 전부 끝날 때까지 기다린다.
+ * 결과는 입력 순서와 같다. 실패한 입력은 fallback 이 돌려준 값으로 채운다 (null 가능 — 호출자가 거른다).
+ * <pre>
+ * List&lt;Result&gt; results = BoundedFanOut.map(codes, 8, code -&gt; fetch(code), (code, e) -&gt; null);
+ * </pre>
+ */
+public final class BoundedFanOut {
+
+    /** 입력 1건 처리. 던진 예외는 fallback 으로 넘어간다. */
+    @FunctionalInterface
+    public interface Task<T, R> {
+        R run(T input) throws Exception;
+    }
+
+    /** 실패한 입력의 대체 결과. 호출 스레드에서 불린다. 시간 초과면 cause 는 TimeoutException. */
+    @FunctionalInterface
+    public interface Fallback<T, R> {
+        R onFailure(T input, Throwable cause);
+    }
+
+    private BoundedFanOut() {
+    }
+
+    public static <T, R> List<R> map(List<T> inputs, int parallelism, Task<T, R> task, Fallback<T, R> fallback) {
+        return map(inputs, parallelism, null, task, fallback);
+    }
+
+    /**
+     * perTaskTimeout 이 있으면 허가를 얻은 뒤부터 시간을 재고, 넘긴 작업은 중단(interrupt)한다.
+     */
+    public static <T, R> List<R> map(List<T> inputs, int parallelism, Duration perTaskTimeout,
+                                     Task<T, R> task, Fallback<T, R> fallback) {
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        List<R> results = new ArrayList<>(inputs.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<R>> futures = new ArrayList<>(inputs.size());
+            for (T input : inputs) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return perTaskTimeout == null
+                            ? task.run(input)
+                            : runWithTimeout(executor, input, task, perTaskTimeout);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(inputs.get(i), futures.get(i), fallback));
+            }
+        }
+        return results;
+    }
+
+    private static <T, R> R runWithTimeout(ExecutorService executor, T input, Task<T, R> task,
+                                           Duration timeout) throws Exception {
+        Future<R> future = executor.submit(() -> task.run(input));
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private static <T, R> R await(T input, Future<R> future, Fallback<T, R> fallback) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback.onFailure(input, e);
+        } catch (ExecutionException e) {
+            return fallback.onFailure(input, e.getCause() != null ? e.getCause() : e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package me.singingsandhill.calendar.stock.application.notification;
+
+import me.singingsandhill.calendar.stock.domain.notification.StockNotification;
+
+import java.util.List;
+
+/**
+ * 알림 발송 채널 (메일, 이후 메신저 등). 빈으로 등록하면 NotificationDispatcher 가 name() 으로 찾아 쓴다.
+ */
+public interface NotificationChannel {
+
+    /**
+     * outbox 행의 channel 값.
+     */
+    String name();
+
+    /**
+     * 같은 채널에 쌓인 알림들을 한 번에 발송 (digest). 예외를 던지면 배치 전체가 재시도 대상이 된다.
+     * 디스패처 스레드에서만 호출되며, 한 채널에 대해 동시에 두 번 호출되지 않는다.
+     */
+    void deliver(List<StockNotification> batch) throws Exception;
+}
@@ -0,0 +1,227 @@
+package me.singingsandhill.calendar.stock.application.notification;
+
+import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotification;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotificationRepository;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotificationStatus;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * outbox 발송기. 스케줄러가 주기적으로 {@link #dispatchDue()} 를 부른다.
+ *
+ * - 발송 시각이 된 PENDING 행을 채널별로 묶는다.
+ * - 가장 오래된 행이 digest 창을 넘겼거나 maxDigestSize 만큼 모였을 때만 보낸다 (여러 건을 메일 한 통으로).
+ * - 발송은 전용 스레드 풀에서 — 스케줄러/거래 스레드는 SMTP 를 기다리지 않는다. 한 채널은 동시에 한 배치만.
+ *   채널은 행을 읽기 전에 점유한다 — 발송 중인 채널의 (곧 SENT 가 될) 행을 다시 보내지 않는다.
+ * - 실패하면 배치 전체를 base × 2^(시도-1) (최대 backoffMax) 뒤로 미루고, maxAttempts 에 닿으면 FAILED.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1);
+
+    private final StockNotificationRepository notificationRepository;
+    private final Map<String, NotificationChannel> channels;
+    private final StockProperties stockProperties;
+    private final Clock clock;
+    private final Executor executor;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile LocalDateTime lastCleanupAt;
+
+    @Autowired
+    public NotificationDispatcher(StockNotificationRepository notificationRepository,
+                                  List<NotificationChannel> channels,
+                                  StockProperties stockProperties,
+                                  Clock clock) {
+        this(notificationRepository, channels, stockProperties, clock,
+            Executors.newFixedThreadPool(Math.max(1, stockProperties.getNotification().getDispatchThreads()),
+                Thread.ofPlatform().daemon().name("stock-notify-", 0).factory()));
+    }
+
+    /**
+     * 발송 executor 지정 (테스트는 Runnable::run 으로 동기 실행).
+     */
+    public NotificationDispatcher(StockNotificationRepository notificationRepository,
+                                  List<NotificationChannel> channels,
+                                  StockProperties stockProperties,
+                                  Clock clock,
+                                  Executor executor) {
+        this.notificationRepository = notificationRepository;
+        this.channels = channels.stream()
+            .collect(Collectors.toMap(NotificationChannel::name, Function.identity(), (a, b) -> a));
+        this.stockProperties = stockProperties;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    /**
+     * 직접 만든 발송 풀을 닫는다. 진행 중인 발송은 잠깐 기다리고, 못 끝난 행은 PENDING 으로 남아 재시작 후 다시 나간다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!(executor instanceof ExecutorService pool)) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Notification dispatch still running at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 보낼 때가 된 채널 배치를 발송 스레드에 넘긴다. 넘긴 배치 수 반환.
+     *
+     * 발송 중이 아닌 채널을 먼저 점유한 뒤 행을 읽는다. 읽은 뒤에 점유하면, 그 사이 끝난 발송이 SENT 로 바꾼
+     * 행을 읽기 전 상태(PENDING)로 다시 보낼 수 있다. 배치를 넘기지 않은 채널은 끝에 점유를 푼다.
+     */
+    public synchronized int dispatchDue() {
+        StockProperties.Notification config = stockProperties.getNotification();
+        LocalDateTime now = LocalDateTime.now(clock);
+        cleanupIfDue(now, config);
+
+        Set<String> claimed = new HashSet<>();
+        for (String channelName : channels.keySet()) {
+            if (inFlight.add(channelName)) {
+                claimed.add(channelName);
+            }
+        }
+        Set<String> handedOff = new HashSet<>();
+        try {
+            return dispatchClaimed(now, config, claimed, handedOff);
+        } finally {
+            claimed.removeAll(handedOff);
+            inFlight.removeAll(claimed);
+        }
+    }
+
+    private int dispatchClaimed(LocalDateTime now, StockProperties.Notification config,
+                                Set<String> claimed, Set<String> handedOff) {
+        int maxDigest = Math.max(1, config.getMaxDigestSize());
+        List<StockNotification> due = notificationRepository.findDue(now, maxDigest * Math.max(1, channels.size() + 1));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<StockNotification>> byChannel = due.stream()
+            .collect(Collectors.groupingBy(StockNotification::getChannel, LinkedHashMap::new, Collectors.toList()));
+
+        int dispatched = 0;
+        LocalDateTime digestCutoff = now.minusSeconds(config.getDigestWindowSeconds());
+        for (Map.Entry<String, List<StockNotification>> entry : byChannel.entrySet()) {
+            String channelName = entry.getKey();
+            List<StockNotification> pending = entry.getValue();
+
+            NotificationChannel channel = channels.get(channelName);
+            if (channel == null) {
+                log.warn("No notification channel '{}', failing {} notifications", channelName, pending.size());
+                pending.forEach(n -> n.markAttemptFailed("unknown channel", now, 1));
+                notificationRepository.saveAll(pending);
+                continue;
+            }
+
+            if (!claimed.contains(channelName)) {
+                continue;   // 발송 중
+            }
+            boolean windowElapsed = pending.get(0).getCreatedAt().isBefore(digestCutoff)
+                || pending.get(0).getAttempts() > 0;
+            if (!windowElapsed && pending.size() < maxDigest) {
+                continue;   // 조금 더 모아서 한 통으로
+            }
+
+            List<StockNotification> batch = pending.subList(0, Math.min(pending.size(), maxDigest));
+            try {
+                handedOff.add(channelName);
+                executor.execute(() -> deliver(channel, batch));
+                dispatched++;
+            } catch (RuntimeException e) {
+                handedOff.remove(channelName);
+                log.warn("Notification dispatch rejected for {}: {}", channelName, e.getMessage());
+            }
+        }
+        return dispatched;
+    }
+
+    private void deliver(NotificationChannel channel, List<StockNotification> batch) {
+        StockProperties.Notification config = stockProperties.getNotification();
+        try {
+            long startNanos = System.nanoTime();
+            channel.deliver(batch);
+            LocalDateTime sentAt = LocalDateTime.now(clock);
+            batch.forEach(n -> n.markSent(sentAt));
+            notificationRepository.saveAll(batch);
+            log.info("Notification digest sent via {}: {} items in {}ms", channel.name(), batch.size(),
+                Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        } catch (Exception e) {
+            LocalDateTime failedAt = LocalDateTime.now(clock);
+            int attempt = batch.get(0).getAttempts() + 1;
+            LocalDateTime retryAt = failedAt.plus(backoff(attempt, config));
+            batch.forEach(n -> n.markAttemptFailed(e.getMessage(), retryAt, config.getMaxAttempts()));
+            try {
+                notificationRepository.saveAll(batch);
+            } catch (Exception saveError) {
+                log.error("Failed to record notification failure: {}", saveError.getMessage());
+            }
+            boolean givenUp = batch.get(0).getStatus() == StockNotificationStatus.FAILED;
+            log.warn("Notification digest via {} failed (attempt {}, {}): {}", channel.name(), attempt,
+                givenUp ? "giving up" : "retry at " + retryAt, e.getMessage());
+            TradeEvents.event("NOTIFICATION_FAILED")
+                .with("channel", channel.name())
+                .with("items", batch.size())
+                .with("attempt", attempt)
+                .with("givenUp", givenUp)
+                .with("error", e.getMessage())
+                .warn();
+        } finally {
+            inFlight.remove(channel.name());
+        }
+    }
+
+    private static Duration backoff(int attempt, StockProperties.Notification config) {
+        long base = Math.max(1, config.getBackoffBaseSeconds());
+        long seconds = base << Math.min(Math.max(0, attempt - 1), 20);
+        return Duration.ofSeconds(Math.min(seconds, config.getBackoffMaxSeconds()));
+    }
+
+    private void cleanupIfDue(LocalDateTime now, StockProperties.Notification config) {
+        LocalDateTime last = lastCleanupAt;
+        if (last != null && last.plus(CLEANUP_INTERVAL).isAfter(now)) {
+            return;
+        }
+        lastCleanupAt = now;
+        try {
+            long deleted = notificationRepository.deleteFinishedBefore(now.minusDays(config.getRetentionDays()));
+            if (deleted > 0) {
+                log.info("Purged {} finished notifications", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Notification cleanup failed: {}", e.getMessage());
+        }
+    }
+}
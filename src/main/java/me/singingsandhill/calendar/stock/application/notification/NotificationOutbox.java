@@ -0,0 +1,53 @@
+package me.singingsandhill.calendar.stock.application.notification;
+
+import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotification;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotificationRepository;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * 알림 적재 진입점. 거래 경로는 여기까지만 — 발송(SMTP 등)은 NotificationDispatcher 가 별도 스레드에서 한다.
+ *
+ * 트레이딩 루프는 트랜잭션 없이(NOT_SUPPORTED) 돌기 때문에 적재는 저장소 save 의 자체 트랜잭션으로 커밋된다.
+ * 그래서 호출자는 알릴 상태를 먼저 커밋한 뒤에 적재한다 (예: 스크리닝 결과는 executeScreening 완료 후) —
+ * 상태 저장이 실패하면 알림도 없고, 적재가 실패해도 이미 커밋된 상태는 되돌리지 않는다 (알림만 유실).
+ * 대기 행이 stock.notification.max-pending 이상이면 적재하지 않고 false 를 반환한다 (채널 장애로 무한히 쌓이지 않게).
+ */
+@Service
+public class NotificationOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutbox.class);
+
+    private final StockNotificationRepository notificationRepository;
+    private final StockProperties stockProperties;
+    private final Clock clock;
+
+    public NotificationOutbox(StockNotificationRepository notificationRepository,
+                              StockProperties stockProperties,
+                              Clock clock) {
+        this.notificationRepository = notificationRepository;
+        this.stockProperties = stockProperties;
+        this.clock = clock;
+    }
+
+    public boolean enqueue(String channel, String kind, String subject, String body) {
+        long pending = notificationRepository.countPending();
+        if (pending >= stockProperties.getNotification().getMaxPending()) {
+            log.warn("Notification outbox full ({} pending), dropping {} for {}", pending, kind, channel);
+            TradeEvents.event("NOTIFICATION_DROPPED")
+                .with("channel", channel)
+                .with("kind", kind)
+                .with("pending", pending)
+                .warn();
+            return false;
+        }
+        notificationRepository.save(StockNotification.pending(channel, kind, subject, body, LocalDateTime.now(clock)));
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+package me.singingsandhill.calendar.stock.application.observability;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 초 단위 버킷 링으로 된 lock-free sliding window 카운터.
+ *
+ * 버킷 i 는 (epochSecond % buckets) 초의 LongAdder 와 그 버킷이 담고 있는 초(epoch second) 스탬프를 가진다.
+ * - 기록: 스탬프가 현재 초가 아니면 CAS 로 넘겨받은 스레드 하나만 버킷을 비우고, 그 뒤 LongAdder 에 더한다.
+ *   락/할당 없음. 버킷이 넘어가는 순간 겹친 소수의 기록이 지워질 수 있다 (모니터링 용도로 허용).
+ * - 조회: 창 안의 스탬프를 가진 버킷만 더한다 — O(buckets).
+ */
+public final class SlidingWindowCounter {
+
+    private final int buckets;
+    private final LongAdder[] counts;
+    private final AtomicLongArray stamps;
+    private final LongSupplier epochSeconds;
+
+    public SlidingWindowCounter(int buckets) {
+        this(buckets, () -> System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * @param epochSeconds 현재 시각(epoch 초) 공급자 — 테스트에서 시간을 고정할 때 사용
+     */
+    public SlidingWindowCounter(int buckets, LongSupplier epochSeconds) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be positive: " + buckets);
+        }
+        this.buckets = buckets;
+        this.counts = new LongAdder[buckets];
+        this.stamps = new AtomicLongArray(buckets);
+        for (int i = 0; i < buckets; i++) {
+            counts[i] = new LongAdder();
+            stamps.set(i, Long.MIN_VALUE);
+        }
+        this.epochSeconds = epochSeconds;
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long delta) {
+        long now = epochSeconds.getAsLong();
+        int index = (int) Math.floorMod(now, (long) buckets);
+        long stamp = stamps.get(index);
+        if (stamp < now && stamps.compareAndSet(index, stamp, now)) {
+            counts[index].reset();
+        }
+        counts[index].add(delta);
+    }
+
+    /**
+     * 최근 windowSeconds 초(현재 초 포함) 합계. windowSeconds 는 버킷 수로 제한된다.
+     */
+    public long sum(int windowSeconds) {
+        long now = epochSeconds.getAsLong();
+        long oldest = now - Math.min(windowSeconds, buckets) + 1;
+        long total = 0;
+        for (int i = 0; i < buckets; i++) {
+            long stamp = stamps.get(i);
+            if (stamp >= oldest && stamp <= now) {
+                total += counts[i].sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 링 전체 창(buckets 초) 합계.
+     */
+    public long sum() {
+        return sum(buckets);
+    }
+}
@@ -1,47 +1,148 @@
 package me.singingsandhill.calendar.stock.application.observability;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 주식 봇 라이트 메트릭.
  *
- * - apiCallsLast5min: 최근 5분 KIS API 호출 수 (sliding window)
+ * - apiCallsLast5min: 최근 5분 KIS API 호출 수 (1초 버킷 300개 lock-free sliding window, TR_ID 별 분리)
  * - lastTradingTickAt: 트레이딩 루프 마지막 실행 시각
  * - lastScreeningResult: 마지막 스크리닝 요약
  *
  * 외부 모니터링이 없으므로 BotStatus API 응답으로 노출해
  * "봇이 죽었나, 단지 후보가 없나"를 구분 가능하게 한다.
+ *
+ * KIS 속도 제한 대기는 Micrometer 로 /actuator/prometheus 에 노출한다:
+ * - kis.ratelimit.wait{lane,priority}: 토큰 대기 시간 히스토그램
+ * - kis.ratelimit.rejected{lane,priority}: 대기 타임아웃으로 호출을 포기한 횟수
+ * - kis.api.latency{tr_id}: KIS 호출 응답 시간 히스토그램 (재시도 1회 = 1건)
+ *
+ * 커넥션 점유도 함께 노출한다:
+ * - stock.db.hold{phase}: 저장 단계 트랜잭션(=커넥션 점유) 시간
+ * - stock.trading.tick: 트레이딩 루프 1틱 소요 시간 (KIS 조회 + 저장)
  */
 @Component
 public class StockBotMetrics {
 
-    private static final Duration WINDOW = Duration.ofMinutes(5);
+    private static final int WINDOW_SECONDS = 300;
 
-    private final Deque<Instant> apiCallTimestamps = new ArrayDeque<>();
+    private final SlidingWindowCounter apiCalls = new SlidingWindowCounter(WINDOW_SECONDS);
+    private final Map<String, SlidingWindowCounter> apiCallsByTrId = new ConcurrentHashMap<>();
+    private final Map<String, Timer> latencyByTrId = new ConcurrentHashMap<>();
     private final AtomicReference<Instant> lastTradingTickAt = new AtomicReference<>();
     private final AtomicReference<ScreeningSnapshot> lastScreeningResult = new AtomicReference<>();
+    private final MeterRegistry registry;
+
+    public StockBotMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 애플리케이션 레지스트리에 연결하지 않는 인스턴스 (백테스트/테스트).
+     * Micrometer 미터는 어디에도 노출되지 않고, BotStatus 용 창 카운터/스냅샷만 동작한다.
+     */
+    public static StockBotMetrics noop() {
+        return new StockBotMetrics(new SimpleMeterRegistry());
+    }
 
-    public synchronized void recordApiCall() {
-        Instant now = Instant.now();
-        apiCallTimestamps.addLast(now);
-        evictOldLocked(now);
+    /**
+     * TR_ID 별 호출 1건 + 응답 시간. 전체 창 카운터에도 함께 더한다.
+     */
+    public void recordApiCall(String trId, long latencyNanos) {
+        apiCalls.increment();
+        if (trId == null) {
+            return;
+        }
+        apiCallsByTrId.computeIfAbsent(trId, k -> new SlidingWindowCounter(WINDOW_SECONDS)).increment();
+        latencyByTrId.computeIfAbsent(trId, k -> Timer.builder("kis.api.latency")
+                .description("KIS API 응답 시간")
+                .tag("tr_id", k)
+                .publishPercentileHistogram()
+                .register(registry))
+            .record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public int apiCallsLast5min() {
+        return (int) apiCalls.sum();
     }
 
-    public synchronized int apiCallsLast5min() {
-        evictOldLocked(Instant.now());
-        return apiCallTimestamps.size();
+    /**
+     * 최근 5분 TR_ID 별 호출 수 (0 건 TR 은 제외, TR_ID 순).
+     */
+    public Map<String, Long> apiCallsLast5minByTrId() {
+        Map<String, Long> result = new TreeMap<>();
+        apiCallsByTrId.forEach((trId, counter) -> {
+            long count = counter.sum();
+            if (count > 0) {
+                result.put(trId, count);
+            }
+        });
+        return result;
+    }
+
+    public void recordRateLimitWait(String lane, String priority, long waitNanos, boolean acquired) {
+        Timer.builder("kis.ratelimit.wait")
+            .description("KIS 호출 토큰 대기 시간")
+            .tag("lane", lane)
+            .tag("priority", priority)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(waitNanos, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            Counter.builder("kis.ratelimit.rejected")
+                .description("토큰 대기 타임아웃으로 포기한 KIS 호출")
+                .tag("lane", lane)
+                .tag("priority", priority)
+                .register(registry)
+                .increment();
+        }
     }
 
     public void recordTradingTick() {
         lastTradingTickAt.set(Instant.now());
     }
 
+    public void recordTradingTickDuration(long nanos) {
+        Timer.builder("stock.trading.tick")
+            .description("트레이딩 루프 1틱 소요 시간")
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDbHold(String phase, long nanos) {
+        Timer.builder("stock.db.hold")
+            .description("주식 엔진 저장 트랜잭션의 커넥션 점유 시간")
+            .tag("phase", phase)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordIncrementalScreening(int evaluated, int admitted, int evicted) {
+        incrementalCounter("evaluated").increment(evaluated);
+        incrementalCounter("admitted").increment(admitted);
+        incrementalCounter("evicted").increment(evicted);
+    }
+
+    private Counter incrementalCounter(String outcome) {
+        return Counter.builder("stock.screening.incremental")
+            .description("증분 스크리닝 재평가/편입/제외 종목 수")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
     public Instant getLastTradingTickAt() {
         return lastTradingTickAt.get();
     }
@@ -56,13 +157,6 @@ public class StockBotMetrics {
         return lastScreeningResult.get();
     }
 
-    private void evictOldLocked(Instant now) {
-        Instant cutoff = now.minus(WINDOW);
-        while (!apiCallTimestamps.isEmpty() && apiCallTimestamps.peekFirst().isBefore(cutoff)) {
-            apiCallTimestamps.pollFirst();
-        }
-    }
-
     public record ScreeningSnapshot(
         Instant at,
         int total,
@@ -0,0 +1,31 @@
+package me.singingsandhill.calendar.stock.application.observability;
+
+import java.util.Map;
+
+/**
+ * 구조화 거래 이벤트 1건. {@link TradeEvents} 가 만들고 {@link TradeEventStore} 가 JSONL 한 줄로 적재한다.
+ *
+ * @param epochMillis 발생 시각 (epoch ms)
+ * @param event       이벤트 이름 (ENTRY_ATTEMPT, POSITION_OPENED, ...)
+ * @param level       INFO / WARN
+ * @param phase       발생 시점 MDC stock.phase
+ * @param tradingDate 발생 시점 MDC stock.tradingDate
+ * @param stockCode   필드 stockCode, 없으면 MDC stock.code
+ * @param tradeId     발생 시점 MDC stock.tradeId
+ * @param fields      with(...) 로 넣은 값 (입력 순서 유지, 값은 문자열)
+ */
+public record TradeEvent(
+    long epochMillis,
+    String event,
+    String level,
+    String phase,
+    String tradingDate,
+    String stockCode,
+    String tradeId,
+    Map<String, String> fields
+) {
+
+    public String field(String key) {
+        return fields != null ? fields.get(key) : null;
+    }
+}
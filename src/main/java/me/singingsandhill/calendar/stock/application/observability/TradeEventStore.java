@@ -0,0 +1,413 @@
+package me.singingsandhill.calendar.stock.application.observability;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 거래 이벤트 저장소 — KST 거래일별 append-only JSONL 세그먼트 (stock.event-store.dir/trade-events-yyyy-MM-dd.jsonl).
+ *
+ * 기록: {@link TradeEvents} 가 넘긴 이벤트를 bounded 큐에 넣기만 한다 (가득 차면 버리고 dropped 증가).
+ *       전용 writer 스레드가 배치로 꺼내 세그먼트 끝에 붙이고, 쓴 뒤에야 인덱스에 공개한다.
+ * 인덱스: 세그먼트마다 (시각, 이벤트 이름, 오프셋, 길이) 목록 + 종목코드별 목록. 둘 다 시각 순이라 구간은 이분 탐색,
+ *        이벤트 이름 필터는 역직렬화 전에 인덱스에서 거른다.
+ *        인덱스 시각은 직전 항목보다 작아지지 않게 보정한다 (스레드 간 ms 단위 역전 흡수).
+ * 조회: 공개된 길이까지 읽기 전용 mmap 후 해당 줄만 역직렬화 — JPA 를 거치지 않는다.
+ * 재시작: 세그먼트를 처음 건드릴 때 파일을 한 번 훑어 인덱스를 다시 만들고, 잘린 마지막 줄은 잘라낸다.
+ * 메모리: 인덱스는 최근 indexed-days 거래일만 들고, 더 오래된 세그먼트는 writer 스레드가 닫고 내려놓는다.
+ */
+@Component
+public class TradeEventStore implements TradeEvents.Sink {
+
+    private static final Logger log = LoggerFactory.getLogger(TradeEventStore.class);
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int BATCH_SIZE = 512;
+    private static final long POLL_MILLIS = 200;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final boolean enabled;
+    private final Path dir;
+    private final int indexedDays;
+    private final BlockingQueue<TradeEvent> queue;
+    private final Map<LocalDate, Segment> segments = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TradeEventStore(StockProperties stockProperties) {
+        StockProperties.EventStore config = stockProperties.getEventStore();
+        this.enabled = config.isEnabled();
+        this.dir = Path.of(config.getDir());
+        this.indexedDays = Math.max(1, config.getIndexedDays());
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            log.warn("Trade event store disabled, cannot create {}: {}", dir, e.getMessage());
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().daemon().name("trade-event-writer").start(this::drainLoop);
+        TradeEvents.registerSink(this);
+    }
+
+    /**
+     * 수신 중단 후 큐에 남은 이벤트까지 쓰고 세그먼트 파일을 닫는다.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        TradeEvents.unregisterSink(this);
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            // 인터럽트는 FileChannel 을 닫아 버리므로 쓰지 않고 poll 주기를 기다린다
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.get() > 0) {
+            log.warn("Trade event store dropped {} events (queue full)", dropped.get());
+        }
+    }
+
+    @Override
+    public void accept(TradeEvent event) {
+        if (!queue.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public boolean hasSegment(LocalDate date) {
+        return segments.containsKey(date) || Files.exists(segmentPath(date));
+    }
+
+    /**
+     * 거래일 세그먼트 구간 조회.
+     *
+     * @param stockCode   null 이면 전 종목
+     * @param events      이벤트 이름 필터, null 이면 전부
+     * @param from        포함, null 이면 처음부터
+     * @param to          제외, null 이면 끝까지
+     * @param newestFirst true 면 최신부터 limit 건
+     */
+    public List<TradeEvent> scan(LocalDate date, String stockCode, Set<String> events,
+                                 Instant from, Instant to, int limit, boolean newestFirst) {
+        if (limit <= 0 || !hasSegment(date)) {
+            return List.of();
+        }
+        Segment segment = segment(date);
+        long fromMillis = from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+
+        List<Entry> picked = new ArrayList<>(Math.min(limit, 256));
+        long committed;
+        synchronized (segment) {
+            List<Entry> view = stockCode == null
+                ? segment.entries
+                : segment.byStockCode.getOrDefault(stockCode, List.of());
+            int lo = lowerBound(view, fromMillis);
+            int hi = lowerBound(view, toMillis);
+            int step = newestFirst ? -1 : 1;
+            for (int i = newestFirst ? hi - 1 : lo; i >= lo && i < hi && picked.size() < limit; i += step) {
+                Entry entry = view.get(i);
+                if (events == null || events.contains(entry.event())) {
+                    picked.add(entry);
+                }
+            }
+            committed = segment.committedBytes;
+        }
+        return read(date, segment, picked, committed).stream().map(Located::event).toList();
+    }
+
+    /**
+     * 최신순 keyset 조회: (epochMillis, offset) &lt; (beforeMillis, beforeOffset) 인 이벤트 중 최신 limit 건.
+     * 파일 offset 은 세그먼트 안에서 유일하고 기록 순서대로 커지므로 같은 ms 이벤트의 tie-breaker 로 쓴다.
+     */
+    public List<Located> scanBefore(LocalDate date, Set<String> events,
+                                    long beforeMillis, long beforeOffset, int limit) {
+        if (limit <= 0 || !hasSegment(date)) {
+            return List.of();
+        }
+        Segment segment = segment(date);
+
+        List<Entry> picked = new ArrayList<>(Math.min(limit, 256));
+        long committed;
+        synchronized (segment) {
+            List<Entry> view = segment.entries;
+            int hi = beforeMillis == Long.MAX_VALUE ? view.size() : lowerBound(view, beforeMillis + 1);
+            for (int i = hi - 1; i >= 0 && picked.size() < limit; i--) {
+                Entry entry = view.get(i);
+                if (entry.millis() == beforeMillis && entry.offset() >= beforeOffset) {
+                    continue;
+                }
+                if (events == null || events.contains(entry.event())) {
+                    picked.add(entry);
+                }
+            }
+            committed = segment.committedBytes;
+        }
+        return read(date, segment, picked, committed);
+    }
+
+    private List<Located> read(LocalDate date, Segment segment, List<Entry> picked, long committed) {
+        if (picked.isEmpty()) {
+            return List.of();
+        }
+        List<Located> result = new ArrayList<>(picked.size());
+        try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, committed);
+            for (Entry entry : picked) {
+                byte[] line = new byte[entry.length()];
+                mapped.get((int) entry.offset(), line);
+                result.add(new Located(entry.millis(), entry.offset(), objectMapper.readValue(line, TradeEvent.class)));
+            }
+        } catch (IOException e) {
+            log.warn("Trade event scan failed for {}: {}", date, e.getMessage());
+            return List.of();
+        }
+        return result;
+    }
+
+    /**
+     * 세그먼트 안 위치가 붙은 이벤트. (millis, offset) 은 페이지 커서용.
+     * millis 는 인덱스 시각 — 시계가 뒤로 가도 단조 증가하도록 보정된 값이라 event.epochMillis() 와 다를 수 있다.
+     */
+    public record Located(long millis, long offset, TradeEvent event) {}
+
+    // ========== writer ==========
+
+    private void drainLoop() {
+        List<TradeEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                TradeEvent first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.warn("Trade event write failed ({} events lost): {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+            evictOldSegments();
+        }
+        segments.values().forEach(Segment::closeWriter);
+    }
+
+    /**
+     * 최근 indexed-days 거래일만 남긴다. 파일 채널은 writer 스레드 전용이라 여기(writer 스레드)서만 닫는다.
+     * 내려놓은 날짜를 다시 조회하면 파일에서 인덱스를 새로 만든다.
+     */
+    private void evictOldSegments() {
+        if (segments.size() <= indexedDays) {
+            return;
+        }
+        List<LocalDate> dates = new ArrayList<>(segments.keySet());
+        dates.sort(Comparator.reverseOrder());
+        for (LocalDate date : dates.subList(indexedDays, dates.size())) {
+            Segment evicted = segments.remove(date);
+            if (evicted != null) {
+                evicted.closeWriter();
+            }
+        }
+    }
+
+    private void write(List<TradeEvent> batch) throws IOException {
+        Map<LocalDate, List<TradeEvent>> byDate = new LinkedHashMap<>();
+        for (TradeEvent event : batch) {
+            LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(event.epochMillis()), KST);
+            byDate.computeIfAbsent(date, d -> new ArrayList<>()).add(event);
+        }
+        for (Map.Entry<LocalDate, List<TradeEvent>> group : byDate.entrySet()) {
+            segment(group.getKey()).append(group.getValue());
+        }
+    }
+
+    private Segment segment(LocalDate date) {
+        return segments.computeIfAbsent(date, d -> new Segment(segmentPath(d)));
+    }
+
+    private Path segmentPath(LocalDate date) {
+        return dir.resolve("trade-events-" + date + ".jsonl");
+    }
+
+    private static int lowerBound(List<Entry> entries, long millis) {
+        int lo = 0;
+        int hi = entries.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entries.get(mid).millis() < millis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private record Entry(long millis, String event, long offset, int length) {}
+
+    /**
+     * 거래일 1개 파일. 인덱스/공개 길이는 this 락, 파일 쓰기는 writer 스레드 전용.
+     */
+    private final class Segment {
+        private final Path path;
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<String, List<Entry>> byStockCode = new HashMap<>();
+        private long committedBytes;
+        private long lastMillis = Long.MIN_VALUE;
+        private FileChannel out;
+
+        private Segment(Path path) {
+            this.path = path;
+            if (Files.exists(path)) {
+                rebuildIndex();
+            }
+        }
+
+        private void append(List<TradeEvent> events) throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(events.size() * 256);
+            List<Entry> added = new ArrayList<>(events.size());
+            List<String> codes = new ArrayList<>(events.size());
+            long start;
+            synchronized (this) {
+                start = committedBytes;
+            }
+            long millis = lastMillis;
+            for (TradeEvent event : events) {
+                byte[] line = objectMapper.writeValueAsBytes(event);
+                millis = Math.max(millis, event.epochMillis());
+                added.add(new Entry(millis, event.event(), start + buffer.size(), line.length));
+                codes.add(event.stockCode());
+                buffer.write(line);
+                buffer.write('\n');
+            }
+
+            FileChannel channel = writer();
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            long position = start;
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+
+            synchronized (this) {
+                for (int i = 0; i < added.size(); i++) {
+                    index(added.get(i), codes.get(i));
+                }
+                committedBytes = position;
+            }
+        }
+
+        private FileChannel writer() throws IOException {
+            if (out == null) {
+                out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                // 비정상 종료로 남은 반쪽 줄 제거
+                if (out.size() > committedBytes) {
+                    out.truncate(committedBytes);
+                }
+            }
+            return out;
+        }
+
+        private void closeWriter() {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.force(false);
+                out.close();
+            } catch (IOException e) {
+                log.debug("Trade event segment close failed for {}: {}", path, e.getMessage());
+            }
+            out = null;
+        }
+
+        private void index(Entry entry, String stockCode) {
+            entries.add(entry);
+            if (stockCode != null) {
+                byStockCode.computeIfAbsent(stockCode, k -> new ArrayList<>()).add(entry);
+            }
+            lastMillis = entry.millis();
+        }
+
+        private synchronized void rebuildIndex() {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                int lineStart = 0;
+                for (int i = 0; i < size; i++) {
+                    if (mapped.get(i) != '\n') {
+                        continue;
+                    }
+                    byte[] line = new byte[i - lineStart];
+                    mapped.get(lineStart, line);
+                    try {
+                        JsonNode node = objectMapper.readTree(line);
+                        long millis = Math.max(lastMillis, node.path("epochMillis").asLong());
+                        JsonNode code = node.get("stockCode");
+                        index(new Entry(millis, node.path("event").asText(), lineStart, line.length),
+                            code != null && !code.isNull() ? code.asText() : null);
+                    } catch (IOException e) {
+                        log.debug("Skipping unreadable trade event line at {}:{}", path, lineStart);
+                    }
+                    lineStart = i + 1;
+                }
+                committedBytes = lineStart;
+            } catch (IOException e) {
+                // 못 읽은 파일을 잘라내지 않도록 끝에서부터 이어 쓴다
+                committedBytes = path.toFile().length();
+                log.warn("Trade event index rebuild failed for {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
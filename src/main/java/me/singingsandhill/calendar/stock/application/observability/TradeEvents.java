@@ -7,6 +7,7 @@ import org.slf4j.MDC;
 import java.io.Closeable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -14,7 +15,10 @@ import java.util.Map;
  * 주식 봇 거래 이벤트 전용 로거.
  *
  * 로거 이름 me.singingsandhill.calendar.stock.trade 는 logback-spring.xml 에서
- * 별도 appender 로 분리되어 logs/stock-events.log 에 key=value 한 줄 단위로 적재된다.
+ * 별도 (비동기) appender 로 분리되어 logs/stock-events.log 에 key=value 한 줄 단위로 적재된다.
+ * 등록된 {@link Sink}(TradeEventStore) 가 있으면 같은 이벤트를 {@link TradeEvent} 로도 넘긴다 —
+ * 수신자는 큐에 넣기만 해야 한다 (거래 틱 스레드에서 호출됨).
+ * 백테스트처럼 실거래 기록에 섞이면 안 되는 실행은 {@link #suppressSink()} 범위 안에서 돌린다.
  *
  * 사용 예
  *   TradeEvents.event("ENTRY_ATTEMPT")
@@ -32,8 +36,54 @@ public final class TradeEvents {
     public static final String MDC_STOCK_CODE = "stock.code";
     public static final String MDC_TRADE_ID = "stock.tradeId";
 
+    private static volatile Sink sink;
+
+    /** 범위 안에서 만든 스레드(가상 스레드 포함)도 물려받도록 Inheritable. */
+    private static final InheritableThreadLocal<Boolean> SINK_SUPPRESSED = new InheritableThreadLocal<>();
+
     private TradeEvents() {}
 
+    /**
+     * 구조화 이벤트 수신자. accept 는 블로킹 없이 반환해야 한다.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void accept(TradeEvent event);
+    }
+
+    public static void registerSink(Sink newSink) {
+        sink = newSink;
+    }
+
+    public static void unregisterSink(Sink registered) {
+        if (sink == registered) {
+            sink = null;
+        }
+    }
+
+    /**
+     * Sink 전달 억제 범위. 예외 없이 닫히는 AutoCloseable.
+     */
+    public interface SinkScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * 이 스레드(와 범위 안에서 만든 스레드)의 이벤트를 Sink 로 넘기지 않는다. 로그 한 줄은 그대로 남긴다.
+     */
+    public static SinkScope suppressSink() {
+        Boolean previous = SINK_SUPPRESSED.get();
+        SINK_SUPPRESSED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                SINK_SUPPRESSED.remove();
+            } else {
+                SINK_SUPPRESSED.set(previous);
+            }
+        };
+    }
+
     public static Builder event(String name) {
         return new Builder(name);
     }
@@ -111,31 +161,58 @@ public final class TradeEvents {
         }
 
         public void log() {
+            publish("INFO");
             if (!EVENT_LOG.isInfoEnabled()) {
                 return;
             }
-            StringBuilder sb = new StringBuilder("event=").append(name);
-            fields.forEach((k, v) -> sb.append(' ').append(k).append('=').append(v));
-            EVENT_LOG.info(sb.toString());
+            EVENT_LOG.info(line());
         }
 
         public void warn() {
+            publish("WARN");
             if (!EVENT_LOG.isWarnEnabled()) {
                 return;
             }
+            EVENT_LOG.warn(line());
+        }
+
+        private void publish(String level) {
+            Sink target = sink;
+            if (target == null || SINK_SUPPRESSED.get() != null) {
+                return;
+            }
+            String stockCode = fields.get("stockCode");
+            target.accept(new TradeEvent(
+                System.currentTimeMillis(),
+                name,
+                level,
+                MDC.get(MDC_PHASE),
+                MDC.get(MDC_TRADING_DATE),
+                stockCode != null ? stockCode : MDC.get(MDC_STOCK_CODE),
+                MDC.get(MDC_TRADE_ID),
+                Collections.unmodifiableMap(fields)));
+        }
+
+        private String line() {
             StringBuilder sb = new StringBuilder("event=").append(name);
-            fields.forEach((k, v) -> sb.append(' ').append(k).append('=').append(v));
-            EVENT_LOG.warn(sb.toString());
+            fields.forEach((k, v) -> sb.append(' ').append(k).append('=').append(quote(v)));
+            return sb.toString();
         }
 
         private static String format(Object value) {
             if (value == null) {
-                return "-";
+                return null;
             }
             if (value instanceof BigDecimal bd) {
                 return bd.setScale(Math.min(bd.scale(), 4), RoundingMode.HALF_UP).toPlainString();
             }
-            String s = String.valueOf(value);
+            return String.valueOf(value);
+        }
+
+        private static String quote(String s) {
+            if (s == null) {
+                return "-";
+            }
             if (s.indexOf(' ') >= 0 || s.indexOf('=') >= 0) {
                 return '"' + s.replace("\"", "\\\"") + '"';
             }
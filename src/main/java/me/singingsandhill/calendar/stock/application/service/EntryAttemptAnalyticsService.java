@@ -0,0 +1,402 @@
+package me.singingsandhill.calendar.stock.application.service;
+
+import me.singingsandhill.calendar.stock.application.concurrency.BoundedFanOut;
+import me.singingsandhill.calendar.stock.domain.candle.CandleInterval;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandle;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandleRepository;
+import me.singingsandhill.calendar.stock.domain.position.StockCloseReason;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository;
+import me.singingsandhill.calendar.stock.domain.screening.EntryAttempt;
+import me.singingsandhill.calendar.stock.domain.screening.EntryAttemptRepository;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 진입 시도 사후 분석.
+ *
+ * 거래일마다 진입 시도(stock_entry_attempts)를 읽어 시도 직후의 1분봉 경로와 맞춰 본다.
+ * 시도 가격 기준 TP1 / 손절 중 무엇에 먼저 닿았는지(같은 봉이면 손절로 본다)를 판정해
+ * 수락/거부 사유, 체결강도/호가 불균형 구간별로 적중률을 낸다.
+ * "거부된 진입이 실제로 TP1 에 닿았을 비율" 로 각 필터가 수익을 막았는지 손실을 막았는지 본다.
+ *
+ * 분봉이 없는 수락 시도는 그 뒤 진입한 포지션 결과(TP1 체결 / 손절)로 대신한다.
+ * 거래일 단위로 병렬 집계하고, 지난 거래일 결과는 거래일 키로 캐시한다 — 청산 파라미터가 바뀌면 그 날 항목을 덮어쓰고,
+ * 최근 CACHED_DAYS 거래일만 남기고 오래된 날부터 버린다.
+ */
+@Service
+public class EntryAttemptAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(EntryAttemptAnalyticsService.class);
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String REJECTED = "REJECTED";
+
+    private static final int DEFAULT_PARALLELISM = 4;
+    /** 캐시에 남길 최근 거래일 수 (약 반년) */
+    private static final int CACHED_DAYS = 120;
+
+    /** 체결강도 구간 경계 (%) */
+    private static final BigDecimal[] STRENGTH_EDGES = {
+        new BigDecimal("80"), new BigDecimal("100"), new BigDecimal("120"), new BigDecimal("150")
+    };
+
+    /** 호가 불균형(매수잔량/매도잔량) 구간 경계 */
+    private static final BigDecimal[] IMBALANCE_EDGES = {
+        new BigDecimal("0.5"), new BigDecimal("0.8"), new BigDecimal("1.0"),
+        new BigDecimal("1.5"), new BigDecimal("2.0")
+    };
+
+    enum Outcome { TP1_HIT, STOP_HIT, TIME_EXIT, NO_DATA }
+
+    private final EntryAttemptRepository entryAttemptRepository;
+    private final StockCandleRepository candleRepository;
+    private final StockPositionRepository positionRepository;
+    private final StockProperties stockProperties;
+    private final Clock clock;
+
+    private final ConcurrentSkipListMap<LocalDate, CachedDay> cache = new ConcurrentSkipListMap<>();
+
+    public EntryAttemptAnalyticsService(EntryAttemptRepository entryAttemptRepository,
+                                        StockCandleRepository candleRepository,
+                                        StockPositionRepository positionRepository,
+                                        StockProperties stockProperties,
+                                        Clock clock) {
+        this.entryAttemptRepository = entryAttemptRepository;
+        this.candleRepository = candleRepository;
+        this.positionRepository = positionRepository;
+        this.stockProperties = stockProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * 기간 내 진입 시도 효과 분석 (거래일 단위로 병렬).
+     */
+    public AttemptEffectiveness analyze(LocalDate from, LocalDate to, int parallelism) {
+        ExitParams params = currentParams();
+        List<LocalDate> dates = entryAttemptRepository.findTradingDates(from, to);
+
+        Map<String, Tally> total = new TreeMap<>(Comparator.comparing(EntryAttemptAnalyticsService::groupOrder)
+            .thenComparing(Comparator.naturalOrder()));
+        for (Map<String, Tally> day : analyzeAll(dates, params, parallelism)) {
+            day.forEach((group, tally) -> total.computeIfAbsent(group, g -> new Tally()).merge(tally));
+        }
+
+        Map<String, GroupStats> groups = new LinkedHashMap<>();
+        total.forEach((group, tally) -> groups.put(group, tally.toStats()));
+        return new AttemptEffectiveness(from, to, dates.size(),
+            params.tp1Percent(), params.stopLossPercent(), params.exitTime(), groups);
+    }
+
+    public AttemptEffectiveness analyze(LocalDate from, LocalDate to) {
+        return analyze(from, to, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * 캐시 비우기 (분봉/포지션을 다시 적재한 뒤 호출).
+     */
+    public void evict() {
+        cache.clear();
+    }
+
+    private List<Map<String, Tally>> analyzeAll(List<LocalDate> dates, ExitParams params, int parallelism) {
+        LocalDate today = LocalDate.now(clock);
+        List<Map<String, Tally>> results = BoundedFanOut.map(dates, parallelism,
+            date -> {
+                // 오늘은 시도/분봉이 계속 쌓이므로 캐시하지 않는다
+                if (!date.isBefore(today)) {
+                    return analyzeDay(date, params);
+                }
+                CachedDay cached = cache.get(date);
+                if (cached != null && cached.params().equals(params)) {
+                    return cached.tallies();
+                }
+                Map<String, Tally> computed = analyzeDay(date, params);
+                cache.put(date, new CachedDay(params, computed));
+                while (cache.size() > CACHED_DAYS) {
+                    cache.pollFirstEntry();
+                }
+                return computed;
+            },
+            (date, e) -> {
+                log.warn("Entry attempt analysis failed for {}: {}", date, e.getMessage());
+                return null;
+            });
+        results.removeIf(Objects::isNull);
+        return results;
+    }
+
+    /**
+     * 하루치 시도를 판정해 그룹별로 센다. 분봉은 종목당 한 번만 읽는다.
+     */
+    Map<String, Tally> analyzeDay(LocalDate date, ExitParams params) {
+        List<EntryAttempt> attempts = dedupe(entryAttemptRepository.findByTradingDate(date));
+        LocalDateTime exitAt = date.atTime(params.exitTime());
+
+        Map<String, List<StockCandle>> barsByStock = new HashMap<>();
+        Map<String, List<StockPosition>> positionsByStock = null;
+        Map<String, Tally> tallies = new HashMap<>();
+
+        for (EntryAttempt attempt : attempts) {
+            if (attempt.getCurrentPrice() == null || attempt.getCurrentPrice().signum() <= 0
+                    || attempt.getAttemptedAt() == null) {
+                continue;
+            }
+            List<StockCandle> bars = barsByStock.computeIfAbsent(attempt.getStockCode(),
+                code -> loadBars(code, date, exitAt));
+            Result result = simulate(attempt, bars, params, exitAt);
+
+            if (result.outcome() == Outcome.NO_DATA && attempt.isAccepted()) {
+                if (positionsByStock == null) {
+                    positionsByStock = new HashMap<>();
+                    for (StockPosition p : positionRepository.findByTradingDate(date)) {
+                        positionsByStock.computeIfAbsent(p.getStockCode(), c -> new ArrayList<>()).add(p);
+                    }
+                }
+                result = fromPosition(attempt, positionsByStock.getOrDefault(attempt.getStockCode(), List.of()));
+            }
+
+            for (String group : groupsOf(attempt)) {
+                tallies.computeIfAbsent(group, g -> new Tally()).add(result);
+            }
+        }
+        return Map.copyOf(tallies);
+    }
+
+    /**
+     * 같은 종목을 틱마다 다시 판정하므로 (종목, 분, 결과, 사유) 당 첫 시도만 남긴다.
+     */
+    static List<EntryAttempt> dedupe(List<EntryAttempt> attempts) {
+        Set<String> seen = new HashSet<>();
+        List<EntryAttempt> unique = new ArrayList<>(attempts.size());
+        attempts.stream()
+            .filter(a -> a.getAttemptedAt() != null)
+            .sorted(Comparator.comparing(EntryAttempt::getAttemptedAt))
+            .forEach(a -> {
+                String key = a.getStockCode() + "|" + a.getAttemptedAt().truncatedTo(ChronoUnit.MINUTES)
+                    + "|" + a.isAccepted() + "|" + a.getRejectReason();
+                if (seen.add(key)) {
+                    unique.add(a);
+                }
+            });
+        return unique;
+    }
+
+    private List<StockCandle> loadBars(String stockCode, LocalDate date, LocalDateTime exitAt) {
+        List<StockCandle> bars = new ArrayList<>(candleRepository.findByStockCodeAndIntervalAndDateTimeRange(
+            stockCode, CandleInterval.MINUTE_1, date.atStartOfDay(), exitAt));
+        bars.sort(Comparator.comparing(StockCandle::getCandleDateTime));
+        return bars;
+    }
+
+    /**
+     * 시도 분 다음 봉부터 최종 청산 시각까지 훑어 TP1 / 손절 도달을 판정.
+     * 한 봉에서 둘 다 닿으면 순서를 알 수 없으므로 손절로 본다 (보수적).
+     */
+    static Result simulate(EntryAttempt attempt, List<StockCandle> bars, ExitParams params, LocalDateTime exitAt) {
+        BigDecimal entry = attempt.getCurrentPrice();
+        BigDecimal tp1 = entry.multiply(BigDecimal.ONE.add(percent(params.tp1Percent())));
+        BigDecimal stop = entry.multiply(BigDecimal.ONE.subtract(percent(params.stopLossPercent())));
+        LocalDateTime startAfter = attempt.getAttemptedAt().truncatedTo(ChronoUnit.MINUTES);
+
+        StockCandle last = null;
+        for (StockCandle bar : bars) {
+            if (!bar.getCandleDateTime().isAfter(startAfter)) {
+                continue;
+            }
+            if (bar.getCandleDateTime().isAfter(exitAt)) {
+                break;
+            }
+            last = bar;
+            if (bar.getLowPrice() != null && bar.getLowPrice().compareTo(stop) <= 0) {
+                return new Result(Outcome.STOP_HIT, null);
+            }
+            if (bar.getHighPrice() != null && bar.getHighPrice().compareTo(tp1) >= 0) {
+                return new Result(Outcome.TP1_HIT, null);
+            }
+        }
+        if (last == null || last.getClosePrice() == null) {
+            return new Result(Outcome.NO_DATA, null);
+        }
+        BigDecimal returnPercent = last.getClosePrice().subtract(entry)
+            .multiply(BigDecimal.valueOf(100))
+            .divide(entry, 4, RoundingMode.HALF_UP);
+        return new Result(Outcome.TIME_EXIT, returnPercent);
+    }
+
+    /**
+     * 분봉이 없을 때 수락 시도 직후 진입한 포지션 결과로 대신한다.
+     */
+    static Result fromPosition(EntryAttempt attempt, List<StockPosition> positions) {
+        StockPosition matched = positions.stream()
+            .filter(p -> p.getEnteredAt() != null && !p.getEnteredAt().isBefore(
+                attempt.getAttemptedAt().truncatedTo(ChronoUnit.MINUTES)))
+            .min(Comparator.comparing(StockPosition::getEnteredAt))
+            .orElse(null);
+        if (matched == null) {
+            return new Result(Outcome.NO_DATA, null);
+        }
+        if (matched.isTp1Executed()) {
+            return new Result(Outcome.TP1_HIT, null);
+        }
+        if (matched.getCloseReason() == StockCloseReason.STOP_LOSS) {
+            return new Result(Outcome.STOP_HIT, null);
+        }
+        return new Result(matched.getCloseReason() != null ? Outcome.TIME_EXIT : Outcome.NO_DATA, null);
+    }
+
+    static List<String> groupsOf(EntryAttempt attempt) {
+        List<String> groups = new ArrayList<>(4);
+        groups.add(attempt.isAccepted() ? ACCEPTED : REJECTED);
+        if (!attempt.isAccepted()) {
+            groups.add(REJECTED + ":" + (attempt.getRejectReason() != null ? attempt.getRejectReason() : "unknown"));
+        }
+        if (attempt.getTradeStrength() != null) {
+            groups.add("strength:" + bucket(attempt.getTradeStrength(), STRENGTH_EDGES));
+        }
+        if (attempt.getOrderImbalance() != null) {
+            groups.add("imbalance:" + bucket(attempt.getOrderImbalance(), IMBALANCE_EDGES));
+        }
+        return groups;
+    }
+
+    static String bucket(BigDecimal value, BigDecimal[] edges) {
+        if (value.compareTo(edges[0]) < 0) {
+            return "<" + edges[0].toPlainString();
+        }
+        for (int i = 1; i < edges.length; i++) {
+            if (value.compareTo(edges[i]) < 0) {
+                return edges[i - 1].toPlainString() + "-" + edges[i].toPlainString();
+            }
+        }
+        return edges[edges.length - 1].toPlainString() + "+";
+    }
+
+    private static int groupOrder(String group) {
+        if (group.equals(ACCEPTED)) return 0;
+        if (group.equals(REJECTED)) return 1;
+        if (group.startsWith(REJECTED)) return 2;
+        if (group.startsWith("strength:")) return 3;
+        return 4;
+    }
+
+    private static BigDecimal percent(BigDecimal value) {
+        return value.divide(BigDecimal.valueOf(100), 6, RoundingMode.HALF_UP);
+    }
+
+    private ExitParams currentParams() {
+        return new ExitParams(
+            stockProperties.getExit().getTp1Percent(),
+            stockProperties.getRisk().getStopLossPercent(),
+            LocalTime.parse(stockProperties.getExit().getFinalExitTime()));
+    }
+
+    // ========== 집계 타입 ==========
+
+    record ExitParams(BigDecimal tp1Percent, BigDecimal stopLossPercent, LocalTime exitTime) {}
+
+    private record CachedDay(ExitParams params, Map<String, Tally> tallies) {}
+
+    record Result(Outcome outcome, BigDecimal returnPercent) {}
+
+    /**
+     * 그룹별 판정 카운터. 거래일 결과는 캐시에 남으므로 합산은 항상 새 Tally 로 한다.
+     */
+    static final class Tally {
+        private long attempts;
+        private long tp1Hits;
+        private long stopHits;
+        private long timeExits;
+        private long noData;
+        private BigDecimal timeExitReturnSum = BigDecimal.ZERO;
+        private long timeExitReturnCount;
+
+        void add(Result result) {
+            attempts++;
+            switch (result.outcome()) {
+                case TP1_HIT -> tp1Hits++;
+                case STOP_HIT -> stopHits++;
+                case TIME_EXIT -> {
+                    timeExits++;
+                    if (result.returnPercent() != null) {
+                        timeExitReturnSum = timeExitReturnSum.add(result.returnPercent());
+                        timeExitReturnCount++;
+                    }
+                }
+                case NO_DATA -> noData++;
+            }
+        }
+
+        void merge(Tally other) {
+            attempts += other.attempts;
+            tp1Hits += other.tp1Hits;
+            stopHits += other.stopHits;
+            timeExits += other.timeExits;
+            noData += other.noData;
+            timeExitReturnSum = timeExitReturnSum.add(other.timeExitReturnSum);
+            timeExitReturnCount += other.timeExitReturnCount;
+        }
+
+        GroupStats toStats() {
+            long evaluated = attempts - noData;
+            return new GroupStats(attempts, evaluated, tp1Hits, stopHits, timeExits, noData,
+                rate(tp1Hits, evaluated), rate(stopHits, evaluated),
+                timeExitReturnCount == 0 ? null
+                    : timeExitReturnSum.divide(BigDecimal.valueOf(timeExitReturnCount), 2, RoundingMode.HALF_UP));
+        }
+
+        private static BigDecimal rate(long count, long total) {
+            return total == 0 ? BigDecimal.ZERO
+                : BigDecimal.valueOf(count * 100.0 / total).setScale(1, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * 그룹 통계. 적중률은 판정 가능한 시도(evaluated) 대비 %.
+     */
+    public record GroupStats(
+        long attempts,
+        long evaluated,
+        long tp1Hits,
+        long stopHits,
+        long timeExits,
+        long noData,
+        BigDecimal tp1HitRate,
+        BigDecimal stopHitRate,
+        BigDecimal avgTimeExitReturn
+    ) {}
+
+    /**
+     * 기간 분석 결과. groups 키: ACCEPTED, REJECTED, REJECTED:&lt;사유&gt;, strength:&lt;구간&gt;, imbalance:&lt;구간&gt;
+     */
+    public record AttemptEffectiveness(
+        LocalDate from,
+        LocalDate to,
+        int tradingDays,
+        BigDecimal tp1Percent,
+        BigDecimal stopLossPercent,
+        LocalTime exitTime,
+        Map<String, GroupStats> groups
+    ) {}
+}
@@ -4,11 +4,13 @@ import me.singingsandhill.calendar.stock.application.observability.StockBotMetri
 import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
 import me.singingsandhill.calendar.stock.domain.position.StockPosition;
 import me.singingsandhill.calendar.stock.domain.stock.Stock;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisMarketDataCache;
 import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
 import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Closeable;
@@ -18,6 +20,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -27,7 +30,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * 08:30~09:00  사전 스크리닝 (전일 데이터 수집)
  * 09:00~09:10  갭 상승 종목 스크리닝
  * 09:10~11:20  눌림목 감지 및 진입/청산
+ * 09:20~10:30  증분 스크리닝 (유니버스 일부씩 재평가해 감시 종목 편입/교체)
  * 11:20~11:30  최종 청산
+ *
+ * 루프는 트랜잭션을 열지 않는다. KIS 조회/주문(수 초 걸릴 수 있음) 동안 웹과 같이 쓰는
+ * 커넥션 풀을 잡지 않도록, 저장은 하위 서비스의 짧은 저장 트랜잭션({@link StockWriteTransactions})으로만 한다.
  */
 @Service
 @Transactional(readOnly = true)
@@ -48,9 +55,14 @@ public class GapPullbackBotService {
     private final StockMailService mailService;
     private final StockBotMetrics metrics;
     private final UniverseBuilder universeBuilder;
+    private final RealtimeTickFeeder realtimeTickFeeder;
+    private final PreMarketWarmup preMarketWarmup;
+    private final IncrementalScreeningService incrementalScreeningService;
 
     private LocalDateTime startedAt;
     private LocalDate currentTradingDate;
+    /** 09:20 스크리닝을 마친 거래일 — 증분 스크리닝은 그 뒤에만 돈다. */
+    private volatile LocalDate screenedDate;
 
     public GapPullbackBotService(ScreeningService screeningService,
                                   PullbackDetectionService pullbackDetectionService,
@@ -60,7 +72,10 @@ public class GapPullbackBotService {
                                   StockProperties stockProperties,
                                   StockMailService mailService,
                                   StockBotMetrics metrics,
-                                  UniverseBuilder universeBuilder) {
+                                  UniverseBuilder universeBuilder,
+                                  RealtimeTickFeeder realtimeTickFeeder,
+                                  PreMarketWarmup preMarketWarmup,
+                                  IncrementalScreeningService incrementalScreeningService) {
         this.screeningService = screeningService;
         this.pullbackDetectionService = pullbackDetectionService;
         this.positionService = positionService;
@@ -70,6 +85,9 @@ public class GapPullbackBotService {
         this.mailService = mailService;
         this.metrics = metrics;
         this.universeBuilder = universeBuilder;
+        this.realtimeTickFeeder = realtimeTickFeeder;
+        this.preMarketWarmup = preMarketWarmup;
+        this.incrementalScreeningService = incrementalScreeningService;
     }
 
     // ========== Bot Lifecycle ==========
@@ -108,6 +126,8 @@ public class GapPullbackBotService {
 
         running.set(false);
         paused.set(false);
+        realtimeTickFeeder.unsubscribeAll();
+        realtimeTickFeeder.setPaused(false);
         log.info("Gap & Pullback bot stopped");
         return true;
     }
@@ -122,6 +142,7 @@ public class GapPullbackBotService {
         }
 
         paused.set(true);
+        realtimeTickFeeder.setPaused(true);
         log.info("Gap & Pullback bot paused");
         return true;
     }
@@ -136,6 +157,7 @@ public class GapPullbackBotService {
         }
 
         paused.set(false);
+        realtimeTickFeeder.setPaused(false);
         log.info("Gap & Pullback bot resumed");
         return true;
     }
@@ -166,6 +188,7 @@ public class GapPullbackBotService {
             lastTick,
             lastScreening,
             metrics.apiCallsLast5min(),
+            metrics.apiCallsLast5minByTrId(),
             startedAt
         );
     }
@@ -210,7 +233,7 @@ public class GapPullbackBotService {
      * - 전일 데이터 수집
      * - 관심종목 풀 준비
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void executePreMarketLoop() {
         if (!running.get() || paused.get()) {
             return;
@@ -222,13 +245,20 @@ public class GapPullbackBotService {
         // 그날의 유니버스를 미리 빌드해 캐시.
         UniverseBuilder.Snapshot universe = universeBuilder.refresh(currentTradingDate);
         log.info("Pre-market universe size: {}", universe.codes().size());
+
+        // 토큰/전일 일봉/시총을 미리 받아 09:20 스크리닝은 장중 값만 조회하게 한다
+        try {
+            preMarketWarmup.warmUp(currentTradingDate, universe.codes());
+        } catch (Exception e) {
+            log.warn("Pre-market warm-up failed: {}", e.getMessage());
+        }
     }
 
     /**
      * 스크리닝 루프 (09:00~09:10)
      * - 갭 상승 종목 스크리닝
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void executeScreeningLoop() {
         if (!running.get() || paused.get()) {
             return;
@@ -247,17 +277,55 @@ public class GapPullbackBotService {
 
             List<Stock> selectedStocks = screeningService.executeScreening(
                 currentTradingDate, stockCodes);
+            pullbackDetectionService.reloadStates(currentTradingDate);
+            screenedDate = currentTradingDate;
 
             log.info("Screening complete: {} stocks selected", selectedStocks.size());
+            // 선정 종목 실시간 구독 — 이후 상태 머신은 체결 틱마다 진행 (stock.realtime.enabled)
+            realtimeTickFeeder.subscribe(selectedStocks);
             TradeEvents.event("SCREENING_COMPLETED")
                 .with("universe", stockCodes.size())
                 .with("selected", selectedStocks.size())
                 .log();
 
+            // outbox 적재만 — SMTP 발송은 NotificationDispatcher 스레드에서
             try {
                 mailService.sendScreeningResult(currentTradingDate, selectedStocks);
             } catch (Exception e) {
-                log.error("Failed to send screening result email: {}", e.getMessage());
+                log.error("Failed to queue screening result email: {}", e.getMessage());
+            }
+        } catch (java.io.IOException e) {
+            log.error("Closeable failure (should not happen): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 증분 스크리닝 루프 (09:20 스크리닝 이후 ~ incremental-end-time)
+     * - 유니버스 slice 재평가 → 감시 종목 편입/교체/제외
+     * - 감시 종목이 바뀌면 실시간 구독 갱신
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void executeIncrementalScreeningLoop() {
+        if (!running.get() || paused.get()) {
+            return;
+        }
+        // 재시작으로 09:20 스크리닝 완료 표시를 잃었으면 저장된 감시 종목으로 판단
+        if (!currentTradingDate.equals(screenedDate)) {
+            if (screeningService.getWatchlist(currentTradingDate).isEmpty()) {
+                return;
+            }
+            screenedDate = currentTradingDate;
+        }
+
+        try (Closeable ignored = TradeEvents.tradingDate(currentTradingDate)) {
+            IncrementalScreeningService.Result result = incrementalScreeningService.step(currentTradingDate);
+            if (result.changed()) {
+                realtimeTickFeeder.subscribe(result.watchlist());
+                TradeEvents.event("WATCHLIST_UPDATED")
+                    .with("admitted", result.admitted())
+                    .with("evicted", result.evicted())
+                    .with("watching", result.watchlist().size())
+                    .log();
             }
         } catch (java.io.IOException e) {
             log.error("Closeable failure (should not happen): {}", e.getMessage());
@@ -270,7 +338,7 @@ public class GapPullbackBotService {
      * - 상태 머신 업데이트
      * - 진입 실행
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void executeTradingLoop() {
         if (!running.get() || paused.get()) {
             return;
@@ -284,7 +352,10 @@ public class GapPullbackBotService {
             return;
         }
 
-        try (Closeable ignored = TradeEvents.tradingDate(currentTradingDate)) {
+        long tickStart = System.nanoTime();
+        // 틱 범위 시세 캐시: 리스크/상태 머신/진입이 같은 종목 시세를 틱당 1회만 조회
+        try (Closeable ignored = TradeEvents.tradingDate(currentTradingDate);
+             KisMarketDataCache.TickScope tick = kisApiClient.beginTick()) {
             metrics.recordTradingTick();
             log.debug("Executing trading loop at {}", now);
 
@@ -298,6 +369,8 @@ public class GapPullbackBotService {
             executeEntries();
         } catch (java.io.IOException e) {
             log.error("Closeable failure (should not happen): {}", e.getMessage());
+        } finally {
+            metrics.recordTradingTickDuration(System.nanoTime() - tickStart);
         }
     }
 
@@ -331,6 +404,7 @@ public class GapPullbackBotService {
                         .with("stockCode", stock.getStockCode())
                         .with("entryPrice", position.getEntryPrice())
                         .with("quantity", position.getEntryQuantity())
+                        .with("entryAmount", position.getEntryAmount())
                         .with("stopLoss", position.getStopLossPrice())
                         .log();
                 } else {
@@ -352,7 +426,7 @@ public class GapPullbackBotService {
     /**
      * 최종 청산 체크 (11:20)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void executeFinalExitCheck() {
         if (!running.get()) {
             return;
@@ -360,12 +434,13 @@ public class GapPullbackBotService {
 
         log.warn("Executing final exit - closing all positions");
         riskService.executeTimeBasedExit(currentTradingDate);
+        realtimeTickFeeder.unsubscribeAll();
     }
 
     /**
      * 긴급 청산
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void emergencyCloseAll() {
         log.warn("EMERGENCY CLOSE requested");
         riskService.emergencyCloseAll(currentTradingDate);
@@ -382,6 +457,7 @@ public class GapPullbackBotService {
         Instant lastTradingTickAt,
         StockBotMetrics.ScreeningSnapshot lastScreeningResult,
         int apiCallsLast5min,
+        Map<String, Long> apiCallsLast5minByTrId,
         LocalDateTime startedAt
     ) {}
 }
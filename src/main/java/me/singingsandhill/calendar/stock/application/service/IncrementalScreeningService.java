@@ -0,0 +1,334 @@
+package me.singingsandhill.calendar.stock.application.service;
+
+import me.singingsandhill.calendar.stock.application.concurrency.StockCodeLocks;
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
+import me.singingsandhill.calendar.stock.domain.stock.Stock;
+import me.singingsandhill.calendar.stock.domain.stock.StockState;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 09:20 이후 증분 스크리닝.
+ *
+ * 09:20 스크리닝은 한 번뿐이라 그 뒤에 갭/체결강도가 살아난 종목은 다음 날까지 보이지 않고,
+ * 감시 종목이 FILTERED_OUT 으로 빠져도 빈 자리가 채워지지 않는다. 여기서는 유니버스를 주기마다
+ * incremental-slice-size 만큼 라운드로빈으로 재평가({@link ScreeningService#rescore} — 같은 Floor + 복합 점수)해
+ * 종목별 최신 점수판을 유지하고, 전체 재스캔 없이 감시 종목을 편입/교체/제외한다.
+ * 주기당 KIS 호출은 slice 크기로 묶인다.
+ *
+ * 히스테리시스 (경계 근처 종목이 매 주기 들락거리지 않도록):
+ * - 빈 자리 편입: 점수판 상위 N 안 &amp;&amp; 점수 &ge; min-score-threshold + admit-margin
+ * - 교체: 자리가 없으면 가장 약한 WATCHING 종목보다 swap-margin 이상 높을 때만
+ * - 제외: WATCHING 종목이 evict-after-misses 번 연속 Floor 탈락 (시세 실패/타임아웃처럼 판정하지 못한 주기는 세지 않는다)
+ * - 교체는 편입 종목 저장이 끝난 뒤에 기존 종목을 뺀다 — 저장이 실패하면 자리를 비우지 않는다
+ *
+ * 눌림목 패턴이 진행 중인(HIGH_FORMED 이후) 종목은 재평가/교체하지 않는다.
+ * stock_monitoring 은 거래일당 종목 1행이라 그날 한 번 빠진(또는 청산된) 종목은 다시 편입하지 않는다.
+ */
+@Service
+public class IncrementalScreeningService {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalScreeningService.class);
+
+    private final ScreeningService screeningService;
+    private final UniverseBuilder universeBuilder;
+    private final StockStateRegistry stateRegistry;
+    private final StockCodeLocks stockCodeLocks;
+    private final StockProperties stockProperties;
+    private final StockBotMetrics metrics;
+    private final Clock clock;
+
+    private volatile Board board;
+
+    public IncrementalScreeningService(ScreeningService screeningService,
+                                       UniverseBuilder universeBuilder,
+                                       StockStateRegistry stateRegistry,
+                                       StockCodeLocks stockCodeLocks,
+                                       StockProperties stockProperties,
+                                       StockBotMetrics metrics,
+                                       Clock clock) {
+        this.screeningService = screeningService;
+        this.universeBuilder = universeBuilder;
+        this.stateRegistry = stateRegistry;
+        this.stockCodeLocks = stockCodeLocks;
+        this.stockProperties = stockProperties;
+        this.metrics = metrics;
+        this.clock = clock;
+    }
+
+    /**
+     * 유니버스 다음 slice 를 재평가하고 감시 종목을 편입/교체/제외한다.
+     * 09:20 스크리닝이 끝난 뒤에만 호출한다 (같은 종목을 두 경로가 동시에 저장하지 않도록).
+     */
+    public synchronized Result step(LocalDate tradingDate) {
+        StockProperties.Screening cfg = stockProperties.getScreening();
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (!cfg.isIncrementalEnabled() || !stockProperties.getScoring().isEnabled()
+                || now.toLocalTime().isAfter(LocalTime.parse(cfg.getIncrementalEndTime()))) {
+            return Result.NONE;
+        }
+
+        Board b = board(tradingDate);
+        List<String> slice = nextSlice(b, universeBuilder.currentUniverse(tradingDate).codes(),
+            tradingDate, Math.max(1, cfg.getIncrementalSliceSize()));
+        if (slice.isEmpty()) {
+            return Result.NONE;
+        }
+
+        ScreeningService.Rescore rescore = screeningService.rescore(tradingDate, slice);
+        Map<String, Stock> rescored = rescore.passed().stream()
+            .collect(Collectors.toMap(Stock::getStockCode, stock -> stock, (a, c) -> a, LinkedHashMap::new));
+
+        // 1. 점수판 갱신 + 연속 Floor 탈락 제외 (판정하지 못한 종목은 이전 점수/탈락 횟수를 그대로 둔다)
+        List<String> evicted = new ArrayList<>();
+        for (String stockCode : slice) {
+            Stock fresh = rescored.get(stockCode);
+            if (fresh != null) {
+                b.scores.put(stockCode, new Scored(stockCode, fresh.getCompositeScore(), now));
+                b.misses.remove(stockCode);
+                continue;
+            }
+            if (rescore.failed().contains(stockCode)) {
+                continue;
+            }
+            b.scores.remove(stockCode);
+            int misses = b.misses.merge(stockCode, 1, Integer::sum);
+            Optional<Stock> watched = stateRegistry.find(stockCode, tradingDate);
+            if (misses >= cfg.getEvictAfterMisses() && watched.isPresent()
+                    && evict(watched.get(), "floor_miss", null)) {
+                evicted.add(stockCode);
+            }
+        }
+
+        // 2. 편입 / 교체
+        List<Stock> admitted = admit(b, tradingDate, rescored, evicted);
+        if (!evicted.isEmpty()) {
+            stateRegistry.flush();
+        }
+
+        metrics.recordIncrementalScreening(slice.size(), admitted.size(), evicted.size());
+        log.info("Incremental screening: evaluated={}, floorPassed={}, failed={}, admitted={}, evicted={}",
+            slice.size(), rescored.size(), rescore.failed().size(),
+            admitted.stream().map(Stock::getStockCode).toList(), evicted);
+        return new Result(slice.size(), admitted.stream().map(Stock::getStockCode).toList(), List.copyOf(evicted),
+            stateRegistry.findActive(tradingDate));
+    }
+
+    /**
+     * 이번 slice 에서 새로 점수가 나온 미감시 종목만 편입 후보로 본다 (오래된 점수로는 편입하지 않는다).
+     * 교체 대상은 먼저 골라 두고, 편입 종목 저장이 성공한 뒤에만 제외한다.
+     */
+    private List<Stock> admit(Board b, LocalDate tradingDate, Map<String, Stock> rescored, List<String> evicted) {
+        StockProperties.Screening cfg = stockProperties.getScreening();
+        int maxWatchlist = cfg.getMaxWatchlistSize();
+        Set<String> topN = ranking(b, tradingDate).stream()
+            .limit(maxWatchlist)
+            .map(Scored::stockCode)
+            .collect(Collectors.toSet());
+        List<Stock> challengers = rescored.values().stream()
+            .filter(stock -> topN.contains(stock.getStockCode()))
+            .filter(stock -> stateRegistry.find(stock.getStockCode(), tradingDate).isEmpty())
+            .sorted(Comparator.comparing(Stock::getCompositeScore).reversed())
+            .toList();
+        if (challengers.isEmpty()) {
+            return List.of();
+        }
+
+        List<Stock> watched = new ArrayList<>(stateRegistry.findActive(tradingDate));
+        int free = maxWatchlist - watched.size();
+        BigDecimal admitBar = stockProperties.getScoring().getMinScoreThreshold().add(cfg.getAdmitMargin());
+
+        List<Stock> toAdmit = new ArrayList<>();
+        Map<Stock, String> swapOut = new LinkedHashMap<>();
+        for (Stock challenger : challengers) {
+            BigDecimal score = challenger.getCompositeScore();
+            if (free > 0) {
+                if (score.compareTo(admitBar) >= 0) {
+                    toAdmit.add(challenger);
+                    free--;
+                }
+                continue;
+            }
+            Optional<Stock> weakest = watched.stream()
+                .filter(stock -> stock.getState() == StockState.WATCHING)
+                .min(Comparator.comparing(stock -> currentScore(b, stock)));
+            if (weakest.isEmpty()
+                    || score.compareTo(currentScore(b, weakest.get()).add(cfg.getSwapMargin())) < 0) {
+                continue;
+            }
+            watched.remove(weakest.get());
+            swapOut.put(weakest.get(), challenger.getStockCode());
+            toAdmit.add(challenger);
+        }
+        if (toAdmit.isEmpty()) {
+            return List.of();
+        }
+
+        List<Stock> saved;
+        try {
+            saved = screeningService.saveAdmitted(toAdmit);
+        } catch (RuntimeException e) {
+            log.warn("Incremental admit save failed, keeping current watchlist: {}", e.getMessage());
+            return List.of();
+        }
+        swapOut.forEach((incumbent, replacedBy) -> {
+            if (evict(incumbent, "swapped", replacedBy)) {
+                evicted.add(incumbent.getStockCode());
+            } else {
+                log.info("Swap-out of {} skipped: left WATCHING before the swap, watchlist over by one until next eviction",
+                    incumbent.getStockCode());
+            }
+        });
+        for (Stock stock : saved) {
+            stateRegistry.admit(stock);
+            TradeEvents.event("WATCHLIST_ADMITTED")
+                .with("stockCode", stock.getStockCode())
+                .with("score", stock.getCompositeScore())
+                .with("gapPercent", stock.getGapPercent())
+                .with("tradeStrength", stock.getTradeStrength())
+                .log();
+        }
+        return saved;
+    }
+
+    /**
+     * WATCHING 종목만 제외한다 (상태 머신과 같은 종목 락 안에서 다시 확인).
+     */
+    private boolean evict(Stock stock, String reason, String replacedBy) {
+        boolean evicted = stockCodeLocks.withLock(stock.getStockCode(), () -> {
+            if (stock.getState() != StockState.WATCHING) {
+                return false;
+            }
+            stock.markFilteredOut();
+            stateRegistry.markChanged(stock, true);
+            return true;
+        });
+        if (evicted) {
+            TradeEvents.event("WATCHLIST_EVICTED")
+                .with("stockCode", stock.getStockCode())
+                .with("reason", reason)
+                .with("replacedBy", replacedBy)
+                .log();
+        }
+        return evicted;
+    }
+
+    private List<String> nextSlice(Board b, List<String> universe, LocalDate tradingDate, int size) {
+        List<String> slice = new ArrayList<>(size);
+        for (int scanned = 0; scanned < universe.size() && slice.size() < size; scanned++) {
+            b.cursor = b.cursor % universe.size();
+            String stockCode = universe.get(b.cursor++);
+            Optional<Stock> existing = stateRegistry.find(stockCode, tradingDate);
+            if (existing.isEmpty() || existing.get().getState() == StockState.WATCHING) {
+                slice.add(stockCode);
+            }
+        }
+        return slice;
+    }
+
+    /**
+     * 점수판 순위 — 아직 감시하지 않는 종목과 활성 감시 종목만 (청산/제외된 종목은 뺀다).
+     */
+    private List<Scored> ranking(Board b, LocalDate tradingDate) {
+        return b.scores.values().stream()
+            .filter(scored -> stateRegistry.find(scored.stockCode(), tradingDate)
+                .map(stock -> stock.getState().isActive())
+                .orElse(true))
+            .sorted(Comparator.comparing(Scored::score).reversed())
+            .toList();
+    }
+
+    private static BigDecimal currentScore(Board b, Stock stock) {
+        Scored scored = b.scores.get(stock.getStockCode());
+        if (scored != null) {
+            return scored.score();
+        }
+        return stock.getCompositeScore() != null ? stock.getCompositeScore() : BigDecimal.ZERO;
+    }
+
+    /**
+     * 거래일이 바뀌면 점수판을 새로 만들고 09:20 스크리닝 점수로 감시 종목을 채워 둔다.
+     */
+    private Board board(LocalDate tradingDate) {
+        Board current = board;
+        if (current != null && current.tradingDate.equals(tradingDate)) {
+            return current;
+        }
+        Board fresh = new Board(tradingDate);
+        for (Stock stock : stateRegistry.findActive(tradingDate)) {
+            if (stock.getCompositeScore() != null) {
+                fresh.scores.put(stock.getStockCode(), new Scored(stock.getStockCode(), stock.getCompositeScore(), null));
+            }
+        }
+        board = fresh;
+        return fresh;
+    }
+
+    /**
+     * 현재 점수판 상위 N (max-watchlist-size).
+     */
+    public List<LeaderboardEntry> leaderboard(LocalDate tradingDate) {
+        Board b = board;
+        if (b == null || !b.tradingDate.equals(tradingDate)) {
+            return List.of();
+        }
+        return ranking(b, tradingDate).stream()
+            .limit(stockProperties.getScreening().getMaxWatchlistSize())
+            .map(scored -> new LeaderboardEntry(scored.stockCode(), scored.score(),
+                stateRegistry.find(scored.stockCode(), tradingDate).map(Stock::getState).orElse(null),
+                scored.evaluatedAt()))
+            .toList();
+    }
+
+    // ========== Inner types ==========
+
+    private static final class Board {
+        private final LocalDate tradingDate;
+        private final Map<String, Scored> scores = new ConcurrentHashMap<>();
+        private final Map<String, Integer> misses = new HashMap<>();
+        private int cursor;
+
+        private Board(LocalDate tradingDate) {
+            this.tradingDate = tradingDate;
+        }
+    }
+
+    private record Scored(String stockCode, BigDecimal score, LocalDateTime evaluatedAt) {}
+
+    /**
+     * @param state       감시 중이면 현재 상태, 아직 편입 전이면 null
+     * @param evaluatedAt 마지막 재평가 시각 (09:20 스크리닝 점수 그대로면 null)
+     */
+    public record LeaderboardEntry(String stockCode, BigDecimal score, StockState state,
+                                   LocalDateTime evaluatedAt) {}
+
+    /**
+     * @param watchlist 처리 후 활성 감시 종목 (실시간 구독 갱신용)
+     */
+    public record Result(int evaluated, List<String> admitted, List<String> evicted, List<Stock> watchlist) {
+        static final Result NONE = new Result(0, List.of(), List.of(), List.of());
+
+        public boolean changed() {
+            return !admitted.isEmpty() || !evicted.isEmpty();
+        }
+    }
+}
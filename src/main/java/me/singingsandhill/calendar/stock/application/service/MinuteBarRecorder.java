@@ -0,0 +1,297 @@
+package me.singingsandhill.calendar.stock.application.service;
+
+import me.singingsandhill.calendar.stock.domain.candle.CandleInterval;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandle;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandleRepository;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisRealtimeClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisRealtimeTrade;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 감시 종목 1분봉 기록기.
+ *
+ * 트레이딩 루프가 이미 받는 시세(5초 폴링)와 실시간 체결 틱을 종목별 1분 OHLCV 로 모은다.
+ * - 관측 시 분이 바뀌면 직전 봉을 확정해 대기열에 넣는다 (메모리 갱신만 — 트레이딩 틱을 막지 않음).
+ * - 매 분 {@link #flush()} 가 경과한 봉까지 확정하고, 대기열을 전용 스레드에서 stock_candles 에 일괄 저장한다.
+ * - 거래량은 누적 거래량(acml_vol)의 분 구간 차이, 거래대금은 관측가 × 구간 거래량 합으로 근사한다.
+ *
+ * 종료 시 {@link #shutdown()} 이 대기열을 마저 저장하고 저장 스레드가 끝날 때까지 기다린다.
+ *
+ * 최근 확정 봉은 메모리에도 남겨 상태 머신이 점 가격 대신 봉 구조를 볼 수 있게 한다 ({@link #recentBars}).
+ */
+@Component
+public class MinuteBarRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(MinuteBarRecorder.class);
+
+    private static final int RECENT_BARS = 30;
+
+    private final StockCandleRepository candleRepository;
+    private final Clock clock;
+    private final boolean enabled;
+
+    private final Map<String, BarBuilder> builders = new ConcurrentHashMap<>();
+    private final Map<String, Deque<StockCandle>> recent = new ConcurrentHashMap<>();
+    private final Queue<StockCandle> completed = new ConcurrentLinkedQueue<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+        Thread.ofVirtual().name("stock-bar-writer").factory());
+    // writer 로 제출과 종료를 직렬화 — 종료 뒤 flush 가 닫힌 실행기에 제출하지 않도록
+    private boolean stopped;
+
+    @Autowired
+    public MinuteBarRecorder(StockCandleRepository candleRepository,
+                             StockProperties stockProperties,
+                             KisRealtimeClient realtimeClient,
+                             Clock clock) {
+        this(candleRepository, clock, stockProperties.getTrading().isRecordMinuteBars()
+            && stockProperties.getBot().getMode() != StockProperties.Bot.Mode.BACKTEST);
+        if (enabled) {
+            realtimeClient.addTradeListener(this::onTrade);
+        }
+    }
+
+    private MinuteBarRecorder(StockCandleRepository candleRepository, Clock clock, boolean enabled) {
+        this.candleRepository = candleRepository;
+        this.clock = clock;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 아무것도 기록하지 않는 기록기 (백테스트 / 단위 테스트용).
+     */
+    public static MinuteBarRecorder disabled() {
+        return new MinuteBarRecorder(null, Clock.systemDefaultZone(), false);
+    }
+
+    /**
+     * 폴링 시세 1건 반영. 관측 시각은 주입된 시계 기준.
+     */
+    public void onQuote(KisQuoteResponse quote) {
+        if (!enabled || quote == null || quote.currentPrice() == null) {
+            return;
+        }
+        record(quote.stockCode(), quote.currentPrice(), quote.volume(), LocalDateTime.now(clock));
+    }
+
+    /**
+     * 실시간 체결 1건 반영 (웹소켓 스레드에서 호출 — 메모리 갱신만 한다).
+     */
+    public void onTrade(KisRealtimeTrade trade) {
+        if (!enabled || trade == null || trade.price() == null) {
+            return;
+        }
+        LocalDateTime at = trade.receivedAt() != null
+            ? LocalDateTime.ofInstant(trade.receivedAt(), clock.getZone())
+            : LocalDateTime.now(clock);
+        record(trade.stockCode(), trade.price(), trade.cumulativeVolume(), at);
+    }
+
+    void record(String stockCode, BigDecimal price, Long cumulativeVolume, LocalDateTime at) {
+        LocalDateTime minute = at.truncatedTo(ChronoUnit.MINUTES);
+        BarBuilder builder = builders.computeIfAbsent(stockCode, BarBuilder::new);
+        StockCandle closed = builder.update(minute, price, cumulativeVolume);
+        if (closed != null) {
+            complete(closed);
+        }
+    }
+
+    /**
+     * 경과한 분의 봉을 확정하고 대기열을 비동기 일괄 저장한다. 매 분 스케줄러에서 호출.
+     */
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writer) {
+            if (!stopped) {
+                closeElapsedAndSubmit();
+            }
+        }
+    }
+
+    /**
+     * 경과한 분의 봉과 대기열을 마지막으로 저장하고 저장 스레드를 닫는다. 진행 중인 분의 봉은 버린다
+     * (재시작 후 같은 분 봉과 겹치지 않도록).
+     */
+    @PreDestroy
+    public void shutdown() {
+        synchronized (writer) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            if (enabled) {
+                closeElapsedAndSubmit();
+            }
+            writer.shutdown();
+        }
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Minute bar writer did not finish within 5s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeElapsedAndSubmit() {
+        LocalDateTime currentMinute = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES);
+        for (BarBuilder builder : builders.values()) {
+            StockCandle closed = builder.closeBefore(currentMinute);
+            if (closed != null) {
+                complete(closed);
+            }
+        }
+
+        List<StockCandle> batch = new ArrayList<>();
+        StockCandle candle;
+        while ((candle = completed.poll()) != null) {
+            batch.add(candle);
+        }
+        if (!batch.isEmpty()) {
+            writer.execute(() -> persist(batch));
+        }
+    }
+
+    /**
+     * 종목의 최근 확정 1분봉 (오래된 것부터, 최대 30개).
+     */
+    public List<StockCandle> recentBars(String stockCode) {
+        Deque<StockCandle> bars = recent.get(stockCode);
+        if (bars == null) {
+            return List.of();
+        }
+        synchronized (bars) {
+            return List.copyOf(bars);
+        }
+    }
+
+    private void complete(StockCandle candle) {
+        completed.add(candle);
+        Deque<StockCandle> bars = recent.computeIfAbsent(candle.getStockCode(), k -> new ArrayDeque<>());
+        synchronized (bars) {
+            bars.addLast(candle);
+            while (bars.size() > RECENT_BARS) {
+                bars.removeFirst();
+            }
+        }
+    }
+
+    private void persist(List<StockCandle> batch) {
+        try {
+            candleRepository.saveAll(batch);
+            log.debug("Recorded {} minute bars", batch.size());
+        } catch (Exception e) {
+            // 재시작 직후 같은 분 봉 중복(unique 제약) 등 — 건별로 재시도해 나머지는 살린다
+            log.warn("Minute bar batch insert failed ({} bars): {} — retrying one by one",
+                batch.size(), e.getMessage());
+            for (StockCandle candle : batch) {
+                try {
+                    candleRepository.save(candle);
+                } catch (Exception ignored) {
+                    log.debug("Skipped minute bar {} {}", candle.getStockCode(), candle.getCandleDateTime());
+                }
+            }
+        }
+    }
+
+    /**
+     * 종목 1개의 진행 중인 분봉. 같은 종목의 폴링/틱 스레드가 동시에 갱신할 수 있어 동기화한다.
+     */
+    private static final class BarBuilder {
+        private final String stockCode;
+        private LocalDateTime minute;
+        private LocalDateTime closedThrough;
+        private BigDecimal open;
+        private BigDecimal high;
+        private BigDecimal low;
+        private BigDecimal close;
+        private BigDecimal tradeValue;
+        private long startCumulativeVolume = -1;
+        private long lastCumulativeVolume = -1;
+
+        BarBuilder(String stockCode) {
+            this.stockCode = stockCode;
+        }
+
+        synchronized StockCandle update(LocalDateTime at, BigDecimal price, Long cumulativeVolume) {
+            if ((minute != null && at.isBefore(minute))
+                    || (closedThrough != null && !at.isAfter(closedThrough))) {
+                return null; // 늦게 도착한 지난(이미 확정된) 분 관측은 버린다
+            }
+            StockCandle closed = null;
+            if (minute != null && at.isAfter(minute)) {
+                closed = build();
+                startNew(at, price);
+            } else if (minute == null) {
+                startNew(at, price);
+            }
+
+            high = high.max(price);
+            low = low.min(price);
+            close = price;
+
+            if (cumulativeVolume != null) {
+                if (startCumulativeVolume < 0 || cumulativeVolume < lastCumulativeVolume) {
+                    // 첫 관측 또는 누적 거래량 리셋(새 거래일) — 기준점만 잡는다
+                    startCumulativeVolume = cumulativeVolume;
+                    lastCumulativeVolume = cumulativeVolume;
+                } else if (cumulativeVolume > lastCumulativeVolume) {
+                    long delta = cumulativeVolume - lastCumulativeVolume;
+                    tradeValue = tradeValue.add(price.multiply(BigDecimal.valueOf(delta)));
+                    lastCumulativeVolume = cumulativeVolume;
+                }
+            }
+            return closed;
+        }
+
+        synchronized StockCandle closeBefore(LocalDateTime currentMinute) {
+            if (minute == null || !minute.isBefore(currentMinute)) {
+                return null;
+            }
+            StockCandle closed = build();
+            minute = null;
+            return closed;
+        }
+
+        private void startNew(LocalDateTime at, BigDecimal price) {
+            minute = at;
+            open = price;
+            high = price;
+            low = price;
+            close = price;
+            tradeValue = BigDecimal.ZERO;
+            // 다음 봉 거래량은 직전 봉의 마지막 누적 거래량부터 잰다
+            startCumulativeVolume = lastCumulativeVolume;
+        }
+
+        private StockCandle build() {
+            long volume = startCumulativeVolume >= 0 ? lastCumulativeVolume - startCumulativeVolume : 0L;
+            closedThrough = minute;
+            return StockCandle.of(stockCode, minute, CandleInterval.MINUTE_1,
+                open, high, low, close, volume, tradeValue);
+        }
+    }
+}
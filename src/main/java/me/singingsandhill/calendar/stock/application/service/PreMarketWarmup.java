@@ -0,0 +1,158 @@
+package me.singingsandhill.calendar.stock.application.service;
+
+import me.singingsandhill.calendar.stock.application.concurrency.BoundedFanOut;
+import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisRateLimiter;
+import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisDailyPriceResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 장 전(08:30) 데이터 워밍업.
+ *
+ * 09:20 스크리닝 임계 경로에서 장중 값이 아닌 것들을 미리 받아 거래일 스냅샷으로 캐시한다:
+ *   1) 접근토큰 선발급 — 첫 스크리닝 호출이 토큰 발급을 기다리지 않게
+ *   2) 유니버스 일괄 시세 1회 — 시가총액(전일 종가 기준)
+ *   3) 종목별 일자별 시세 — 전일 종가/거래량/거래대금 (LOW 우선순위, warmupParallelism 만큼만 동시 호출)
+ *
+ * ScreeningService 는 {@link #priorDay} 로 조회해 시총 floor 미달 종목을 장중 시세 조회 전에 제외하고,
+ * 전일 거래량을 채운다. 워밍업이 안 됐거나 실패한 종목은 기존처럼 장중 시세만으로 평가된다.
+ */
+@Service
+public class PreMarketWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(PreMarketWarmup.class);
+
+    private static final DateTimeFormatter KIS_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final KoreaInvestmentApiClient kisApiClient;
+    private final StockProperties stockProperties;
+
+    private volatile Snapshot snapshot;
+
+    public PreMarketWarmup(KoreaInvestmentApiClient kisApiClient, StockProperties stockProperties) {
+        this.kisApiClient = kisApiClient;
+        this.stockProperties = stockProperties;
+    }
+
+    /**
+     * 유니버스 워밍업. 어떤 단계가 실패해도 예외를 던지지 않고 받은 만큼만 캐시한다.
+     */
+    public Snapshot warmUp(LocalDate tradingDate, List<String> stockCodes) {
+        long startNanos = System.nanoTime();
+
+        boolean authenticated = preIssueToken();
+
+        Map<String, KisQuoteResponse> quotes = Map.of();
+        if (!stockCodes.isEmpty()) {
+            try (KisRateLimiter.PriorityScope ignored = KisRateLimiter.withPriority(KisRateLimiter.Priority.LOW)) {
+                quotes = kisApiClient.getQuotes(stockCodes);
+            } catch (Exception e) {
+                log.warn("Pre-market quote warm-up failed: {}", e.getMessage());
+            }
+        }
+
+        Map<String, PriorDay> priorDays = new ConcurrentHashMap<>();
+        Map<String, KisDailyPriceResponse> dailies = fetchPriorDailies(tradingDate, stockCodes);
+        for (String stockCode : stockCodes) {
+            KisQuoteResponse quote = quotes.get(stockCode);
+            KisDailyPriceResponse daily = dailies.get(stockCode);
+            if (quote == null && daily == null) {
+                continue;
+            }
+            priorDays.put(stockCode, new PriorDay(
+                daily != null ? daily.closePrice() : quote.prevClosePrice(),
+                daily != null ? daily.volume() : null,
+                daily != null ? daily.tradeValue() : null,
+                quote != null ? quote.marketCap() : null));
+        }
+
+        Snapshot result = new Snapshot(tradingDate, Map.copyOf(priorDays), authenticated);
+        snapshot = result;
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("Pre-market warm-up for {}: {}/{} codes cached in {}ms (token={})",
+            tradingDate, priorDays.size(), stockCodes.size(), elapsedMs, authenticated);
+        TradeEvents.event("PREMARKET_WARMUP")
+            .with("tradingDate", tradingDate)
+            .with("universe", stockCodes.size())
+            .with("cached", priorDays.size())
+            .with("token", authenticated)
+            .with("elapsedMs", elapsedMs)
+            .log();
+        return result;
+    }
+
+    /**
+     * 워밍업된 전일 데이터. 다른 거래일 스냅샷이거나 워밍업 전이면 비어 있다.
+     */
+    public Optional<PriorDay> priorDay(LocalDate tradingDate, String stockCode) {
+        Snapshot s = snapshot;
+        if (s == null || !s.tradingDate().equals(tradingDate)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(s.priorDays().get(stockCode));
+    }
+
+    private boolean preIssueToken() {
+        if (!kisApiClient.isConfigured()) {
+            return false;
+        }
+        try {
+            return kisApiClient.isAuthenticated();
+        } catch (Exception e) {
+            log.warn("Pre-market token issuance failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 종목별 일자별 시세에서 거래일 이전 마지막 봉. 동시 호출 수는 warmupParallelism 으로 제한한다.
+     */
+    private Map<String, KisDailyPriceResponse> fetchPriorDailies(LocalDate tradingDate, List<String> stockCodes) {
+        String today = tradingDate.format(KIS_DATE);
+        List<KisDailyPriceResponse> priors = BoundedFanOut.map(stockCodes,
+            stockProperties.getScreening().getWarmupParallelism(),
+            stockCode -> {
+                try (KisRateLimiter.PriorityScope ignored = KisRateLimiter.withPriority(KisRateLimiter.Priority.LOW)) {
+                    return kisApiClient.getDailyPrices(stockCode, 2).stream()
+                        .filter(daily -> daily.tradingDate() != null && daily.tradingDate().compareTo(today) < 0)
+                        .findFirst()
+                        .orElse(null);
+                }
+            },
+            (stockCode, e) -> {
+                log.debug("Daily price warm-up failed for {}: {}", stockCode, e.getMessage());
+                return null;
+            });
+
+        Map<String, KisDailyPriceResponse> dailies = new HashMap<>();
+        for (int i = 0; i < stockCodes.size(); i++) {
+            if (priors.get(i) != null) {
+                dailies.put(stockCodes.get(i), priors.get(i));
+            }
+        }
+        return dailies;
+    }
+
+    /**
+     * 종목 1개의 전일 데이터. 받지 못한 값은 null.
+     */
+    public record PriorDay(BigDecimal prevClose, Long prevVolume, BigDecimal prevTradeValue, BigDecimal marketCap) {}
+
+    public record Snapshot(LocalDate tradingDate, Map<String, PriorDay> priorDays, boolean authenticated) {}
+}
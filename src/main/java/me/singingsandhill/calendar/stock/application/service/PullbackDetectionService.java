@@ -1,31 +1,46 @@
 package me.singingsandhill.calendar.stock.application.service;
 
+import me.singingsandhill.calendar.stock.application.concurrency.StockCodeLocks;
 import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
 import me.singingsandhill.calendar.stock.domain.screening.EntryAttempt;
 import me.singingsandhill.calendar.stock.domain.screening.EntryAttemptRepository;
 import me.singingsandhill.calendar.stock.domain.signal.StockSignal;
 import me.singingsandhill.calendar.stock.domain.signal.StockSignalRepository;
 import me.singingsandhill.calendar.stock.domain.stock.Stock;
-import me.singingsandhill.calendar.stock.domain.stock.StockRepository;
 import me.singingsandhill.calendar.stock.domain.stock.StockState;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisRealtimeClient;
 import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
 import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
 import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisOrderbookResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisRealtimeTrade;
 import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Closeable;
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * 눌림목 패턴 감지 서비스
  * 상태 머신: WATCHING → HIGH_FORMED → PULLBACK → ENTRY_READY
+ *
+ * 가격 입력 경로 2개:
+ * - 실시간 체결 틱 ({@link #onRealtimeTick}) — 웹소켓 구독 종목
+ * - 5초 폴링 ({@link #updateAllStockStates}) — 신선한 틱이 없는 종목만 REST 로 폴백
+ * 두 경로는 종목별 {@link StockCodeLocks} 로 직렬화한다.
+ *
+ * 상태는 {@link StockStateRegistry} 메모리에서 진행하고 DB 는 write-behind 로 기록한다
+ * (전이는 매 주기 flush, 가격만 바뀐 경우는 체크포인트 간격마다).
+ * 시세 HTTP 호출을 트랜잭션/커넥션 없이 하도록 상태 갱신 경로는 트랜잭션을 열지 않는다.
  */
 @Service
 @Transactional(readOnly = true)
@@ -33,75 +48,141 @@ public class PullbackDetectionService {
 
     private static final Logger log = LoggerFactory.getLogger(PullbackDetectionService.class);
 
-    private final StockRepository stockRepository;
+    private final StockStateRegistry stateRegistry;
     private final StockSignalRepository signalRepository;
     private final KoreaInvestmentApiClient kisApiClient;
     private final StockProperties stockProperties;
     private final EntryAttemptRepository entryAttemptRepository;
+    private final KisRealtimeClient realtimeClient;
+    private final StockCodeLocks stockCodeLocks;
+    private final MinuteBarRecorder barRecorder;
+    private final Clock clock;
 
-    public PullbackDetectionService(StockRepository stockRepository,
+    public PullbackDetectionService(StockStateRegistry stateRegistry,
                                      StockSignalRepository signalRepository,
                                      KoreaInvestmentApiClient kisApiClient,
                                      StockProperties stockProperties,
-                                     EntryAttemptRepository entryAttemptRepository) {
-        this.stockRepository = stockRepository;
+                                     EntryAttemptRepository entryAttemptRepository,
+                                     KisRealtimeClient realtimeClient,
+                                     StockCodeLocks stockCodeLocks,
+                                     MinuteBarRecorder barRecorder,
+                                     Clock clock) {
+        this.stateRegistry = stateRegistry;
         this.signalRepository = signalRepository;
         this.kisApiClient = kisApiClient;
         this.stockProperties = stockProperties;
         this.entryAttemptRepository = entryAttemptRepository;
+        this.realtimeClient = realtimeClient;
+        this.stockCodeLocks = stockCodeLocks;
+        this.barRecorder = barRecorder;
+        this.clock = clock;
     }
 
     /**
-     * 모든 활성 종목의 상태 업데이트
+     * 모든 활성 종목의 상태 업데이트. 주기 끝에 쌓인 상태 변경을 일괄 저장한다.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void updateAllStockStates(LocalDate tradingDate) {
-        List<Stock> activeStocks = stockRepository.findActiveStocks(tradingDate);
+        // 실시간 틱이 살아 있는 종목은 틱 경로가 상태 머신을 돌린다 — REST 중복 조회/이중 저장 방지
+        List<Stock> polledStocks = stateRegistry.findActive(tradingDate).stream()
+            .filter(stock -> realtimeClient.getFreshTrade(stock.getStockCode()) == null)
+            .toList();
+        if (polledStocks.isEmpty()) {
+            stateRegistry.flush();
+            return;
+        }
+
+        // 현재가는 멀티종목 시세조회로 일괄 조회 (종목당 1회 호출 → 30종목당 1회)
+        Map<String, KisQuoteResponse> quotes = kisApiClient.getQuotes(
+            polledStocks.stream().map(Stock::getStockCode).distinct().toList());
 
-        for (Stock stock : activeStocks) {
+        for (Stock stock : polledStocks) {
             try {
-                updateStockState(stock);
+                KisQuoteResponse quote = quotes.get(stock.getStockCode());
+                if (quote == null) {
+                    continue;
+                }
+                barRecorder.onQuote(quote);
+                stockCodeLocks.withLock(stock.getStockCode(), () -> updateStockState(stock, quote));
             } catch (Exception e) {
                 log.warn("Error updating state for {}: {}", stock.getStockCode(), e.getMessage());
             }
         }
+        stateRegistry.flush();
     }
 
     /**
-     * 단일 종목 상태 업데이트
+     * 단일 종목 상태 업데이트 (틱 경로와 같은 종목 락 아래에서)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void updateStockState(Stock stock) {
-        try (Closeable ignored = TradeEvents.stockCode(stock.getStockCode())) {
-            KisQuoteResponse quote = kisApiClient.getQuote(stock.getStockCode());
-            if (quote == null) {
-                return;
-            }
+        KisQuoteResponse quote = kisApiClient.getQuote(stock.getStockCode());
+        if (quote == null) {
+            return;
+        }
+        barRecorder.onQuote(quote);
+        stockCodeLocks.withLock(stock.getStockCode(), () -> updateStockState(stock, quote));
+        stateRegistry.flush();
+    }
 
-            BigDecimal currentPrice = quote.currentPrice();
-            stock.updateCurrentPrice(currentPrice);
+    private void updateStockState(Stock stock, KisQuoteResponse quote) {
+        try (Closeable ignored = TradeEvents.stockCode(stock.getStockCode())) {
+            applyPrice(stock, quote.currentPrice());
+        } catch (java.io.IOException e) {
+            // Closeable 은 실제로는 throw 안 함
+        }
+    }
 
-            StockState before = stock.getState();
-            switch (before) {
-                case WATCHING -> checkHighFormation(stock, currentPrice);
-                case HIGH_FORMED -> checkPullbackEntry(stock, currentPrice);
-                case PULLBACK -> checkBounceConfirmation(stock, currentPrice);
-                default -> {}
+    /**
+     * 실시간 체결 틱 1건으로 해당 종목 상태 머신을 진행한다.
+     * 활성 감시 종목이 아니면 무시. 같은 종목의 폴링 경로와는 종목 락으로 직렬화.
+     * 종목은 락 밖에서 찾는다 — 거래일 첫 조회는 저장소 재적재(flush)로 다른 종목 락을 잡는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onRealtimeTick(LocalDate tradingDate, KisRealtimeTrade trade) {
+        Optional<Stock> tracked = stateRegistry.find(trade.stockCode(), tradingDate);
+        if (tracked.isEmpty()) {
+            return;
+        }
+        Stock stock = tracked.get();
+        stockCodeLocks.withLock(stock.getStockCode(), () -> {
+            if (!stock.getState().isActive()) {
+                return;
             }
-            StockState after = stock.getState();
-            if (before != after) {
-                TradeEvents.event("STATE_CHANGED")
-                    .with("stockCode", stock.getStockCode())
-                    .with("from", before)
-                    .with("to", after)
-                    .with("price", currentPrice)
-                    .log();
+            try (Closeable ignored = TradeEvents.stockCode(stock.getStockCode())) {
+                applyPrice(stock, trade.price());
+            } catch (java.io.IOException e) {
+                // Closeable 은 실제로는 throw 안 함
             }
+        });
+        stateRegistry.flush();
+    }
 
-            stockRepository.save(stock);
-        } catch (java.io.IOException e) {
-            // Closeable 은 실제로는 throw 안 함
+    /**
+     * 현재가 반영 + 상태 전이 + 변경 기록 (폴링/틱 공통)
+     */
+    private void applyPrice(Stock stock, BigDecimal currentPrice) {
+        stock.updateCurrentPrice(currentPrice);
+
+        StockState before = stock.getState();
+        switch (before) {
+            case WATCHING -> checkHighFormation(stock, currentPrice);
+            case HIGH_FORMED -> checkPullbackEntry(stock, currentPrice);
+            case PULLBACK -> checkBounceConfirmation(stock, currentPrice);
+            default -> {}
+        }
+        StockState after = stock.getState();
+        if (before != after) {
+            TradeEvents.event("STATE_CHANGED")
+                .with("stockCode", stock.getStockCode())
+                .with("from", before)
+                .with("to", after)
+                .with("price", currentPrice)
+                .with("dropFromHigh", stock.calculateDropFromHigh())
+                .log();
         }
+
+        stateRegistry.markChanged(stock, before != after);
     }
 
     /**
@@ -112,7 +193,7 @@ public class PullbackDetectionService {
         BigDecimal threshold = stockProperties.getEntry().getHighThresholdPercent();
 
         if (stock.isHighFormed(threshold)) {
-            stock.recordHighFormed(currentPrice);
+            stock.recordHighFormed(currentPrice, LocalDateTime.now(clock));
             log.info("HIGH_FORMED: {} at {} (+{}% from open)",
                 stock.getStockCode(), currentPrice, stock.calculateReturnFromOpen());
 
@@ -141,7 +222,7 @@ public class PullbackDetectionService {
 
         // 눌림목 범위 내 체크
         if (stock.isInPullbackRange(minPullback, maxPullback)) {
-            stock.recordPullbackStart(currentPrice);
+            stock.recordPullbackStart(currentPrice, LocalDateTime.now(clock));
             log.info("PULLBACK: {} at {} ({}% from high)",
                 stock.getStockCode(), currentPrice, stock.calculateDropFromHigh());
         }
@@ -200,7 +281,11 @@ public class PullbackDetectionService {
 
         // 조건 1: 체결강도 체크
         // PR-4: tradeStrength null/0 도 FAIL 로 취급 (이전: null=PASS 위양성).
-        BigDecimal tradeStrength = kisApiClient.getTradeStrength(stock.getStockCode());
+        // 신선한 실시간 체결이 있으면 그 체결강도를 쓰고 REST 호출을 생략한다.
+        KisRealtimeTrade freshTrade = realtimeClient.getFreshTrade(stock.getStockCode());
+        BigDecimal tradeStrength = freshTrade != null && freshTrade.tradeStrength() != null
+            ? freshTrade.tradeStrength()
+            : kisApiClient.getTradeStrength(stock.getStockCode());
         boolean strengthPassed = tradeStrength != null
             && tradeStrength.compareTo(BigDecimal.ZERO) > 0
             && tradeStrength.compareTo(entryConfig.getEntryMinStrength()) >= 0;
@@ -213,13 +298,17 @@ public class PullbackDetectionService {
 
         // 조건 2: 호가 불균형 체크
         // PR-4: orderbook null 시 자동 통과(=true) 위양성 제거 — null 은 데이터 없음 = FAIL.
-        KisOrderbookResponse orderbook = kisApiClient.getOrderbook(stock.getStockCode());
+        KisOrderbookResponse orderbook = realtimeClient.getFreshOrderbook(stock.getStockCode());
+        if (orderbook == null) {
+            orderbook = kisApiClient.getOrderbook(stock.getStockCode());
+        }
         boolean imbalancePassed;
+        BigDecimal imbalance = null;
         if (orderbook == null) {
             imbalancePassed = false;
             log.debug("Entry condition failed for {}: orderbook unavailable", stock.getStockCode());
         } else {
-            BigDecimal imbalance = orderbook.calculateOrderImbalance();
+            imbalance = orderbook.calculateOrderImbalance();
             imbalancePassed = imbalance.compareTo(entryConfig.getEntryMinImbalance()) >= 0;
             if (!imbalancePassed) {
                 log.debug("Entry condition failed for {}: imbalance={} < {}",
@@ -234,7 +323,7 @@ public class PullbackDetectionService {
         boolean timePassed = true;
         LocalDateTime pullbackStart = stock.getPullbackStartAt();
         if (pullbackStart != null) {
-            long pullbackMinutes = java.time.Duration.between(pullbackStart, LocalDateTime.now()).toMinutes();
+            long pullbackMinutes = java.time.Duration.between(pullbackStart, LocalDateTime.now(clock)).toMinutes();
             int minMinutes = entryConfig.getMinPullbackMinutes();
             int maxMinutes = entryConfig.getMaxPullbackMinutes();
             timePassed = pullbackMinutes >= minMinutes && pullbackMinutes <= maxMinutes;
@@ -268,6 +357,7 @@ public class PullbackDetectionService {
             entryAttemptRepository.save(EntryAttempt.of(
                 stock.getTradingDate(),
                 stock.getStockCode(),
+                LocalDateTime.now(clock),
                 result,
                 passedConditions,
                 requiredConditions,
@@ -276,6 +366,8 @@ public class PullbackDetectionService {
                 timePassed,
                 stock.getCurrentPrice(),
                 stock.getPullbackLow(),
+                tradeStrength,
+                imbalance,
                 rejectReason));
         } catch (Exception e) {
             log.warn("Failed to persist entry attempt for {}: {}", stock.getStockCode(), e.getMessage());
@@ -303,15 +395,25 @@ public class PullbackDetectionService {
      * 진입 준비 완료된 종목 조회
      */
     public List<Stock> getEntryReadyStocks(LocalDate tradingDate) {
-        return stockRepository.findByTradingDateAndState(tradingDate, StockState.ENTRY_READY);
+        return stateRegistry.findByState(tradingDate, StockState.ENTRY_READY);
     }
 
     /**
      * 종목 필터 아웃 처리
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void filterOutStock(Stock stock) {
-        stock.markFilteredOut();
-        stockRepository.save(stock);
+        stockCodeLocks.withLock(stock.getStockCode(), () -> {
+            stock.markFilteredOut();
+            stateRegistry.markChanged(stock, true);
+        });
+        stateRegistry.flush();
+    }
+
+    /**
+     * 스크리닝으로 감시 종목이 바뀐 뒤 stock_monitoring 에서 상태를 다시 적재한다.
+     */
+    public void reloadStates(LocalDate tradingDate) {
+        stateRegistry.reload(tradingDate);
     }
 }
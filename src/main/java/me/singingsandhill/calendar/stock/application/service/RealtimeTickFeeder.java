@@ -0,0 +1,123 @@
+package me.singingsandhill.calendar.stock.application.service;
+
+import me.singingsandhill.calendar.stock.domain.stock.Stock;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisRealtimeClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisRealtimeTrade;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 실시간 체결 틱 → 눌림목 상태 머신 연결.
+ *
+ * 웹소켓 I/O 스레드에서는 종목별 최신 틱만 기록하고, DB 를 쓰는 상태 전이는 전용 스레드 1개에서 처리한다.
+ * 처리 중에 같은 종목 틱이 여러 번 오면 마지막 것만 남긴다 (틱 폭주 시에도 종목당 대기 작업 1건).
+ */
+@Component
+public class RealtimeTickFeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(RealtimeTickFeeder.class);
+
+    private final KisRealtimeClient realtimeClient;
+    private final PullbackDetectionService pullbackDetectionService;
+    private final StockProperties stockProperties;
+    private final Clock clock;
+
+    private final Map<String, KisRealtimeTrade> pendingTicks = new ConcurrentHashMap<>();
+    private final Set<String> queuedCodes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean paused = new AtomicBoolean(false);
+    private final ExecutorService tickExecutor = Executors.newSingleThreadExecutor(
+        Thread.ofVirtual().name("kis-realtime-tick").factory());
+
+    public RealtimeTickFeeder(KisRealtimeClient realtimeClient,
+                              PullbackDetectionService pullbackDetectionService,
+                              StockProperties stockProperties,
+                              Clock clock) {
+        this.realtimeClient = realtimeClient;
+        this.pullbackDetectionService = pullbackDetectionService;
+        this.stockProperties = stockProperties;
+        this.clock = clock;
+        realtimeClient.addTradeListener(this::onTrade);
+    }
+
+    /**
+     * 스크리닝 선정 종목을 구독한다. 실시간 비활성 또는 BACKTEST 모드면 아무것도 하지 않는다.
+     */
+    public void subscribe(Collection<Stock> stocks) {
+        if (!realtimeClient.isEnabled()
+                || stockProperties.getBot().getMode() == StockProperties.Bot.Mode.BACKTEST) {
+            return;
+        }
+        List<String> codes = stocks.stream().map(Stock::getStockCode).distinct().toList();
+        log.info("Realtime subscribe: {}", codes);
+        realtimeClient.updateSubscriptions(codes);
+    }
+
+    public void unsubscribeAll() {
+        pendingTicks.clear();
+        realtimeClient.disconnect();
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused.set(paused);
+    }
+
+    /**
+     * 새 틱 접수를 멈추고 처리 중인 상태 전이가 끝날 때까지 기다린다. 대기 중인 틱은 버린다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        paused.set(true);
+        pendingTicks.clear();
+        tickExecutor.shutdown();
+        try {
+            if (!tickExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Realtime tick executor did not terminate within 5s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void onTrade(KisRealtimeTrade trade) {
+        if (paused.get()) {
+            return;
+        }
+        pendingTicks.put(trade.stockCode(), trade);
+        if (queuedCodes.add(trade.stockCode())) {
+            try {
+                tickExecutor.execute(() -> drain(trade.stockCode()));
+            } catch (RejectedExecutionException e) {
+                queuedCodes.remove(trade.stockCode()); // 종료 중
+            }
+        }
+    }
+
+    private void drain(String stockCode) {
+        queuedCodes.remove(stockCode);
+        KisRealtimeTrade trade = pendingTicks.remove(stockCode);
+        if (trade == null || paused.get()) {
+            return;
+        }
+        try {
+            pullbackDetectionService.onRealtimeTick(LocalDate.now(clock), trade);
+        } catch (Exception e) {
+            log.warn("Realtime tick handling failed for {}: {}", stockCode, e.getMessage());
+        }
+    }
+}
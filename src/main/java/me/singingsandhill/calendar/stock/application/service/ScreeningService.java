@@ -1,5 +1,6 @@
 package me.singingsandhill.calendar.stock.application.service;
 
+import me.singingsandhill.calendar.stock.application.concurrency.BoundedFanOut;
 import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
 import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
 import me.singingsandhill.calendar.stock.domain.signal.StockSignal;
@@ -7,6 +8,7 @@ import me.singingsandhill.calendar.stock.domain.signal.StockSignalRepository;
 import me.singingsandhill.calendar.stock.domain.stock.Stock;
 import me.singingsandhill.calendar.stock.domain.stock.StockRepository;
 import me.singingsandhill.calendar.stock.domain.stock.StockState;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisRateLimiter;
 import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
 import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
 import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisOrderbookResponse;
@@ -14,18 +16,26 @@ import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 갭 상승 종목 스크리닝 서비스
+ *
+ * 시세 조회(유니버스 전 종목, 병렬)는 트랜잭션 없이 하고, 선정 종목/시그널만 마지막에 짧은 트랜잭션 하나로 저장한다.
  */
 @Service
 @Transactional(readOnly = true)
@@ -39,35 +49,114 @@ public class ScreeningService {
     private final StockSignalRepository signalRepository;
     private final KoreaInvestmentApiClient kisApiClient;
     private final StockProperties stockProperties;
+    private final PreMarketWarmup preMarketWarmup;
     private final StockBotMetrics metrics;
+    private final StockWriteTransactions writeTx;
 
     public ScreeningService(StockRepository stockRepository,
                             StockSignalRepository signalRepository,
                             KoreaInvestmentApiClient kisApiClient,
                             StockProperties stockProperties,
-                            StockBotMetrics metrics) {
+                            PreMarketWarmup preMarketWarmup,
+                            StockBotMetrics metrics,
+                            StockWriteTransactions writeTx) {
         this.stockRepository = stockRepository;
         this.signalRepository = signalRepository;
         this.kisApiClient = kisApiClient;
         this.stockProperties = stockProperties;
+        this.preMarketWarmup = preMarketWarmup;
         this.metrics = metrics;
+        this.writeTx = writeTx;
     }
 
     /**
      * 갭 상승 종목 스크리닝 실행
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Stock> executeScreening(LocalDate tradingDate, List<String> stockCodes) {
         log.info("Starting gap screening for {} stocks (scoring={})",
             stockCodes.size(), stockProperties.getScoring().isEnabled());
 
+        List<String> liveCodes = dropBelowMarketCapFloor(tradingDate, stockCodes);
         if (stockProperties.getScoring().isEnabled()) {
-            return executeScoreBasedScreening(tradingDate, stockCodes);
+            return executeScoreBasedScreening(tradingDate, liveCodes);
         } else {
-            return executeLegacyScreening(tradingDate, stockCodes);
+            return executeLegacyScreening(tradingDate, liveCodes);
         }
     }
 
+    /**
+     * 증분 스크리닝용 재평가. 09:20 스크리닝과 같은 Floor 필터 + 복합 점수만 계산하고
+     * 선정/저장/스크리닝 요약 메트릭은 남기지 않는다.
+     *
+     * @return Floor 통과 종목과 판정하지 못한 종목. 점수 기반 모드가 꺼져 있으면 {@link Rescore#EMPTY}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Rescore rescore(LocalDate tradingDate, List<String> stockCodes) {
+        if (!stockProperties.getScoring().isEnabled() || stockCodes.isEmpty()) {
+            return Rescore.EMPTY;
+        }
+        List<String> liveCodes = dropBelowMarketCapFloor(tradingDate, stockCodes);
+        List<Evaluation> evaluations = evaluateAll(liveCodes, tradingDate);
+        List<Stock> passed = new ArrayList<>();
+        Set<String> failed = new LinkedHashSet<>();
+        for (int i = 0; i < evaluations.size(); i++) {
+            Evaluation evaluation = evaluations.get(i);
+            if (evaluation.candidate() != null) {
+                passed.add(evaluation.candidate().stock());
+            } else if (evaluation.stats().unevaluated()) {
+                failed.add(liveCodes.get(i));
+            }
+        }
+        return new Rescore(List.copyOf(passed), Set.copyOf(failed));
+    }
+
+    /**
+     * 증분 스크리닝으로 편입된 종목 저장 (선정 저장과 같은 형식 — 종목 + 갭 시그널).
+     *
+     * @return 저장된(id 가 채워진) 종목
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Stock> saveAdmitted(List<Stock> stocks) {
+        return saveSelection("screening_incremental", stocks);
+    }
+
+    /**
+     * 장 전 워밍업으로 시가총액이 floor 미달로 확인된 종목은 장중 시세 조회 없이 제외한다.
+     * 시총은 장중에 floor 를 넘나들 만큼 바뀌지 않는다. 워밍업 값이 없는 종목은 그대로 평가.
+     */
+    private List<String> dropBelowMarketCapFloor(LocalDate tradingDate, List<String> stockCodes) {
+        BigDecimal floor = stockProperties.getScoring().isEnabled()
+            ? stockProperties.getScoring().getFloorMinMarketCap()
+            : stockProperties.getScreening().getMinMarketCap();
+        List<String> liveCodes = stockCodes.stream()
+            .filter(stockCode -> preMarketWarmup.priorDay(tradingDate, stockCode)
+                .map(PreMarketWarmup.PriorDay::marketCap)
+                .map(marketCap -> marketCap.compareTo(floor) >= 0)
+                .orElse(true))
+            .toList();
+        if (liveCodes.size() < stockCodes.size()) {
+            log.info("Pre-market market cap floor dropped {} of {} codes before live quotes",
+                stockCodes.size() - liveCodes.size(), stockCodes.size());
+        }
+        return liveCodes;
+    }
+
+    /**
+     * 워밍업된 전일 값으로 장중 시세에 없는 필드를 채운다.
+     */
+    private void applyPriorDay(Stock stock, LocalDate tradingDate) {
+        preMarketWarmup.priorDay(tradingDate, stock.getStockCode()).ifPresent(prior -> {
+            stock.setPrevVolume(prior.prevVolume());
+            if (stock.getPrevClosePrice() == null) {
+                stock.setPrevClosePrice(prior.prevClose());
+            }
+            if (stock.getMarketCap() == null) {
+                stock.setMarketCap(prior.marketCap());
+            }
+        });
+    }
+
     // ========== Score-based Screening (Phase 1) ==========
 
     /**
@@ -77,24 +166,23 @@ public class ScreeningService {
      * 3단계: 점수 내림차순 정렬 → 상위 N개 선정
      */
     private List<Stock> executeScoreBasedScreening(LocalDate tradingDate, List<String> stockCodes) {
+        long startNanos = System.nanoTime();
+        List<Evaluation> evaluations = evaluateAll(stockCodes, tradingDate);
+
+        // 유니버스 입력 순서대로 취합 — 동시 실행이어도 결과/통계는 순차 실행과 동일
         List<StockCandidate> candidates = new ArrayList<>();
         ScreeningStats stats = new ScreeningStats();
-
-        for (String stockCode : stockCodes) {
-            try {
-                // PR-5: KisRestClient 의 Semaphore 가 동시성/속도를 제어하므로
-                // 종목 단위 Thread.sleep 폴링을 제거.
-                StockCandidate candidate = evaluateStock(stockCode, tradingDate, stats);
-                if (candidate != null) {
-                    candidates.add(candidate);
-                }
-            } catch (Exception e) {
-                log.warn("Error screening stock {}: {}", stockCode, e.getMessage());
-                stats.errors++;
+        for (Evaluation evaluation : evaluations) {
+            stats.merge(evaluation.stats());
+            if (evaluation.candidate() != null) {
+                candidates.add(evaluation.candidate());
             }
         }
+        log.info("Evaluated {} stocks in {}ms (parallelism={})", stockCodes.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+            stockProperties.getScreening().getParallelism());
 
-        // 점수 내림차순 정렬
+        // 점수 내림차순 정렬 (stable — 동점은 유니버스 순서 유지)
         candidates.sort(Comparator.comparing(StockCandidate::compositeScore).reversed());
 
         // 상위 N개 선정 (minCandidates 보장)
@@ -113,24 +201,47 @@ public class ScreeningService {
         // 로깅
         logScoreBasedSummary(stockCodes.size(), candidates.size(), selected.size(), stats, candidates);
 
-        // DB 저장
-        List<Stock> selectedStocks = new ArrayList<>();
-        for (StockCandidate c : selected) {
-            stockRepository.save(c.stock());
-            StockSignal signal = StockSignal.gapDetected(
-                c.stock().getStockCode(),
-                c.stock().getGapPercent(),
-                c.stock().getMarketCap(),
-                c.stock().getTradeValue(),
-                c.stock().getTradeStrength()
-            );
-            signalRepository.save(signal);
-            selectedStocks.add(c.stock());
-        }
-
+        List<Stock> selectedStocks = selected.stream().map(StockCandidate::stock).toList();
+        saveSelection("screening", selectedStocks);
         return selectedStocks;
     }
 
+    /**
+     * 유니버스 전 종목을 가상 스레드로 동시 평가한다.
+     * 동시 평가 수는 screening.parallelism 으로 제한한다. 처리량은 KisRateLimiter 시세(QUOTE) 버킷이 정하고,
+     * 이 값은 응답을 기다리는 동안에도 그 버킷 토큰이 놀지 않을 만큼만 평가를 띄운다 (더 키우면 토큰 대기만 는다).
+     * 종목별로 perStockTimeoutMs 를 넘기면 해당 평가를 중단(interrupt)하고 timeouts 로 집계한다.
+     * 반환 리스트는 입력 순서와 같다.
+     */
+    private List<Evaluation> evaluateAll(List<String> stockCodes, LocalDate tradingDate) {
+        long timeoutMs = stockProperties.getScreening().getPerStockTimeoutMs();
+        return BoundedFanOut.map(stockCodes, stockProperties.getScreening().getParallelism(),
+            Duration.ofMillis(timeoutMs),
+            stockCode -> {
+                // 스크리닝 시세 조회는 같은 버킷의 리스크/트레이딩 루프 호출에 양보한다
+                try (KisRateLimiter.PriorityScope ignored = KisRateLimiter.withPriority(KisRateLimiter.Priority.LOW)) {
+                    ScreeningStats stats = new ScreeningStats();
+                    return new Evaluation(evaluateStock(stockCode, tradingDate, stats), stats);
+                }
+            },
+            (stockCode, cause) -> failedEvaluation(stockCode, cause, timeoutMs));
+    }
+
+    private Evaluation failedEvaluation(String stockCode, Throwable cause, long timeoutMs) {
+        ScreeningStats stats = new ScreeningStats();
+        if (cause instanceof TimeoutException) {
+            log.warn("Screening timeout for {} after {}ms", stockCode, timeoutMs);
+            stats.timeouts++;
+        } else if (cause instanceof InterruptedException) {
+            log.warn("Screening interrupted while waiting for {}", stockCode);
+            stats.errors++;
+        } else {
+            log.warn("Error screening stock {}: {}", stockCode, cause.getMessage());
+            stats.errors++;
+        }
+        return new Evaluation(null, stats);
+    }
+
     /**
      * 단일 종목 평가 (Floor 필터 + 점수 계산)
      */
@@ -223,6 +334,7 @@ public class ScreeningService {
         if (orderbook != null) {
             stock.setSpreadPercent(orderbook.calculateSpreadPercent());
         }
+        applyPriorDay(stock, tradingDate);
 
         log.info("[{}] Score={} (gap={} str={} vol={} spr={} cap={}) gap={}% str={}",
             stockCode, compositeScore,
@@ -321,8 +433,8 @@ public class ScreeningService {
                                        ScreeningStats stats, List<StockCandidate> candidates) {
         log.info("=== Screening Summary (Score-based) ===");
         log.info("Total: {}, Floor passed: {}, Selected: {}", total, floorPassed, selected);
-        log.info("API failures: {}, Data insufficient: {}, Errors: {}",
-            stats.apiFailures, stats.dataInsufficient, stats.errors);
+        log.info("API failures: {}, Data insufficient: {}, Errors: {}, Timeouts: {}",
+            stats.apiFailures, stats.dataInsufficient, stats.errors, stats.timeouts);
         log.info("Floor filtered - Gap: {}, Strength: {}, MarketCap: {}",
             stats.gapFiltered, stats.strengthFiltered, stats.marketCapFiltered);
 
@@ -344,6 +456,7 @@ public class ScreeningService {
             .with("gapFiltered", stats.gapFiltered)
             .with("strengthFiltered", stats.strengthFiltered)
             .with("apiFailures", stats.apiFailures)
+            .with("timeouts", stats.timeouts)
             .log();
 
         if (!candidates.isEmpty()) {
@@ -412,19 +525,30 @@ public class ScreeningService {
 
         logLegacyScreeningSummary(stockCodes.size(), qualifiedStocks.size(), selectedStocks.size(), stats);
 
-        for (Stock stock : selectedStocks) {
-            stockRepository.save(stock);
-            StockSignal signal = StockSignal.gapDetected(
+        saveSelection("screening", selectedStocks);
+        return selectedStocks;
+    }
+
+    /**
+     * 선정 종목 + 갭 시그널 일괄 저장 (짧은 트랜잭션 1개)
+     */
+    private List<Stock> saveSelection(String phase, List<Stock> selectedStocks) {
+        if (selectedStocks.isEmpty()) {
+            return List.of();
+        }
+        List<StockSignal> signals = selectedStocks.stream()
+            .map(stock -> StockSignal.gapDetected(
                 stock.getStockCode(),
                 stock.getGapPercent(),
                 stock.getMarketCap(),
                 stock.getTradeValue(),
-                stock.getTradeStrength()
-            );
-            signalRepository.save(signal);
-        }
-
-        return selectedStocks;
+                stock.getTradeStrength()))
+            .toList();
+        return writeTx.call(phase, () -> {
+            List<Stock> saved = stockRepository.saveAll(selectedStocks);
+            signals.forEach(signalRepository::save);
+            return saved;
+        });
     }
 
     private Stock screenSingleStock(String stockCode, LocalDate tradingDate, ScreeningStats stats) {
@@ -495,6 +619,7 @@ public class ScreeningService {
         if (orderbook != null) {
             stock.setSpreadPercent(orderbook.calculateSpreadPercent());
         }
+        applyPriorDay(stock, tradingDate);
 
         stats.passed++;
         log.info("Stock {} passed screening: gap={}%, strength={}", stockCode, gapPercent, tradeStrength);
@@ -517,6 +642,19 @@ public class ScreeningService {
         BigDecimal gapScore, BigDecimal strengthScore, BigDecimal tradeValueScore,
         BigDecimal spreadScore, BigDecimal marketCapScore) {}
 
+    /** 종목 1개 평가 결과. 통계는 종목별로 따로 모았다가 입력 순서대로 합친다 (스레드 간 공유 없음). */
+    private record Evaluation(StockCandidate candidate, ScreeningStats stats) {}
+
+    /**
+     * 재평가 결과.
+     *
+     * @param passed Floor 를 통과한 종목 (compositeScore 채움, 입력 순서)
+     * @param failed 시세 실패 / 타임아웃 / 오류 / 데이터 부족으로 판정하지 못한 종목 — Floor 탈락이 아니다
+     */
+    public record Rescore(List<Stock> passed, Set<String> failed) {
+        public static final Rescore EMPTY = new Rescore(List.of(), Set.of());
+    }
+
     private static class ScreeningStats {
         int apiFailures = 0;
         int errors = 0;
@@ -528,6 +666,26 @@ public class ScreeningService {
         int spreadFiltered = 0;
         int floorPassed = 0;
         int passed = 0;
+        int timeouts = 0;
+
+        /** Floor 판정까지 가지 못했는지 (일시적인 KIS 실패 / 미집계 데이터). */
+        boolean unevaluated() {
+            return apiFailures + errors + timeouts + dataInsufficient > 0;
+        }
+
+        void merge(ScreeningStats other) {
+            apiFailures += other.apiFailures;
+            errors += other.errors;
+            dataInsufficient += other.dataInsufficient;
+            gapFiltered += other.gapFiltered;
+            marketCapFiltered += other.marketCapFiltered;
+            tradeValueFiltered += other.tradeValueFiltered;
+            strengthFiltered += other.strengthFiltered;
+            spreadFiltered += other.spreadFiltered;
+            floorPassed += other.floorPassed;
+            passed += other.passed;
+            timeouts += other.timeouts;
+        }
     }
 
     // ========== Query Methods ==========
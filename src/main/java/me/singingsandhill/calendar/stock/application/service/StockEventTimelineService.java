@@ -0,0 +1,310 @@
+package me.singingsandhill.calendar.stock.application.service;
+
+import me.singingsandhill.calendar.stock.application.observability.TradeEvent;
+import me.singingsandhill.calendar.stock.application.observability.TradeEventStore;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignal;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignalRepository;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignalType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 대시보드 이벤트 타임라인 — 포지션 진입/청산 + 주요 시그널을 시간 역순으로 합친다.
+ *
+ * 거래일 이벤트 세그먼트(TradeEventStore)가 있으면 그 인덱스만 조회하고,
+ * 없는 날(저장소 도입 전, 비활성화)은 소스별(진입/청산/시그널) keyset 쿼리로 최신 limit 건씩만 읽어
+ * k-way heap merge 로 상위 limit 건을 뽑는다. 하루치 전체를 읽어 정렬하지 않는다.
+ *
+ * 커서는 마지막으로 받은 이벤트의 (시각, 소스, id) 이고, 다음 페이지는 그보다 엄격히 오래된 이벤트부터 시작한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StockEventTimelineService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 대시보드에 보이는 이벤트. ENTRY_ATTEMPT 등 틱마다 쌓이는 이벤트는 인덱스 단계에서 거른다. */
+    private static final Set<String> DASHBOARD_EVENTS = Set.of("POSITION_OPENED", "POSITION_CLOSED", "STATE_CHANGED");
+
+    private static final Set<StockSignalType> DASHBOARD_SIGNALS =
+        Set.of(StockSignalType.HIGH_FORMED, StockSignalType.PULLBACK_ENTRY);
+
+    /** 같은 시각이면 소스 번호가 큰 쪽이 먼저 (커서 비교 순서) */
+    static final int SOURCE_ENTRY = 0;
+    static final int SOURCE_CLOSE = 1;
+    static final int SOURCE_SIGNAL = 2;
+    static final int SOURCE_EVENT_STORE = 3;
+
+    private static final Comparator<TimelineEvent> NEWEST_FIRST = Comparator
+        .comparing(TimelineEvent::time)
+        .thenComparingInt(e -> e.key().source())
+        .thenComparingLong(e -> e.key().id())
+        .reversed();
+
+    private final StockPositionRepository positionRepository;
+    private final StockSignalRepository signalRepository;
+    private final TradeEventStore eventStore;
+
+    public StockEventTimelineService(StockPositionRepository positionRepository,
+                                     StockSignalRepository signalRepository,
+                                     TradeEventStore eventStore) {
+        this.positionRepository = positionRepository;
+        this.signalRepository = signalRepository;
+        this.eventStore = eventStore;
+    }
+
+    /**
+     * @param before 이전 페이지 마지막 이벤트의 커서, null 이면 최신부터
+     */
+    public List<TimelineEvent> timeline(LocalDate tradingDate, String before, int limit) {
+        Cursor cursor = before != null ? Cursor.parse(before) : null;
+        if (eventStore.hasSegment(tradingDate)) {
+            return fromEventStore(tradingDate, cursor, limit);
+        }
+        return fromTables(tradingDate, cursor, limit);
+    }
+
+    // ========== 이벤트 세그먼트 ==========
+
+    private List<TimelineEvent> fromEventStore(LocalDate tradingDate, Cursor cursor, int limit) {
+        long beforeMillis = Long.MAX_VALUE;
+        long beforeOffset = Long.MAX_VALUE;
+        if (cursor != null) {
+            beforeMillis = cursor.time().atZone(KST).toInstant().toEpochMilli();
+            beforeOffset = cursor.boundFor(SOURCE_EVENT_STORE);
+        }
+
+        // STATE_CHANGED 중 대시보드에 안 보이는 전이가 섞여 있으므로 limit 이 찰 때까지 이어 읽는다
+        List<TimelineEvent> events = new ArrayList<>(limit);
+        while (events.size() < limit) {
+            List<TradeEventStore.Located> batch =
+                eventStore.scanBefore(tradingDate, DASHBOARD_EVENTS, beforeMillis, beforeOffset, limit);
+            for (TradeEventStore.Located located : batch) {
+                TimelineEvent event = toTimelineEvent(located);
+                if (event != null && events.size() < limit) {
+                    events.add(event);
+                }
+            }
+            if (batch.size() < limit) {
+                break;
+            }
+            TradeEventStore.Located last = batch.get(batch.size() - 1);
+            beforeMillis = last.millis();
+            beforeOffset = last.offset();
+        }
+        return events;
+    }
+
+    /**
+     * 시각은 인덱스 시각(located.millis) — 커서가 인덱스 정렬 키와 같아야 페이지가 끊기거나 겹치지 않는다.
+     */
+    private TimelineEvent toTimelineEvent(TradeEventStore.Located located) {
+        TradeEvent e = located.event();
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(located.millis()), KST);
+        Key key = new Key(time, SOURCE_EVENT_STORE, located.offset());
+        return switch (e.event()) {
+            case "POSITION_OPENED" -> new TimelineEvent(key, "ENTRY", e.stockCode(),
+                entryMessage(decimal(e.field("entryPrice")), integer(e.field("quantity"))),
+                decimal(e.field("entryAmount")), null);
+            case "POSITION_CLOSED" -> new TimelineEvent(key, e.field("reason"), e.stockCode(),
+                closeMessage(e.field("reason"), decimal(e.field("averageExitPrice"))),
+                decimal(e.field("realizedPnl")), decimal(e.field("realizedPnlPercent")));
+            case "STATE_CHANGED" -> switch (String.valueOf(e.field("to"))) {
+                case "HIGH_FORMED" -> new TimelineEvent(key, "SIGNAL_HIGH_FORMED", e.stockCode(),
+                    StockSignalType.HIGH_FORMED.getDisplayName(), decimal(e.field("price")), null);
+                case "ENTRY_READY" -> new TimelineEvent(key, "SIGNAL_PULLBACK_ENTRY", e.stockCode(),
+                    StockSignalType.PULLBACK_ENTRY.getDisplayName(), decimal(e.field("price")),
+                    decimal(e.field("dropFromHigh")));
+                default -> null;
+            };
+            default -> null;
+        };
+    }
+
+    // ========== 포지션/시그널 테이블 ==========
+
+    private List<TimelineEvent> fromTables(LocalDate tradingDate, Cursor cursor, int limit) {
+        LocalDateTime dayStart = tradingDate.atStartOfDay();
+        LocalDateTime before = cursor != null ? cursor.time() : tradingDate.plusDays(1).atStartOfDay();
+
+        List<TimelineEvent> entries = positionRepository.findEnteredBefore(tradingDate, before,
+                bound(cursor, SOURCE_ENTRY), limit).stream()
+            .map(this::entryEvent)
+            .toList();
+        List<TimelineEvent> closes = positionRepository.findClosedBefore(tradingDate, before,
+                bound(cursor, SOURCE_CLOSE), limit).stream()
+            .map(this::closeEvent)
+            .toList();
+        List<TimelineEvent> signals = signalRepository.findByTypesBefore(DASHBOARD_SIGNALS, dayStart, before,
+                bound(cursor, SOURCE_SIGNAL), limit).stream()
+            .map(this::signalEvent)
+            .toList();
+
+        return mergeNewestFirst(List.of(entries, closes, signals), limit);
+    }
+
+    /**
+     * 이미 최신순으로 정렬된 소스들을 heap 으로 합쳐 상위 limit 건. O(limit · log k).
+     */
+    static List<TimelineEvent> mergeNewestFirst(List<List<TimelineEvent>> sources, int limit) {
+        PriorityQueue<Head> heap = new PriorityQueue<>(Math.max(1, sources.size()),
+            Comparator.comparing(Head::event, NEWEST_FIRST));
+        for (List<TimelineEvent> source : sources) {
+            Iterator<TimelineEvent> it = source.iterator();
+            if (it.hasNext()) {
+                heap.add(new Head(it.next(), it));
+            }
+        }
+
+        List<TimelineEvent> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heap.isEmpty()) {
+            Head head = heap.poll();
+            merged.add(head.event());
+            if (head.rest().hasNext()) {
+                heap.add(new Head(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+
+    private TimelineEvent entryEvent(StockPosition p) {
+        return new TimelineEvent(
+            new Key(p.getEnteredAt(), SOURCE_ENTRY, p.getId()),
+            "ENTRY",
+            p.getStockCode(),
+            entryMessage(p.getEntryPrice(), p.getEntryQuantity()),
+            p.getEntryAmount(),
+            null
+        );
+    }
+
+    private TimelineEvent closeEvent(StockPosition p) {
+        return new TimelineEvent(
+            new Key(p.getClosedAt(), SOURCE_CLOSE, p.getId()),
+            p.getCloseReason().name(),
+            p.getStockCode(),
+            closeMessage(p.getCloseReason().name(), p.getAverageExitPrice()),
+            p.getRealizedPnl(),
+            p.getRealizedPnlPercent()
+        );
+    }
+
+    private TimelineEvent signalEvent(StockSignal s) {
+        return new TimelineEvent(
+            new Key(s.getSignalTime(), SOURCE_SIGNAL, s.getId()),
+            "SIGNAL_" + s.getSignalType().name(),
+            s.getStockCode(),
+            s.getSignalType().getDisplayName(),
+            s.getCurrentPrice(),
+            s.getPullbackPercent()
+        );
+    }
+
+    private static long bound(Cursor cursor, int source) {
+        return cursor != null ? cursor.boundFor(source) : Long.MAX_VALUE;
+    }
+
+    private static String entryMessage(BigDecimal entryPrice, Integer quantity) {
+        if (entryPrice == null || quantity == null) return "진입";
+        return String.format("진입 %,d원 × %d주", entryPrice.intValue(), quantity);
+    }
+
+    private static String closeMessage(String closeReason, BigDecimal averageExitPrice) {
+        String reason = closeReason != null ? closeReason : "청산";
+        if (averageExitPrice == null) return reason;
+        return String.format("%s (청산가 %,d원)", reason, averageExitPrice.intValue());
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    private static Integer integer(String value) {
+        return value != null ? Integer.valueOf(value) : null;
+    }
+
+    private record Head(TimelineEvent event, Iterator<TimelineEvent> rest) {}
+
+    /**
+     * 정렬 키 (시각 desc, 소스 desc, id desc). 이벤트 세그먼트는 id 자리에 파일 offset.
+     */
+    public record Key(LocalDateTime time, int source, long id) {
+
+        public String toCursor() {
+            return time + "_" + source + "_" + id;
+        }
+    }
+
+    /**
+     * 페이지 커서. 소스별 keyset 쿼리의 (before, beforeId) 로 풀어 쓴다.
+     */
+    record Cursor(LocalDateTime time, int source, long id) {
+
+        static Cursor parse(String value) {
+            String[] parts = value.split("_");
+            if (parts.length != 3) {
+                throw new InvalidCursorException(value, null);
+            }
+            try {
+                return new Cursor(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException(value, e);
+            }
+        }
+
+        /**
+         * 같은 시각에서 이 소스의 id 상한 (제외).
+         * 커서보다 뒤 순서인 소스(번호 작음)는 같은 시각 전부, 앞 순서인 소스는 같은 시각 없음.
+         */
+        long boundFor(int otherSource) {
+            if (otherSource < source) return Long.MAX_VALUE;
+            if (otherSource > source) return Long.MIN_VALUE;
+            return id;
+        }
+    }
+
+    /**
+     * before 커서를 해석할 수 없음 — 클라이언트 입력 오류.
+     */
+    public static class InvalidCursorException extends IllegalArgumentException {
+
+        InvalidCursorException(String value, Throwable cause) {
+            super("잘못된 커서: " + value, cause);
+        }
+    }
+
+    /**
+     * 타임라인 이벤트 1건.
+     */
+    public record TimelineEvent(
+        Key key,
+        String kind,
+        String stockCode,
+        String message,
+        BigDecimal amount,
+        BigDecimal pnlPercent
+    ) {
+
+        public LocalDateTime time() {
+            return key.time();
+        }
+
+        public String cursor() {
+            return key.toCursor();
+        }
+    }
+}
@@ -2,6 +2,9 @@ package me.singingsandhill.calendar.stock.application.service;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import me.singingsandhill.calendar.stock.application.notification.NotificationChannel;
+import me.singingsandhill.calendar.stock.application.notification.NotificationOutbox;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotification;
 import me.singingsandhill.calendar.stock.domain.stock.Stock;
 import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
 import org.slf4j.Logger;
@@ -19,10 +22,16 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
- * Stock 스크리닝 결과 이메일 발송 서비스
+ * Stock 스크리닝 결과 이메일 서비스.
+ *
+ * 본문을 만들어 알림 outbox 에 적재만 하고({@link #sendScreeningResult}), 실제 SMTP 발송은
+ * NotificationDispatcher 가 "mail" 채널({@link #deliver})로 호출한다 — 여러 건이 모이면 한 통의 digest 로 보낸다.
  */
 @Service
-public class StockMailService {
+public class StockMailService implements NotificationChannel {
+
+    public static final String CHANNEL = "mail";
+    public static final String KIND_SCREENING_RESULT = "SCREENING_RESULT";
 
     private static final Logger log = LoggerFactory.getLogger(StockMailService.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -30,14 +39,16 @@ public class StockMailService {
 
     private final JavaMailSender mailSender;
     private final StockProperties stockProperties;
+    private final NotificationOutbox outbox;
 
-    public StockMailService(JavaMailSender mailSender, StockProperties stockProperties) {
+    public StockMailService(JavaMailSender mailSender, StockProperties stockProperties, NotificationOutbox outbox) {
         this.mailSender = mailSender;
         this.stockProperties = stockProperties;
+        this.outbox = outbox;
     }
 
     /**
-     * 스크리닝 결과 이메일 발송
+     * 스크리닝 결과 이메일 적재 (SMTP 는 기다리지 않는다)
      */
     public void sendScreeningResult(LocalDate tradingDate, List<Stock> stocks) {
         if (!stockProperties.getMail().isEnabled()) {
@@ -51,22 +62,54 @@ public class StockMailService {
             return;
         }
 
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        if (outbox.enqueue(CHANNEL, KIND_SCREENING_RESULT,
+                buildSubject(tradingDate, stocks.size()), buildHtmlContent(tradingDate, stocks))) {
+            log.info("Screening result email queued for {}", to);
+        }
+    }
 
-            helper.setTo(to);
-            helper.setSubject(buildSubject(tradingDate, stocks.size()));
-            helper.setText(buildHtmlContent(tradingDate, stocks), true);
+    @Override
+    public String name() {
+        return CHANNEL;
+    }
+
+    /**
+     * outbox 배치를 메일 한 통으로 발송. 2건 이상이면 제목에 건수를 붙이고 본문을 구분선으로 잇는다.
+     * 스크리닝 결과가 포함되면 당일 트레이딩 로그를 첨부한다.
+     */
+    @Override
+    public void deliver(List<StockNotification> batch) throws MessagingException {
+        String to = stockProperties.getMail().getTo();
+        if (to == null || to.isBlank()) {
+            throw new IllegalStateException("Mail recipient is not configured");
+        }
 
-            attachLogFile(helper, tradingDate);
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
-            mailSender.send(message);
-            log.info("Screening result email sent successfully to {}", to);
+        helper.setTo(to);
+        helper.setSubject(batch.size() == 1
+            ? batch.get(0).getSubject()
+            : String.format("[Stock Bot] 알림 %d건 — %s", batch.size(), batch.get(0).getSubject()));
 
-        } catch (MessagingException e) {
-            log.error("Failed to send screening result email: {}", e.getMessage(), e);
+        StringBuilder html = new StringBuilder("<html><body style='font-family: Arial, sans-serif;'>");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                html.append("<hr style='margin: 24px 0;'>");
+            }
+            html.append(batch.get(i).getBody());
         }
+        html.append("<p style='color: #999; font-size: 12px;'>이 이메일은 자동 발송되었습니다.</p>");
+        html.append("</body></html>");
+        helper.setText(html.toString(), true);
+
+        batch.stream()
+            .filter(n -> KIND_SCREENING_RESULT.equals(n.getKind()))
+            .reduce((first, second) -> second)
+            .ifPresent(n -> attachLogFile(helper, n.getCreatedAt().toLocalDate()));
+
+        mailSender.send(message);
+        log.info("Mail sent to {} ({} notifications)", to, batch.size());
     }
 
     private String buildSubject(LocalDate tradingDate, int stockCount) {
@@ -80,7 +123,6 @@ public class StockMailService {
     private String buildHtmlContent(LocalDate tradingDate, List<Stock> stocks) {
         StringBuilder sb = new StringBuilder();
 
-        sb.append("<html><body style='font-family: Arial, sans-serif;'>");
         sb.append("<h2>Gap & Pullback 스크리닝 결과</h2>");
         sb.append("<p><strong>날짜:</strong> ").append(tradingDate.format(DATE_FORMATTER)).append("</p>");
         sb.append("<p><strong>감지된 종목:</strong> ").append(stocks.size()).append("개</p>");
@@ -129,9 +171,6 @@ public class StockMailService {
         sb.append("<li>최소 체결강도: ").append(stockProperties.getScreening().getMinTradeStrength()).append("</li>");
         sb.append("</ul>");
 
-        sb.append("<p style='color: #999; font-size: 12px;'>이 이메일은 자동 발송되었습니다.</p>");
-        sb.append("</body></html>");
-
         return sb.toString();
     }
 
@@ -0,0 +1,295 @@
+package me.singingsandhill.calendar.stock.application.service;
+
+import me.singingsandhill.calendar.stock.application.concurrency.BoundedFanOut;
+import me.singingsandhill.calendar.stock.domain.performance.StockDailyPerformance;
+import me.singingsandhill.calendar.stock.domain.performance.StockDailyPerformanceRepository;
+import me.singingsandhill.calendar.stock.domain.position.StockCloseReason;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository;
+import me.singingsandhill.calendar.stock.domain.trade.StockTrade;
+import me.singingsandhill.calendar.stock.domain.trade.StockTradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * 거래일 성과 롤업 (stock_daily_performance).
+ *
+ * 거래일 마감(최종 청산 후, 장 종료 후)에 그날 포지션을 (청산 사유, 진입 시) 단위로 집계해 저장하고,
+ * 거래 내역 화면/API 는 기간 내 롤업 행만 합산한다. 기간이 길어져도 포지션 전체를 다시 읽지 않는다.
+ * 아직 롤업되지 않은 오늘은 조회 시점에 그날 포지션만 집계해 (저장 없이) 더한다.
+ */
+@Service
+public class StockPerformanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockPerformanceService.class);
+
+    /** 백필 시작일 — 이보다 앞선 포지션은 없다고 본다 */
+    private static final LocalDate BACKFILL_FROM = LocalDate.of(2020, 1, 1);
+
+    private static final int DEFAULT_PARALLELISM = 4;
+
+    private final StockPositionRepository positionRepository;
+    private final StockTradeRepository tradeRepository;
+    private final StockDailyPerformanceRepository performanceRepository;
+    private final Clock clock;
+
+    public StockPerformanceService(StockPositionRepository positionRepository,
+                                   StockTradeRepository tradeRepository,
+                                   StockDailyPerformanceRepository performanceRepository,
+                                   Clock clock) {
+        this.positionRepository = positionRepository;
+        this.tradeRepository = tradeRepository;
+        this.performanceRepository = performanceRepository;
+        this.clock = clock;
+    }
+
+    // ========== 적재 ==========
+
+    /**
+     * 거래일 1개 롤업을 다시 계산해 교체 저장.
+     */
+    public List<StockDailyPerformance> rollup(LocalDate tradingDate) {
+        List<StockDailyPerformance> rows = aggregate(tradingDate,
+            positionRepository.findByTradingDate(tradingDate), feesByPosition(tradingDate), LocalDateTime.now(clock));
+        performanceRepository.replaceDay(tradingDate, rows);
+        log.info("Performance rollup for {}: {} rows", tradingDate, rows.size());
+        return rows;
+    }
+
+    /**
+     * 그날 청산된 포지션이 있는지. 봇이 꺼져 있어도 롤업할지 판단할 때 쓴다.
+     */
+    public boolean hasClosedPositions(LocalDate tradingDate) {
+        return !positionRepository.findClosedPositions(tradingDate).isEmpty();
+    }
+
+    /**
+     * 기간 재계산. 포지션이 있거나 이미 롤업된 날을 parallelism 개씩 동시에 다시 계산한다.
+     *
+     * @return 재계산한 거래일 수
+     */
+    public int recompute(LocalDate from, LocalDate to, int parallelism) {
+        TreeSet<LocalDate> dates = new TreeSet<>(positionRepository.findTradingDates(from, to));
+        dates.addAll(performanceRepository.findRolledUpDates(from, to));
+        return rollupAll(List.copyOf(dates), parallelism);
+    }
+
+    /**
+     * 롤업이 없는 과거 거래일만 채운다. 한 번 채운 날은 다시 건드리지 않으므로 기동마다 불러도 된다.
+     *
+     * @return 채운 거래일 수
+     */
+    public int backfill() {
+        LocalDate yesterday = LocalDate.now(clock).minusDays(1);
+        TreeSet<LocalDate> missing = new TreeSet<>(positionRepository.findTradingDates(BACKFILL_FROM, yesterday));
+        missing.removeAll(performanceRepository.findRolledUpDates(BACKFILL_FROM, yesterday));
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        log.info("Backfilling performance rollup for {} trading days ({} ~ {})",
+            missing.size(), missing.first(), missing.last());
+        return rollupAll(List.copyOf(missing), DEFAULT_PARALLELISM);
+    }
+
+    private int rollupAll(List<LocalDate> dates, int parallelism) {
+        List<Boolean> results = BoundedFanOut.map(dates, parallelism,
+            date -> {
+                rollup(date);
+                return true;
+            },
+            (date, e) -> {
+                log.warn("Performance rollup failed for {}: {}", date, e.getMessage());
+                return false;
+            });
+        return (int) results.stream().filter(Boolean::booleanValue).count();
+    }
+
+    private Map<Long, BigDecimal> feesByPosition(LocalDate tradingDate) {
+        Map<Long, BigDecimal> fees = new HashMap<>();
+        for (StockTrade trade : tradeRepository.findByOrderedAtBetween(
+                tradingDate.atStartOfDay(), tradingDate.plusDays(1).atStartOfDay())) {
+            if (trade.getPositionId() != null && trade.getFee() != null) {
+                fees.merge(trade.getPositionId(), trade.getFee(), BigDecimal::add);
+            }
+        }
+        return fees;
+    }
+
+    /**
+     * 청산된 포지션을 (청산 사유, 진입 시) 단위로 집계. 청산이 없으면 빈 표시 행 1개.
+     */
+    public static List<StockDailyPerformance> aggregate(LocalDate tradingDate, List<StockPosition> positions,
+                                                        Map<Long, BigDecimal> feesByPosition,
+                                                        LocalDateTime computedAt) {
+        Map<String, StockDailyPerformance> rows = new TreeMap<>();
+        for (StockPosition p : positions) {
+            if (p.getClosedAt() == null || p.getRealizedPnl() == null) {
+                continue;
+            }
+            String reason = p.getCloseReason() != null
+                ? p.getCloseReason().name() : StockDailyPerformance.UNKNOWN_REASON;
+            int hour = p.getEnteredAt() != null ? p.getEnteredAt().getHour() : p.getClosedAt().getHour();
+            long held = p.getEnteredAt() != null
+                ? Duration.between(p.getEnteredAt(), p.getClosedAt()).getSeconds() : 0;
+
+            rows.computeIfAbsent(reason + "@" + hour,
+                    k -> StockDailyPerformance.empty(tradingDate, reason, hour, computedAt))
+                .add(p.getRealizedPnl(), feesByPosition.get(p.getId()), held);
+        }
+        if (rows.isEmpty()) {
+            return List.of(StockDailyPerformance.empty(tradingDate, StockDailyPerformance.UNKNOWN_REASON, 0,
+                computedAt));
+        }
+        return List.copyOf(rows.values());
+    }
+
+    // ========== 조회 ==========
+
+    /**
+     * 기간 성과. reason 이 있으면 그 청산 사유만.
+     */
+    public PerformanceSummary summarize(LocalDate from, LocalDate to, String reason) {
+        List<StockDailyPerformance> rows = new ArrayList<>(performanceRepository.findByTradingDateBetween(from, to));
+
+        LocalDate today = LocalDate.now(clock);
+        if (!today.isBefore(from) && !today.isAfter(to)
+                && rows.stream().noneMatch(r -> r.getTradingDate().equals(today))) {
+            rows.addAll(aggregate(today, positionRepository.findByTradingDate(today),
+                feesByPosition(today), LocalDateTime.now(clock)));
+        }
+
+        if (reason != null && !reason.isBlank()) {
+            rows.removeIf(r -> !reason.equals(r.getCloseReason()));
+        }
+        return PerformanceSummary.of(rows);
+    }
+
+    /**
+     * 이미 불러온 포지션을 거래일별로 바로 집계 (롤업 키가 아닌 조건으로 걸러낸 목록용). 수수료는 빠진다.
+     */
+    public PerformanceSummary summarize(List<StockPosition> positions) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<StockDailyPerformance> rows = new ArrayList<>();
+        positions.stream()
+            .collect(Collectors.groupingBy(StockPosition::getTradingDate, TreeMap::new, Collectors.toList()))
+            .forEach((date, ofDay) -> rows.addAll(aggregate(date, ofDay, Map.of(), now)));
+        return PerformanceSummary.of(rows);
+    }
+
+    /**
+     * 롤업 행 합산 결과. 거래 내역 KPI/분포와 일자별 성과 API 가 같이 쓴다.
+     */
+    public record PerformanceSummary(
+        int closedCount,
+        int winCount,
+        int lossCount,
+        BigDecimal winRate,
+        BigDecimal totalPnl,
+        BigDecimal avgPnl,
+        BigDecimal bestPnl,
+        BigDecimal worstPnl,
+        BigDecimal fees,
+        Map<String, Long> reasonCounts,
+        Map<String, int[]> hourBuckets,
+        List<DailyPerformance> days
+    ) {
+
+        public static PerformanceSummary of(List<StockDailyPerformance> rows) {
+            int closed = 0;
+            int wins = 0;
+            int losses = 0;
+            BigDecimal total = BigDecimal.ZERO;
+            BigDecimal fees = BigDecimal.ZERO;
+            BigDecimal best = null;
+            BigDecimal worst = null;
+            Map<String, Long> byReason = new HashMap<>();
+            Map<String, int[]> hourBuckets = new LinkedHashMap<>();
+            hourBuckets.put("09-10", new int[]{0, 0});
+            hourBuckets.put("10-11", new int[]{0, 0});
+            hourBuckets.put("11-12", new int[]{0, 0});
+            hourBuckets.put("12-15", new int[]{0, 0});
+            Map<LocalDate, DailyPerformance> days = new TreeMap<>();
+
+            for (StockDailyPerformance r : rows) {
+                days.merge(r.getTradingDate(), DailyPerformance.of(r), DailyPerformance::plus);
+                if (r.getClosedCount() == 0) {
+                    continue;
+                }
+                closed += r.getClosedCount();
+                wins += r.getWinCount();
+                losses += r.getLossCount();
+                total = total.add(r.getRealizedPnl());
+                fees = fees.add(r.getFees());
+                best = best == null || r.getBestPnl().compareTo(best) > 0 ? r.getBestPnl() : best;
+                worst = worst == null || r.getWorstPnl().compareTo(worst) < 0 ? r.getWorstPnl() : worst;
+                byReason.merge(r.getCloseReason(), (long) r.getClosedCount(), Long::sum);
+
+                int hour = r.getEntryHour();
+                String bucket = hour < 10 ? "09-10" : hour < 11 ? "10-11" : hour < 12 ? "11-12" : "12-15";
+                int[] wl = hourBuckets.get(bucket);
+                wl[0] += r.getWinCount();
+                wl[1] += r.getClosedCount() - r.getWinCount();
+            }
+
+            // 청산 사유 enum 순서로
+            Map<String, Long> reasonCounts = new LinkedHashMap<>();
+            for (StockCloseReason reason : StockCloseReason.values()) {
+                Long count = byReason.remove(reason.name());
+                if (count != null) reasonCounts.put(reason.name(), count);
+            }
+            reasonCounts.putAll(byReason);
+
+            BigDecimal winRate = closed == 0 ? BigDecimal.ZERO
+                : BigDecimal.valueOf(wins * 100.0 / closed).setScale(1, RoundingMode.HALF_UP);
+            BigDecimal avg = closed == 0 ? BigDecimal.ZERO
+                : total.divide(BigDecimal.valueOf(closed), 0, RoundingMode.HALF_UP);
+            return new PerformanceSummary(closed, wins, losses, winRate, total, avg,
+                best != null ? best : BigDecimal.ZERO, worst != null ? worst : BigDecimal.ZERO, fees,
+                reasonCounts, hourBuckets, List.copyOf(days.values()));
+        }
+    }
+
+    /**
+     * 거래일 1개 합계.
+     */
+    public record DailyPerformance(
+        LocalDate tradingDate,
+        int closedCount,
+        int winCount,
+        int lossCount,
+        BigDecimal realizedPnl,
+        BigDecimal fees
+    ) {
+
+        static DailyPerformance of(StockDailyPerformance r) {
+            return new DailyPerformance(r.getTradingDate(), r.getClosedCount(), r.getWinCount(), r.getLossCount(),
+                r.getRealizedPnl(), r.getFees());
+        }
+
+        DailyPerformance plus(DailyPerformance other) {
+            return new DailyPerformance(tradingDate, closedCount + other.closedCount, winCount + other.winCount,
+                lossCount + other.lossCount, realizedPnl.add(other.realizedPnl), fees.add(other.fees));
+        }
+
+        public BigDecimal winRate() {
+            return closedCount == 0 ? BigDecimal.ZERO
+                : BigDecimal.valueOf(winCount * 100.0 / closedCount).setScale(1, RoundingMode.HALF_UP);
+        }
+    }
+}
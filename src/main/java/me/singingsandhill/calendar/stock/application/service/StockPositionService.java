@@ -21,15 +21,23 @@ import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * 주식 포지션 관리 서비스
+ *
+ * 주문/시세 HTTP 는 트랜잭션 밖에서 끝내고, 체결 결과(거래/포지션/종목/시그널)만
+ * {@link StockWriteTransactions} 의 짧은 트랜잭션 하나로 저장한다.
  */
 @Service
 @Transactional(readOnly = true)
@@ -44,6 +52,9 @@ public class StockPositionService {
     private final KoreaInvestmentApiClient kisApiClient;
     private final StockProperties stockProperties;
     private final StockCodeLocks stockCodeLocks;
+    private final StockStateRegistry stateRegistry;
+    private final Clock clock;
+    private final StockWriteTransactions writeTx;
 
     public StockPositionService(StockPositionRepository positionRepository,
                                  StockTradeRepository tradeRepository,
@@ -51,7 +62,10 @@ public class StockPositionService {
                                  StockSignalRepository signalRepository,
                                  KoreaInvestmentApiClient kisApiClient,
                                  StockProperties stockProperties,
-                                 StockCodeLocks stockCodeLocks) {
+                                 StockCodeLocks stockCodeLocks,
+                                 StockStateRegistry stateRegistry,
+                                 Clock clock,
+                                 StockWriteTransactions writeTx) {
         this.positionRepository = positionRepository;
         this.tradeRepository = tradeRepository;
         this.stockRepository = stockRepository;
@@ -59,14 +73,19 @@ public class StockPositionService {
         this.kisApiClient = kisApiClient;
         this.stockProperties = stockProperties;
         this.stockCodeLocks = stockCodeLocks;
+        this.stateRegistry = stateRegistry;
+        this.clock = clock;
+        this.writeTx = writeTx;
     }
 
     /**
-     * 새 포지션 오픈 (시장가 매수)
+     * 새 포지션 오픈 (시장가 매수).
+     * 상태 머신이 보는 저장소(StockStateRegistry)의 Stock 을 진입 처리해, 뒤이은 flush 가 진입 전 상태로 덮지 않게 한다.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public StockPosition openPosition(Stock stock) {
-        return stockCodeLocks.withLock(stock.getStockCode(), () -> doOpenPosition(stock));
+        return stockCodeLocks.withLock(stock.getStockCode(), () -> doOpenPosition(
+            stateRegistry.findLoaded(stock.getStockCode(), stock.getTradingDate()).orElse(stock)));
     }
 
     private StockPosition doOpenPosition(Stock stock) {
@@ -107,7 +126,6 @@ public class StockPositionService {
             true
         );
         trade.markFilled(currentPrice, quantity, BigDecimal.ZERO);
-        trade = tradeRepository.save(trade);
 
         // 손절가 계산 (-1.5%)
         BigDecimal stopLossPercent = stockProperties.getRisk().getStopLossPercent();
@@ -122,18 +140,22 @@ public class StockPositionService {
             currentPrice,
             quantity,
             stopLossPrice,
-            stock.getHighAfterOpen()
+            stock.getHighAfterOpen(),
+            LocalDateTime.now(clock)
         );
         position.setStockId(stock.getId());
-        position = positionRepository.save(position);
-
-        // 거래에 포지션 ID 연결
-        trade.setPositionId(position.getId());
-        tradeRepository.save(trade);
-
-        // Stock 상태 업데이트
         stock.markEntered(currentPrice);
-        stockRepository.save(stock);
+
+        // 주문 이후 저장만 한 트랜잭션 — 포지션 → 거래(포지션 ID 연결) → 종목 상태
+        StockPosition opened = position;
+        position = writeTx.call("open_position", () -> {
+            StockPosition saved = positionRepository.save(opened);
+            trade.setPositionId(saved.getId());
+            tradeRepository.save(trade);
+            stockRepository.save(stock);
+            return saved;
+        });
+        stateRegistry.markChanged(stock, true);
 
         log.info("Position opened for {}: {} shares @ {}, SL={}",
             stockCode, quantity, currentPrice, stopLossPrice);
@@ -172,13 +194,37 @@ public class StockPositionService {
     }
 
     /**
-     * 부분 청산 실행
+     * 부분 청산 실행. 종목 락 아래에서 포지션을 다시 읽어, 그사이 다른 청산이 판 수량은 다시 팔지 않는다.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void executePartialExit(StockPosition position, int quantity,
                                     BigDecimal price, StockCloseReason reason) {
-        stockCodeLocks.withLock(position.getStockCode(),
-            () -> doExecutePartialExit(position, quantity, price, reason));
+        stockCodeLocks.withLock(position.getStockCode(), () -> reloadLocked(position, reason)
+            .ifPresent(current -> doExecutePartialExit(current,
+                Math.min(quantity, current.getRemainingQuantity()), price, reason)));
+    }
+
+    /**
+     * 종목 락 아래에서 포지션을 다시 읽는다. 호출자가 락 밖에서 읽은 뒤 다른 경로(손절 / 익절 / 긴급 청산)가
+     * 먼저 팔았을 수 있다. 이미 닫혔거나 잔량이 없으면 empty.
+     * 그사이 바뀌지 않았으면 호출자의 객체를 그대로 돌려줘 호출자가 청산 결과를 이어서 본다.
+     */
+    private Optional<StockPosition> reloadLocked(StockPosition position, StockCloseReason reason) {
+        if (position.getId() == null) {
+            return position.hasRemainingQuantity() ? Optional.of(position) : Optional.empty();
+        }
+        StockPosition current = positionRepository.findById(position.getId()).orElse(null);
+        if (current == null || !current.isOpen() || !current.hasRemainingQuantity()) {
+            log.info("{} exit skipped for {}: position {} already closed", reason, position.getStockCode(), position.getId());
+            return Optional.empty();
+        }
+        if (current.getStatus() == position.getStatus()
+            && Objects.equals(current.getRemainingQuantity(), position.getRemainingQuantity())) {
+            return Optional.of(position);
+        }
+        log.info("{} exit for {} uses stored position {}: remaining {} → {} after a concurrent exit",
+            reason, position.getStockCode(), position.getId(), position.getRemainingQuantity(), current.getRemainingQuantity());
+        return Optional.of(current);
     }
 
     private void doExecutePartialExit(StockPosition position, int quantity,
@@ -205,13 +251,11 @@ public class StockPositionService {
         );
         trade.setPositionId(position.getId());
         trade.markFilled(price, quantity, BigDecimal.ZERO);
-        tradeRepository.save(trade);
 
         // 포지션 업데이트 (수수료 포함)
         BigDecimal commissionRate = stockProperties.getRisk().getCommissionRate();
         BigDecimal sellTaxRate = stockProperties.getRisk().getSellTaxRate();
-        position.executePartialExit(quantity, price, reason, commissionRate, sellTaxRate);
-        positionRepository.save(position);
+        position.executePartialExit(quantity, price, reason, commissionRate, sellTaxRate, LocalDateTime.now(clock));
 
         // 시그널 저장
         StockSignalType signalType = switch (reason) {
@@ -227,7 +271,12 @@ public class StockPositionService {
 
         StockSignal signal = StockSignal.exitSignal(stockCode, signalType, price);
         signal.markExecuted();
-        signalRepository.save(signal);
+
+        writeTx.run("partial_exit", () -> {
+            tradeRepository.save(trade);
+            positionRepository.save(position);
+            signalRepository.save(signal);
+        });
 
         log.info("Partial exit completed for {}: remaining {} shares",
             stockCode, position.getRemainingQuantity());
@@ -240,29 +289,53 @@ public class StockPositionService {
             .with("quantity", quantity)
             .with("remaining", position.getRemainingQuantity())
             .with("realizedPnl", position.getRealizedPnl())
+            .with("realizedPnlPercent", position.getRealizedPnlPercent())
+            .with("averageExitPrice", position.getAverageExitPrice())
             .log();
     }
 
     /**
-     * 잔여 전량 청산
+     * 잔여 전량 청산. 잔량은 종목 락 아래에서 다시 읽은 포지션 기준이다 ({@link #executePartialExit} 와 같음).
+     * 종목 상태는 종목 락 아래에서 StockStateRegistry 의 Stock 을 바꾸고 다음 flush 에 기록한다 —
+     * DB 에서 따로 읽은 사본을 저장하면 상태 머신 쪽 객체의 flush 가 청산 상태를 되돌린다.
+     * 저장소에 없는 종목(다른 거래일 등)만 DB 에서 읽어 바로 저장한다.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void closePosition(StockPosition position, BigDecimal price, StockCloseReason reason) {
+        stockCodeLocks.withLock(position.getStockCode(), () -> reloadLocked(position, reason)
+            .ifPresent(current -> doClosePosition(current, price, reason)));
+    }
+
+    private void doClosePosition(StockPosition position, BigDecimal price, StockCloseReason reason) {
         if (!position.hasRemainingQuantity()) {
             return;
         }
-        executePartialExit(position, position.getRemainingQuantity(), price, reason);
+        doExecutePartialExit(position, position.getRemainingQuantity(), price, reason);
+        if (position.hasRemainingQuantity()) {
+            return;
+        }
 
         // Stock 상태 업데이트
-        if (position.getStockId() != null) {
-            stockRepository.findById(position.getStockId())
+        Optional<Stock> tracked = stateRegistry.findLoaded(position.getStockCode(), position.getTradingDate());
+        if (tracked.isPresent()) {
+            tracked.get().markExited();
+            stateRegistry.markChanged(tracked.get(), true);
+        } else if (position.getStockId() != null) {
+            writeTx.run("close_position", () -> stockRepository.findById(position.getStockId())
                 .ifPresent(stock -> {
                     stock.markExited();
                     stockRepository.save(stock);
-                });
+                }));
         }
     }
 
+    /**
+     * 청산으로 바뀐 종목 상태를 바로 기록한다. 종목 락을 잡지 않은 곳(일괄 청산 끝)에서 부른다.
+     */
+    public void flushStockStates() {
+        stateRegistry.flush();
+    }
+
     /**
      * 오픈 포지션 목록 조회
      */
@@ -1,14 +1,20 @@
 package me.singingsandhill.calendar.stock.application.service;
 
+import me.singingsandhill.calendar.stock.application.concurrency.StockCodeLocks;
 import me.singingsandhill.calendar.stock.domain.position.StockCloseReason;
 import me.singingsandhill.calendar.stock.domain.position.StockPosition;
 import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisMarketDataCache;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisRateLimiter;
 import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
 import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
 import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -16,7 +22,18 @@ import java.math.RoundingMode;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 주식 리스크 관리 서비스
@@ -24,6 +41,10 @@ import java.util.List;
  * - 익절 (Take Profit - TP1, TP2, TP3)
  * - 트레일링 스탑
  * - 시간 기반 청산
+ *
+ * 틱마다 포지션별 판정/주문을 종목 락 아래 동시에 실행한다 — 한 종목의 느린 주문이 다른 종목 손절을 밀지 않는다.
+ * 시세/주문 HTTP 동안 커넥션을 잡지 않도록 어떤 경로도 바깥 트랜잭션을 열지 않는다
+ * (체결 저장은 {@link StockPositionService} 의 짧은 저장 트랜잭션).
  */
 @Service
 @Transactional(readOnly = true)
@@ -35,50 +56,165 @@ public class StockRiskService {
     private final StockPositionService positionService;
     private final KoreaInvestmentApiClient kisApiClient;
     private final StockProperties stockProperties;
+    private final StockCodeLocks stockCodeLocks;
     private final Clock clock;
+    private final Executor riskExecutor;
 
+    @Autowired
     public StockRiskService(StockPositionRepository positionRepository,
                             StockPositionService positionService,
                             KoreaInvestmentApiClient kisApiClient,
                             StockProperties stockProperties,
+                            StockCodeLocks stockCodeLocks,
                             Clock clock) {
+        this(positionRepository, positionService, kisApiClient, stockProperties, stockCodeLocks, clock,
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stock-risk-", 0).factory()));
+    }
+
+    /**
+     * 실행기 지정 (백테스트는 호출 스레드에서 순서대로 실행해 재현성을 유지한다).
+     */
+    public StockRiskService(StockPositionRepository positionRepository,
+                            StockPositionService positionService,
+                            KoreaInvestmentApiClient kisApiClient,
+                            StockProperties stockProperties,
+                            StockCodeLocks stockCodeLocks,
+                            Clock clock,
+                            Executor riskExecutor) {
         this.positionRepository = positionRepository;
         this.positionService = positionService;
         this.kisApiClient = kisApiClient;
         this.stockProperties = stockProperties;
+        this.stockCodeLocks = stockCodeLocks;
         this.clock = clock;
+        this.riskExecutor = riskExecutor;
+    }
+
+    /**
+     * 직접 만든 가상 스레드 실행기를 닫는다. 진행 중인 청산 주문은 끝까지 기다린다
+     * (백테스트의 호출 스레드 실행기는 닫을 것이 없다).
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (riskExecutor instanceof ExecutorService executor) {
+            executor.close();
+        }
     }
 
     /**
      * 모든 오픈 포지션에 대해 리스크 체크 실행
+     *
+     * 현재가는 일괄 1회 조회하고, 포지션별 체크는 종목 락을 잡고 동시에 실행한다.
+     * 손절 → 트레일링 청산 대상 → 나머지 순으로 발송하며, 틱당 evaluationDeadlineMillis 까지만 기다린다.
+     * 작업이 다른 스레드에서 돌기 때문에 바깥 트랜잭션은 열지 않는다 (저장은 각 저장소/서비스 트랜잭션).
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void checkAndExecuteRiskRules(LocalDate tradingDate) {
         List<StockPosition> openPositions = positionRepository.findOpenPositions(tradingDate);
+        if (openPositions.isEmpty()) {
+            return;
+        }
+        long deadline = System.nanoTime()
+            + TimeUnit.MILLISECONDS.toNanos(stockProperties.getRisk().getEvaluationDeadlineMillis());
+
+        // 손절/익절 시세 조회는 스크리닝보다 먼저 토큰을 받는다
+        Map<String, KisQuoteResponse> quotes;
+        try (KisRateLimiter.PriorityScope ignored = KisRateLimiter.withPriority(KisRateLimiter.Priority.HIGH)) {
+            // 보유 종목 현재가 일괄 조회 (일괄 응답 누락분은 클라이언트가 단건 조회로 보충)
+            quotes = kisApiClient.getQuotes(
+                openPositions.stream().map(StockPosition::getStockCode).distinct().toList());
+        }
+
+        List<StockPosition> ordered = openPositions.stream()
+            .filter(position -> quotes.get(position.getStockCode()) != null)
+            .sorted(Comparator.comparingInt(position -> exitPriority(position, quotes.get(position.getStockCode()))))
+            .toList();
+
+        // 작업 스레드에도 이 틱의 시세 캐시를 넘긴다 (작업 안의 시세 조회도 틱당 1회)
+        Map<String, CompletableFuture<Void>> tasks = new LinkedHashMap<>();
+        for (StockPosition position : ordered) {
+            KisQuoteResponse quote = quotes.get(position.getStockCode());
+            tasks.put(position.getStockCode(), CompletableFuture.runAsync(
+                KisMarketDataCache.inCurrentTick(() -> checkPositionRiskLocked(position, quote, deadline)), riskExecutor));
+        }
+        awaitUntil(tasks, deadline);
+    }
+
+    /**
+     * 발송 우선순위: 손절(0) → 트레일링 스탑 청산(1) → 익절/트레일링 갱신(2)
+     */
+    private static int exitPriority(StockPosition position, KisQuoteResponse quote) {
+        if (position.shouldStopLoss(quote.currentPrice())) {
+            return 0;
+        }
+        if (position.shouldTrailingStop(quote.currentPrice())) {
+            return 1;
+        }
+        return 2;
+    }
 
-        for (StockPosition position : openPositions) {
+    /**
+     * 종목 락을 deadline 까지 기다려 잡고 체크한다.
+     * 틱 시작의 조회 이후 락을 잡기 전까지 다른 경로(이전 틱 주문 / 긴급 청산)가 포지션을 바꿨을 수 있어,
+     * 락이 바로 잡혔더라도 락 아래에서 항상 다시 읽는다.
+     */
+    private void checkPositionRiskLocked(StockPosition position, KisQuoteResponse quote, long deadline) {
+        String stockCode = position.getStockCode();
+        ReentrantLock lock = stockCodeLocks.get(stockCode);
+        try (KisRateLimiter.PriorityScope ignored = KisRateLimiter.withPriority(KisRateLimiter.Priority.HIGH)) {
+            if (!lock.tryLock() && !lock.tryLock(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("Risk check skipped for {}: lock busy past tick deadline", stockCode);
+                return;
+            }
             try {
-                checkPositionRisk(position);
-            } catch (Exception e) {
-                log.error("Error checking risk for position {}: {}",
-                    position.getStockCode(), e.getMessage());
+                StockPosition current = positionRepository.findById(position.getId()).orElse(null);
+                if (current == null || !current.isOpen() || !current.hasRemainingQuantity()) {
+                    return;
+                }
+                checkPositionRisk(current, quote);
+            } finally {
+                lock.unlock();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error checking risk for position {}: {}", stockCode, e.getMessage());
+        }
+    }
+
+    private void awaitUntil(Map<String, CompletableFuture<Void>> tasks, long deadline) {
+        try {
+            CompletableFuture.allOf(tasks.values().toArray(CompletableFuture[]::new))
+                .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 진행 중인 주문은 끊지 않는다 — 종목 락이 다음 틱의 중복 체크를 막는다
+            List<String> pending = tasks.entrySet().stream()
+                .filter(entry -> !entry.getValue().isDone())
+                .map(Map.Entry::getKey)
+                .toList();
+            log.warn("Risk check tick deadline exceeded, still running: {}", pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Risk check task failed: {}", e.getMessage());
         }
     }
 
     /**
      * 단일 포지션 리스크 체크
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void checkPositionRisk(StockPosition position) {
-        String stockCode = position.getStockCode();
-
         // 현재가 조회
-        KisQuoteResponse quote = kisApiClient.getQuote(stockCode);
+        KisQuoteResponse quote = kisApiClient.getQuote(position.getStockCode());
         if (quote == null) {
             return;
         }
+        checkPositionRisk(position, quote);
+    }
 
+    private void checkPositionRisk(StockPosition position, KisQuoteResponse quote) {
+        String stockCode = position.getStockCode();
         BigDecimal currentPrice = quote.currentPrice();
 
         // 1. 손절 체크 (-1.5%)
@@ -202,7 +338,7 @@ public class StockRiskService {
     /**
      * 트레일링 스탑 업데이트 (손익분기점 보장)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void updateTrailingStop(StockPosition position, BigDecimal currentPrice) {
         BigDecimal trailingPercent = stockProperties.getRisk().getTrailingStopPercent();
         BigDecimal roundTripFeeRate = stockProperties.getRisk().getRoundTripFeeRate();
@@ -219,44 +355,46 @@ public class StockRiskService {
     /**
      * 시간 기반 청산 (11:20)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void executeTimeBasedExit(LocalDate tradingDate) {
         log.warn("Executing time-based exit for all open positions");
-
-        List<StockPosition> openPositions = positionRepository.findOpenPositions(tradingDate);
-
-        for (StockPosition position : openPositions) {
-            try {
-                KisQuoteResponse quote = kisApiClient.getQuote(position.getStockCode());
-                if (quote != null) {
-                    positionService.closePosition(position, quote.currentPrice(), StockCloseReason.TIME_EXIT);
-                }
-            } catch (Exception e) {
-                log.error("Error closing position {} for time exit: {}",
-                    position.getStockCode(), e.getMessage());
-            }
-        }
+        closeAll(tradingDate, StockCloseReason.TIME_EXIT);
     }
 
     /**
      * 긴급 청산 (모든 포지션 즉시 청산)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void emergencyCloseAll(LocalDate tradingDate) {
         log.warn("EMERGENCY CLOSE: Closing all open positions");
+        closeAll(tradingDate, StockCloseReason.EMERGENCY);
+    }
 
+    /**
+     * 오픈 포지션 전량 청산. 현재가는 일괄 1회 조회하고, 포지션별 청산은 각자 짧은 저장 트랜잭션으로 끝낸다.
+     * 목록은 락 밖에서 읽으므로, 마감을 넘겨 아직 도는 리스크 체크가 먼저 판 수량은 closePosition 이 락 아래에서 다시 읽어 뺀다.
+     */
+    private void closeAll(LocalDate tradingDate, StockCloseReason reason) {
         List<StockPosition> openPositions = positionRepository.findOpenPositions(tradingDate);
+        if (openPositions.isEmpty()) {
+            return;
+        }
 
-        for (StockPosition position : openPositions) {
-            try {
-                KisQuoteResponse quote = kisApiClient.getQuote(position.getStockCode());
-                if (quote != null) {
-                    positionService.closePosition(position, quote.currentPrice(), StockCloseReason.EMERGENCY);
+        try (KisRateLimiter.PriorityScope ignored = KisRateLimiter.withPriority(KisRateLimiter.Priority.HIGH)) {
+            Map<String, KisQuoteResponse> quotes = kisApiClient.getQuotes(
+                openPositions.stream().map(StockPosition::getStockCode).distinct().toList());
+            for (StockPosition position : openPositions) {
+                try {
+                    KisQuoteResponse quote = quotes.get(position.getStockCode());
+                    if (quote != null) {
+                        positionService.closePosition(position, quote.currentPrice(), reason);
+                    }
+                } catch (Exception e) {
+                    log.error("Error closing position {} ({}): {}",
+                        position.getStockCode(), reason, e.getMessage());
                 }
-            } catch (Exception e) {
-                log.error("Error during emergency close for {}: {}",
-                    position.getStockCode(), e.getMessage());
             }
         }
+        positionService.flushStockStates();
     }
 }
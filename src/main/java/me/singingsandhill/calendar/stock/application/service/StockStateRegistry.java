@@ -0,0 +1,193 @@
+package me.singingsandhill.calendar.stock.application.service;
+
+import me.singingsandhill.calendar.stock.application.concurrency.StockCodeLocks;
+import me.singingsandhill.calendar.stock.domain.stock.Stock;
+import me.singingsandhill.calendar.stock.domain.stock.StockRepository;
+import me.singingsandhill.calendar.stock.domain.stock.StockState;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 거래일 단위 인메모리 눌림목 상태 머신 저장소 (write-behind).
+ *
+ * 상태 머신(WATCHING → HIGH_FORMED → PULLBACK → ENTRY_READY)은 메모리의 Stock 객체로 진행하고,
+ * DB(stock_monitoring)에는 다음만 모아서 쓴다:
+ * - 상태 전이: 다음 {@link #flush()} 에 반드시 기록
+ * - 가격만 바뀐 경우: 종목별 stateCheckpointSeconds 마다 1회 체크포인트
+ *
+ * 거래일이 바뀌거나 재시작 후 처음 조회할 때 stock_monitoring 에서 다시 적재한다.
+ * Stock 객체 변경은 호출 측이 StockCodeLocks 로 직렬화한다. flush 는 종목 락 아래에서 사본을 떠서
+ * 락 밖에서 저장하므로, 종목 락을 잡은 채로 flush 를 부르면 안 된다 (다른 종목 락과 교착).
+ * 실시간 틱 스레드와 폴링 루프가 동시에 flush 해도 사본을 뜬 순서대로 저장되도록 flush 끼리는 직렬화한다.
+ */
+@Component
+public class StockStateRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(StockStateRegistry.class);
+
+    private final StockRepository stockRepository;
+    private final StockProperties stockProperties;
+    private final StockCodeLocks stockCodeLocks;
+    private final Clock clock;
+
+    private volatile Day day;
+    private final Map<String, Stock> dirty = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> lastCheckpoint = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StockStateRegistry(StockRepository stockRepository,
+                              StockProperties stockProperties,
+                              StockCodeLocks stockCodeLocks,
+                              Clock clock) {
+        this.stockRepository = stockRepository;
+        this.stockProperties = stockProperties;
+        this.stockCodeLocks = stockCodeLocks;
+        this.clock = clock;
+    }
+
+    /**
+     * 활성 상태(WATCHING/HIGH_FORMED/PULLBACK/ENTRY_READY) 종목.
+     */
+    public List<Stock> findActive(LocalDate tradingDate) {
+        return day(tradingDate).stocks().values().stream()
+            .filter(stock -> stock.getState().isActive())
+            .toList();
+    }
+
+    public List<Stock> findByState(LocalDate tradingDate, StockState state) {
+        return day(tradingDate).stocks().values().stream()
+            .filter(stock -> stock.getState() == state)
+            .toList();
+    }
+
+    public Optional<Stock> find(String stockCode, LocalDate tradingDate) {
+        return Optional.ofNullable(day(tradingDate).stocks().get(stockCode));
+    }
+
+    /**
+     * 이미 적재된 거래일에서만 찾는다 — 다른 거래일 조회로 진행 중인 하루를 다시 적재하지 않는다.
+     */
+    public Optional<Stock> findLoaded(String stockCode, LocalDate tradingDate) {
+        Day current = day;
+        if (current == null || !current.tradingDate().equals(tradingDate)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.stocks().get(stockCode));
+    }
+
+    /**
+     * stock_monitoring 에서 해당 거래일 종목을 다시 적재한다 (스크리닝 직후 / 재시작 복구).
+     * 아직 기록되지 않은 변경은 먼저 flush 한다.
+     */
+    public synchronized void reload(LocalDate tradingDate) {
+        flush();
+        Map<String, Stock> stocks = new ConcurrentHashMap<>();
+        for (Stock stock : stockRepository.findByTradingDate(tradingDate)) {
+            stocks.put(stock.getStockCode(), stock);
+        }
+        day = new Day(tradingDate, stocks);
+        lastCheckpoint.clear();
+        log.info("Stock state registry loaded {} stocks for {}", stocks.size(), tradingDate);
+    }
+
+    /**
+     * 증분 스크리닝으로 새로 편입된(이미 저장된) 종목을 감시 대상에 추가한다.
+     * 같은 거래일에 이미 있는 종목이면 그대로 둔다.
+     */
+    public void admit(Stock stock) {
+        day(stock.getTradingDate()).stocks().putIfAbsent(stock.getStockCode(), stock);
+    }
+
+    /**
+     * 상태 머신 진행 후 호출. 전이면 즉시 기록 대상, 가격만 바뀌었으면 체크포인트 주기에만 기록 대상.
+     */
+    public void markChanged(Stock stock, boolean transition) {
+        String stockCode = stock.getStockCode();
+        if (transition) {
+            dirty.put(stockCode, stock);
+            return;
+        }
+        LocalDateTime last = lastCheckpoint.get(stockCode);
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (last == null || !now.isBefore(last.plusSeconds(stockProperties.getTrading().getStateCheckpointSeconds()))) {
+            dirty.put(stockCode, stock);
+        }
+    }
+
+    /**
+     * 쌓인 변경을 한 번에 저장한다. 실패하면 다음 flush 에 다시 시도.
+     * 저장은 종목별로 락 아래에서 뜬 사본으로 한다 — 매핑 도중 틱/청산이 원본을 바꿔도 섞인 행이 써지지 않는다.
+     * 꺼내기~커밋을 flush 락 안에서 하므로, 먼저 뜬 사본이 나중 사본을 덮어 상태가 되돌아가지 않는다.
+     *
+     * @return 저장한 종목 수
+     */
+    public int flush() {
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+        flushLock.lock();
+        try {
+            return flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int flushLocked() {
+        List<Stock> batch = new ArrayList<>(dirty.size());
+        for (String stockCode : List.copyOf(dirty.keySet())) {
+            Stock stock = dirty.remove(stockCode);
+            if (stock != null) {
+                batch.add(stock);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Stock> snapshots = batch.stream()
+            .map(stock -> stockCodeLocks.withLock(stock.getStockCode(), stock::snapshot))
+            .toList();
+
+        try {
+            stockRepository.saveAll(snapshots);
+        } catch (Exception e) {
+            log.warn("Stock state flush failed ({} stocks): {} — will retry", batch.size(), e.getMessage());
+            batch.forEach(stock -> dirty.putIfAbsent(stock.getStockCode(), stock));
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        batch.forEach(stock -> lastCheckpoint.put(stock.getStockCode(), now));
+        log.debug("Flushed {} stock states", batch.size());
+        return batch.size();
+    }
+
+    private Day day(LocalDate tradingDate) {
+        Day current = day;
+        if (current == null || !current.tradingDate().equals(tradingDate)) {
+            synchronized (this) {
+                current = day;
+                if (current == null || !current.tradingDate().equals(tradingDate)) {
+                    reload(tradingDate);
+                    current = day;
+                }
+            }
+        }
+        return current;
+    }
+
+    private record Day(LocalDate tradingDate, Map<String, Stock> stocks) {}
+}
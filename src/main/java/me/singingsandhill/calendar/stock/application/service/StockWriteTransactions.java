@@ -0,0 +1,59 @@
+package me.singingsandhill.calendar.stock.application.service;
+
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * 주식 엔진 저장 단계용 짧은 트랜잭션.
+ *
+ * 봇 루프는 KIS 조회/주문(HTTP)을 트랜잭션 밖에서 먼저 끝내고, 그 결과만 여기서 한 번에 저장한다.
+ * DB 커넥션은 트랜잭션 시작~커밋 동안만 잡히므로 트랜잭션 구간 시간을 stock.db.hold{phase} 로 기록한다
+ * (웹 요청과 같은 커넥션 풀을 쓰므로 이 값이 작게 유지되는지 본다).
+ */
+@Component
+public class StockWriteTransactions {
+
+    private final TransactionTemplate txTemplate;
+    private final StockBotMetrics metrics;
+
+    @Autowired
+    public StockWriteTransactions(PlatformTransactionManager transactionManager, StockBotMetrics metrics) {
+        this(new TransactionTemplate(transactionManager), metrics);
+    }
+
+    private StockWriteTransactions(TransactionTemplate txTemplate, StockBotMetrics metrics) {
+        this.txTemplate = txTemplate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 트랜잭션 없이 바로 실행 (백테스트 / 단위 테스트의 인메모리 저장소용).
+     */
+    public static StockWriteTransactions inline() {
+        return new StockWriteTransactions((TransactionTemplate) null, null);
+    }
+
+    public void run(String phase, Runnable writes) {
+        call(phase, () -> {
+            writes.run();
+            return null;
+        });
+    }
+
+    public <T> T call(String phase, Supplier<T> writes) {
+        if (txTemplate == null) {
+            return writes.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return txTemplate.execute(status -> writes.get());
+        } finally {
+            metrics.recordDbHold(phase, System.nanoTime() - start);
+        }
+    }
+}
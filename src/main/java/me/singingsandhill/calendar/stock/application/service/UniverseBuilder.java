@@ -1,16 +1,31 @@
 package me.singingsandhill.calendar.stock.application.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import me.singingsandhill.calendar.stock.application.concurrency.BoundedFanOut;
 import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisRateLimiter;
 import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisRankingQuery;
 import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -19,12 +34,16 @@ import java.util.concurrent.atomic.AtomicReference;
  *
  * 우선순위:
  *   1) yml 의 pinned 종목 (항상 포함)
- *   2) KIS 거래량순위 API 상위 N (stock.universe.rank-api-top &gt; 0 일 때)
+ *   2) KIS 순위 API (거래량 / 거래대금 / 등락률) 합산 점수 상위 (stock.universe.rank-api-top &gt; 0 일 때)
  *   3) yml 의 fallback 종목 — rank 가 비었을 때만 쓰는 정적 안전망
  *
+ * 순위 API 는 호출당 30건까지라 (소스 × 시장 × 가격대) 페이지로 나눠 가상 스레드로 동시 조회한다.
+ * 페이지 안 순위가 높을수록, 여러 페이지(소스)에 오를수록 점수가 높고, 점수순으로 pool-size 까지 자른다.
+ *
  * 동적 소스(2)는 거래일 1회(pre-market) 호출되어 스냅샷으로 캐시된다(ADR-0002 의 "거래일 1회
- * 스냅샷" 정합성 유지). executePreMarketLoop 에서 refresh() 가 호출되며 ScreeningService 는
- * currentUniverse() 로 동기 조회한다.
+ * 스냅샷" 정합성 유지). 스냅샷은 snapshot-dir 에도 저장되어 장중 재시작 시 순위 API 를 다시 부르지 않는다.
+ * 단, 순위 조회가 실패해 폴백만 담긴 스냅샷은 저장하지 않아 재시작하면 순위 API 를 다시 시도한다.
+ * executePreMarketLoop 에서 refresh() 가 호출되며 ScreeningService 는 currentUniverse() 로 동기 조회한다.
  */
 @Service
 public class UniverseBuilder {
@@ -33,6 +52,7 @@ public class UniverseBuilder {
 
     private final StockProperties stockProperties;
     private final KoreaInvestmentApiClient apiClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
     private final AtomicReference<Snapshot> latest = new AtomicReference<>();
 
     public UniverseBuilder(StockProperties stockProperties, KoreaInvestmentApiClient apiClient) {
@@ -47,8 +67,8 @@ public class UniverseBuilder {
         List<String> pinned = universe.getPinned();
         codes.addAll(pinned);
 
-        // KIS 거래량순위 동적 소스 (rank-api-top > 0 일 때). 어떤 실패든 빈 리스트 → 폴백.
-        List<String> rankCodes = fetchRankCodes(universe.getRankApiTop());
+        // KIS 순위 동적 소스 (rank-api-top > 0 일 때). 페이지 실패는 해당 페이지만 빈 결과.
+        List<String> rankCodes = fetchRankCodes(universe);
         codes.addAll(rankCodes);
 
         // 폴백: rank 가 비었을 때만(비활성/실패/0건) 정적 fallback-codes 사용.
@@ -58,9 +78,13 @@ public class UniverseBuilder {
         }
 
         List<String> result = new ArrayList<>(codes);
+        if (universe.getPoolSize() > 0 && result.size() > Math.max(universe.getPoolSize(), pinned.size())) {
+            result = new ArrayList<>(result.subList(0, Math.max(universe.getPoolSize(), pinned.size())));
+        }
         int fallbackCount = usedFallback ? universe.getFallbackCodes().size() : 0;
-        Snapshot snapshot = new Snapshot(tradingDate, result, pinned.size(), fallbackCount, rankCodes.size());
+        Snapshot snapshot = new Snapshot(tradingDate, List.copyOf(result), pinned.size(), fallbackCount, rankCodes.size());
         latest.set(snapshot);
+        save(snapshot);
 
         log.info("Universe refreshed for {}: {} codes (pinned={}, fallback={}, rank={})",
             tradingDate, result.size(), snapshot.pinned, snapshot.fallback, snapshot.rankApi);
@@ -76,30 +100,189 @@ public class UniverseBuilder {
     }
 
     /**
-     * 거래량순위 상위 N 종목코드. rank-api-top &le; 0 이거나 API 실패 시 빈 리스트.
+     * 순위 페이지들을 동시 조회해 점수순으로 합친 종목코드. rank-api-top &le; 0 이거나 전부 실패 시 빈 리스트.
+     *
+     * 점수: 페이지마다 1 - rank/페이지크기 를 더한다 (1위 1.0, 꼴찌도 0 초과). 동점은 먼저 나온 순서.
      */
-    private List<String> fetchRankCodes(int rankApiTop) {
-        if (rankApiTop <= 0) {
+    private List<String> fetchRankCodes(StockProperties.Universe universe) {
+        List<KisRankingQuery> queries = rankQueries(universe);
+        if (queries.isEmpty()) {
             return List.of();
         }
-        try {
-            List<String> codes = apiClient.getTopVolumeCodes(rankApiTop);
-            return codes != null ? codes : List.of();
-        } catch (Exception e) {
-            log.warn("Rank API(거래량순위) 실패 → fallback-codes 로 폴백: {}", e.getMessage());
+
+        List<List<String>> pages = BoundedFanOut.map(queries, universe.getRankParallelism(),
+            query -> {
+                // 순위 조회는 같은 버킷의 리스크/트레이딩 루프 호출에 양보한다
+                try (KisRateLimiter.PriorityScope ignored = KisRateLimiter.withPriority(KisRateLimiter.Priority.LOW)) {
+                    List<String> page = apiClient.getRankingCodes(query);
+                    return page != null ? page : List.<String>of();
+                }
+            },
+            this::failedPage);
+
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (List<String> page : pages) {
+            for (int rank = 0; rank < page.size(); rank++) {
+                scores.merge(page.get(rank), 1.0 - (double) rank / page.size(), Double::sum);
+            }
+        }
+        List<String> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.comparingDouble((String code) -> scores.get(code)).reversed());
+        log.debug("Rank API: {} pages → {} distinct codes", queries.size(), ranked.size());
+        return ranked;
+    }
+
+    private List<String> failedPage(KisRankingQuery query, Throwable cause) {
+        if (cause instanceof InterruptedException) {
+            log.warn("Rank API 대기 중 인터럽트: {}", query);
+        } else {
+            log.warn("Rank API({}) 실패: {}", query, cause.getMessage());
+        }
+        return List.of();
+    }
+
+    /**
+     * 소스 × 시장 × 가격대 페이지 조건. 잘못된 소스/가격대 항목은 건너뛴다.
+     */
+    private List<KisRankingQuery> rankQueries(StockProperties.Universe universe) {
+        int perPage = universe.getRankApiTop();
+        if (perPage <= 0) {
             return List.of();
         }
+        List<KisRankingQuery> queries = new ArrayList<>();
+        for (String sourceName : universe.getRankSources()) {
+            KisRankingQuery.Source source;
+            try {
+                source = KisRankingQuery.Source.valueOf(sourceName.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("Unknown universe rank source: {}", sourceName);
+                continue;
+            }
+            for (String market : universe.getRankMarkets()) {
+                for (String band : universe.getRankPriceBands()) {
+                    String[] bounds = band.split("-");
+                    try {
+                        queries.add(new KisRankingQuery(source, market.trim(),
+                            Long.parseLong(bounds[0].trim()), Long.parseLong(bounds[bounds.length - 1].trim()), perPage));
+                    } catch (NumberFormatException e) {
+                        log.warn("Invalid universe rank price band: {}", band);
+                    }
+                }
+            }
+        }
+        return queries;
     }
 
     /**
-     * 캐시된 유니버스 (없으면 즉시 refresh).
+     * 캐시된 유니버스. 메모리에 없으면 같은 거래일의 저장 스냅샷, 그것도 없으면 즉시 refresh.
      */
     public Snapshot currentUniverse(LocalDate tradingDate) {
         Snapshot s = latest.get();
-        if (s == null || !s.tradingDate.equals(tradingDate) || s.codes.isEmpty()) {
-            return refresh(tradingDate);
+        if (s != null && s.tradingDate.equals(tradingDate) && !s.codes.isEmpty()) {
+            return s;
+        }
+        Snapshot restored = load(tradingDate);
+        if (restored != null && !restored.codes.isEmpty() && persistable(restored)) {
+            latest.set(restored);
+            log.info("Universe restored for {} from snapshot: {} codes", tradingDate, restored.codes.size());
+            return restored;
+        }
+        return refresh(tradingDate);
+    }
+
+    // ===== 거래일 스냅샷 파일 =====
+
+    private Path snapshotPath(LocalDate tradingDate) {
+        String dir = stockProperties.getUniverse().getSnapshotDir();
+        if (dir == null || dir.isBlank()) {
+            return null;
+        }
+        return Path.of(dir).resolve("universe-" + tradingDate + ".json");
+    }
+
+    /**
+     * 파일로 남길 스냅샷인지. 순위 API 가 켜져 있는데 0건(실패)이면 폴백만 담긴 임시 유니버스라 남기지 않는다.
+     */
+    private boolean persistable(Snapshot snapshot) {
+        return snapshot.rankApi > 0 || stockProperties.getUniverse().getRankApiTop() <= 0;
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 교체 — 쓰는 도중 재시작돼도 반쯤 쓴 파일을 읽지 않는다. 실패해도 메모리 스냅샷은 유지.
+     */
+    private void save(Snapshot snapshot) {
+        Path path = snapshotPath(snapshot.tradingDate);
+        if (path == null || snapshot.codes.isEmpty()) {
+            return;
+        }
+        if (!persistable(snapshot)) {
+            log.info("Universe snapshot for {} not saved: rank API returned nothing, fallback only", snapshot.tradingDate);
+            return;
+        }
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("tradingDate", snapshot.tradingDate.toString());
+        node.putPOJO("codes", snapshot.codes);
+        node.put("pinned", snapshot.pinned);
+        node.put("fallback", snapshot.fallback);
+        node.put("rankApi", snapshot.rankApi);
+        try {
+            Files.createDirectories(path.getParent());
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), node);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to save universe snapshot {}: {}", path, e.getMessage());
+            return;
+        }
+        prune(path.getParent(), snapshot.tradingDate);
+    }
+
+    /**
+     * snapshot-retention-days 보다 오래된 거래일 스냅샷을 지운다. 이름이 universe-yyyy-MM-dd.json 이 아닌 파일은 건드리지 않는다.
+     */
+    private void prune(Path dir, LocalDate tradingDate) {
+        int retentionDays = stockProperties.getUniverse().getSnapshotRetentionDays();
+        if (retentionDays <= 0) {
+            return;
+        }
+        LocalDate cutoff = tradingDate.minusDays(retentionDays);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "universe-*.json")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                LocalDate day;
+                try {
+                    day = LocalDate.parse(name.substring("universe-".length(), name.length() - ".json".length()));
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+                if (day.isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                    log.debug("Pruned universe snapshot {}", file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to prune universe snapshots in {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private Snapshot load(LocalDate tradingDate) {
+        Path path = snapshotPath(tradingDate);
+        if (path == null || !Files.exists(path)) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(path.toFile());
+            if (!tradingDate.toString().equals(node.path("tradingDate").asText())) {
+                return null;
+            }
+            List<String> codes = new ArrayList<>();
+            node.path("codes").forEach(code -> codes.add(code.asText()));
+            return new Snapshot(tradingDate, List.copyOf(codes), node.path("pinned").asInt(),
+                node.path("fallback").asInt(), node.path("rankApi").asInt());
+        } catch (IOException e) {
+            log.warn("Failed to read universe snapshot {}: {}", path, e.getMessage());
+            return null;
         }
-        return s;
     }
 
     public record Snapshot(LocalDate tradingDate, List<String> codes,
@@ -0,0 +1,90 @@
+package me.singingsandhill.calendar.stock.domain.notification;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 outbox 행.
+ * 거래 경로는 PENDING 으로 적재만 하고, 발송/재시도는 NotificationDispatcher 가 채널별로 처리한다.
+ */
+public class StockNotification {
+
+    private Long id;
+    private String channel;
+    private String kind;
+    private String subject;
+    private String body;
+    private StockNotificationStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    protected StockNotification() {}
+
+    public static StockNotification pending(String channel, String kind, String subject, String body,
+                                            LocalDateTime now) {
+        StockNotification n = new StockNotification();
+        n.channel = channel;
+        n.kind = kind;
+        n.subject = subject;
+        n.body = body;
+        n.status = StockNotificationStatus.PENDING;
+        n.attempts = 0;
+        n.nextAttemptAt = now;
+        n.createdAt = now;
+        return n;
+    }
+
+    public static StockNotification restore(Long id, String channel, String kind, String subject, String body,
+                                            StockNotificationStatus status, int attempts,
+                                            LocalDateTime nextAttemptAt, String lastError,
+                                            LocalDateTime createdAt, LocalDateTime sentAt) {
+        StockNotification n = new StockNotification();
+        n.id = id;
+        n.channel = channel;
+        n.kind = kind;
+        n.subject = subject;
+        n.body = body;
+        n.status = status;
+        n.attempts = attempts;
+        n.nextAttemptAt = nextAttemptAt;
+        n.lastError = lastError;
+        n.createdAt = createdAt;
+        n.sentAt = sentAt;
+        return n;
+    }
+
+    public void markSent(LocalDateTime now) {
+        this.attempts++;
+        this.status = StockNotificationStatus.SENT;
+        this.sentAt = now;
+        this.lastError = null;
+    }
+
+    /**
+     * 발송 실패 기록. maxAttempts 에 도달하면 FAILED 로 확정, 아니면 retryAt 에 다시 시도.
+     */
+    public void markAttemptFailed(String error, LocalDateTime retryAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        if (attempts >= maxAttempts) {
+            this.status = StockNotificationStatus.FAILED;
+        } else {
+            this.nextAttemptAt = retryAt;
+        }
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getChannel() { return channel; }
+    public String getKind() { return kind; }
+    public String getSubject() { return subject; }
+    public String getBody() { return body; }
+    public StockNotificationStatus getStatus() { return status; }
+    public int getAttempts() { return attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public String getLastError() { return lastError; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getSentAt() { return sentAt; }
+}
@@ -0,0 +1,26 @@
+package me.singingsandhill.calendar.stock.domain.notification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 알림 outbox 도메인 포트. JPA 어댑터는 infrastructure/persistence 에서 구현.
+ */
+public interface StockNotificationRepository {
+
+    StockNotification save(StockNotification notification);
+
+    void saveAll(List<StockNotification> notifications);
+
+    /**
+     * 발송 시각이 된 PENDING 행 (오래된 순).
+     */
+    List<StockNotification> findDue(LocalDateTime now, int limit);
+
+    long countPending();
+
+    /**
+     * before 이전에 끝난(SENT/FAILED) 행 삭제. 삭제 건수 반환.
+     */
+    long deleteFinishedBefore(LocalDateTime before);
+}
@@ -0,0 +1,20 @@
+package me.singingsandhill.calendar.stock.domain.notification;
+
+/**
+ * 알림 outbox 행 상태
+ */
+public enum StockNotificationStatus {
+    PENDING("발송대기"),
+    SENT("발송완료"),
+    FAILED("발송실패");
+
+    private final String displayName;
+
+    StockNotificationStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,105 @@
+package me.singingsandhill.calendar.stock.domain.performance;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 거래일 성과 롤업 1행. 키는 (거래일, 청산 사유, 진입 시각의 시).
+ * 거래 내역 화면/API 는 포지션을 다시 읽지 않고 이 행들을 합산해 승률, 손익, 사유/시간대 분포를 만든다.
+ */
+public class StockDailyPerformance {
+
+    /** 청산 사유가 비어 있는 포지션 / 청산 없는 날 표시 행의 롤업 키 */
+    public static final String UNKNOWN_REASON = "UNKNOWN";
+
+    private Long id;
+    private LocalDate tradingDate;
+    private String closeReason;
+    private int entryHour;
+    private int closedCount;
+    private int winCount;
+    private int lossCount;
+    private BigDecimal realizedPnl = BigDecimal.ZERO;
+    private BigDecimal grossProfit = BigDecimal.ZERO;
+    private BigDecimal grossLoss = BigDecimal.ZERO;
+    private BigDecimal fees = BigDecimal.ZERO;
+    private BigDecimal bestPnl;
+    private BigDecimal worstPnl;
+    private long holdingSeconds;
+    private LocalDateTime computedAt;
+
+    protected StockDailyPerformance() {}
+
+    public static StockDailyPerformance empty(LocalDate tradingDate, String closeReason, int entryHour,
+                                              LocalDateTime computedAt) {
+        StockDailyPerformance p = new StockDailyPerformance();
+        p.tradingDate = tradingDate;
+        p.closeReason = closeReason;
+        p.entryHour = entryHour;
+        p.computedAt = computedAt;
+        return p;
+    }
+
+    public static StockDailyPerformance restore(Long id, LocalDate tradingDate, String closeReason, int entryHour,
+                                                int closedCount, int winCount, int lossCount,
+                                                BigDecimal realizedPnl, BigDecimal grossProfit, BigDecimal grossLoss,
+                                                BigDecimal fees, BigDecimal bestPnl, BigDecimal worstPnl,
+                                                long holdingSeconds, LocalDateTime computedAt) {
+        StockDailyPerformance p = new StockDailyPerformance();
+        p.id = id;
+        p.tradingDate = tradingDate;
+        p.closeReason = closeReason;
+        p.entryHour = entryHour;
+        p.closedCount = closedCount;
+        p.winCount = winCount;
+        p.lossCount = lossCount;
+        p.realizedPnl = realizedPnl;
+        p.grossProfit = grossProfit;
+        p.grossLoss = grossLoss;
+        p.fees = fees;
+        p.bestPnl = bestPnl;
+        p.worstPnl = worstPnl;
+        p.holdingSeconds = holdingSeconds;
+        p.computedAt = computedAt;
+        return p;
+    }
+
+    /**
+     * 청산된 포지션 1건 반영. 손익 0 은 승/패 어느 쪽도 아니다.
+     */
+    public void add(BigDecimal pnl, BigDecimal fee, long heldSeconds) {
+        closedCount++;
+        realizedPnl = realizedPnl.add(pnl);
+        if (pnl.signum() > 0) {
+            winCount++;
+            grossProfit = grossProfit.add(pnl);
+        } else if (pnl.signum() < 0) {
+            lossCount++;
+            grossLoss = grossLoss.add(pnl);
+        }
+        if (fee != null) {
+            fees = fees.add(fee);
+        }
+        bestPnl = bestPnl == null || pnl.compareTo(bestPnl) > 0 ? pnl : bestPnl;
+        worstPnl = worstPnl == null || pnl.compareTo(worstPnl) < 0 ? pnl : worstPnl;
+        holdingSeconds += Math.max(0, heldSeconds);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public LocalDate getTradingDate() { return tradingDate; }
+    public String getCloseReason() { return closeReason; }
+    public int getEntryHour() { return entryHour; }
+    public int getClosedCount() { return closedCount; }
+    public int getWinCount() { return winCount; }
+    public int getLossCount() { return lossCount; }
+    public BigDecimal getRealizedPnl() { return realizedPnl; }
+    public BigDecimal getGrossProfit() { return grossProfit; }
+    public BigDecimal getGrossLoss() { return grossLoss; }
+    public BigDecimal getFees() { return fees; }
+    public BigDecimal getBestPnl() { return bestPnl; }
+    public BigDecimal getWorstPnl() { return worstPnl; }
+    public long getHoldingSeconds() { return holdingSeconds; }
+    public LocalDateTime getComputedAt() { return computedAt; }
+}
@@ -0,0 +1,23 @@
+package me.singingsandhill.calendar.stock.domain.performance;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 거래일 성과 롤업 도메인 포트. JPA 어댑터는 infrastructure/persistence 에서 구현.
+ */
+public interface StockDailyPerformanceRepository {
+
+    /**
+     * 거래일의 롤업 행을 rows 로 통째로 교체 (한 트랜잭션).
+     * 청산이 없는 날도 closedCount 0 행 1개를 남겨 롤업이 끝났음을 표시한다.
+     */
+    void replaceDay(LocalDate tradingDate, List<StockDailyPerformance> rows);
+
+    List<StockDailyPerformance> findByTradingDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * 롤업이 끝난 거래일 (청산 0건인 날 포함).
+     */
+    List<LocalDate> findRolledUpDates(LocalDate from, LocalDate to);
+}
@@ -68,10 +68,12 @@ public class StockPosition {
 
     /**
      * 새 포지션 오픈
+     * @param enteredAt 진입 시각 (호출 측 시계 기준 — 백테스트는 가상 시계)
      */
     public static StockPosition open(String stockCode, LocalDate tradingDate,
                                       BigDecimal entryPrice, Integer quantity,
-                                      BigDecimal stopLossPrice, BigDecimal dayHighPrice) {
+                                      BigDecimal stopLossPrice, BigDecimal dayHighPrice,
+                                      LocalDateTime enteredAt) {
         StockPosition position = new StockPosition(stockCode, tradingDate);
         position.entryPrice = entryPrice;
         position.entryQuantity = quantity;
@@ -79,7 +81,7 @@ public class StockPosition {
         position.remainingQuantity = quantity;
         position.stopLossPrice = stopLossPrice;
         position.dayHighPrice = dayHighPrice;
-        position.enteredAt = LocalDateTime.now();
+        position.enteredAt = enteredAt;
         return position;
     }
 
@@ -269,9 +271,10 @@ public class StockPosition {
      * 부분 청산 실행 (수수료 포함)
      * @param commissionRate 증권사 수수료율 (매수/매도 각각)
      * @param sellTaxRate 매도 세금율 (거래세+농특세)
+     * @param exitedAt 청산 시각 (호출 측 시계 기준)
      */
     public void executePartialExit(int quantity, BigDecimal exitPrice, StockCloseReason reason,
-                                    BigDecimal commissionRate, BigDecimal sellTaxRate) {
+                                    BigDecimal commissionRate, BigDecimal sellTaxRate, LocalDateTime exitedAt) {
         if (quantity > remainingQuantity) {
             throw new IllegalArgumentException("Exit quantity exceeds remaining quantity");
         }
@@ -303,24 +306,24 @@ public class StockPosition {
         if (this.remainingQuantity == 0) {
             this.status = StockPositionStatus.CLOSED;
             this.closeReason = reason;
-            this.closedAt = LocalDateTime.now();
+            this.closedAt = exitedAt;
         } else {
             this.status = StockPositionStatus.PARTIAL;
         }
 
         calculateRealizedPnlPercent();
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = exitedAt;
     }
 
     /**
      * 잔여 전량 청산 (수수료 포함)
      */
     public void closeRemaining(BigDecimal exitPrice, StockCloseReason reason,
-                                BigDecimal commissionRate, BigDecimal sellTaxRate) {
+                                BigDecimal commissionRate, BigDecimal sellTaxRate, LocalDateTime exitedAt) {
         if (remainingQuantity == null || remainingQuantity == 0) {
             return;
         }
-        executePartialExit(remainingQuantity, exitPrice, reason, commissionRate, sellTaxRate);
+        executePartialExit(remainingQuantity, exitPrice, reason, commissionRate, sellTaxRate, exitedAt);
     }
 
     /**
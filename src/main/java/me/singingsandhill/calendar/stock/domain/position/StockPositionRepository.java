@@ -1,6 +1,7 @@
 package me.singingsandhill.calendar.stock.domain.position;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,11 @@ public interface StockPositionRepository {
 
     List<StockPosition> findByTradingDateBetween(LocalDate from, LocalDate to);
 
+    /**
+     * 포지션이 하나라도 있는 거래일 (오름차순).
+     */
+    List<LocalDate> findTradingDates(LocalDate from, LocalDate to);
+
     List<StockPosition> findByTradingDateAndStatus(LocalDate tradingDate, StockPositionStatus status);
 
     List<StockPosition> findOpenPositions(LocalDate tradingDate);
@@ -28,6 +34,16 @@ public interface StockPositionRepository {
 
     int countOpenPositions(LocalDate tradingDate);
 
+    /**
+     * 진입 시각 역순 keyset 페이지: (enteredAt, id) &lt; (before, beforeId) 인 것 중 최신 limit 건.
+     */
+    List<StockPosition> findEnteredBefore(LocalDate tradingDate, LocalDateTime before, long beforeId, int limit);
+
+    /**
+     * 청산 시각 역순 keyset 페이지: (closedAt, id) &lt; (before, beforeId) 인 것 중 최신 limit 건.
+     */
+    List<StockPosition> findClosedBefore(LocalDate tradingDate, LocalDateTime before, long beforeId, int limit);
+
     void deleteById(Long id);
 
     void deleteByTradingDateBefore(LocalDate date);
@@ -22,18 +22,23 @@ public class EntryAttempt {
     private boolean timePassed;
     private BigDecimal currentPrice;
     private BigDecimal pullbackLow;
+    /** 판정 시점 체결강도 원값 (없으면 null) */
+    private BigDecimal tradeStrength;
+    /** 판정 시점 호가 불균형 원값 (호가 없으면 null) */
+    private BigDecimal orderImbalance;
     private String rejectReason;
 
     protected EntryAttempt() {}
 
-    public static EntryAttempt of(LocalDate tradingDate, String stockCode,
+    public static EntryAttempt of(LocalDate tradingDate, String stockCode, LocalDateTime attemptedAt,
                                    boolean accepted, int passed, int required,
                                    boolean strengthPassed, boolean imbalancePassed, boolean timePassed,
-                                   BigDecimal currentPrice, BigDecimal pullbackLow, String rejectReason) {
+                                   BigDecimal currentPrice, BigDecimal pullbackLow,
+                                   BigDecimal tradeStrength, BigDecimal orderImbalance, String rejectReason) {
         EntryAttempt a = new EntryAttempt();
         a.tradingDate = tradingDate;
         a.stockCode = stockCode;
-        a.attemptedAt = LocalDateTime.now();
+        a.attemptedAt = attemptedAt;
         a.accepted = accepted;
         a.passedConditions = passed;
         a.requiredConditions = required;
@@ -42,6 +47,8 @@ public class EntryAttempt {
         a.timePassed = timePassed;
         a.currentPrice = currentPrice;
         a.pullbackLow = pullbackLow;
+        a.tradeStrength = tradeStrength;
+        a.orderImbalance = orderImbalance;
         a.rejectReason = rejectReason;
         return a;
     }
@@ -50,7 +57,8 @@ public class EntryAttempt {
                                         LocalDateTime attemptedAt, boolean accepted,
                                         int passedConditions, int requiredConditions,
                                         boolean strengthPassed, boolean imbalancePassed, boolean timePassed,
-                                        BigDecimal currentPrice, BigDecimal pullbackLow, String rejectReason) {
+                                        BigDecimal currentPrice, BigDecimal pullbackLow,
+                                        BigDecimal tradeStrength, BigDecimal orderImbalance, String rejectReason) {
         EntryAttempt a = new EntryAttempt();
         a.id = id;
         a.tradingDate = tradingDate;
@@ -64,6 +72,8 @@ public class EntryAttempt {
         a.timePassed = timePassed;
         a.currentPrice = currentPrice;
         a.pullbackLow = pullbackLow;
+        a.tradeStrength = tradeStrength;
+        a.orderImbalance = orderImbalance;
         a.rejectReason = rejectReason;
         return a;
     }
@@ -81,5 +91,7 @@ public class EntryAttempt {
     public boolean isTimePassed() { return timePassed; }
     public BigDecimal getCurrentPrice() { return currentPrice; }
     public BigDecimal getPullbackLow() { return pullbackLow; }
+    public BigDecimal getTradeStrength() { return tradeStrength; }
+    public BigDecimal getOrderImbalance() { return orderImbalance; }
     public String getRejectReason() { return rejectReason; }
 }
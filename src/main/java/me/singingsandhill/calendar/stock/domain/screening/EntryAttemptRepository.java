@@ -12,6 +12,11 @@ public interface EntryAttemptRepository {
 
     List<EntryAttempt> findByTradingDate(LocalDate tradingDate);
 
+    /**
+     * 진입 시도가 하나라도 있는 거래일 (오름차순).
+     */
+    List<LocalDate> findTradingDates(LocalDate from, LocalDate to);
+
     long countAcceptedByTradingDate(LocalDate tradingDate);
 
     long countRejectedByTradingDate(LocalDate tradingDate);
@@ -1,6 +1,7 @@
 package me.singingsandhill.calendar.stock.domain.signal;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,12 @@ public interface StockSignalRepository {
 
     List<StockSignal> findByStockCodeAndSignalType(String stockCode, StockSignalType signalType);
 
+    /**
+     * 시각 역순 keyset 페이지: from 이후이면서 (signalTime, id) &lt; (before, beforeId) 인 types 시그널 중 최신 limit 건.
+     */
+    List<StockSignal> findByTypesBefore(Collection<StockSignalType> types, LocalDateTime from,
+                                        LocalDateTime before, long beforeId, int limit);
+
     List<StockSignal> findTodaySignals();
 
     void deleteById(Long id);
@@ -66,6 +66,41 @@ public class Stock {
         this.updatedAt = this.createdAt;
     }
 
+    private Stock(Stock source) {
+        this.id = source.id;
+        this.stockCode = source.stockCode;
+        this.stockName = source.stockName;
+        this.tradingDate = source.tradingDate;
+        this.prevClosePrice = source.prevClosePrice;
+        this.prevVolume = source.prevVolume;
+        this.openPrice = source.openPrice;
+        this.currentPrice = source.currentPrice;
+        this.highPrice = source.highPrice;
+        this.lowPrice = source.lowPrice;
+        this.volume = source.volume;
+        this.tradeValue = source.tradeValue;
+        this.gapPercent = source.gapPercent;
+        this.marketCap = source.marketCap;
+        this.tradeStrength = source.tradeStrength;
+        this.spreadPercent = source.spreadPercent;
+        this.compositeScore = source.compositeScore;
+        this.state = source.state;
+        this.highAfterOpen = source.highAfterOpen;
+        this.highFormedAt = source.highFormedAt;
+        this.pullbackLow = source.pullbackLow;
+        this.pullbackStartAt = source.pullbackStartAt;
+        this.entryPrice = source.entryPrice;
+        this.createdAt = source.createdAt;
+        this.updatedAt = source.updatedAt;
+    }
+
+    /**
+     * 현재 값을 그대로 복사한 사본 (저장 도중 원본이 바뀌어도 한 시점의 값이 기록되도록)
+     */
+    public Stock snapshot() {
+        return new Stock(this);
+    }
+
     // ========== Domain Methods ==========
 
     /**
@@ -203,8 +238,15 @@ public class Stock {
      * 고점 형성 기록
      */
     public void recordHighFormed(BigDecimal highPrice) {
+        recordHighFormed(highPrice, LocalDateTime.now());
+    }
+
+    /**
+     * 고점 형성 기록 (시각 지정 — 백테스트 가상 시계용)
+     */
+    public void recordHighFormed(BigDecimal highPrice, LocalDateTime formedAt) {
         this.highAfterOpen = highPrice;
-        this.highFormedAt = LocalDateTime.now();
+        this.highFormedAt = formedAt;
         this.state = StockState.HIGH_FORMED;
         this.updatedAt = LocalDateTime.now();
     }
@@ -213,8 +255,15 @@ public class Stock {
      * 눌림목 시작 기록
      */
     public void recordPullbackStart(BigDecimal lowPrice) {
+        recordPullbackStart(lowPrice, LocalDateTime.now());
+    }
+
+    /**
+     * 눌림목 시작 기록 (시각 지정 — 백테스트 가상 시계용)
+     */
+    public void recordPullbackStart(BigDecimal lowPrice, LocalDateTime startedAt) {
         this.pullbackLow = lowPrice;
-        this.pullbackStartAt = LocalDateTime.now();
+        this.pullbackStartAt = startedAt;
         this.state = StockState.PULLBACK;
         this.updatedAt = LocalDateTime.now();
     }
@@ -254,6 +303,19 @@ public class Stock {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * 저장된 눌림목 추적 값 복원 (재시작 후 stock_monitoring 에서 상태 머신을 다시 구성할 때)
+     */
+    public void restoreTracking(BigDecimal highAfterOpen, LocalDateTime highFormedAt,
+                                BigDecimal pullbackLow, LocalDateTime pullbackStartAt,
+                                BigDecimal entryPrice) {
+        this.highAfterOpen = highAfterOpen;
+        this.highFormedAt = highFormedAt;
+        this.pullbackLow = pullbackLow;
+        this.pullbackStartAt = pullbackStartAt;
+        this.entryPrice = entryPrice;
+    }
+
     /**
      * 필터 아웃 처리
      */
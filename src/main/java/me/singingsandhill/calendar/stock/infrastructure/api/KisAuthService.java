@@ -1,5 +1,6 @@
 package me.singingsandhill.calendar.stock.infrastructure.api;
 
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisApprovalKeyResponse;
 import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisHashkeyResponse;
 import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisTokenResponse;
 import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
@@ -21,8 +22,10 @@ import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 한국투자증권 API 인증 서비스
- * - 접근토큰 발급/갱신/폐기
+ * - 접근토큰 발급/갱신/폐기 (발급 토큰은 {@link KisTokenStore} 에 암호화 보관 — 재시작 시 재사용)
+ * - 만료 임박 토큰은 스케줄러가 {@link #refreshIfExpiring()} 으로 미리 갱신 — 거래 경로가 발급을 기다리지 않게
  * - Hashkey 생성 (POST 요청용)
+ * - 실시간(웹소켓) 접속키 발급
  */
 @Component
 public class KisAuthService {
@@ -30,6 +33,10 @@ public class KisAuthService {
     private static final Logger log = LoggerFactory.getLogger(KisAuthService.class);
     private static final Duration TIMEOUT = Duration.ofSeconds(10);
     private static final int TOKEN_REFRESH_BUFFER_MINUTES = 30;
+    // 백그라운드 선제 갱신 시점: 동기 갱신 버퍼(30분)보다 충분히 앞서 — 실패해도 몇 번 더 시도할 여유
+    private static final int TOKEN_PROACTIVE_REFRESH_MINUTES = 90;
+    // 접속키 유효기간은 24시간. 장중 재발급을 피하려 20시간 지나면 새로 받는다.
+    private static final Duration APPROVAL_KEY_TTL = Duration.ofHours(20);
 
     // 재시도 설정
     private static final int MAX_RETRY_ATTEMPTS = 3;
@@ -37,13 +44,19 @@ public class KisAuthService {
 
     private final WebClient webClient;
     private final StockProperties stockProperties;
+    private final KisTokenStore tokenStore;
     private final ReentrantLock tokenLock = new ReentrantLock();
+    private volatile boolean storedTokenLoaded;
 
     private volatile String accessToken;
     private volatile LocalDateTime tokenExpiry;
+    private volatile String approvalKey;
+    private volatile LocalDateTime approvalKeyIssuedAt;
 
-    public KisAuthService(WebClient.Builder webClientBuilder, StockProperties stockProperties) {
+    public KisAuthService(WebClient.Builder webClientBuilder, StockProperties stockProperties,
+                          KisTokenStore tokenStore) {
         this.stockProperties = stockProperties;
+        this.tokenStore = tokenStore;
         this.webClient = webClientBuilder
             .baseUrl(stockProperties.getKis().getBaseUrl())
             .build();
@@ -74,6 +87,7 @@ public class KisAuthService {
 
         tokenLock.lock();
         try {
+            loadStoredToken();
             if (isTokenValid()) {
                 return accessToken;
             }
@@ -84,6 +98,51 @@ public class KisAuthService {
         }
     }
 
+    /**
+     * 만료 TOKEN_PROACTIVE_REFRESH_MINUTES 전이면 미리 재발급한다 (백그라운드 스케줄러용).
+     * 실패해도 예외를 던지지 않는다 — 다음 주기 또는 getAccessToken 의 동기 갱신이 이어받는다.
+     */
+    public void refreshIfExpiring() {
+        if (!isConfigured()) {
+            return;
+        }
+        if (!tokenLock.tryLock()) {
+            return; // 다른 스레드가 발급 중
+        }
+        try {
+            loadStoredToken();
+            if (accessToken != null && tokenExpiry != null
+                    && LocalDateTime.now().plusMinutes(TOKEN_PROACTIVE_REFRESH_MINUTES).isBefore(tokenExpiry)) {
+                return;
+            }
+            refreshAccessToken();
+        } catch (Exception e) {
+            log.warn("Proactive KIS token refresh failed: {}", e.getMessage());
+        } finally {
+            tokenLock.unlock();
+        }
+    }
+
+    /**
+     * 프로세스 시작 후 처음 한 번, 저장된 토큰이 아직 유효하면 메모리로 올린다. tokenLock 안에서 호출.
+     */
+    private void loadStoredToken() {
+        if (storedTokenLoaded) {
+            return;
+        }
+        storedTokenLoaded = true;
+        if (accessToken != null) {
+            return;
+        }
+        tokenStore.load()
+            .filter(stored -> stored.expiresAt() != null && LocalDateTime.now().isBefore(stored.expiresAt()))
+            .ifPresent(stored -> {
+                this.accessToken = stored.accessToken();
+                this.tokenExpiry = stored.expiresAt();
+                log.info("Loaded stored KIS access token, expires at: {}", tokenExpiry);
+            });
+    }
+
     /**
      * 토큰 유효성 확인
      */
@@ -121,6 +180,7 @@ public class KisAuthService {
                     this.accessToken = response.accessToken();
                     this.tokenExpiry = LocalDateTime.now().plusSeconds(response.expiresIn());
                     log.info("KIS access token refreshed, expires at: {}", tokenExpiry);
+                    tokenStore.save(accessToken, tokenExpiry);
                     return;
                 } else {
                     log.error("Failed to refresh KIS access token: empty response");
@@ -202,12 +262,75 @@ public class KisAuthService {
 
             this.accessToken = null;
             this.tokenExpiry = null;
+            tokenStore.delete();
             log.info("KIS access token revoked");
         } catch (Exception e) {
             log.error("Failed to revoke KIS access token: {}", e.getMessage());
         }
     }
 
+    /**
+     * 실시간 웹소켓 접속키 반환 (oauth2/Approval, 필요시 발급).
+     * 접근토큰과 별개 키이며, 웹소켓 구독 메시지 header.approval_key 로 쓴다.
+     */
+    public String getApprovalKey() {
+        if (!isConfigured()) {
+            log.warn("KIS API keys not configured");
+            return null;
+        }
+        if (isApprovalKeyValid()) {
+            return approvalKey;
+        }
+
+        tokenLock.lock();
+        try {
+            if (isApprovalKeyValid()) {
+                return approvalKey;
+            }
+            log.info("Issuing KIS websocket approval key");
+            Map<String, String> requestBody = Map.of(
+                "grant_type", "client_credentials",
+                "appkey", stockProperties.getKis().getAppKey(),
+                "secretkey", stockProperties.getKis().getAppSecret()
+            );
+            KisApprovalKeyResponse response = webClient.post()
+                .uri("/oauth2/Approval")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(KisApprovalKeyResponse.class)
+                .timeout(TIMEOUT)
+                .block();
+
+            if (response == null || response.approvalKey() == null) {
+                log.error("Failed to issue KIS approval key: empty response");
+                return null;
+            }
+            this.approvalKey = response.approvalKey();
+            this.approvalKeyIssuedAt = LocalDateTime.now();
+            return approvalKey;
+        } catch (Exception e) {
+            log.error("Failed to issue KIS approval key: {}", e.getMessage());
+            return null;
+        } finally {
+            tokenLock.unlock();
+        }
+    }
+
+    /**
+     * 접속키 폐기 — 웹소켓이 키 오류로 거절했을 때 다음 접속에서 재발급받게 한다.
+     */
+    public void invalidateApprovalKey() {
+        this.approvalKey = null;
+        this.approvalKeyIssuedAt = null;
+    }
+
+    private boolean isApprovalKeyValid() {
+        return approvalKey != null
+            && approvalKeyIssuedAt != null
+            && LocalDateTime.now().isBefore(approvalKeyIssuedAt.plus(APPROVAL_KEY_TTL));
+    }
+
     /**
      * Hashkey 생성 (POST 요청 body 암호화용)
      */
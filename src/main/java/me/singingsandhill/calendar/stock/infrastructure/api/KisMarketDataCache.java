@@ -0,0 +1,234 @@
+package me.singingsandhill.calendar.stock.infrastructure.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisOrderbookResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 트레이딩 틱 단위 시세 캐시.
+ *
+ * 한 틱(5초 루프 1회) 안에서는 종목당 현재가 1회, 호가 1회만 KIS 를 호출한다.
+ * 상태 머신 → 진입 검증(체결강도/호가) → 리스크 → 진입 주문이 같은 종목 시세를 여러 번 읽던 중복을 없앤다.
+ * 같은 종목을 동시에 요청하면 첫 호출만 나가고 나머지는 그 결과를 기다린다 (single-flight).
+ *
+ * 여러 종목 일괄 현재가({@link #quotes})는 단건 현재가와 따로 캐시한다 — 일괄 응답에는 체결강도가 없어
+ * 단건 캐시에 섞으면 진입 검증이 체결강도 0 을 읽게 된다.
+ *
+ * 틱 범위는 beginTick 을 부른 스레드에만 묶인다 — 같은 시각 다른 스레드(스크리닝, 수동 API 등)는 캐시를 거치지 않는다.
+ * 틱이 일을 다른 스레드로 넘길 때는 {@link #inCurrentTick} 으로 감싸 범위를 명시적으로 넘긴다.
+ * 실패(null) 결과도 틱 동안 그대로 공유한다 — 같은 틱에서 재시도 폭주를 만들지 않기 위함.
+ *
+ * 메트릭: kis.marketdata.cache{type=quote|orderbook|multi_quote, result=hit|miss|bypass} (multi_quote 는 종목 수 단위)
+ */
+@Component
+public class KisMarketDataCache {
+
+    private static final ThreadLocal<TickScope> CURRENT = new ThreadLocal<>();
+
+    private final Counter quoteHit;
+    private final Counter quoteMiss;
+    private final Counter quoteBypass;
+    private final Counter orderbookHit;
+    private final Counter orderbookMiss;
+    private final Counter orderbookBypass;
+    private final Counter multiQuoteHit;
+    private final Counter multiQuoteMiss;
+    private final Counter multiQuoteBypass;
+
+    public KisMarketDataCache(MeterRegistry registry) {
+        this.quoteHit = counter(registry, "quote", "hit");
+        this.quoteMiss = counter(registry, "quote", "miss");
+        this.quoteBypass = counter(registry, "quote", "bypass");
+        this.orderbookHit = counter(registry, "orderbook", "hit");
+        this.orderbookMiss = counter(registry, "orderbook", "miss");
+        this.orderbookBypass = counter(registry, "orderbook", "bypass");
+        this.multiQuoteHit = counter(registry, "multi_quote", "hit");
+        this.multiQuoteMiss = counter(registry, "multi_quote", "miss");
+        this.multiQuoteBypass = counter(registry, "multi_quote", "bypass");
+    }
+
+    private static Counter counter(MeterRegistry registry, String type, String result) {
+        return Counter.builder("kis.marketdata.cache")
+            .description("틱 단위 KIS 시세 캐시 조회")
+            .tag("type", type)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    /**
+     * 호출 스레드에서 새 틱 시작. 이전 틱 캐시는 버린다. try-with-resources 로 닫으면 틱 종료.
+     */
+    public TickScope beginTick() {
+        TickScope scope = new TickScope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * 호출 스레드의 틱 범위를 task 실행 스레드에 넘긴다. 틱 밖이면 task 그대로.
+     * 틱이 이미 닫힌 뒤 실행되면 캐시를 거치지 않는다.
+     */
+    public static Runnable inCurrentTick(Runnable task) {
+        TickScope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            TickScope previous = CURRENT.get();
+            CURRENT.set(scope);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    /** 이 캐시의 열린 틱 범위 (호출 스레드 기준), 없으면 null */
+    private TickScope activeScope() {
+        TickScope scope = CURRENT.get();
+        return scope != null && scope.owner() == this && !scope.closed ? scope : null;
+    }
+
+    public KisQuoteResponse quote(String stockCode, Function<String, KisQuoteResponse> loader) {
+        TickScope scope = activeScope();
+        if (scope == null) {
+            quoteBypass.increment();
+            return loader.apply(stockCode);
+        }
+        return singleFlight(scope.quotes, stockCode, loader, quoteHit, quoteMiss);
+    }
+
+    public KisOrderbookResponse orderbook(String stockCode, Function<String, KisOrderbookResponse> loader) {
+        TickScope scope = activeScope();
+        if (scope == null) {
+            orderbookBypass.increment();
+            return loader.apply(stockCode);
+        }
+        return singleFlight(scope.orderbooks, stockCode, loader, orderbookHit, orderbookMiss);
+    }
+
+    /**
+     * 여러 종목 현재가. 이번 틱에 아직 조회하지 않은 종목만 모아 loader 를 1회 호출한다.
+     * 다른 호출자가 조회 중인 종목은 그 결과를 기다린다. loader 결과에 없는 종목은 반환 맵에서 빠진다.
+     */
+    public Map<String, KisQuoteResponse> quotes(Collection<String> stockCodes,
+                                                Function<List<String>, Map<String, KisQuoteResponse>> loader) {
+        TickScope scope = activeScope();
+        if (scope == null) {
+            multiQuoteBypass.increment(stockCodes.size());
+            return loader.apply(List.copyOf(stockCodes));
+        }
+
+        Map<String, CompletableFuture<KisQuoteResponse>> pending = new LinkedHashMap<>();
+        Map<String, CompletableFuture<KisQuoteResponse>> mine = new LinkedHashMap<>();
+        for (String stockCode : stockCodes) {
+            CompletableFuture<KisQuoteResponse> created = new CompletableFuture<>();
+            CompletableFuture<KisQuoteResponse> existing = scope.multiQuotes.putIfAbsent(stockCode, created);
+            if (existing != null) {
+                multiQuoteHit.increment();
+                pending.put(stockCode, existing);
+            } else {
+                multiQuoteMiss.increment();
+                mine.put(stockCode, created);
+                pending.put(stockCode, created);
+            }
+        }
+
+        if (!mine.isEmpty()) {
+            try {
+                Map<String, KisQuoteResponse> loaded = loader.apply(List.copyOf(mine.keySet()));
+                mine.forEach((stockCode, future) -> future.complete(loaded.get(stockCode)));
+            } catch (RuntimeException e) {
+                mine.forEach((stockCode, future) -> {
+                    scope.multiQuotes.remove(stockCode, future);
+                    future.completeExceptionally(e);
+                });
+                throw e;
+            }
+        }
+
+        Map<String, KisQuoteResponse> result = new LinkedHashMap<>();
+        pending.forEach((stockCode, future) -> {
+            KisQuoteResponse quote = join(future);
+            if (quote != null) {
+                result.put(stockCode, quote);
+            }
+        });
+        return result;
+    }
+
+    private <T> T singleFlight(Map<String, CompletableFuture<T>> cache, String stockCode,
+                               Function<String, T> loader, Counter hit, Counter miss) {
+        CompletableFuture<T> mine = new CompletableFuture<>();
+        CompletableFuture<T> existing = cache.putIfAbsent(stockCode, mine);
+        if (existing != null) {
+            hit.increment();
+            return join(existing);
+        }
+
+        miss.increment();
+        try {
+            T value = loader.apply(stockCode);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            // 예외는 캐시하지 않는다 — 대기 중인 호출자에게만 전파하고 다음 호출은 다시 시도
+            cache.remove(stockCode, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 틱 1회 범위. close 하면 넘겨받은 스레드에서도 더 이상 쓰이지 않고,
+     * 호출 스레드의 현재 틱이 자신일 때만 해제한다 (다음 틱이 이미 시작됐으면 그대로 둔다).
+     */
+    public final class TickScope implements AutoCloseable {
+        private final Map<String, CompletableFuture<KisQuoteResponse>> quotes = new ConcurrentHashMap<>();
+        private final Map<String, CompletableFuture<KisOrderbookResponse>> orderbooks = new ConcurrentHashMap<>();
+        private final Map<String, CompletableFuture<KisQuoteResponse>> multiQuotes = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        private TickScope() {
+        }
+
+        private KisMarketDataCache owner() {
+            return KisMarketDataCache.this;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            if (CURRENT.get() == this) {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package me.singingsandhill.calendar.stock.infrastructure.api;
+
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * KIS REST 호출 속도 제한 (TPS 토큰 버킷).
+ *
+ * TR_ID 종류별로 버킷을 나눈다 — 시세(QUOTE) / 계좌(ACCOUNT) / 주문(ORDER).
+ * 버킷이 분리돼 있으므로 스크리닝 시세 폭주 중에도 주문은 자기 버킷 토큰만 기다린다.
+ * 같은 버킷 안에서는 우선순위가 높은 대기자가 있으면 낮은 쪽은 양보한다 (리스크 > 트레이딩 루프 > 스크리닝).
+ *
+ * 우선순위는 호출 스레드 범위로 지정한다:
+ * <pre>
+ * try (KisRateLimiter.PriorityScope ignored = KisRateLimiter.withPriority(Priority.HIGH)) { ... }
+ * </pre>
+ */
+@Component
+public class KisRateLimiter {
+
+    public enum Lane { QUOTE, ACCOUNT, ORDER }
+
+    public enum Priority { HIGH, NORMAL, LOW }
+
+    private static final ThreadLocal<Priority> CURRENT_PRIORITY = ThreadLocal.withInitial(() -> Priority.NORMAL);
+
+    private final Map<Lane, TokenBucket> buckets = new EnumMap<>(Lane.class);
+    private final Duration acquireTimeout;
+    private final ObjectProvider<StockBotMetrics> metricsProvider;
+
+    public KisRateLimiter(StockProperties stockProperties, ObjectProvider<StockBotMetrics> metricsProvider) {
+        StockProperties.RateLimit config = stockProperties.getRateLimit();
+        buckets.put(Lane.QUOTE, new TokenBucket(config.getQuoteTps()));
+        buckets.put(Lane.ACCOUNT, new TokenBucket(config.getAccountTps()));
+        buckets.put(Lane.ORDER, new TokenBucket(config.getOrderTps()));
+        this.acquireTimeout = Duration.ofMillis(config.getAcquireTimeoutMs());
+        this.metricsProvider = metricsProvider;
+    }
+
+    /**
+     * 현재 스레드의 KIS 호출 우선순위를 지정한다. 닫으면 이전 우선순위로 복원.
+     */
+    public static PriorityScope withPriority(Priority priority) {
+        Priority previous = CURRENT_PRIORITY.get();
+        CURRENT_PRIORITY.set(priority);
+        return () -> CURRENT_PRIORITY.set(previous);
+    }
+
+    public static Priority currentPriority() {
+        return CURRENT_PRIORITY.get();
+    }
+
+    /**
+     * 현재 스레드 우선순위로 토큰 1개 획득. acquireTimeout 안에 못 얻으면 false.
+     */
+    public boolean acquire(Lane lane) throws InterruptedException {
+        return acquire(lane, CURRENT_PRIORITY.get());
+    }
+
+    /**
+     * 지정 우선순위로 토큰 1개 획득 (재시도 스레드처럼 호출 스레드와 다른 곳에서 쓸 때).
+     */
+    public boolean acquire(Lane lane, Priority priority) throws InterruptedException {
+        long start = System.nanoTime();
+        boolean acquired = buckets.get(lane).acquire(priority, acquireTimeout.toNanos());
+
+        StockBotMetrics metrics = metricsProvider.getIfAvailable();
+        if (metrics != null) {
+            metrics.recordRateLimitWait(lane.name(), priority.name(), System.nanoTime() - start, acquired);
+        }
+        return acquired;
+    }
+
+    @FunctionalInterface
+    public interface PriorityScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * 초당 tps 개씩 채워지는 버킷. 용량은 tps (1초치 버스트까지 허용).
+     */
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final int[] waiting = new int[Priority.values().length];
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(double tps) {
+            this.tokensPerNano = tps / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1.0, tps);
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        boolean acquire(Priority priority, long timeoutNanos) throws InterruptedException {
+            long deadline = System.nanoTime() + timeoutNanos;
+            lock.lock();
+            try {
+                waiting[priority.ordinal()]++;
+                try {
+                    while (true) {
+                        long now = System.nanoTime();
+                        refill(now);
+                        if (tokens >= 1.0 && !higherPriorityWaiting(priority)) {
+                            tokens -= 1.0;
+                            return true;
+                        }
+                        long remaining = deadline - now;
+                        if (remaining <= 0) {
+                            return false;
+                        }
+                        long untilNextToken = tokens >= 1.0
+                            ? TimeUnit.MILLISECONDS.toNanos(1)
+                            : (long) Math.ceil((1.0 - tokens) / tokensPerNano);
+                        changed.awaitNanos(Math.min(remaining, untilNextToken));
+                    }
+                } finally {
+                    waiting[priority.ordinal()]--;
+                    changed.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean higherPriorityWaiting(Priority priority) {
+            for (int i = 0; i < priority.ordinal(); i++) {
+                if (waiting[i] > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
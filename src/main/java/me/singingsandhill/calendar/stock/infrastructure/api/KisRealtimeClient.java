@@ -0,0 +1,412 @@
+package me.singingsandhill.calendar.stock.infrastructure.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisOrderbookResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisRealtimeTrade;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 한국투자증권 실시간 웹소켓 클라이언트 (체결 H0STCNT0 / 호가 H0STASP0).
+ *
+ * - 접속키는 {@link KisAuthService#getApprovalKey()} 로 받는다.
+ * - {@link #updateSubscriptions} 로 원하는 종목 집합을 넘기면 차이만 등록/해제한다.
+ * - 종목별 최신 체결·호가를 메모리에 보관하고, 체결 틱은 리스너에게 전달한다.
+ *   리스너는 웹소켓 I/O 스레드에서 호출되므로 블로킹 작업을 직접 하면 안 된다.
+ * - 끊기면 reconnectDelaySeconds 후 재접속하고 구독을 다시 보낸다.
+ *   접속키가 무효(OPSP0011)라는 응답이면 키를 버리고 세션을 닫아 새 키로 재접속한다.
+ * - 접속키 HTTP 조회는 모니터 밖에서 한다 — 수신 스레드의 send / 끊김 처리를 막지 않도록.
+ */
+@Component
+public class KisRealtimeClient {
+
+    private static final Logger log = LoggerFactory.getLogger(KisRealtimeClient.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static final String TR_TRADE = "H0STCNT0";
+    static final String TR_ORDERBOOK = "H0STASP0";
+    private static final String TR_PINGPONG = "PINGPONG";
+    /** 구독 응답 msg_cd: 접속키 무효 (invalid approval) */
+    private static final String MSG_INVALID_APPROVAL = "OPSP0011";
+
+    private final KisAuthService authService;
+    private final StockProperties stockProperties;
+    private final WebSocketClient webSocketClient;
+
+    private final Map<String, KisRealtimeTrade> latestTrades = new ConcurrentHashMap<>();
+    private final Map<String, TimedOrderbook> latestOrderbooks = new ConcurrentHashMap<>();
+    private final List<Consumer<KisRealtimeTrade>> tradeListeners = new CopyOnWriteArrayList<>();
+
+    // 아래 상태는 this 로 동기화
+    private final Set<String> desiredCodes = new LinkedHashSet<>();
+    private final Set<String> subscribedCodes = new LinkedHashSet<>();
+    private Sinks.Many<String> outbound;
+    private Disposable connection;
+    private String approvalKey;
+    private boolean closing;
+
+    private volatile boolean connected;
+
+    public KisRealtimeClient(KisAuthService authService, StockProperties stockProperties) {
+        this(authService, stockProperties, new ReactorNettyWebSocketClient());
+    }
+
+    KisRealtimeClient(KisAuthService authService, StockProperties stockProperties,
+                      WebSocketClient webSocketClient) {
+        this.authService = authService;
+        this.stockProperties = stockProperties;
+        this.webSocketClient = webSocketClient;
+    }
+
+    /**
+     * 접속하지 않는 클라이언트 (백테스트 등). 구독 요청은 무시되고 최신 체결/호가는 항상 비어 있다.
+     */
+    public static KisRealtimeClient disabled() {
+        StockProperties properties = new StockProperties();
+        properties.getRealtime().setEnabled(false);
+        return new KisRealtimeClient(null, properties, null);
+    }
+
+    public boolean isEnabled() {
+        return stockProperties.getRealtime().isEnabled();
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public void addTradeListener(Consumer<KisRealtimeTrade> listener) {
+        tradeListeners.add(listener);
+    }
+
+    // ========== 구독 관리 ==========
+
+    /**
+     * 구독 종목 집합을 교체한다. 빠진 종목은 해제, 새 종목은 등록. maxCodes 초과분은 무시.
+     */
+    public void updateSubscriptions(Collection<String> codes) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            int maxCodes = stockProperties.getRealtime().getMaxCodes();
+            desiredCodes.clear();
+            for (String code : codes) {
+                if (desiredCodes.size() >= maxCodes) {
+                    log.warn("Realtime subscription limit {} reached - {} not subscribed", maxCodes, code);
+                    continue;
+                }
+                desiredCodes.add(code);
+            }
+
+            if (desiredCodes.isEmpty()) {
+                disconnect();
+                return;
+            }
+            closing = false;
+            if (isSessionOpen()) {
+                syncSubscriptions();
+                return;
+            }
+        }
+        connectAndSync();
+    }
+
+    /**
+     * 전 종목 해제 후 세션 종료. 최신 틱 캐시도 비운다.
+     */
+    public synchronized void disconnect() {
+        closing = true;
+        desiredCodes.clear();
+        subscribedCodes.clear();
+        if (outbound != null) {
+            outbound.tryEmitComplete();
+            outbound = null;
+        }
+        if (connection != null) {
+            connection.dispose();
+            connection = null;
+        }
+        connected = false;
+        latestTrades.clear();
+        latestOrderbooks.clear();
+    }
+
+    public synchronized Set<String> getSubscribedCodes() {
+        return Set.copyOf(subscribedCodes);
+    }
+
+    private boolean isSessionOpen() {
+        return connection != null && !connection.isDisposed();
+    }
+
+    /**
+     * 접속키를 (모니터 밖에서) 받은 뒤 세션이 없으면 열고 구독을 맞춘다.
+     */
+    private void connectAndSync() {
+        String key = authService.getApprovalKey();
+        synchronized (this) {
+            if (closing || desiredCodes.isEmpty()) {
+                return;
+            }
+            if (!isSessionOpen()) {
+                if (key == null) {
+                    log.warn("KIS approval key unavailable - realtime feed not started");
+                    return;
+                }
+                connect(key);
+            }
+            syncSubscriptions();
+        }
+    }
+
+    private void connect(String key) {
+        approvalKey = key;
+        subscribedCodes.clear();
+        Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+        outbound = sink;
+
+        URI uri = URI.create(stockProperties.getRealtime().getUrl());
+        log.info("Connecting KIS realtime websocket: {}", uri);
+        connection = webSocketClient.execute(uri, session -> {
+                connected = true;
+                Mono<Void> send = session.send(sink.asFlux().map(session::textMessage));
+                Mono<Void> receive = session.receive()
+                    .map(WebSocketMessage::getPayloadAsText)
+                    .doOnNext(this::handleMessage)
+                    .then();
+                // 서버가 닫으면 receive 가 끝난다 — send 는 sink 가 열려 있는 한 끝나지 않으므로 먼저 끝난 쪽 기준
+                return Mono.firstWithSignal(send, receive);
+            })
+            .doFinally(signal -> onDisconnected(sink))
+            .subscribe(null, e -> log.warn("KIS realtime websocket error: {}", e.getMessage()));
+    }
+
+    private synchronized void onDisconnected(Sinks.Many<String> sink) {
+        if (outbound != sink) {
+            return; // 이미 새 세션으로 교체됨
+        }
+        connected = false;
+        connection = null;
+        outbound = null;
+        subscribedCodes.clear();
+        if (closing || desiredCodes.isEmpty()) {
+            return;
+        }
+        int delay = stockProperties.getRealtime().getReconnectDelaySeconds();
+        log.warn("KIS realtime websocket closed - reconnecting in {}s", delay);
+        Mono.delay(Duration.ofSeconds(delay)).subscribe(ignored -> reconnect());
+    }
+
+    private void reconnect() {
+        synchronized (this) {
+            if (closing || desiredCodes.isEmpty() || isSessionOpen()) {
+                return;
+            }
+        }
+        connectAndSync();
+    }
+
+    /**
+     * 접속키가 무효가 된 세션을 닫는다. 끊김 처리(onDisconnected)가 reconnectDelaySeconds 뒤 새 키로 재접속한다.
+     */
+    private synchronized void restartSession() {
+        if (closing || !isSessionOpen()) {
+            return;
+        }
+        log.warn("KIS realtime approval key rejected - restarting session with a fresh key");
+        connection.dispose();
+    }
+
+    private void syncSubscriptions() {
+        for (String code : List.copyOf(subscribedCodes)) {
+            if (!desiredCodes.contains(code)) {
+                send(subscriptionMessage(TR_TRADE, code, false));
+                send(subscriptionMessage(TR_ORDERBOOK, code, false));
+                subscribedCodes.remove(code);
+                latestTrades.remove(code);
+                latestOrderbooks.remove(code);
+            }
+        }
+        for (String code : desiredCodes) {
+            if (subscribedCodes.add(code)) {
+                send(subscriptionMessage(TR_TRADE, code, true));
+                send(subscriptionMessage(TR_ORDERBOOK, code, true));
+            }
+        }
+    }
+
+    private synchronized void send(String message) {
+        if (outbound == null) {
+            return;
+        }
+        Sinks.EmitResult result = outbound.tryEmitNext(message);
+        if (result.isFailure()) {
+            log.warn("KIS realtime send failed ({}): {}", result, message);
+        }
+    }
+
+    String subscriptionMessage(String trId, String code, boolean subscribe) {
+        Map<String, Object> message = Map.of(
+            "header", Map.of(
+                "approval_key", approvalKey,
+                "custtype", "P",
+                "tr_type", subscribe ? "1" : "2",
+                "content-type", "utf-8"),
+            "body", Map.of("input", Map.of("tr_id", trId, "tr_key", code)));
+        try {
+            return MAPPER.writeValueAsString(message);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to build subscription message", e);
+        }
+    }
+
+    // ========== 수신 처리 ==========
+
+    /**
+     * 수신 메시지 1건 처리.
+     * - "암호화여부(0|1)|TR_ID|건수|필드^필드^...": 실시간 데이터
+     * - 그 외: header.tr_id 가 있는 JSON — 구독 응답 또는 PINGPONG (그대로 돌려보내야 세션 유지)
+     */
+    void handleMessage(String payload) {
+        if (payload == null || payload.isEmpty()) {
+            return;
+        }
+        char first = payload.charAt(0);
+        if ((first != '0' && first != '1') || payload.length() < 2 || payload.charAt(1) != '|') {
+            handleControlMessage(payload);
+            return;
+        }
+
+        String[] parts = payload.split("\\|", 4);
+        if (parts.length < 4) {
+            log.debug("Unknown realtime payload: {}", payload);
+            return;
+        }
+        if ("1".equals(parts[0])) {
+            return; // 암호화 데이터는 체결통보(H0STCNI0) 전용 — 구독하지 않는다
+        }
+        String trId = parts[1];
+        int count;
+        try {
+            count = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            log.debug("Invalid realtime record count: {}", parts[2]);
+            return;
+        }
+        String[] fields = parts[3].split("\\^", -1);
+        if (count <= 0 || fields.length % count != 0) {
+            log.debug("Realtime field count mismatch: tr={} count={} fields={}", trId, count, fields.length);
+            return;
+        }
+        int width = fields.length / count;
+        Instant now = Instant.now();
+        for (int i = 0; i < count; i++) {
+            int offset = i * width;
+            switch (trId) {
+                case TR_TRADE -> onTrade(KisRealtimeTrade.parse(fields, offset, now));
+                case TR_ORDERBOOK -> onOrderbook(KisOrderbookResponse.fromRealtime(fields, offset), now);
+                default -> log.debug("Unhandled realtime tr_id: {}", trId);
+            }
+        }
+    }
+
+    private void handleControlMessage(String payload) {
+        try {
+            JsonNode root = MAPPER.readTree(payload);
+            JsonNode header = root.path("header");
+            String trId = header.path("tr_id").asText();
+            if (!root.isObject() || trId.isEmpty()) {
+                log.debug("Unknown realtime payload: {}", payload);
+                return;
+            }
+            if (TR_PINGPONG.equals(trId)) {
+                send(payload);
+                return;
+            }
+            JsonNode body = root.path("body");
+            String rtCd = body.path("rt_cd").asText();
+            String msgCode = body.path("msg_cd").asText();
+            String msg = body.path("msg1").asText();
+            String code = header.path("tr_key").asText();
+            if (!"0".equals(rtCd) && !rtCd.isEmpty()) {
+                log.warn("KIS realtime subscription rejected: tr={} code={} msg_cd={} msg={}", trId, code, msgCode, msg);
+                if (MSG_INVALID_APPROVAL.equals(msgCode)) {
+                    authService.invalidateApprovalKey();
+                    restartSession();
+                }
+            } else {
+                log.debug("KIS realtime {}: tr={} code={}", msg, trId, code);
+            }
+        } catch (Exception e) {
+            log.debug("Invalid realtime control message: {}", e.getMessage());
+        }
+    }
+
+    private void onTrade(KisRealtimeTrade trade) {
+        if (trade == null || trade.price() == null) {
+            return;
+        }
+        latestTrades.put(trade.stockCode(), trade);
+        for (Consumer<KisRealtimeTrade> listener : tradeListeners) {
+            try {
+                listener.accept(trade);
+            } catch (Exception e) {
+                log.warn("Realtime trade listener failed for {}: {}", trade.stockCode(), e.getMessage());
+            }
+        }
+    }
+
+    private void onOrderbook(KisOrderbookResponse orderbook, Instant receivedAt) {
+        if (orderbook == null) {
+            return;
+        }
+        latestOrderbooks.put(orderbook.stockCode(), new TimedOrderbook(orderbook, receivedAt));
+    }
+
+    // ========== 최신 틱 조회 ==========
+
+    /**
+     * staleSeconds 안에 받은 최신 체결. 없거나 오래됐으면 null (호출 측은 REST 로 폴백).
+     */
+    public KisRealtimeTrade getFreshTrade(String stockCode) {
+        KisRealtimeTrade trade = latestTrades.get(stockCode);
+        return trade != null && isFresh(trade.receivedAt()) ? trade : null;
+    }
+
+    /**
+     * staleSeconds 안에 받은 최신 호가. 없거나 오래됐으면 null.
+     */
+    public KisOrderbookResponse getFreshOrderbook(String stockCode) {
+        TimedOrderbook timed = latestOrderbooks.get(stockCode);
+        return timed != null && isFresh(timed.receivedAt()) ? timed.orderbook() : null;
+    }
+
+    private boolean isFresh(Instant receivedAt) {
+        Duration maxAge = Duration.ofSeconds(stockProperties.getRealtime().getStaleSeconds());
+        return receivedAt.isAfter(Instant.now().minus(maxAge));
+    }
+
+    private record TimedOrderbook(KisOrderbookResponse orderbook, Instant receivedAt) {}
+}
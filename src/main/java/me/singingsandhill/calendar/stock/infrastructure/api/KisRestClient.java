@@ -14,6 +14,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 
 import java.io.IOException;
@@ -41,36 +42,33 @@ public class KisRestClient {
     private static final Duration MAX_BACKOFF = Duration.ofSeconds(4);
     private static final BigDecimal HUNDRED_MILLION = new BigDecimal("100000000");
 
-    /**
-     * KIS API 동시 호출 제한 (병렬화 시 rate-limit / 토큰 동시성 제약 보호).
-     * KIS 가이드라인: 초당 20 TPS 권장. 보수적으로 8 동시.
-     */
-    private static final int MAX_CONCURRENT_CALLS = 8;
-    private static final Duration ACQUIRE_TIMEOUT = Duration.ofSeconds(15);
-    private final java.util.concurrent.Semaphore concurrencyGate =
-        new java.util.concurrent.Semaphore(MAX_CONCURRENT_CALLS, true);
+    /** 관심종목(멀티종목) 시세조회 1회당 최대 종목 수 (FHKST11300006) */
+    static final int MULTI_QUOTE_MAX_CODES = 30;
 
     private final WebClient webClient;
     private final KisAuthService authService;
     private final StockProperties stockProperties;
     private final ObjectProvider<StockBotMetrics> metricsProvider;
+    private final KisRateLimiter rateLimiter;
 
     public KisRestClient(WebClient.Builder webClientBuilder,
                          KisAuthService authService,
                          StockProperties stockProperties,
-                         ObjectProvider<StockBotMetrics> metricsProvider) {
+                         ObjectProvider<StockBotMetrics> metricsProvider,
+                         KisRateLimiter rateLimiter) {
         this.authService = authService;
         this.stockProperties = stockProperties;
         this.metricsProvider = metricsProvider;
+        this.rateLimiter = rateLimiter;
         this.webClient = webClientBuilder
             .baseUrl(stockProperties.getKis().getBaseUrl())
             .build();
     }
 
-    private void recordCall() {
+    private void recordCall(String trId, long startNanos) {
         StockBotMetrics m = metricsProvider.getIfAvailable();
         if (m != null) {
-            m.recordApiCall();
+            m.recordApiCall(trId, System.nanoTime() - startNanos);
         }
     }
 
@@ -102,65 +100,60 @@ public class KisRestClient {
         return Retry.backoff(MAX_RETRY_ATTEMPTS, INITIAL_BACKOFF)
             .maxBackoff(MAX_BACKOFF)
             .filter(this::isRetryableException)
+            // 재시도 시 토큰 대기(블로킹)가 일어나므로 parallel 이 아닌 boundedElastic 에서 재구독
+            .scheduler(Schedulers.boundedElastic())
             .doBeforeRetry(signal -> log.warn("Retry attempt {} for {}: {}",
                 signal.totalRetries() + 1, operation, signal.failure().getMessage()));
     }
 
     /**
-     * GET 요청 실행 (재시도 포함)
+     * 속도 제한을 거치는 요청. 재시도 포함 매 시도마다 lane 버킷 토큰을 1개 쓴다.
+     * 우선순위는 호출 스레드 값을 캡처해 재시도 스레드에도 그대로 적용한다.
+     * 호출 수/응답 시간은 토큰 획득 이후부터 TR_ID 별로 기록한다 (속도 제한 대기는 kis.ratelimit.wait 로 별도).
      */
-    private <T> T executeGetWithRetry(String operation,
-                                       java.util.function.Function<WebClient, Mono<T>> requestBuilder) {
-        boolean acquired = false;
-        try {
-            acquired = concurrencyGate.tryAcquire(ACQUIRE_TIMEOUT.toMillis(), java.util.concurrent.TimeUnit.MILLISECONDS);
-            if (!acquired) {
-                log.warn("KIS concurrency gate timeout for {} after {}ms", operation, ACQUIRE_TIMEOUT.toMillis());
-                return null;
+    private <T> Mono<T> rateLimited(KisRateLimiter.Lane lane, String trId, String operation,
+                                    java.util.function.Function<WebClient, Mono<T>> requestBuilder) {
+        KisRateLimiter.Priority priority = KisRateLimiter.currentPriority();
+        return Mono.defer(() -> {
+            try {
+                if (!rateLimiter.acquire(lane, priority)) {
+                    return Mono.error(new RateLimitTimeoutException(operation, lane, priority));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Mono.error(new RateLimitTimeoutException(operation, lane, priority));
             }
-            recordCall();
+            long startNanos = System.nanoTime();
             return requestBuilder.apply(webClient)
-                .retryWhen(buildRetrySpec(operation))
-                .timeout(TIMEOUT)
-                .block();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Interrupted while waiting for KIS concurrency gate ({})", operation);
-            return null;
-        } catch (Exception e) {
-            if (e.getCause() != null && isRetryableException(e.getCause())) {
-                log.error("All {} retry attempts failed for {}: {}", MAX_RETRY_ATTEMPTS, operation, e.getMessage());
-            } else {
-                log.error("Error during {}: {}", operation, e.getMessage());
-            }
-            return null;
-        } finally {
-            if (acquired) {
-                concurrencyGate.release();
-            }
-        }
+                .doFinally(signal -> recordCall(trId, startNanos));
+        });
+    }
+
+    /**
+     * GET 요청 실행 (재시도 포함)
+     */
+    private <T> T executeGetWithRetry(KisRateLimiter.Lane lane, String trId, String operation,
+                                       java.util.function.Function<WebClient, Mono<T>> requestBuilder) {
+        return executeWithRetry(lane, trId, operation, requestBuilder);
     }
 
     /**
      * POST 요청 실행 (재시도 포함)
      */
-    private <T> T executePostWithRetry(String operation,
+    private <T> T executePostWithRetry(KisRateLimiter.Lane lane, String trId, String operation,
                                         java.util.function.Function<WebClient, Mono<T>> requestBuilder) {
-        boolean acquired = false;
+        return executeWithRetry(lane, trId, operation, requestBuilder);
+    }
+
+    private <T> T executeWithRetry(KisRateLimiter.Lane lane, String trId, String operation,
+                                   java.util.function.Function<WebClient, Mono<T>> requestBuilder) {
         try {
-            acquired = concurrencyGate.tryAcquire(ACQUIRE_TIMEOUT.toMillis(), java.util.concurrent.TimeUnit.MILLISECONDS);
-            if (!acquired) {
-                log.warn("KIS concurrency gate timeout for {} after {}ms", operation, ACQUIRE_TIMEOUT.toMillis());
-                return null;
-            }
-            recordCall();
-            return requestBuilder.apply(webClient)
+            return rateLimited(lane, trId, operation, requestBuilder)
                 .retryWhen(buildRetrySpec(operation))
                 .timeout(TIMEOUT)
                 .block();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Interrupted while waiting for KIS concurrency gate ({})", operation);
+        } catch (RateLimitTimeoutException e) {
+            log.warn(e.getMessage());
             return null;
         } catch (Exception e) {
             if (e.getCause() != null && isRetryableException(e.getCause())) {
@@ -169,10 +162,15 @@ public class KisRestClient {
                 log.error("Error during {}: {}", operation, e.getMessage());
             }
             return null;
-        } finally {
-            if (acquired) {
-                concurrencyGate.release();
-            }
+        }
+    }
+
+    /**
+     * 토큰 대기 타임아웃 — 재시도하지 않고 호출을 포기한다.
+     */
+    static class RateLimitTimeoutException extends RuntimeException {
+        RateLimitTimeoutException(String operation, KisRateLimiter.Lane lane, KisRateLimiter.Priority priority) {
+            super("KIS rate limit wait timeout for " + operation + " (lane=" + lane + ", priority=" + priority + ")");
         }
     }
 
@@ -191,7 +189,7 @@ public class KisRestClient {
 
         Map<String, String> headers = authService.buildAuthHeaders("FHKST01010100");
 
-        Map<String, Object> response = executeGetWithRetry("getQuote(" + stockCode + ")",
+        Map<String, Object> response = executeGetWithRetry(KisRateLimiter.Lane.QUOTE, headers.get("tr_id"), "getQuote(" + stockCode + ")",
             client -> client.get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/uapi/domestic-stock/v1/quotations/inquire-price")
@@ -230,6 +228,75 @@ public class KisRestClient {
         );
     }
 
+    /**
+     * 관심종목(멀티종목) 시세조회 (FHKST11300006) - 재시도 포함.
+     *
+     * 1회 호출에 최대 {@value #MULTI_QUOTE_MAX_CODES} 종목을 조회하고, 그 이상은 나눠서 호출한다.
+     * 응답에 시가총액/회전율/체결강도가 없으므로 해당 필드는 null — 현재가/고저가 갱신 전용.
+     * 실패한 묶음의 종목은 결과 맵에서 빠진다.
+     */
+    public Map<String, KisQuoteResponse> getMultiQuotes(List<String> stockCodes) {
+        if (stockCodes.isEmpty() || !authService.isConfigured()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, KisQuoteResponse> quotes = new LinkedHashMap<>();
+        for (int from = 0; from < stockCodes.size(); from += MULTI_QUOTE_MAX_CODES) {
+            List<String> batch = stockCodes.subList(from, Math.min(from + MULTI_QUOTE_MAX_CODES, stockCodes.size()));
+            log.debug("Fetching multi quote for {} codes", batch.size());
+
+            Map<String, String> headers = authService.buildAuthHeaders("FHKST11300006");
+
+            Map<String, Object> response = executeGetWithRetry(KisRateLimiter.Lane.QUOTE, headers.get("tr_id"), "getMultiQuotes(" + batch.size() + ")",
+                client -> client.get()
+                    .uri(uriBuilder -> {
+                        uriBuilder.path("/uapi/domestic-stock/v1/quotations/intstock-multprice");
+                        for (int i = 0; i < batch.size(); i++) {
+                            uriBuilder.queryParam("FID_COND_MRKT_DIV_CODE_" + (i + 1), "J");
+                            uriBuilder.queryParam("FID_INPUT_ISCD_" + (i + 1), batch.get(i));
+                        }
+                        return uriBuilder.build();
+                    })
+                    .headers(h -> headers.forEach(h::set))
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}));
+
+            if (response != null && "0".equals(response.get("rt_cd"))) {
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> outputs = (List<Map<String, Object>>) response.get("output");
+                if (outputs != null) {
+                    for (Map<String, Object> output : outputs) {
+                        Object code = output.get("inter_shrn_iscd");
+                        if (code != null && batch.contains(code.toString())) {
+                            quotes.put(code.toString(), mapToMultiQuoteResponse(output, code.toString()));
+                        }
+                    }
+                }
+            }
+        }
+        return quotes;
+    }
+
+    private KisQuoteResponse mapToMultiQuoteResponse(Map<String, Object> output, String stockCode) {
+        return new KisQuoteResponse(
+            stockCode,
+            parseBigDecimal(output.get("inter2_prpr")),
+            parseBigDecimal(output.get("inter2_oprc")),
+            parseBigDecimal(output.get("inter2_hgpr")),
+            parseBigDecimal(output.get("inter2_lwpr")),
+            parseBigDecimal(output.get("inter2_prdy_clpr")),
+            parseBigDecimal(output.get("inter2_prdy_vrss")),
+            parseBigDecimal(output.get("prdy_ctrt")),
+            parseLong(output.get("acml_vol")),
+            parseBigDecimal(output.get("acml_tr_pbmn")),
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
     /**
      * 호가 조회 (FHKST01010200) - 재시도 포함
      */
@@ -242,7 +309,7 @@ public class KisRestClient {
 
         Map<String, String> headers = authService.buildAuthHeaders("FHKST01010200");
 
-        Map<String, Object> response = executeGetWithRetry("getOrderbook(" + stockCode + ")",
+        Map<String, Object> response = executeGetWithRetry(KisRateLimiter.Lane.QUOTE, headers.get("tr_id"), "getOrderbook(" + stockCode + ")",
             client -> client.get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/uapi/domestic-stock/v1/quotations/inquire-asking-price-exp-ccn")
@@ -293,7 +360,7 @@ public class KisRestClient {
 
         Map<String, String> headers = authService.buildAuthHeaders("FHKST01010400");
 
-        Map<String, Object> response = executeGetWithRetry("getDailyPrices(" + stockCode + ")",
+        Map<String, Object> response = executeGetWithRetry(KisRateLimiter.Lane.QUOTE, headers.get("tr_id"), "getDailyPrices(" + stockCode + ")",
             client -> client.get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/uapi/domestic-stock/v1/quotations/inquire-daily-price")
@@ -344,35 +411,69 @@ public class KisRestClient {
      * @return 단축 종목코드 리스트 (실패 시 빈 리스트)
      */
     public List<String> getTopVolumeCodes(int count) {
-        if (count <= 0 || !authService.isConfigured()) {
+        return getRankingCodes(KisRankingQuery.volume(count));
+    }
+
+    /**
+     * 순위분석 1페이지 종목코드 조회 (응답 순위 순서 유지).
+     *
+     * - VOLUME / TURNOVER: 거래량순위(FHPST01710000) — 평균거래량 / 거래금액순
+     * - FLUCTUATION: 등락률순위(FHPST01700000) — 상승률순
+     *
+     * 순위 API 는 호출당 최대 30건이라 시장/가격대 조건으로 나눠 여러 번 부른다(UniverseBuilder).
+     * 실패 시 빈 리스트.
+     */
+    public List<String> getRankingCodes(KisRankingQuery query) {
+        if (query.count() <= 0 || !authService.isConfigured()) {
             return Collections.emptyList();
         }
-        log.debug("Fetching top {} volume-ranked codes", count);
+        log.debug("Fetching ranking codes: {}", query);
 
-        Map<String, String> headers = authService.buildAuthHeaders("FHPST01710000");
+        boolean fluctuation = query.source() == KisRankingQuery.Source.FLUCTUATION;
+        Map<String, String> headers = authService.buildAuthHeaders(fluctuation ? "FHPST01700000" : "FHPST01710000");
+        String name = "getRankingCodes:" + query.source();
 
-        Map<String, Object> response = executeGetWithRetry("getTopVolumeCodes",
+        Map<String, Object> response = executeGetWithRetry(KisRateLimiter.Lane.QUOTE, headers.get("tr_id"), name,
             client -> client.get()
-                .uri(uriBuilder -> uriBuilder
-                    .path("/uapi/domestic-stock/v1/quotations/volume-rank")
-                    .queryParam("FID_COND_MRKT_DIV_CODE", "J")    // KRX
-                    .queryParam("FID_COND_SCR_DIV_CODE", "20171")  // 거래량순위 화면
-                    .queryParam("FID_INPUT_ISCD", "0000")          // 전체
-                    .queryParam("FID_DIV_CLS_CODE", "0")           // 전체(보통주+우선주)
-                    .queryParam("FID_BLNG_CLS_CODE", "0")          // 평균거래량 기준
-                    .queryParam("FID_TRGT_CLS_CODE", "111111111")  // 증거금 전체
-                    .queryParam("FID_TRGT_EXLS_CLS_CODE", "0000000000") // 제외 없음
-                    .queryParam("FID_INPUT_PRICE_1", "0")          // 가격 하한
-                    .queryParam("FID_INPUT_PRICE_2", "1000000")    // 가격 상한
-                    .queryParam("FID_VOL_CNT", "100000")           // 최소 거래량
-                    .queryParam("FID_INPUT_DATE_1", "")
-                    .build())
+                .uri(uriBuilder -> fluctuation
+                    ? uriBuilder
+                        .path("/uapi/domestic-stock/v1/ranking/fluctuation")
+                        .queryParam("fid_cond_mrkt_div_code", "J")
+                        .queryParam("fid_cond_scr_div_code", "20170")  // 등락률순위 화면
+                        .queryParam("fid_input_iscd", query.market())
+                        .queryParam("fid_rank_sort_cls_code", "0")     // 상승률순
+                        .queryParam("fid_input_cnt_1", "0")
+                        .queryParam("fid_prc_cls_code", "0")
+                        .queryParam("fid_input_price_1", String.valueOf(query.minPrice()))
+                        .queryParam("fid_input_price_2", String.valueOf(query.maxPrice()))
+                        .queryParam("fid_vol_cnt", "100000")
+                        .queryParam("fid_trgt_cls_code", "0")
+                        .queryParam("fid_trgt_exls_cls_code", "0")
+                        .queryParam("fid_div_cls_code", "0")
+                        .queryParam("fid_rsfl_rate1", "")
+                        .queryParam("fid_rsfl_rate2", "")
+                        .build()
+                    : uriBuilder
+                        .path("/uapi/domestic-stock/v1/quotations/volume-rank")
+                        .queryParam("FID_COND_MRKT_DIV_CODE", "J")    // KRX
+                        .queryParam("FID_COND_SCR_DIV_CODE", "20171")  // 거래량순위 화면
+                        .queryParam("FID_INPUT_ISCD", query.market())  // 0000 전체 / 0001 코스피 / 1001 코스닥
+                        .queryParam("FID_DIV_CLS_CODE", "0")           // 전체(보통주+우선주)
+                        .queryParam("FID_BLNG_CLS_CODE",               // 0 평균거래량, 3 거래금액순
+                            query.source() == KisRankingQuery.Source.TURNOVER ? "3" : "0")
+                        .queryParam("FID_TRGT_CLS_CODE", "111111111")  // 증거금 전체
+                        .queryParam("FID_TRGT_EXLS_CLS_CODE", "0000000000") // 제외 없음
+                        .queryParam("FID_INPUT_PRICE_1", String.valueOf(query.minPrice()))
+                        .queryParam("FID_INPUT_PRICE_2", String.valueOf(query.maxPrice()))
+                        .queryParam("FID_VOL_CNT", "100000")           // 최소 거래량
+                        .queryParam("FID_INPUT_DATE_1", "")
+                        .build())
                 .headers(h -> headers.forEach(h::set))
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {}));
 
         if (response == null || !"0".equals(response.get("rt_cd"))) {
-            log.warn("Volume-rank API returned no data (rt_cd={})",
+            log.warn("Ranking API({}) returned no data (rt_cd={})", query.source(),
                 response != null ? response.get("rt_cd") : "null");
             return Collections.emptyList();
         }
@@ -382,11 +483,11 @@ public class KisRestClient {
 
         List<String> codes = new ArrayList<>();
         for (Object row : rows) {
-            if (codes.size() >= count) {
+            if (codes.size() >= query.count()) {
                 break;
             }
             if (row instanceof Map<?, ?> m) {
-                // 거래량순위 응답의 단축코드 필드는 mksc_shrn_iscd; 일부 TR 호환 위해 폴백.
+                // 거래량순위 응답의 단축코드 필드는 mksc_shrn_iscd, 등락률순위는 stck_shrn_iscd.
                 Object code = m.get("mksc_shrn_iscd");
                 if (code == null) {
                     code = m.get("stck_shrn_iscd");
@@ -399,7 +500,7 @@ public class KisRestClient {
                 }
             }
         }
-        log.debug("Volume-rank returned {} codes", codes.size());
+        log.debug("Ranking {} returned {} codes", query, codes.size());
         return codes;
     }
 
@@ -418,7 +519,7 @@ public class KisRestClient {
         String trId = stockProperties.getKis().isProduction() ? "TTTC8434R" : "VTTC8434R";
         Map<String, String> headers = authService.buildAuthHeaders(trId);
 
-        Map<String, Object> response = executeGetWithRetry("getBalance",
+        Map<String, Object> response = executeGetWithRetry(KisRateLimiter.Lane.ACCOUNT, headers.get("tr_id"), "getBalance",
             client -> client.get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/uapi/domestic-stock/v1/trading/inquire-balance")
@@ -496,7 +597,7 @@ public class KisRestClient {
         String trId = stockProperties.getKis().isProduction() ? "TTTC8908R" : "VTTC8908R";
         Map<String, String> headers = authService.buildAuthHeaders(trId);
 
-        Map<String, Object> response = executeGetWithRetry("getBuyingPower(" + stockCode + ")",
+        Map<String, Object> response = executeGetWithRetry(KisRateLimiter.Lane.ACCOUNT, headers.get("tr_id"), "getBuyingPower(" + stockCode + ")",
             client -> client.get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/uapi/domestic-stock/v1/trading/inquire-psbl-order")
@@ -576,7 +677,7 @@ public class KisRestClient {
         String hashkey = authService.generateHashkey(requestBody);
         Map<String, String> headers = authService.buildAuthHeaders(trId);
 
-        Map<String, Object> response = executePostWithRetry("executeOrder(" + stockCode + ")",
+        Map<String, Object> response = executePostWithRetry(KisRateLimiter.Lane.ORDER, headers.get("tr_id"), "executeOrder(" + stockCode + ")",
             client -> client.post()
                 .uri("/uapi/domestic-stock/v1/trading/order-cash")
                 .headers(h -> {
@@ -632,7 +733,7 @@ public class KisRestClient {
         Map<String, String> headers = authService.buildAuthHeaders(trId);
         String dateStr = date.format(DATE_FORMATTER);
 
-        Map<String, Object> response = executeGetWithRetry("getOrderHistory(" + date + ")",
+        Map<String, Object> response = executeGetWithRetry(KisRateLimiter.Lane.ACCOUNT, headers.get("tr_id"), "getOrderHistory(" + date + ")",
             client -> client.get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/uapi/domestic-stock/v1/trading/inquire-daily-ccld")
@@ -0,0 +1,110 @@
+package me.singingsandhill.calendar.stock.infrastructure.api;
+
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.KisTokenJpaEntity;
+import me.singingsandhill.calendar.stock.infrastructure.persistence.repository.KisTokenJpaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * KIS 접근토큰 영속 저장소 (stock_kis_tokens).
+ *
+ * 재시작/재배포 때마다 oauth2/tokenP 를 다시 부르지 않도록 발급받은 토큰을 DB 에 보관한다.
+ * 토큰은 appSecret 에서 유도한 키로 AES-GCM 암호화해 저장 — DB 만 유출돼서는 쓸 수 없고,
+ * appSecret 이 바뀌면 복호화에 실패해 자연히 새로 발급받는다.
+ * 저장/조회 실패는 경고만 남긴다 (토큰 발급 자체를 막지 않는다).
+ */
+@Component
+public class KisTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(KisTokenStore.class);
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final KisTokenJpaRepository repository;
+    private final StockProperties stockProperties;
+    private final SecureRandom random = new SecureRandom();
+
+    public KisTokenStore(KisTokenJpaRepository repository, StockProperties stockProperties) {
+        this.repository = repository;
+        this.stockProperties = stockProperties;
+    }
+
+    /**
+     * 저장된 토큰 (없거나 복호화 실패 시 empty). 만료 여부는 호출 측이 판단한다.
+     */
+    public Optional<StoredToken> load() {
+        try {
+            return repository.findById(credentialKey())
+                .map(entity -> new StoredToken(decrypt(entity.getEncryptedToken()), entity.getExpiresAt()));
+        } catch (Exception e) {
+            log.warn("Failed to load stored KIS access token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(String accessToken, LocalDateTime expiresAt) {
+        try {
+            repository.save(new KisTokenJpaEntity(credentialKey(), encrypt(accessToken), expiresAt));
+        } catch (Exception e) {
+            log.warn("Failed to store KIS access token: {}", e.getMessage());
+        }
+    }
+
+    public void delete() {
+        try {
+            repository.deleteById(credentialKey());
+        } catch (Exception e) {
+            log.warn("Failed to delete stored KIS access token: {}", e.getMessage());
+        }
+    }
+
+    String encrypt(String plain) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey(), new GCMParameterSpec(TAG_BITS, iv));
+        byte[] encrypted = cipher.doFinal(plain.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(
+            ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array());
+    }
+
+    String decrypt(String stored) throws GeneralSecurityException {
+        byte[] data = Base64.getDecoder().decode(stored);
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, secretKey(), new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+        byte[] plain = cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES);
+        return new String(plain, StandardCharsets.UTF_8);
+    }
+
+    private SecretKeySpec secretKey() throws GeneralSecurityException {
+        return new SecretKeySpec(sha256("kis-token:" + stockProperties.getKis().getAppSecret()), "AES");
+    }
+
+    private String credentialKey() throws GeneralSecurityException {
+        StockProperties.Kis kis = stockProperties.getKis();
+        return HexFormat.of().formatHex(sha256(kis.getBaseUrl() + "|" + kis.getAppKey()));
+    }
+
+    private static byte[] sha256(String value) throws GeneralSecurityException {
+        return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public record StoredToken(String accessToken, LocalDateTime expiresAt) {}
+}
@@ -8,7 +8,10 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 한국투자증권 API 통합 클라이언트
@@ -22,13 +25,16 @@ public class KoreaInvestmentApiClient {
     private final KisAuthService authService;
     private final KisRestClient restClient;
     private final StockProperties stockProperties;
+    private final KisMarketDataCache marketDataCache;
 
     public KoreaInvestmentApiClient(KisAuthService authService,
                                      KisRestClient restClient,
-                                     StockProperties stockProperties) {
+                                     StockProperties stockProperties,
+                                     KisMarketDataCache marketDataCache) {
         this.authService = authService;
         this.restClient = restClient;
         this.stockProperties = stockProperties;
+        this.marketDataCache = marketDataCache;
     }
 
     // ========== Authentication ==========
@@ -57,17 +63,53 @@ public class KoreaInvestmentApiClient {
     // ========== Market Data ==========
 
     /**
-     * 주식현재가 시세 조회
+     * 트레이딩 틱 시작. 닫을 때까지 종목당 현재가/호가를 1회만 조회한다 ({@link KisMarketDataCache}).
+     */
+    public KisMarketDataCache.TickScope beginTick() {
+        return marketDataCache.beginTick();
+    }
+
+    /**
+     * 주식현재가 시세 조회 (틱 안에서는 캐시)
      */
     public KisQuoteResponse getQuote(String stockCode) {
-        return restClient.getQuote(stockCode);
+        return marketDataCache.quote(stockCode, restClient::getQuote);
     }
 
     /**
-     * 호가 조회
+     * 여러 종목 현재가 일괄 조회 (틱 안에서는 캐시).
+     *
+     * 멀티종목 시세조회로 30종목씩 묶어 호출하고, 일괄 응답에서 빠진 종목만 단건 조회로 보충한다.
+     * 반환 시세는 체결강도/시가총액이 없을 수 있으므로 현재가·고저가 용도로만 쓴다.
+     */
+    public Map<String, KisQuoteResponse> getQuotes(Collection<String> stockCodes) {
+        if (stockCodes.isEmpty()) {
+            return Map.of();
+        }
+        return marketDataCache.quotes(stockCodes, this::loadQuotes);
+    }
+
+    private Map<String, KisQuoteResponse> loadQuotes(List<String> stockCodes) {
+        Map<String, KisQuoteResponse> quotes = new LinkedHashMap<>(restClient.getMultiQuotes(stockCodes));
+        for (String stockCode : stockCodes) {
+            if (!quotes.containsKey(stockCode)) {
+                KisQuoteResponse quote = getQuote(stockCode);
+                if (quote != null) {
+                    quotes.put(stockCode, quote);
+                }
+            }
+        }
+        if (quotes.size() < stockCodes.size()) {
+            log.warn("Quotes missing for {} of {} codes", stockCodes.size() - quotes.size(), stockCodes.size());
+        }
+        return quotes;
+    }
+
+    /**
+     * 호가 조회 (틱 안에서는 캐시)
      */
     public KisOrderbookResponse getOrderbook(String stockCode) {
-        return restClient.getOrderbook(stockCode);
+        return marketDataCache.orderbook(stockCode, restClient::getOrderbook);
     }
 
     /**
@@ -84,6 +126,13 @@ public class KoreaInvestmentApiClient {
         return restClient.getTopVolumeCodes(count);
     }
 
+    /**
+     * 순위분석 1페이지 종목코드 (거래량 / 거래대금 / 등락률). 실패 시 빈 리스트.
+     */
+    public List<String> getRankingCodes(KisRankingQuery query) {
+        return restClient.getRankingCodes(query);
+    }
+
     /**
      * 전일 종가 조회
      */
@@ -0,0 +1,10 @@
+package me.singingsandhill.calendar.stock.infrastructure.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 실시간(웹소켓) 접속키 발급 응답 (oauth2/Approval)
+ */
+public record KisApprovalKeyResponse(
+    @JsonProperty("approval_key") String approvalKey
+) {}
@@ -26,6 +26,40 @@ public record KisOrderbookResponse(
     @JsonProperty("total_askp_rsqn") Long totalAskVolume,
     @JsonProperty("total_bidp_rsqn") Long totalBidVolume
 ) {
+    // 실시간 호가 (H0STASP0) 필드 인덱스: 코드, 시각, 구분, 매도호가1~10, 매수호가1~10, 매도잔량1~10, 매수잔량1~10, 총잔량
+    private static final int RT_ASKP1 = 3;
+    private static final int RT_BIDP1 = 13;
+    private static final int RT_ASKP_RSQN1 = 23;
+    private static final int RT_BIDP_RSQN1 = 33;
+    private static final int RT_TOTAL_ASKP_RSQN = 43;
+    private static final int RT_TOTAL_BIDP_RSQN = 44;
+
+    /**
+     * 실시간 호가 레코드 1건을 REST 호가 응답과 같은 형태로 변환한다 (상위 3호가만).
+     * 필드가 모자라면 null.
+     */
+    public static KisOrderbookResponse fromRealtime(String[] fields, int offset) {
+        if (fields.length - offset <= RT_TOTAL_BIDP_RSQN) {
+            return null;
+        }
+        return new KisOrderbookResponse(
+            fields[offset],
+            KisRealtimeTrade.decimal(fields[offset + RT_ASKP1]),
+            KisRealtimeTrade.decimal(fields[offset + RT_ASKP1 + 1]),
+            KisRealtimeTrade.decimal(fields[offset + RT_ASKP1 + 2]),
+            KisRealtimeTrade.decimal(fields[offset + RT_BIDP1]),
+            KisRealtimeTrade.decimal(fields[offset + RT_BIDP1 + 1]),
+            KisRealtimeTrade.decimal(fields[offset + RT_BIDP1 + 2]),
+            KisRealtimeTrade.longValue(fields[offset + RT_ASKP_RSQN1]),
+            KisRealtimeTrade.longValue(fields[offset + RT_ASKP_RSQN1 + 1]),
+            KisRealtimeTrade.longValue(fields[offset + RT_ASKP_RSQN1 + 2]),
+            KisRealtimeTrade.longValue(fields[offset + RT_BIDP_RSQN1]),
+            KisRealtimeTrade.longValue(fields[offset + RT_BIDP_RSQN1 + 1]),
+            KisRealtimeTrade.longValue(fields[offset + RT_BIDP_RSQN1 + 2]),
+            KisRealtimeTrade.longValue(fields[offset + RT_TOTAL_ASKP_RSQN]),
+            KisRealtimeTrade.longValue(fields[offset + RT_TOTAL_BIDP_RSQN]));
+    }
+
     /**
      * 스프레드 계산 ((매도1호가 - 매수1호가) / 현재가 * 100)
      */
@@ -0,0 +1,28 @@
+package me.singingsandhill.calendar.stock.infrastructure.api.dto;
+
+/**
+ * KIS 순위 조회 1페이지 조건.
+ *
+ * 순위 API 는 호출당 최대 30건만 주므로, 유니버스 빌더는 (소스 × 시장 × 가격대) 로 나눠 여러 번 조회한다.
+ *
+ * @param source   순위 기준 (거래량 / 거래대금 / 등락률)
+ * @param market   FID_INPUT_ISCD (0000 전체, 0001 코스피, 1001 코스닥)
+ * @param minPrice 가격 하한 (원)
+ * @param maxPrice 가격 상한 (원)
+ * @param count    가져올 최대 건수
+ */
+public record KisRankingQuery(Source source, String market, long minPrice, long maxPrice, int count) {
+
+    public enum Source {
+        /** 거래량순위 (FHPST01710000, 평균거래량 기준) */
+        VOLUME,
+        /** 거래량순위 (FHPST01710000, 거래금액순) */
+        TURNOVER,
+        /** 등락률순위 (FHPST01700000, 상승률순) */
+        FLUCTUATION
+    }
+
+    public static KisRankingQuery volume(int count) {
+        return new KisRankingQuery(Source.VOLUME, "0000", 0, 1_000_000, count);
+    }
+}
@@ -0,0 +1,73 @@
+package me.singingsandhill.calendar.stock.infrastructure.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * 실시간 체결가 (H0STCNT0) 1건.
+ *
+ * KIS 는 '^' 구분 필드 배열로 내려준다. 봇이 쓰는 필드만 추린다.
+ */
+public record KisRealtimeTrade(
+    String stockCode,
+    String tradeTime,
+    BigDecimal price,
+    BigDecimal openPrice,
+    BigDecimal highPrice,
+    BigDecimal lowPrice,
+    BigDecimal ask1Price,
+    BigDecimal bid1Price,
+    Long cumulativeVolume,
+    BigDecimal tradeStrength,
+    Instant receivedAt
+) {
+    // H0STCNT0 필드 인덱스 (KIS 실시간 체결가 명세)
+    private static final int CODE = 0;
+    private static final int TIME = 1;
+    private static final int PRICE = 2;
+    private static final int OPEN = 7;
+    private static final int HIGH = 8;
+    private static final int LOW = 9;
+    private static final int ASK1 = 10;
+    private static final int BID1 = 11;
+    private static final int ACML_VOL = 13;
+    private static final int CTTR = 18;
+    static final int MIN_FIELDS = CTTR + 1;
+
+    /**
+     * fields[offset..] 의 레코드 1건을 파싱한다. 필드가 모자라면 null.
+     */
+    public static KisRealtimeTrade parse(String[] fields, int offset, Instant receivedAt) {
+        if (fields.length - offset < MIN_FIELDS) {
+            return null;
+        }
+        return new KisRealtimeTrade(
+            fields[offset + CODE],
+            fields[offset + TIME],
+            decimal(fields[offset + PRICE]),
+            decimal(fields[offset + OPEN]),
+            decimal(fields[offset + HIGH]),
+            decimal(fields[offset + LOW]),
+            decimal(fields[offset + ASK1]),
+            decimal(fields[offset + BID1]),
+            longValue(fields[offset + ACML_VOL]),
+            decimal(fields[offset + CTTR]),
+            receivedAt);
+    }
+
+    static BigDecimal decimal(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static Long longValue(String value) {
+        BigDecimal d = decimal(value);
+        return d != null ? d.longValue() : null;
+    }
+}
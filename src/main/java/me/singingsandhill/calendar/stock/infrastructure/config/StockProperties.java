@@ -24,6 +24,10 @@ public class StockProperties {
     private Risk risk = new Risk();
     private Trading trading = new Trading();
     private Universe universe = new Universe();
+    private Realtime realtime = new Realtime();
+    private RateLimit rateLimit = new RateLimit();
+    private EventStore eventStore = new EventStore();
+    private Notification notification = new Notification();
 
     public static class Kis {
         private String baseUrl = "https://openapi.koreainvestment.com:9443";
@@ -47,6 +51,110 @@ public class StockProperties {
         public void setProduction(boolean production) { this.production = production; }
     }
 
+    /**
+     * KIS 실시간 웹소켓 (체결 H0STCNT0 + 호가 H0STASP0).
+     * 켜면 스크리닝 선정 종목을 구독하고 체결 틱마다 눌림목 상태 머신을 돌린다.
+     * 5초 REST 폴링은 틱이 끊긴 종목에 대한 폴백으로 남는다.
+     */
+    public static class Realtime {
+        private boolean enabled = false;
+        private String url = "ws://ops.koreainvestment.com:21000";
+        /** 세션당 등록 한도(41)를 체결+호가 2건씩 쓰므로 종목 20개까지. */
+        private int maxCodes = 20;
+        private int reconnectDelaySeconds = 5;
+        /** 이 시간 안에 받은 틱/호가만 "신선"으로 보고 REST 조회를 대체한다. */
+        private int staleSeconds = 3;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public int getMaxCodes() { return maxCodes; }
+        public void setMaxCodes(int maxCodes) { this.maxCodes = maxCodes; }
+        public int getReconnectDelaySeconds() { return reconnectDelaySeconds; }
+        public void setReconnectDelaySeconds(int reconnectDelaySeconds) { this.reconnectDelaySeconds = reconnectDelaySeconds; }
+        public int getStaleSeconds() { return staleSeconds; }
+        public void setStaleSeconds(int staleSeconds) { this.staleSeconds = staleSeconds; }
+    }
+
+    /**
+     * KIS REST 호출 TPS 제한 (TR_ID 종류별 토큰 버킷).
+     * 합계가 KIS 계정 한도(실전 초당 20건)를 넘지 않게 나눈다. 모의투자는 한도가 낮으므로 함께 낮출 것.
+     */
+    public static class RateLimit {
+        private double quoteTps = 12;
+        private double accountTps = 3;
+        private double orderTps = 5;
+        private long acquireTimeoutMs = 5000;
+
+        public double getQuoteTps() { return quoteTps; }
+        public void setQuoteTps(double quoteTps) { this.quoteTps = quoteTps; }
+        public double getAccountTps() { return accountTps; }
+        public void setAccountTps(double accountTps) { this.accountTps = accountTps; }
+        public double getOrderTps() { return orderTps; }
+        public void setOrderTps(double orderTps) { this.orderTps = orderTps; }
+        public long getAcquireTimeoutMs() { return acquireTimeoutMs; }
+        public void setAcquireTimeoutMs(long acquireTimeoutMs) { this.acquireTimeoutMs = acquireTimeoutMs; }
+    }
+
+    /**
+     * 거래 이벤트 저장소 (TradeEvents → KST 거래일별 JSONL 세그먼트).
+     * 이벤트 API 가 JPA 대신 이 파일을 조회한다. 끄면 기존처럼 포지션/시그널 테이블을 merge 한다.
+     */
+    public static class EventStore {
+        private boolean enabled = true;
+        private String dir = "logs/stock-events";
+        /** writer 스레드가 못 따라오면 이 개수를 넘는 이벤트는 버린다 (stock-events.log 에는 남음). */
+        private int queueCapacity = 8192;
+        /** 인덱스를 메모리에 두는 최근 거래일 수. 그 이전 날짜는 조회할 때마다 파일에서 다시 만든다. */
+        private int indexedDays = 3;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public String getDir() { return dir; }
+        public void setDir(String dir) { this.dir = dir; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+        public int getIndexedDays() { return indexedDays; }
+        public void setIndexedDays(int indexedDays) { this.indexedDays = indexedDays; }
+    }
+
+    /**
+     * 알림 outbox (stock_notifications) 발송 정책.
+     * 거래 경로는 적재만 하고, 디스패처가 채널별로 모아(digest) 보내며 실패 시 지수 백오프로 재시도한다.
+     */
+    public static class Notification {
+        /** 발송 대기 행이 이만큼 쌓이면 새 알림은 적재하지 않고 버린다. */
+        private int maxPending = 500;
+        /** 가장 오래된 대기 알림이 이 시간(초)을 넘기면 모인 것들을 한 통으로 보낸다. */
+        private int digestWindowSeconds = 30;
+        private int maxDigestSize = 20;
+        private int maxAttempts = 5;
+        private int backoffBaseSeconds = 30;
+        private int backoffMaxSeconds = 1800;
+        /** 채널 발송 스레드 수 (한 채널은 동시에 한 통만 보낸다). */
+        private int dispatchThreads = 2;
+        /** 발송 완료/실패 행 보관 일수. */
+        private int retentionDays = 7;
+
+        public int getMaxPending() { return maxPending; }
+        public void setMaxPending(int maxPending) { this.maxPending = maxPending; }
+        public int getDigestWindowSeconds() { return digestWindowSeconds; }
+        public void setDigestWindowSeconds(int digestWindowSeconds) { this.digestWindowSeconds = digestWindowSeconds; }
+        public int getMaxDigestSize() { return maxDigestSize; }
+        public void setMaxDigestSize(int maxDigestSize) { this.maxDigestSize = maxDigestSize; }
+        public int getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+        public int getBackoffBaseSeconds() { return backoffBaseSeconds; }
+        public void setBackoffBaseSeconds(int backoffBaseSeconds) { this.backoffBaseSeconds = backoffBaseSeconds; }
+        public int getBackoffMaxSeconds() { return backoffMaxSeconds; }
+        public void setBackoffMaxSeconds(int backoffMaxSeconds) { this.backoffMaxSeconds = backoffMaxSeconds; }
+        public int getDispatchThreads() { return dispatchThreads; }
+        public void setDispatchThreads(int dispatchThreads) { this.dispatchThreads = dispatchThreads; }
+        public int getRetentionDays() { return retentionDays; }
+        public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+    }
+
     public static class Mail {
         private boolean enabled = false;
         private String to;
@@ -97,6 +205,33 @@ public class StockProperties {
          * false: 0 도 그냥 통과시키고 점수 계산은 floorStrength 로 보정.
          */
         private boolean skipZeroStrength = true;
+        /**
+         * 스크리닝 동시 평가 종목 수. 처리량 상한은 KisRateLimiter 시세(QUOTE) 버킷의 quote-tps 이고,
+         * 이 값은 응답을 기다리는 동안에도 버킷 토큰을 다 쓸 만큼만 잡는다 — 더 키워도 토큰 대기만 늘어난다.
+         */
+        private int parallelism = 8;
+        /** 종목 1개 평가(quote + orderbook) 타임아웃. 초과 종목은 탈락 처리하고 나머지는 계속 진행. */
+        private long perStockTimeoutMs = 8000;
+        /**
+         * 장 전 워밍업(일자별 시세) 동시 호출 수. 08:30 은 급하지 않으므로 낮게 — 다른 호출 토큰을 뺏지 않는다.
+         */
+        private int warmupParallelism = 2;
+        /**
+         * 09:20 스크리닝 이후 유니버스를 조금씩 돌려가며 재평가해 감시 종목을 편입/교체한다.
+         */
+        private boolean incrementalEnabled = false;
+        /** 증분 스크리닝 주기(초). */
+        private int incrementalIntervalSeconds = 30;
+        /** 주기당 재평가 종목 수 — 종목당 시세 1회(+Floor 통과 시 호가 1회)라 이 값이 KIS 호출 예산이다. */
+        private int incrementalSliceSize = 20;
+        /** 이 시각 이후에는 새로 편입하지 않는다 (청산 시각 직전 진입 방지). */
+        private String incrementalEndTime = "10:30";
+        /** 빈 자리 편입 기준: min-score-threshold + 이 값 이상. */
+        private BigDecimal admitMargin = new BigDecimal("5");
+        /** 교체 기준: 가장 약한 WATCHING 종목 점수 + 이 값 이상. */
+        private BigDecimal swapMargin = new BigDecimal("10");
+        /** WATCHING 종목이 연속으로 Floor 에서 탈락한 횟수가 이 값이면 제외. */
+        private int evictAfterMisses = 2;
 
         public BigDecimal getMinGapPercent() { return minGapPercent; }
         public void setMinGapPercent(BigDecimal minGapPercent) { this.minGapPercent = minGapPercent; }
@@ -118,6 +253,26 @@ public class StockProperties {
         public void setFloorTradeStrength(BigDecimal floorTradeStrength) { this.floorTradeStrength = floorTradeStrength; }
         public boolean isSkipZeroStrength() { return skipZeroStrength; }
         public void setSkipZeroStrength(boolean skipZeroStrength) { this.skipZeroStrength = skipZeroStrength; }
+        public int getParallelism() { return parallelism; }
+        public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+        public long getPerStockTimeoutMs() { return perStockTimeoutMs; }
+        public void setPerStockTimeoutMs(long perStockTimeoutMs) { this.perStockTimeoutMs = perStockTimeoutMs; }
+        public int getWarmupParallelism() { return warmupParallelism; }
+        public void setWarmupParallelism(int warmupParallelism) { this.warmupParallelism = warmupParallelism; }
+        public boolean isIncrementalEnabled() { return incrementalEnabled; }
+        public void setIncrementalEnabled(boolean incrementalEnabled) { this.incrementalEnabled = incrementalEnabled; }
+        public int getIncrementalIntervalSeconds() { return incrementalIntervalSeconds; }
+        public void setIncrementalIntervalSeconds(int incrementalIntervalSeconds) { this.incrementalIntervalSeconds = incrementalIntervalSeconds; }
+        public int getIncrementalSliceSize() { return incrementalSliceSize; }
+        public void setIncrementalSliceSize(int incrementalSliceSize) { this.incrementalSliceSize = incrementalSliceSize; }
+        public String getIncrementalEndTime() { return incrementalEndTime; }
+        public void setIncrementalEndTime(String incrementalEndTime) { this.incrementalEndTime = incrementalEndTime; }
+        public BigDecimal getAdmitMargin() { return admitMargin; }
+        public void setAdmitMargin(BigDecimal admitMargin) { this.admitMargin = admitMargin; }
+        public BigDecimal getSwapMargin() { return swapMargin; }
+        public void setSwapMargin(BigDecimal swapMargin) { this.swapMargin = swapMargin; }
+        public int getEvictAfterMisses() { return evictAfterMisses; }
+        public void setEvictAfterMisses(int evictAfterMisses) { this.evictAfterMisses = evictAfterMisses; }
     }
 
     public static class Scoring {
@@ -242,6 +397,10 @@ public class StockProperties {
         private BigDecimal minProfitThreshold = new BigDecimal("0.005");  // 최소 수익률 0.5%
         private boolean timeDecayEnabled = true;
         private BigDecimal minProfitThresholdLate = new BigDecimal("0.001");  // 장 후반 0.1%
+        /**
+         * 틱당 포지션 리스크 체크 대기 한도(ms). 폴링 간격보다 짧게 — 넘긴 종목은 다음 틱에 다시 본다.
+         */
+        private long evaluationDeadlineMillis = 3000;
 
         /** 왕복 수수료율 = 매수 수수료 + 매도 수수료 + 매도 세금 */
         public BigDecimal getRoundTripFeeRate() {
@@ -266,6 +425,8 @@ public class StockProperties {
         public void setTimeDecayEnabled(boolean timeDecayEnabled) { this.timeDecayEnabled = timeDecayEnabled; }
         public BigDecimal getMinProfitThresholdLate() { return minProfitThresholdLate; }
         public void setMinProfitThresholdLate(BigDecimal minProfitThresholdLate) { this.minProfitThresholdLate = minProfitThresholdLate; }
+        public long getEvaluationDeadlineMillis() { return evaluationDeadlineMillis; }
+        public void setEvaluationDeadlineMillis(long evaluationDeadlineMillis) { this.evaluationDeadlineMillis = evaluationDeadlineMillis; }
     }
 
     public static class Universe {
@@ -281,6 +442,34 @@ public class StockProperties {
          * KIS 거래량순위(FHPST01710000) 결과 상위 N 을 동적 유니버스로 사용. 0 이면 비활성.
          */
         private int rankApiTop = 0;
+        /**
+         * 합칠 순위 소스 (VOLUME, TURNOVER, FLUCTUATION). 기본은 거래량순위만.
+         */
+        private List<String> rankSources = List.of("VOLUME");
+        /**
+         * 순위 조회 시장 구분 (0000 전체, 0001 코스피, 1001 코스닥). 소스마다 시장별로 따로 조회한다.
+         */
+        private List<String> rankMarkets = List.of("0000");
+        /**
+         * 순위 조회 가격대 ("하한-상한" 원). 순위 API 가 호출당 30건까지만 주므로 가격대로 나눠 페이지를 늘린다.
+         */
+        private List<String> rankPriceBands = List.of("0-1000000");
+        /**
+         * 유니버스 최대 종목 수 (pinned 포함). 0 이면 제한 없음.
+         */
+        private int poolSize = 0;
+        /**
+         * 순위 페이지 동시 조회 수.
+         */
+        private int rankParallelism = 4;
+        /**
+         * 거래일 스냅샷 저장 디렉터리. 재시작 시 같은 날 스냅샷을 그대로 다시 읽는다. 비우면 메모리에만 둔다.
+         */
+        private String snapshotDir = "";
+        /**
+         * 스냅샷 보관 일수. 거래일 기준 이보다 오래된 universe-*.json 은 저장 시 지운다. 0 이하면 지우지 않는다.
+         */
+        private int snapshotRetentionDays = 7;
 
         public List<String> getPinned() { return pinned; }
         public void setPinned(List<String> pinned) {
@@ -292,6 +481,26 @@ public class StockProperties {
         }
         public int getRankApiTop() { return rankApiTop; }
         public void setRankApiTop(int rankApiTop) { this.rankApiTop = rankApiTop; }
+        public List<String> getRankSources() { return rankSources; }
+        public void setRankSources(List<String> rankSources) {
+            this.rankSources = rankSources != null ? rankSources : Collections.emptyList();
+        }
+        public List<String> getRankMarkets() { return rankMarkets; }
+        public void setRankMarkets(List<String> rankMarkets) {
+            this.rankMarkets = rankMarkets != null ? rankMarkets : Collections.emptyList();
+        }
+        public List<String> getRankPriceBands() { return rankPriceBands; }
+        public void setRankPriceBands(List<String> rankPriceBands) {
+            this.rankPriceBands = rankPriceBands != null ? rankPriceBands : Collections.emptyList();
+        }
+        public int getPoolSize() { return poolSize; }
+        public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+        public int getRankParallelism() { return rankParallelism; }
+        public void setRankParallelism(int rankParallelism) { this.rankParallelism = rankParallelism; }
+        public String getSnapshotDir() { return snapshotDir; }
+        public void setSnapshotDir(String snapshotDir) { this.snapshotDir = snapshotDir; }
+        public int getSnapshotRetentionDays() { return snapshotRetentionDays; }
+        public void setSnapshotRetentionDays(int snapshotRetentionDays) { this.snapshotRetentionDays = snapshotRetentionDays; }
     }
 
     public static class Trading {
@@ -309,6 +518,14 @@ public class StockProperties {
         private String tradingLoopStart;
         private String tradingEnd = "11:30";
         private int pollingIntervalSeconds = 5;
+        /**
+         * 트레이딩 루프 시세/실시간 틱을 1분봉으로 모아 stock_candles 에 기록. BACKTEST 모드에서는 무시.
+         */
+        private boolean recordMinuteBars = true;
+        /**
+         * 상태 머신의 가격만 바뀐 종목을 stock_monitoring 에 체크포인트하는 최소 간격(초). 상태 전이는 즉시 기록.
+         */
+        private int stateCheckpointSeconds = 60;
         /**
          * KRX 휴일 (yyyy-MM-dd 문자열). yml 에서 list 로 주입.
          */
@@ -329,6 +546,10 @@ public class StockProperties {
         public void setTradingEnd(String tradingEnd) { this.tradingEnd = tradingEnd; }
         public int getPollingIntervalSeconds() { return pollingIntervalSeconds; }
         public void setPollingIntervalSeconds(int pollingIntervalSeconds) { this.pollingIntervalSeconds = pollingIntervalSeconds; }
+        public boolean isRecordMinuteBars() { return recordMinuteBars; }
+        public void setRecordMinuteBars(boolean recordMinuteBars) { this.recordMinuteBars = recordMinuteBars; }
+        public int getStateCheckpointSeconds() { return stateCheckpointSeconds; }
+        public void setStateCheckpointSeconds(int stateCheckpointSeconds) { this.stateCheckpointSeconds = stateCheckpointSeconds; }
         public List<String> getHolidays() { return holidays; }
         public void setHolidays(List<String> holidays) {
             this.holidays = holidays != null ? holidays : Collections.emptyList();
@@ -371,4 +592,12 @@ public class StockProperties {
     public void setRisk(Risk risk) { this.risk = risk; }
     public Trading getTrading() { return trading; }
     public void setTrading(Trading trading) { this.trading = trading; }
+    public Realtime getRealtime() { return realtime; }
+    public void setRealtime(Realtime realtime) { this.realtime = realtime; }
+    public RateLimit getRateLimit() { return rateLimit; }
+    public void setRateLimit(RateLimit rateLimit) { this.rateLimit = rateLimit; }
+    public EventStore getEventStore() { return eventStore; }
+    public void setEventStore(EventStore eventStore) { this.eventStore = eventStore; }
+    public Notification getNotification() { return notification; }
+    public void setNotification(Notification notification) { this.notification = notification; }
 }
@@ -33,6 +33,11 @@ public class EntryAttemptRepositoryAdapter implements EntryAttemptRepository {
             .toList();
     }
 
+    @Override
+    public List<LocalDate> findTradingDates(LocalDate from, LocalDate to) {
+        return jpa.findTradingDates(from, to);
+    }
+
     @Override
     public long countAcceptedByTradingDate(LocalDate tradingDate) {
         return jpa.countByTradingDateAndAccepted(tradingDate, true);
@@ -0,0 +1,46 @@
+package me.singingsandhill.calendar.stock.infrastructure.persistence.adapter;
+
+import me.singingsandhill.calendar.stock.domain.performance.StockDailyPerformance;
+import me.singingsandhill.calendar.stock.domain.performance.StockDailyPerformanceRepository;
+import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.StockDailyPerformanceJpaEntity;
+import me.singingsandhill.calendar.stock.infrastructure.persistence.repository.StockDailyPerformanceJpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public class StockDailyPerformanceRepositoryAdapter implements StockDailyPerformanceRepository {
+
+    private final StockDailyPerformanceJpaRepository jpa;
+
+    public StockDailyPerformanceRepositoryAdapter(StockDailyPerformanceJpaRepository jpa) {
+        this.jpa = jpa;
+    }
+
+    @Override
+    @Transactional
+    public void replaceDay(LocalDate tradingDate, List<StockDailyPerformance> rows) {
+        jpa.deleteByTradingDate(tradingDate);
+        // 같은 키의 delete 가 insert 보다 먼저 나가도록
+        jpa.flush();
+        for (StockDailyPerformance row : rows) {
+            StockDailyPerformanceJpaEntity entity = StockDailyPerformanceJpaEntity.fromDomain(row);
+            row.setId(jpa.save(entity).getId());
+        }
+    }
+
+    @Override
+    public List<StockDailyPerformance> findByTradingDateBetween(LocalDate from, LocalDate to) {
+        return jpa.findByTradingDateBetweenOrderByTradingDateAsc(from, to).stream()
+            .map(StockDailyPerformanceJpaEntity::toDomain)
+            .toList();
+    }
+
+    @Override
+    public List<LocalDate> findRolledUpDates(LocalDate from, LocalDate to) {
+        return jpa.findRolledUpDates(from, to);
+    }
+}
@@ -0,0 +1,54 @@
+package me.singingsandhill.calendar.stock.infrastructure.persistence.adapter;
+
+import me.singingsandhill.calendar.stock.domain.notification.StockNotification;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotificationRepository;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotificationStatus;
+import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.StockNotificationJpaEntity;
+import me.singingsandhill.calendar.stock.infrastructure.persistence.repository.StockNotificationJpaRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class StockNotificationRepositoryAdapter implements StockNotificationRepository {
+
+    private final StockNotificationJpaRepository jpa;
+
+    public StockNotificationRepositoryAdapter(StockNotificationJpaRepository jpa) {
+        this.jpa = jpa;
+    }
+
+    @Override
+    public StockNotification save(StockNotification notification) {
+        StockNotificationJpaEntity saved = jpa.save(StockNotificationJpaEntity.fromDomain(notification));
+        notification.setId(saved.getId());
+        return notification;
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(List<StockNotification> notifications) {
+        notifications.forEach(this::save);
+    }
+
+    @Override
+    public List<StockNotification> findDue(LocalDateTime now, int limit) {
+        return jpa.findDue(now, PageRequest.of(0, limit)).stream()
+            .map(StockNotificationJpaEntity::toDomain)
+            .toList();
+    }
+
+    @Override
+    public long countPending() {
+        return jpa.countByStatus(StockNotificationStatus.PENDING.name());
+    }
+
+    @Override
+    @Transactional
+    public long deleteFinishedBefore(LocalDateTime before) {
+        return jpa.deleteFinishedBefore(before);
+    }
+}
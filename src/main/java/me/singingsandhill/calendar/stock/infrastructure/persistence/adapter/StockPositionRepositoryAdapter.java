@@ -6,10 +6,12 @@ import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository
 import me.singingsandhill.calendar.stock.domain.position.StockPositionStatus;
 import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.StockPositionJpaEntity;
 import me.singingsandhill.calendar.stock.infrastructure.persistence.repository.StockPositionJpaRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -62,6 +64,20 @@ public class StockPositionRepositoryAdapter implements StockPositionRepository {
             .collect(Collectors.toList());
     }
 
+    @Override
+    public List<StockPosition> findEnteredBefore(LocalDate tradingDate, LocalDateTime before, long beforeId, int limit) {
+        return jpaRepository.findEnteredBefore(tradingDate, before, beforeId, PageRequest.of(0, limit)).stream()
+            .map(this::toDomain)
+            .toList();
+    }
+
+    @Override
+    public List<StockPosition> findClosedBefore(LocalDate tradingDate, LocalDateTime before, long beforeId, int limit) {
+        return jpaRepository.findClosedBefore(tradingDate, before, beforeId, PageRequest.of(0, limit)).stream()
+            .map(this::toDomain)
+            .toList();
+    }
+
     @Override
     public List<StockPosition> findByTradingDateBetween(LocalDate from, LocalDate to) {
         return jpaRepository.findByTradingDateBetweenOrderByTradingDateDescEnteredAtDesc(from, to)
@@ -70,6 +86,11 @@ public class StockPositionRepositoryAdapter implements StockPositionRepository {
             .collect(Collectors.toList());
     }
 
+    @Override
+    public List<LocalDate> findTradingDates(LocalDate from, LocalDate to) {
+        return jpaRepository.findTradingDates(from, to);
+    }
+
     @Override
     public List<StockPosition> findByTradingDateAndStatus(LocalDate tradingDate, StockPositionStatus status) {
         return jpaRepository.findByTradingDateAndStatus(tradingDate, status.name()).stream()
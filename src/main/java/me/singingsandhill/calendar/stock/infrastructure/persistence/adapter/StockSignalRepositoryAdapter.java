@@ -5,11 +5,13 @@ import me.singingsandhill.calendar.stock.domain.signal.StockSignalRepository;
 import me.singingsandhill.calendar.stock.domain.signal.StockSignalType;
 import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.StockSignalJpaEntity;
 import me.singingsandhill.calendar.stock.infrastructure.persistence.repository.StockSignalJpaRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -54,6 +56,15 @@ public class StockSignalRepositoryAdapter implements StockSignalRepository {
             .collect(Collectors.toList());
     }
 
+    @Override
+    public List<StockSignal> findByTypesBefore(Collection<StockSignalType> types, LocalDateTime from,
+                                               LocalDateTime before, long beforeId, int limit) {
+        List<String> typeNames = types.stream().map(StockSignalType::name).toList();
+        return jpaRepository.findByTypesBefore(typeNames, from, before, beforeId, PageRequest.of(0, limit)).stream()
+            .map(this::toDomain)
+            .toList();
+    }
+
     @Override
     public List<StockSignal> findByStockCodeAndSignalType(String stockCode, StockSignalType signalType) {
         return jpaRepository.findByStockCodeAndSignalType(stockCode, signalType.name()).stream()
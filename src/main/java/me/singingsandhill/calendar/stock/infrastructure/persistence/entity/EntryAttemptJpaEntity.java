@@ -39,6 +39,12 @@ public class EntryAttemptJpaEntity {
     @Column(precision = 19, scale = 4)
     private BigDecimal pullbackLow;
 
+    @Column(precision = 19, scale = 4)
+    private BigDecimal tradeStrength;
+
+    @Column(precision = 19, scale = 4)
+    private BigDecimal orderImbalance;
+
     @Column(length = 64)
     private String rejectReason;
 
@@ -58,6 +64,8 @@ public class EntryAttemptJpaEntity {
         e.timePassed = a.isTimePassed();
         e.currentPrice = a.getCurrentPrice();
         e.pullbackLow = a.getPullbackLow();
+        e.tradeStrength = a.getTradeStrength();
+        e.orderImbalance = a.getOrderImbalance();
         e.rejectReason = a.getRejectReason();
         return e;
     }
@@ -66,7 +74,7 @@ public class EntryAttemptJpaEntity {
         return EntryAttempt.restore(id, tradingDate, stockCode, attemptedAt, accepted,
             passedConditions, requiredConditions,
             strengthPassed, imbalancePassed, timePassed,
-            currentPrice, pullbackLow, rejectReason);
+            currentPrice, pullbackLow, tradeStrength, orderImbalance, rejectReason);
     }
 
     public Long getId() { return id; }
@@ -0,0 +1,45 @@
+package me.singingsandhill.calendar.stock.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * KIS 접근토큰 보관 행. 토큰은 암호화된 값만 저장한다 (KisTokenStore).
+ * credential_key 는 appKey/baseUrl 해시 — 실전/모의 계정이 각자 한 행을 쓴다.
+ */
+@Entity
+@Table(name = "stock_kis_tokens")
+public class KisTokenJpaEntity {
+
+    @Id
+    @Column(name = "credential_key", length = 64)
+    private String credentialKey;
+
+    @Column(name = "encrypted_token", nullable = false, columnDefinition = "TEXT")
+    private String encryptedToken;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "issued_at", nullable = false)
+    private LocalDateTime issuedAt;
+
+    protected KisTokenJpaEntity() {}
+
+    public KisTokenJpaEntity(String credentialKey, String encryptedToken, LocalDateTime expiresAt) {
+        this.credentialKey = credentialKey;
+        this.encryptedToken = encryptedToken;
+        this.expiresAt = expiresAt;
+        this.issuedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getCredentialKey() { return credentialKey; }
+    public void setCredentialKey(String credentialKey) { this.credentialKey = credentialKey; }
+    public String getEncryptedToken() { return encryptedToken; }
+    public void setEncryptedToken(String encryptedToken) { this.encryptedToken = encryptedToken; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public LocalDateTime getIssuedAt() { return issuedAt; }
+    public void setIssuedAt(LocalDateTime issuedAt) { this.issuedAt = issuedAt; }
+}
@@ -0,0 +1,88 @@
+package me.singingsandhill.calendar.stock.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import me.singingsandhill.calendar.stock.domain.performance.StockDailyPerformance;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_daily_performance",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_sperf_date_reason_hour",
+                             columnNames = {"trading_date", "close_reason", "entry_hour"})
+       })
+public class StockDailyPerformanceJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "trading_date", nullable = false)
+    private LocalDate tradingDate;
+
+    @Column(name = "close_reason", nullable = false, length = 20)
+    private String closeReason;
+
+    @Column(name = "entry_hour", nullable = false)
+    private int entryHour;
+
+    private int closedCount;
+
+    private int winCount;
+
+    private int lossCount;
+
+    @Column(precision = 20, scale = 2)
+    private BigDecimal realizedPnl;
+
+    @Column(precision = 20, scale = 2)
+    private BigDecimal grossProfit;
+
+    @Column(precision = 20, scale = 2)
+    private BigDecimal grossLoss;
+
+    @Column(precision = 20, scale = 2)
+    private BigDecimal fees;
+
+    @Column(precision = 20, scale = 2)
+    private BigDecimal bestPnl;
+
+    @Column(precision = 20, scale = 2)
+    private BigDecimal worstPnl;
+
+    private long holdingSeconds;
+
+    private LocalDateTime computedAt;
+
+    protected StockDailyPerformanceJpaEntity() {}
+
+    public static StockDailyPerformanceJpaEntity fromDomain(StockDailyPerformance p) {
+        StockDailyPerformanceJpaEntity e = new StockDailyPerformanceJpaEntity();
+        e.id = p.getId();
+        e.tradingDate = p.getTradingDate();
+        e.closeReason = p.getCloseReason();
+        e.entryHour = p.getEntryHour();
+        e.closedCount = p.getClosedCount();
+        e.winCount = p.getWinCount();
+        e.lossCount = p.getLossCount();
+        e.realizedPnl = p.getRealizedPnl();
+        e.grossProfit = p.getGrossProfit();
+        e.grossLoss = p.getGrossLoss();
+        e.fees = p.getFees();
+        e.bestPnl = p.getBestPnl();
+        e.worstPnl = p.getWorstPnl();
+        e.holdingSeconds = p.getHoldingSeconds();
+        e.computedAt = p.getComputedAt();
+        return e;
+    }
+
+    public StockDailyPerformance toDomain() {
+        return StockDailyPerformance.restore(id, tradingDate, closeReason, entryHour,
+            closedCount, winCount, lossCount, realizedPnl, grossProfit, grossLoss, fees,
+            bestPnl, worstPnl, holdingSeconds, computedAt);
+    }
+
+    public Long getId() { return id; }
+}
@@ -0,0 +1,70 @@
+package me.singingsandhill.calendar.stock.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotification;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotificationStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_notifications",
+       indexes = {
+           @Index(name = "idx_snotif_due", columnList = "status, nextAttemptAt")
+       })
+public class StockNotificationJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 16, nullable = false)
+    private String channel;
+
+    @Column(length = 32, nullable = false)
+    private String kind;
+
+    @Column(length = 255)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Column(length = 16, nullable = false)
+    private String status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    protected StockNotificationJpaEntity() {}
+
+    public static StockNotificationJpaEntity fromDomain(StockNotification n) {
+        StockNotificationJpaEntity e = new StockNotificationJpaEntity();
+        e.id = n.getId();
+        e.channel = n.getChannel();
+        e.kind = n.getKind();
+        e.subject = n.getSubject();
+        e.body = n.getBody();
+        e.status = n.getStatus().name();
+        e.attempts = n.getAttempts();
+        e.nextAttemptAt = n.getNextAttemptAt();
+        e.lastError = n.getLastError();
+        e.createdAt = n.getCreatedAt();
+        e.sentAt = n.getSentAt();
+        return e;
+    }
+
+    public StockNotification toDomain() {
+        return StockNotification.restore(id, channel, kind, subject, body,
+            StockNotificationStatus.valueOf(status), attempts, nextAttemptAt, lastError, createdAt, sentAt);
+    }
+
+    public Long getId() { return id; }
+}
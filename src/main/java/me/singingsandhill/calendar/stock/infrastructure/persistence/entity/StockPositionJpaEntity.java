@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "stock_positions",
        indexes = {
-           @Index(name = "idx_position_date_status", columnList = "trading_date, status")
+           @Index(name = "idx_position_date_status", columnList = "trading_date, status"),
+           @Index(name = "idx_position_date_entered", columnList = "trading_date, entered_at"),
+           @Index(name = "idx_position_date_closed", columnList = "trading_date, closed_at")
        })
 public class StockPositionJpaEntity {
 
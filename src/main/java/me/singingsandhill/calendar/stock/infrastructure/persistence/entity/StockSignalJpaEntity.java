@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "stock_signals",
        indexes = {
-           @Index(name = "idx_signal_stock_time", columnList = "stock_code, signal_time DESC")
+           @Index(name = "idx_signal_stock_time", columnList = "stock_code, signal_time DESC"),
+           @Index(name = "idx_signal_type_time", columnList = "signal_type, signal_time DESC")
        })
 public class StockSignalJpaEntity {
 
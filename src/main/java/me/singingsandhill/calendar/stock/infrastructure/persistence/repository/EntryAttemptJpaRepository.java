@@ -2,6 +2,8 @@ package me.singingsandhill.calendar.stock.infrastructure.persistence.repository;
 
 import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.EntryAttemptJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -10,5 +12,9 @@ public interface EntryAttemptJpaRepository extends JpaRepository<EntryAttemptJpa
 
     List<EntryAttemptJpaEntity> findByTradingDate(LocalDate tradingDate);
 
+    @Query("SELECT DISTINCT a.tradingDate FROM EntryAttemptJpaEntity a " +
+           "WHERE a.tradingDate BETWEEN :from AND :to ORDER BY a.tradingDate")
+    List<LocalDate> findTradingDates(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
     long countByTradingDateAndAccepted(LocalDate tradingDate, boolean accepted);
 }
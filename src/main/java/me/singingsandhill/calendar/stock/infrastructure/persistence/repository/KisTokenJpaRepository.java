@@ -0,0 +1,7 @@
+package me.singingsandhill.calendar.stock.infrastructure.persistence.repository;
+
+import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.KisTokenJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface KisTokenJpaRepository extends JpaRepository<KisTokenJpaEntity, String> {
+}
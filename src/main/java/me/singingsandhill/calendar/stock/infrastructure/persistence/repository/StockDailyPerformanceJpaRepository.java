@@ -0,0 +1,23 @@
+package me.singingsandhill.calendar.stock.infrastructure.persistence.repository;
+
+import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.StockDailyPerformanceJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface StockDailyPerformanceJpaRepository extends JpaRepository<StockDailyPerformanceJpaEntity, Long> {
+
+    List<StockDailyPerformanceJpaEntity> findByTradingDateBetweenOrderByTradingDateAsc(LocalDate from, LocalDate to);
+
+    @Query("SELECT DISTINCT p.tradingDate FROM StockDailyPerformanceJpaEntity p " +
+           "WHERE p.tradingDate BETWEEN :from AND :to ORDER BY p.tradingDate")
+    List<LocalDate> findRolledUpDates(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM StockDailyPerformanceJpaEntity p WHERE p.tradingDate = :tradingDate")
+    int deleteByTradingDate(@Param("tradingDate") LocalDate tradingDate);
+}
@@ -0,0 +1,25 @@
+package me.singingsandhill.calendar.stock.infrastructure.persistence.repository;
+
+import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.StockNotificationJpaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockNotificationJpaRepository extends JpaRepository<StockNotificationJpaEntity, Long> {
+
+    @Query("SELECT n FROM StockNotificationJpaEntity n " +
+           "WHERE n.status = 'PENDING' AND n.nextAttemptAt <= :now " +
+           "ORDER BY n.createdAt ASC")
+    List<StockNotificationJpaEntity> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(String status);
+
+    @Modifying
+    @Query("DELETE FROM StockNotificationJpaEntity n WHERE n.status <> 'PENDING' AND n.createdAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
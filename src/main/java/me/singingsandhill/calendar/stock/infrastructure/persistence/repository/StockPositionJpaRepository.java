@@ -1,12 +1,14 @@
 package me.singingsandhill.calendar.stock.infrastructure.persistence.repository;
 
 import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.StockPositionJpaEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +24,10 @@ public interface StockPositionJpaRepository extends JpaRepository<StockPositionJ
 
     List<StockPositionJpaEntity> findByTradingDateAndStatus(LocalDate tradingDate, String status);
 
+    @Query("SELECT DISTINCT p.tradingDate FROM StockPositionJpaEntity p " +
+           "WHERE p.tradingDate BETWEEN :from AND :to ORDER BY p.tradingDate")
+    List<LocalDate> findTradingDates(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
     @Query("SELECT p FROM StockPositionJpaEntity p WHERE p.tradingDate = :tradingDate " +
            "AND p.status IN ('OPEN', 'PARTIAL')")
     List<StockPositionJpaEntity> findOpenPositions(@Param("tradingDate") LocalDate tradingDate);
@@ -34,6 +40,24 @@ public interface StockPositionJpaRepository extends JpaRepository<StockPositionJ
            "AND p.status IN ('OPEN', 'PARTIAL')")
     int countOpenPositions(@Param("tradingDate") LocalDate tradingDate);
 
+    @Query("SELECT p FROM StockPositionJpaEntity p WHERE p.tradingDate = :tradingDate " +
+           "AND p.enteredAt IS NOT NULL " +
+           "AND (p.enteredAt < :before OR (p.enteredAt = :before AND p.id < :beforeId)) " +
+           "ORDER BY p.enteredAt DESC, p.id DESC")
+    List<StockPositionJpaEntity> findEnteredBefore(@Param("tradingDate") LocalDate tradingDate,
+                                                   @Param("before") LocalDateTime before,
+                                                   @Param("beforeId") long beforeId,
+                                                   Pageable pageable);
+
+    @Query("SELECT p FROM StockPositionJpaEntity p WHERE p.tradingDate = :tradingDate " +
+           "AND p.closedAt IS NOT NULL AND p.closeReason IS NOT NULL " +
+           "AND (p.closedAt < :before OR (p.closedAt = :before AND p.id < :beforeId)) " +
+           "ORDER BY p.closedAt DESC, p.id DESC")
+    List<StockPositionJpaEntity> findClosedBefore(@Param("tradingDate") LocalDate tradingDate,
+                                                  @Param("before") LocalDateTime before,
+                                                  @Param("beforeId") long beforeId,
+                                                  Pageable pageable);
+
     @Modifying
     @Query("DELETE FROM StockPositionJpaEntity p WHERE p.tradingDate < :date")
     void deleteByTradingDateBefore(@Param("date") LocalDate date);
@@ -1,12 +1,14 @@
 package me.singingsandhill.calendar.stock.infrastructure.persistence.repository;
 
 import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.StockSignalJpaEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface StockSignalJpaRepository extends JpaRepository<StockSignalJpaEntity, Long> {
@@ -21,6 +23,15 @@ public interface StockSignalJpaRepository extends JpaRepository<StockSignalJpaEn
     @Query("SELECT s FROM StockSignalJpaEntity s WHERE s.signalTime >= :startOfDay ORDER BY s.signalTime DESC")
     List<StockSignalJpaEntity> findTodaySignals(@Param("startOfDay") LocalDateTime startOfDay);
 
+    @Query("SELECT s FROM StockSignalJpaEntity s WHERE s.signalType IN :types AND s.signalTime >= :from " +
+           "AND (s.signalTime < :before OR (s.signalTime = :before AND s.id < :beforeId)) " +
+           "ORDER BY s.signalTime DESC, s.id DESC")
+    List<StockSignalJpaEntity> findByTypesBefore(@Param("types") Collection<String> types,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("before") LocalDateTime before,
+                                                 @Param("beforeId") long beforeId,
+                                                 Pageable pageable);
+
     @Modifying
     @Query("DELETE FROM StockSignalJpaEntity s WHERE s.signalTime < :dateTime")
     void deleteBySignalTimeBefore(@Param("dateTime") LocalDateTime dateTime);
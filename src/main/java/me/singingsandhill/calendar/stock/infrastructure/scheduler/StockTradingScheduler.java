@@ -1,10 +1,16 @@
 package me.singingsandhill.calendar.stock.infrastructure.scheduler;
 
+import me.singingsandhill.calendar.stock.application.notification.NotificationDispatcher;
 import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
 import me.singingsandhill.calendar.stock.application.service.GapPullbackBotService;
+import me.singingsandhill.calendar.stock.application.service.MinuteBarRecorder;
+import me.singingsandhill.calendar.stock.application.service.StockPerformanceService;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisAuthService;
 import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -21,7 +27,13 @@ import java.time.ZoneId;
  *   08:30  pre-market
  *   09:20  스크리닝
  *   09:20~11:20  5초 트레이딩 루프
- *   11:20  최종 청산
+ *   09:20~10:30  30초 증분 스크리닝 (stock.screening.incremental-*)
+ *   11:20  최종 청산 → 당일 성과 롤업
+ *   15:40  장 종료 후 당일 성과 롤업 재계산 (늦은 체결 반영)
+ *   09:00~11:59  매 분 1초 1분봉 확정/저장
+ *   상시        5분마다 KIS 접근토큰 선제 갱신
+ *   상시        5초마다 알림 outbox 발송
+ *   기동 시      롤업 없는 과거 거래일 성과 백필
  */
 @Component
 public class StockTradingScheduler {
@@ -30,11 +42,23 @@ public class StockTradingScheduler {
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
     private final GapPullbackBotService botService;
+    private final MinuteBarRecorder barRecorder;
+    private final KisAuthService authService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final StockPerformanceService performanceService;
     private final StockProperties stockProperties;
 
     public StockTradingScheduler(GapPullbackBotService botService,
+                                  MinuteBarRecorder barRecorder,
+                                  KisAuthService authService,
+                                  NotificationDispatcher notificationDispatcher,
+                                  StockPerformanceService performanceService,
                                   StockProperties stockProperties) {
         this.botService = botService;
+        this.barRecorder = barRecorder;
+        this.authService = authService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.performanceService = performanceService;
         this.stockProperties = stockProperties;
     }
 
@@ -86,6 +110,28 @@ public class StockTradingScheduler {
         }
     }
 
+    @Scheduled(fixedRateString = "#{${stock.screening.incremental-interval-seconds:30} * 1000}",
+               initialDelay = 60000)
+    public void executeIncrementalScreening() {
+        if (!isEnabled() || !isTradingDay() || !stockProperties.getScreening().isIncrementalEnabled()) {
+            return;
+        }
+
+        LocalTime now = LocalTime.now(KST);
+        LocalTime tradingLoopStart = LocalTime.parse(stockProperties.getTrading().getTradingLoopStart());
+        LocalTime incrementalEnd = LocalTime.parse(stockProperties.getScreening().getIncrementalEndTime());
+
+        if (now.isBefore(tradingLoopStart) || now.isAfter(incrementalEnd)) {
+            return;
+        }
+
+        try (Closeable ignored = TradeEvents.phase("SCREENING_INCREMENTAL")) {
+            botService.executeIncrementalScreeningLoop();
+        } catch (Exception e) {
+            log.error("Error in incremental screening execution: {}", e.getMessage(), e);
+        }
+    }
+
     @Scheduled(cron = "0 20 11 * * MON-FRI", zone = "Asia/Seoul")
     public void executeFinalExit() {
         if (!isEnabled() || !isTradingDay()) {
@@ -97,6 +143,84 @@ public class StockTradingScheduler {
         } catch (Exception e) {
             log.error("Error in final exit execution: {}", e.getMessage(), e);
         }
+        rollupPerformance();
+    }
+
+    /**
+     * 장 종료 후 당일 성과 롤업 (최종 청산 이후 들어온 체결까지 반영해 교체).
+     * 봇을 장중에 껐더라도 그날 청산된 포지션이 있으면 롤업한다.
+     */
+    @Scheduled(cron = "0 40 15 * * MON-FRI", zone = "Asia/Seoul")
+    public void rollupPerformance() {
+        if (!isTradingDay()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(KST);
+        try {
+            if (!isEnabled() && !performanceService.hasClosedPositions(today)) {
+                return;
+            }
+            performanceService.rollup(today);
+        } catch (Exception e) {
+            log.warn("Error rolling up daily performance: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 롤업이 없는 과거 거래일 백필. 기동을 막지 않도록 별도 스레드에서.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPerformance() {
+        Thread.ofVirtual().name("stock-performance-backfill").start(() -> {
+            try {
+                int days = performanceService.backfill();
+                if (days > 0) {
+                    log.info("Backfilled daily performance for {} trading days", days);
+                }
+            } catch (Exception e) {
+                log.warn("Error backfilling daily performance: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 직전 분 봉 확정 + stock_candles 일괄 저장 (저장은 기록기 전용 스레드에서 — 이 스케줄러 스레드를 막지 않음).
+     */
+    @Scheduled(cron = "1 * 9-11 * * MON-FRI", zone = "Asia/Seoul")
+    public void flushMinuteBars() {
+        if (!isEnabled() || !isTradingDay()) {
+            return;
+        }
+        try {
+            barRecorder.flush();
+        } catch (Exception e) {
+            log.warn("Error flushing minute bars: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 접근토큰 만료 임박 시 미리 재발급 (시작 직후에는 저장된 토큰을 불러온다).
+     * 봇 on/off 와 무관 — 대시보드 조회 API 도 같은 토큰을 쓴다.
+     */
+    @Scheduled(initialDelay = 10_000, fixedDelay = 300_000)
+    public void refreshKisToken() {
+        try {
+            authService.refreshIfExpiring();
+        } catch (Exception e) {
+            log.warn("Error refreshing KIS token: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 알림 outbox 발송 (발송 자체는 디스패처 스레드 풀 — 이 스케줄러 스레드는 SMTP 를 기다리지 않음).
+     */
+    @Scheduled(initialDelay = 15_000, fixedDelay = 5_000)
+    public void dispatchNotifications() {
+        try {
+            notificationDispatcher.dispatchDue();
+        } catch (Exception e) {
+            log.warn("Error dispatching notifications: {}", e.getMessage());
+        }
     }
 
     private boolean isEnabled() {
@@ -0,0 +1,52 @@
+package me.singingsandhill.calendar.stock.presentation.api;
+
+import me.singingsandhill.calendar.stock.application.service.EntryAttemptAnalyticsService;
+import me.singingsandhill.calendar.stock.application.service.EntryAttemptAnalyticsService.AttemptEffectiveness;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * 진입 시도 사후 분석 API
+ */
+@RestController
+@RequestMapping("/api/stock/analytics")
+public class StockAnalyticsApiController {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final EntryAttemptAnalyticsService analyticsService;
+
+    public StockAnalyticsApiController(EntryAttemptAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * 수락/거부 사유, 체결강도/불균형 구간별 TP1·손절 도달률 (기본: 최근 30일).
+     */
+    @GetMapping("/entry-attempts")
+    public ResponseEntity<AttemptEffectiveness> getEntryAttemptEffectiveness(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "4") int parallelism) {
+
+        LocalDate toDate = to != null ? LocalDate.parse(to) : LocalDate.now(KST);
+        LocalDate fromDate = from != null ? LocalDate.parse(from) : toDate.minusDays(30);
+        if (toDate.isBefore(fromDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(analyticsService.analyze(fromDate, toDate, Math.max(1, Math.min(parallelism, 16))));
+    }
+
+    /**
+     * 분석 캐시 비우기 (분봉 재적재 후).
+     */
+    @PostMapping("/entry-attempts/evict")
+    public ResponseEntity<Map<String, Object>> evict() {
+        analyticsService.evict();
+        return ResponseEntity.ok(Map.of("success", true));
+    }
+}
@@ -0,0 +1,110 @@
+package me.singingsandhill.calendar.stock.presentation.api;
+
+import me.singingsandhill.calendar.stock.application.backtest.BacktestResult;
+import me.singingsandhill.calendar.stock.application.backtest.StockBacktestService;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 백테스트 실행 API — stock_candles 분봉으로 하루를 재생하고 요약을 반환.
+ */
+@RestController
+@RequestMapping("/api/stock/backtest")
+public class StockBacktestApiController {
+
+    private final StockBacktestService backtestService;
+    private final StockProperties stockProperties;
+
+    public StockBacktestApiController(StockBacktestService backtestService,
+                                      StockProperties stockProperties) {
+        this.backtestService = backtestService;
+        this.stockProperties = stockProperties;
+    }
+
+    /**
+     * 백테스트 실행. codes 미지정 시 유니버스 핀 + 폴백 종목.
+     */
+    @PostMapping
+    public ResponseEntity<BacktestResponse> run(
+            @RequestParam String date,
+            @RequestParam(required = false) List<String> codes,
+            @RequestParam(defaultValue = "10000000") BigDecimal initialCash) {
+
+        List<String> stockCodes = codes;
+        if (stockCodes == null || stockCodes.isEmpty()) {
+            Set<String> universe = new LinkedHashSet<>(stockProperties.getUniverse().getPinned());
+            universe.addAll(stockProperties.getUniverse().getFallbackCodes());
+            stockCodes = List.copyOf(universe);
+        }
+        if (stockCodes.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        BacktestResult result = backtestService.run(LocalDate.parse(date), stockCodes, initialCash);
+        return ResponseEntity.ok(BacktestResponse.from(result));
+    }
+
+    public record BacktestResponse(
+        LocalDate tradingDate,
+        int universeSize,
+        int watchlistSize,
+        int positionCount,
+        int fillCount,
+        long acceptedEntryAttempts,
+        long rejectedEntryAttempts,
+        BigDecimal realizedPnl,
+        BigDecimal totalFees,
+        BigDecimal initialCash,
+        BigDecimal endingCash,
+        long elapsedMs,
+        List<PositionSummary> positions
+    ) {
+        static BacktestResponse from(BacktestResult r) {
+            return new BacktestResponse(
+                r.tradingDate(),
+                r.universeSize(),
+                r.watchlistSize(),
+                r.positions().size(),
+                r.fills().size(),
+                r.acceptedEntryAttempts(),
+                r.rejectedEntryAttempts(),
+                r.realizedPnl(),
+                r.totalFees(),
+                r.initialCash(),
+                r.endingCash(),
+                r.elapsedMs(),
+                r.positions().stream().map(PositionSummary::from).toList()
+            );
+        }
+    }
+
+    public record PositionSummary(
+        String stockCode,
+        BigDecimal entryPrice,
+        Integer entryQuantity,
+        BigDecimal averageExitPrice,
+        String closeReason,
+        BigDecimal realizedPnl,
+        BigDecimal realizedPnlPercent
+    ) {
+        static PositionSummary from(StockPosition p) {
+            return new PositionSummary(
+                p.getStockCode(),
+                p.getEntryPrice(),
+                p.getEntryQuantity(),
+                p.getAverageExitPrice(),
+                p.getCloseReason() != null ? p.getCloseReason().name() : null,
+                p.getRealizedPnl(),
+                p.getRealizedPnlPercent()
+            );
+        }
+    }
+}
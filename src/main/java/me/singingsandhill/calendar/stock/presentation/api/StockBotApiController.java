@@ -37,6 +37,7 @@ public class StockBotApiController {
             status.lastTradingTickAt(),
             status.lastScreeningResult(),
             status.apiCallsLast5min(),
+            status.apiCallsLast5minByTrId(),
             status.startedAt()
         ));
     }
@@ -111,6 +112,7 @@ public class StockBotApiController {
         Instant lastTradingTickAt,
         StockBotMetrics.ScreeningSnapshot lastScreeningResult,
         int apiCallsLast5min,
+        Map<String, Long> apiCallsLast5minByTrId,
         LocalDateTime startedAt
     ) {}
 }
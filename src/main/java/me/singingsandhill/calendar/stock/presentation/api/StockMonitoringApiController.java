@@ -1,5 +1,7 @@
 package me.singingsandhill.calendar.stock.presentation.api;
 
+import me.singingsandhill.calendar.stock.application.service.IncrementalScreeningService;
+import me.singingsandhill.calendar.stock.application.service.IncrementalScreeningService.LeaderboardEntry;
 import me.singingsandhill.calendar.stock.application.service.ScreeningService;
 import me.singingsandhill.calendar.stock.domain.stock.Stock;
 import me.singingsandhill.calendar.stock.domain.stock.StockState;
@@ -22,9 +24,23 @@ public class StockMonitoringApiController {
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
     private final ScreeningService screeningService;
+    private final IncrementalScreeningService incrementalScreeningService;
 
-    public StockMonitoringApiController(ScreeningService screeningService) {
+    public StockMonitoringApiController(ScreeningService screeningService,
+                                        IncrementalScreeningService incrementalScreeningService) {
         this.screeningService = screeningService;
+        this.incrementalScreeningService = incrementalScreeningService;
+    }
+
+    /**
+     * 증분 스크리닝 점수판 상위 N (편입 전 종목은 state=null)
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(
+            @RequestParam(required = false) String date) {
+
+        LocalDate tradingDate = date != null ? LocalDate.parse(date) : LocalDate.now(KST);
+        return ResponseEntity.ok(incrementalScreeningService.leaderboard(tradingDate));
     }
 
     /**
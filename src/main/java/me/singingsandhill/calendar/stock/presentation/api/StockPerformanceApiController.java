@@ -0,0 +1,62 @@
+package me.singingsandhill.calendar.stock.presentation.api;
+
+import me.singingsandhill.calendar.stock.application.service.StockPerformanceService;
+import me.singingsandhill.calendar.stock.application.service.StockPerformanceService.PerformanceSummary;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * 거래일 성과 롤업 API
+ */
+@RestController
+@RequestMapping("/api/stock/performance")
+public class StockPerformanceApiController {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final StockPerformanceService performanceService;
+
+    public StockPerformanceApiController(StockPerformanceService performanceService) {
+        this.performanceService = performanceService;
+    }
+
+    /**
+     * 기간 성과 (기본: 이번 달). 합계 + 청산 사유/시간대 분포 + 일자별 합계.
+     */
+    @GetMapping
+    public ResponseEntity<PerformanceSummary> getPerformance(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String reason) {
+
+        LocalDate today = LocalDate.now(KST);
+        LocalDate toDate = to != null ? LocalDate.parse(to) : today;
+        LocalDate fromDate = from != null ? LocalDate.parse(from) : toDate.withDayOfMonth(1);
+        return ResponseEntity.ok(performanceService.summarize(fromDate, toDate, reason));
+    }
+
+    /**
+     * 기간 롤업 재계산 (거래일 단위로 병렬).
+     */
+    @PostMapping("/recompute")
+    public ResponseEntity<Map<String, Object>> recompute(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "4") int parallelism) {
+
+        LocalDate fromDate = LocalDate.parse(from);
+        LocalDate toDate = LocalDate.parse(to);
+        if (toDate.isBefore(fromDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int days = performanceService.recompute(fromDate, toDate, Math.max(1, Math.min(parallelism, 16)));
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "recomputedDays", days
+        ));
+    }
+}
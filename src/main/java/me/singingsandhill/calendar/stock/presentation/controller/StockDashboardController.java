@@ -2,6 +2,8 @@ package me.singingsandhill.calendar.stock.presentation.controller;
 
 import me.singingsandhill.calendar.stock.application.service.GapPullbackBotService;
 import me.singingsandhill.calendar.stock.application.service.ScreeningService;
+import me.singingsandhill.calendar.stock.application.service.StockPerformanceService;
+import me.singingsandhill.calendar.stock.application.service.StockPerformanceService.PerformanceSummary;
 import me.singingsandhill.calendar.stock.application.service.StockPositionService;
 import me.singingsandhill.calendar.stock.domain.position.StockCloseReason;
 import me.singingsandhill.calendar.stock.domain.position.StockPosition;
@@ -20,7 +22,6 @@ import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -36,15 +37,18 @@ public class StockDashboardController {
     private final GapPullbackBotService botService;
     private final ScreeningService screeningService;
     private final StockPositionService positionService;
+    private final StockPerformanceService performanceService;
     private final StockProperties stockProperties;
 
     public StockDashboardController(GapPullbackBotService botService,
                                      ScreeningService screeningService,
                                      StockPositionService positionService,
+                                     StockPerformanceService performanceService,
                                      StockProperties stockProperties) {
         this.botService = botService;
         this.screeningService = screeningService;
         this.positionService = positionService;
+        this.performanceService = performanceService;
         this.stockProperties = stockProperties;
     }
 
@@ -122,52 +126,10 @@ public class StockDashboardController {
             .sorted(resolveSort(sort, order))
             .toList();
 
-        // KPI
-        List<StockPosition> closed = filtered.stream()
-            .filter(p -> p.getRealizedPnl() != null && p.getClosedAt() != null)
-            .toList();
-        int totalCount = filtered.size();
-        int closedCount = closed.size();
-        long winCount = closed.stream().filter(p -> p.getRealizedPnl().compareTo(BigDecimal.ZERO) > 0).count();
-        long loseCount = closed.stream().filter(p -> p.getRealizedPnl().compareTo(BigDecimal.ZERO) < 0).count();
-        BigDecimal winRate = closedCount == 0 ? BigDecimal.ZERO
-            : BigDecimal.valueOf(winCount * 100.0 / closedCount).setScale(1, java.math.RoundingMode.HALF_UP);
-        BigDecimal totalPnl = closed.stream()
-            .map(StockPosition::getRealizedPnl)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal avgPnl = closedCount == 0 ? BigDecimal.ZERO
-            : totalPnl.divide(BigDecimal.valueOf(closedCount), 0, java.math.RoundingMode.HALF_UP);
-        BigDecimal bestPnl = closed.stream()
-            .map(StockPosition::getRealizedPnl)
-            .max(BigDecimal::compareTo)
-            .orElse(BigDecimal.ZERO);
-        BigDecimal worstPnl = closed.stream()
-            .map(StockPosition::getRealizedPnl)
-            .min(BigDecimal::compareTo)
-            .orElse(BigDecimal.ZERO);
-
-        // Close Reason 분포
-        Map<String, Long> reasonCounts = new LinkedHashMap<>();
-        for (StockCloseReason r : StockCloseReason.values()) {
-            long count = closed.stream()
-                .filter(p -> p.getCloseReason() == r)
-                .count();
-            if (count > 0) reasonCounts.put(r.name(), count);
-        }
-
-        // 시간대별 승/패 분포 (KST 시간 기준)
-        Map<String, int[]> hourBuckets = new LinkedHashMap<>();
-        hourBuckets.put("09-10", new int[]{0, 0});
-        hourBuckets.put("10-11", new int[]{0, 0});
-        hourBuckets.put("11-12", new int[]{0, 0});
-        hourBuckets.put("12-15", new int[]{0, 0});
-        for (StockPosition p : closed) {
-            int hour = p.getEnteredAt() != null ? p.getEnteredAt().getHour() : p.getClosedAt().getHour();
-            String bucket = hour < 10 ? "09-10" : hour < 11 ? "10-11" : hour < 12 ? "11-12" : "12-15";
-            int[] wl = hourBuckets.get(bucket);
-            if (p.getRealizedPnl().compareTo(BigDecimal.ZERO) > 0) wl[0]++;
-            else wl[1]++;
-        }
+        // KPI + 청산 사유/시간대 분포: 일별 롤업 합산. 종목 필터는 롤업 키가 아니므로 필터된 포지션을 바로 집계
+        PerformanceSummary summary = stockCode == null || stockCode.isBlank()
+            ? performanceService.summarize(fromDate, toDate, reason)
+            : performanceService.summarize(filtered);
 
         // 보유시간 추가용 매핑
         Map<Long, String> heldDurations = new HashMap<>();
@@ -188,18 +150,18 @@ public class StockDashboardController {
         model.addAttribute("sortOrder", order);
         model.addAttribute("preset", preset);
         model.addAttribute("closeReasons", Arrays.stream(StockCloseReason.values()).map(Enum::name).toList());
-        model.addAttribute("totalCount", totalCount);
-        model.addAttribute("closedCount", closedCount);
-        model.addAttribute("winCount", winCount);
-        model.addAttribute("loseCount", loseCount);
-        model.addAttribute("winRate", winRate);
-        model.addAttribute("totalPnl", totalPnl);
-        model.addAttribute("avgPnl", avgPnl);
-        model.addAttribute("bestPnl", bestPnl);
-        model.addAttribute("worstPnl", worstPnl);
-        model.addAttribute("reasonCounts", reasonCounts);
-        model.addAttribute("reasonMax", reasonCounts.values().stream().max(Long::compareTo).orElse(1L));
-        model.addAttribute("hourBuckets", hourBuckets);
+        model.addAttribute("totalCount", filtered.size());
+        model.addAttribute("closedCount", summary.closedCount());
+        model.addAttribute("winCount", (long) summary.winCount());
+        model.addAttribute("loseCount", (long) summary.lossCount());
+        model.addAttribute("winRate", summary.winRate());
+        model.addAttribute("totalPnl", summary.totalPnl());
+        model.addAttribute("avgPnl", summary.avgPnl());
+        model.addAttribute("bestPnl", summary.bestPnl());
+        model.addAttribute("worstPnl", summary.worstPnl());
+        model.addAttribute("reasonCounts", summary.reasonCounts());
+        model.addAttribute("reasonMax", summary.reasonCounts().values().stream().max(Long::compareTo).orElse(1L));
+        model.addAttribute("hourBuckets", summary.hourBuckets());
         model.addAttribute("tradingDate", today);
 
         return "stock/history";
@@ -0,0 +1,76 @@
+package me.singingsandhill.calendar.trading.application.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 코인 트레이딩 봇 메트릭 (Micrometer).
+ *
+ * - trading.loop: executeTradeLoop 1회 전체 소요
+ * - trading.loop.phase{phase}: 루프 단계별 소요 (sweep, candle_fetch, risk, signal, rebalance, order)
+ * - trading.order.fill{side,path}: 주문 전송(또는 선영속화) 시각 → 체결 확인까지 지연
+ *
+ * /actuator/prometheus 로 노출 — "1분 루프가 어디서 시간을 쓰는가"를 단계별 히스토그램으로 본다.
+ */
+@Component
+public class TradingBotMetrics {
+
+    public static final String PHASE_SWEEP = "sweep";
+    public static final String PHASE_CANDLE_FETCH = "candle_fetch";
+    public static final String PHASE_RISK = "risk";
+    public static final String PHASE_SIGNAL = "signal";
+    public static final String PHASE_REBALANCE = "rebalance";
+    public static final String PHASE_ORDER = "order";
+
+    private final MeterRegistry registry;
+    private final Timer loopTimer;
+
+    public TradingBotMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.loopTimer = Timer.builder("trading.loop")
+                .description("executeTradeLoop 1회 소요")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public Timer.Sample startLoop() {
+        return Timer.start(registry);
+    }
+
+    public void stopLoop(Timer.Sample sample) {
+        sample.stop(loopTimer);
+    }
+
+    public void timePhase(String phase, Runnable action) {
+        phaseTimer(phase).record(action);
+    }
+
+    public <T> T timePhase(String phase, Supplier<T> action) {
+        return phaseTimer(phase).record(action);
+    }
+
+    public void recordOrderToFill(String side, String path, Duration latency) {
+        if (latency == null || latency.isNegative()) {
+            return;
+        }
+        Timer.builder("trading.order.fill")
+                .description("주문 전송 → 체결 확인 지연")
+                .tag("side", side)
+                .tag("path", path)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(latency);
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("trading.loop.phase")
+                .description("executeTradeLoop 단계별 소요")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -12,10 +12,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,6 +27,7 @@ import java.util.stream.Collectors;
 public class CandleService {
 
     private static final Logger log = LoggerFactory.getLogger(CandleService.class);
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
     private static final DateTimeFormatter KST_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
     private final CandleRepository candleRepository;
@@ -132,6 +136,26 @@ public class CandleService {
         return candleRepository.findByMarketOrderByDateTimeDesc(market, count);
     }
 
+    /**
+     * 최신 캔들 1개 조회 (차트 ETag 산정용)
+     */
+    public Optional<Candle> getLatestCandle() {
+        String market = tradingProperties.getBot().getMarket();
+        return candleRepository.findLatestByMarket(market);
+    }
+
+    /**
+     * 지정 시각 이후(포함) 캔들 조회 — 시간 오름차순, 최신 limit 개로 제한 (차트 증분 조회용)
+     * 캔들 시각은 KST 이므로 상한도 서버 기본 시간대가 아닌 KST 현재 시각 기준.
+     */
+    public List<Candle> getCandlesSince(LocalDateTime since, int limit) {
+        String market = tradingProperties.getBot().getMarket();
+        List<Candle> candles = new ArrayList<>(
+                candleRepository.findByMarketAndDateTimeRange(market, since, LocalDateTime.now(KST).plusMinutes(1)));
+        candles.sort(Comparator.comparing(Candle::getCandleDateTime));
+        return candles.size() > limit ? candles.subList(candles.size() - limit, candles.size()) : candles;
+    }
+
     /**
      * 특정 기간 캔들 조회
      */
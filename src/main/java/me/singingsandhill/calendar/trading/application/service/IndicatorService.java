@@ -9,7 +9,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Transactional(readOnly = true)
@@ -17,6 +21,9 @@ public class IndicatorService {
 
     private final CandleRepository candleRepository;
     private final TradingProperties tradingProperties;
+    // 대시보드 조회용 지표 캐시 — 마켓별 최신 캔들 시각 기준. 캔들은 저장 후 갱신되지 않으므로 새 캔들이
+    // 들어오기 전까지 같은 결과가 유효하다.
+    private final Map<String, CachedIndicators> indicatorCache = new ConcurrentHashMap<>();
 
     public IndicatorService(CandleRepository candleRepository, TradingProperties tradingProperties) {
         this.candleRepository = candleRepository;
@@ -66,6 +73,28 @@ public class IndicatorService {
         );
     }
 
+    /**
+     * 기술적 지표 조회 (캔들 단위 캐시) — 차트/티커 폴링용.
+     * 최신 캔들 시각이 바뀌지 않았으면 이전 계산 결과를 재사용해 폴링마다 전체 재계산하지 않는다.
+     * 매매 판단 경로는 항상 {@link #calculate(String)} 를 사용한다.
+     */
+    public IndicatorResult calculateCached(String market) {
+        Optional<Candle> latest = candleRepository.findLatestByMarket(market);
+        if (latest.isEmpty()) {
+            return null;
+        }
+        LocalDateTime candleTime = latest.get().getCandleDateTime();
+        CachedIndicators cached = indicatorCache.get(market);
+        if (cached != null && candleTime.equals(cached.candleTime())) {
+            return cached.result();
+        }
+        IndicatorResult result = calculate(market);
+        indicatorCache.put(market, new CachedIndicators(candleTime, result));
+        return result;
+    }
+
+    private record CachedIndicators(LocalDateTime candleTime, IndicatorResult result) {}
+
     /**
      * 단순 이동평균 (SMA) 계산
      */
@@ -1,5 +1,7 @@
 package me.singingsandhill.calendar.trading.application.service;
 
+import io.micrometer.core.instrument.Timer;
+import me.singingsandhill.calendar.trading.application.observability.TradingBotMetrics;
 import me.singingsandhill.calendar.trading.domain.account.AccountSnapshot;
 import me.singingsandhill.calendar.trading.domain.account.AccountSnapshotRepository;
 import me.singingsandhill.calendar.trading.domain.event.TradingEventLevel;
@@ -33,8 +35,11 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -47,6 +52,13 @@ public class TradingBotService {
     // §8-B: 스윕 파라미터 — 전송 직후 in-flight 주문 보호(grace), 미발견 시 거래소 미도달로 간주하는 기한(expiry)
     private static final Duration SUBMITTED_SWEEP_GRACE = Duration.ofSeconds(10);
     private static final Duration SUBMITTED_EXPIRY = Duration.ofMinutes(2);
+    // 일괄 스윕: 목록 조회 상태·페이지 크기·최대 페이지, 목록 미매칭 주문의 틱당 개별 재조회 상한,
+    // 목록 매칭됐으나 체결정보가 빠진 주문의 틱당 상세 조회 상한
+    private static final List<String> SWEEP_LIST_STATES = List.of("done", "cancel");
+    private static final int SWEEP_PAGE_LIMIT = 100;
+    private static final int SWEEP_MAX_PAGES = 2;
+    private static final int SWEEP_MAX_STRAGGLER_LOOKUPS = 3;
+    private static final int SWEEP_MAX_DETAIL_LOOKUPS = 3;
 
     private final AtomicBoolean running = new AtomicBoolean(false);
     private final AtomicBoolean paused = new AtomicBoolean(false);
@@ -66,6 +78,7 @@ public class TradingBotService {
     private final TradingEventService tradingEventService;
     private final TradingCircuitBreaker circuitBreaker;
     private final AccountSnapshotRepository accountSnapshotRepository;
+    private final TradingBotMetrics metrics;
     // P0-3: 영속화만 짧은 트랜잭션으로 감싼다. 주문 HTTP/sleep 은 트랜잭션 밖.
     private final TransactionTemplate txTemplate;
 
@@ -81,7 +94,8 @@ public class TradingBotService {
                              TradingEventService tradingEventService,
                              TradingCircuitBreaker circuitBreaker,
                              AccountSnapshotRepository accountSnapshotRepository,
-                             PlatformTransactionManager transactionManager) {
+                             PlatformTransactionManager transactionManager,
+                             TradingBotMetrics metrics) {
         this.txTemplate = new TransactionTemplate(transactionManager);
         this.candleService = candleService;
         this.signalService = signalService;
@@ -95,6 +109,7 @@ public class TradingBotService {
         this.tradingEventService = tradingEventService;
         this.circuitBreaker = circuitBreaker;
         this.accountSnapshotRepository = accountSnapshotRepository;
+        this.metrics = metrics;
     }
 
     /**
@@ -184,6 +199,7 @@ public class TradingBotService {
 
         String market = tradingProperties.getBot().getMarket();
         log.debug("Executing trade loop for {}", market);
+        Timer.Sample loopSample = metrics.startLoop();
 
         try {
             // 루프 진입 시각 기록 (운영 가시성)
@@ -191,23 +207,24 @@ public class TradingBotService {
 
             // 0. §8-B: 미결(SUBMITTED) 주문 스윕 — 매매 판단 전에 정합화. 실패해도 리스크 체크를 막지 않는다.
             try {
-                reconcileSubmittedOrders(market);
+                metrics.timePhase(TradingBotMetrics.PHASE_SWEEP, () -> reconcileSubmittedOrders(market));
             } catch (Exception e) {
                 log.error("Submitted-order sweep failed for {}", market, e);
             }
 
             // 1. 캔들 데이터 업데이트
-            candleService.fetchAndSaveCandles();
+            metrics.timePhase(TradingBotMetrics.PHASE_CANDLE_FETCH, () -> candleService.fetchAndSaveCandles());
 
             // 2. 리스크 체크 (손절/익절) - 최우선
-            CloseReason closeReason = riskManagementService.checkAndExecuteRiskRules(market);
+            CloseReason closeReason = metrics.timePhase(TradingBotMetrics.PHASE_RISK,
+                    () -> riskManagementService.checkAndExecuteRiskRules(market));
             if (closeReason != null) {
                 log.info("Position closed due to: {}", closeReason);
                 return;
             }
 
             // 3. 신호 생성 (Issue #10: 리밸런싱 전에 신호 먼저 확인)
-            Signal signal = signalService.generateSignal(market);
+            Signal signal = metrics.timePhase(TradingBotMetrics.PHASE_SIGNAL, () -> signalService.generateSignal(market));
             if (signal == null) {
                 log.warn("Failed to generate signal");
                 return;
@@ -219,12 +236,13 @@ public class TradingBotService {
 
             if (isStrongSignal && signal.getSignalType() != SignalType.HOLD) {
                 log.info("Strong signal detected (score: {}), prioritizing over rebalancing", signal.getTotalScore());
-                executeTradeBySignal(market, signal);
+                metrics.timePhase(TradingBotMetrics.PHASE_ORDER, () -> executeTradeBySignal(market, signal));
                 return;
             }
 
             // 5. 일반 신호: 리밸런싱 우선
-            RebalanceService.RebalanceResult rebalanceResult = rebalanceService.checkAndExecute(market);
+            RebalanceService.RebalanceResult rebalanceResult = metrics.timePhase(TradingBotMetrics.PHASE_REBALANCE,
+                    () -> rebalanceService.checkAndExecute(market));
             if (rebalanceResult.executed()) {
                 log.info("Rebalancing executed");
                 this.lastTradeTime = Instant.now();  // 리밸런싱 후 쿨다운 연동
@@ -232,7 +250,7 @@ public class TradingBotService {
             }
 
             // 6. 신호에 따른 매매 실행
-            executeTradeBySignal(market, signal);
+            metrics.timePhase(TradingBotMetrics.PHASE_ORDER, () -> executeTradeBySignal(market, signal));
 
             // 정상 종료 시 마지막 오류 클리어
             this.lastError = null;
@@ -242,6 +260,8 @@ public class TradingBotService {
             this.lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
             tradingEventService.record(TradingEventLevel.WARNING, "LOOP_ERROR",
                     market, "트레이드 루프 오류: " + this.lastError);
+        } finally {
+            metrics.stopLoop(loopSample);
         }
     }
 
@@ -419,6 +439,7 @@ public class TradingBotService {
                 tradeRepository.save(submittedTrade);
             }
 
+            Instant orderSentAt = Instant.now();
             BithumbOrderResponse response = cid != null
                     ? bithumbApiClient.placeMarketBuyOrder(adjustedOrderAmount, cid)
                     : bithumbApiClient.placeMarketBuyOrder(adjustedOrderAmount);
@@ -476,6 +497,7 @@ public class TradingBotService {
                         signal.getTotalScore(), "Auto buy signal");
             }
             trade.markExecuted(entryPrice, volume, fee);
+            metrics.recordOrderToFill("bid", "direct", Duration.between(orderSentAt, Instant.now()));
 
             // Position 생성 (수수료 포함)
             Position position = Position.open(
@@ -528,9 +550,13 @@ public class TradingBotService {
     }
 
     /**
-     * §8-B: 틱 스윕 — SUBMITTED 주문을 client_order_id 재조회로 정합화한다 (executeTradeLoop 시작부).
+     * §8-B: 틱 스윕 — SUBMITTED 주문을 정합화한다 (executeTradeLoop 시작부).
      * 체결 확인된 매수는 Trade DONE + Position(SL/TP) 생성까지 의무 수행 — "체결됐으나 Position 없는
      * 무보호 창"을 제거한다. grace(10초) 이내는 in-flight 로 보고 건너뛴다.
+     * 일괄 정합화: 주문마다 재조회하지 않고 최근 주문 목록(done/cancel, 최신순 페이지)을 먼저 받아
+     * uuid/client_order_id 로 매칭한다. 목록에서 못 찾은 주문의 client_order_id 개별 재조회와 체결정보가
+     * 빠진 목록 주문의 uuid 상세 조회는 각각 틱당 상한이 있고, 넘는 나머지는 다음 틱으로 미룬다 —
+     * 장애 복구 직후에도 틱당 호출이 몇 건에 머문다.
      */
     public void reconcileSubmittedOrders(String market) {
         List<Trade> submitted = tradeRepository.findByStatus(TradeStatus.SUBMITTED);
@@ -538,16 +564,42 @@ public class TradingBotService {
             return;
         }
         LocalDateTime now = LocalDateTime.now();
+        List<Trade> due = new ArrayList<>();
         for (Trade trade : submitted) {
             if (!market.equals(trade.getMarket()) || trade.getOrderedAt() == null) {
                 continue;
             }
-            Duration age = Duration.between(trade.getOrderedAt(), now);
-            if (age.compareTo(SUBMITTED_SWEEP_GRACE) < 0) {
+            if (Duration.between(trade.getOrderedAt(), now).compareTo(SUBMITTED_SWEEP_GRACE) < 0) {
                 continue;
             }
+            due.add(trade);
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Map<String, BithumbOrderResponse> listed = indexRecentOrders(market, due);
+        int stragglerLookups = 0;
+        int detailLookups = 0;
+        for (Trade trade : due) {
+            Duration age = Duration.between(trade.getOrderedAt(), now);
             try {
-                resolveSubmittedTrade(trade, age);
+                BithumbOrderResponse order = findListedOrder(listed, trade);
+                if (order != null && !needsOrderDetail(order)) {
+                    applyReconciledOrder(trade, age, order);
+                } else if (order != null && detailLookups < SWEEP_MAX_DETAIL_LOOKUPS) {
+                    detailLookups++;
+                    resolveListedTrade(trade, age, order);
+                } else if (order != null) {
+                    log.debug("Listed order detail lookup deferred to next tick (detail cap {}): cid={}",
+                            SWEEP_MAX_DETAIL_LOOKUPS, trade.getClientOrderId());
+                } else if (stragglerLookups < SWEEP_MAX_STRAGGLER_LOOKUPS) {
+                    stragglerLookups++;
+                    resolveSubmittedTrade(trade, age);
+                } else {
+                    log.debug("Submitted order lookup deferred to next tick (straggler cap {}): cid={}",
+                            SWEEP_MAX_STRAGGLER_LOOKUPS, trade.getClientOrderId());
+                }
             } catch (Exception e) {
                 // 한 주문의 실패가 나머지 스윕을 막지 않는다
                 log.error("Failed to reconcile submitted trade id={} cid={}",
@@ -556,11 +608,79 @@ public class TradingBotService {
         }
     }
 
+    /**
+     * 최근 주문 목록(done → cancel, 최신순)을 페이지 단위로 받아 uuid/client_order_id → 주문 맵을 만든다.
+     * 미결 주문이 모두 매칭되면 남은 페이지/상태는 조회하지 않는다. 목록 조회 실패는 빈 맵 — 개별 재조회로 폴백.
+     */
+    private Map<String, BithumbOrderResponse> indexRecentOrders(String market, List<Trade> due) {
+        Map<String, BithumbOrderResponse> index = new HashMap<>();
+        int matched = 0;
+        for (String state : SWEEP_LIST_STATES) {
+            for (int page = 1; page <= SWEEP_MAX_PAGES && matched < due.size(); page++) {
+                List<BithumbOrderResponse> orders = bithumbApiClient.getRecentOrders(market, state, page, SWEEP_PAGE_LIMIT);
+                if (orders == null || orders.isEmpty()) {
+                    break;
+                }
+                for (BithumbOrderResponse order : orders) {
+                    if (order.uuid() != null) {
+                        index.put(order.uuid(), order);
+                    }
+                    if (order.clientOrderId() != null) {
+                        index.put(order.clientOrderId(), order);
+                    }
+                }
+                matched = (int) due.stream().filter(t -> findListedOrder(index, t) != null).count();
+                if (orders.size() < SWEEP_PAGE_LIMIT) {
+                    break;
+                }
+            }
+        }
+        log.debug("Submitted-order sweep indexed {} recent orders, matched {}/{}", index.size(), matched, due.size());
+        return index;
+    }
+
+    private BithumbOrderResponse findListedOrder(Map<String, BithumbOrderResponse> index, Trade trade) {
+        if (trade.getClientOrderId() != null) {
+            BithumbOrderResponse byCid = index.get(trade.getClientOrderId());
+            if (byCid != null) {
+                return byCid;
+            }
+        }
+        return trade.getUuid() != null ? index.get(trade.getUuid()) : null;
+    }
+
+    /**
+     * 목록 응답엔 체결 내역(trades)이 빠질 수 있다 — 체결가가 없는데 done 이거나 체결량이 있으면 상세 조회가 필요하다.
+     * 시장가 매수(ord_type=price)는 전량 체결돼도 cancel 로 나열될 수 있어 상태와 무관하게 체결량으로 판단한다.
+     */
+    private boolean needsOrderDetail(BithumbOrderResponse listed) {
+        if (listed.uuid() == null || extractExecutedPrice(listed) != null) {
+            return false;
+        }
+        return "done".equalsIgnoreCase(listed.state()) || extractExecutedVolume(listed) != null;
+    }
+
+    /**
+     * 체결정보가 빠진 목록 주문의 정합화 — uuid 로 상세를 1회 조회한다.
+     */
+    private void resolveListedTrade(Trade trade, Duration age, BithumbOrderResponse listed) {
+        BithumbOrderResponse detail = bithumbApiClient.getOrder(listed.uuid());
+        if (detail == null) {
+            log.debug("Listed order detail unavailable (state={}), retry next tick: cid={}",
+                    listed.state(), trade.getClientOrderId());
+            return;
+        }
+        applyReconciledOrder(trade, age, detail);
+    }
+
     private void resolveSubmittedTrade(Trade trade, Duration age) {
         BithumbOrderResponse order = trade.getClientOrderId() != null
                 ? bithumbApiClient.getOrderByClientOrderId(trade.getClientOrderId())
                 : null;
+        applyReconciledOrder(trade, age, order);
+    }
 
+    private void applyReconciledOrder(Trade trade, Duration age, BithumbOrderResponse order) {
         if (order == null) {
             // 만료까지 미발견이면 거래소 미도달로 간주 (재조회는 무전송 조회라 안전)
             if (age.compareTo(SUBMITTED_EXPIRY) >= 0) {
@@ -579,6 +699,12 @@ public class TradingBotService {
             confirmSubmittedTrade(trade, order, executedPrice, executedVolume);
             return;
         }
+        if ("cancel".equalsIgnoreCase(order.state()) && executedVolume != null) {
+            // 체결량이 있는 cancel (시장가 매수 잔량 취소 등) — 실제로 산 코인이므로 취소 처리하지 않고 체결가 확보까지 유지
+            log.warn("Cancelled order has executed volume {} but no execution price yet, retry next tick: cid={}",
+                    executedVolume, trade.getClientOrderId());
+            return;
+        }
         if ("cancel".equalsIgnoreCase(order.state())) {
             trade.markCancelled();
             tradeRepository.save(trade);
@@ -601,6 +727,10 @@ public class TradingBotService {
         BigDecimal fee = extractFee(order);
         trade.assignExchangeUuid(order.uuid());
         trade.markExecuted(executedPrice, executedVolume, fee);
+        if (trade.getOrderedAt() != null) {
+            metrics.recordOrderToFill(trade.getTradeType() == TradeType.SELL ? "ask" : "bid", "sweep",
+                    Duration.between(trade.getOrderedAt(), LocalDateTime.now()));
+        }
 
         if (trade.getTradeType() == TradeType.SELL) {
             closeReconciledSellPosition(trade, executedPrice, executedVolume, fee);
@@ -818,6 +948,7 @@ public class TradingBotService {
                 tradeRepository.save(submittedTrade);
             }
 
+            Instant orderSentAt = Instant.now();
             BithumbOrderResponse response = cid != null
                     ? bithumbApiClient.placeMarketSellOrder(position.getEntryVolume(), cid)
                     : bithumbApiClient.placeMarketSellOrder(position.getEntryVolume());
@@ -864,6 +995,7 @@ public class TradingBotService {
                         position.getEntryVolume(), "market", signal.getTotalScore(), "Auto sell signal");
             }
             trade.markExecuted(exitPrice, position.getEntryVolume(), fee);
+            metrics.recordOrderToFill("ask", "direct", Duration.between(orderSentAt, Instant.now()));
 
             // Position 청산 (수수료 포함)
             position.close(exitPrice, position.getEntryVolume(), CloseReason.SIGNAL, fee);
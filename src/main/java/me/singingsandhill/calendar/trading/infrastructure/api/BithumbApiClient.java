@@ -332,6 +332,17 @@ public class BithumbApiClient {
         return privateApi.getOrders(tradingProperties.getBot().getMarket(), "wait", 1, 100);
     }
 
+    /**
+     * 최근 주문 목록 조회 (상태 지정, 최신순) — 틱 스윕이 SUBMITTED 주문을 페이지 단위로 일괄 정합화할 때 사용.
+     * §8-A: LIVE 가 아니면 실계정을 조회하지 않는다.
+     */
+    public List<BithumbOrderResponse> getRecentOrders(String market, String state, int page, int limit) {
+        if (!isLive()) {
+            return List.of();
+        }
+        return privateApi.getOrders(market, state, page, limit);
+    }
+
     /**
      * 완료된 주문 목록 조회
      */
@@ -108,7 +108,7 @@ public class BithumbPrivateApi {
         }
 
         Map<String, Object> params = Map.of("market", market);
-        String authToken = jwtGenerator.generateAuthorizationHeader(params);
+        String authToken = jwtGenerator.generateAuthorizationHeaderForRepeatableQuery(params);
 
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
@@ -225,9 +225,10 @@ public class BithumbPrivateApi {
             return null;
         }
 
-        // Issue #7: Rate Limit 재시도 로직
+        // Issue #7: Rate Limit 재시도 로직 — query_hash 는 1회만 계산, 재시도마다 nonce/timestamp 만 새로 서명
+        String queryHash = jwtGenerator.queryHash(params);
         return executeWithRetry(() -> {
-            String authToken = jwtGenerator.generateAuthorizationHeader(params);
+            String authToken = jwtGenerator.generateAuthorizationHeaderWithQueryHash(queryHash);
 
             return webClient.post()
                     .uri("/v1/orders")
@@ -299,7 +300,7 @@ public class BithumbPrivateApi {
         params.put("limit", limit);
         params.put("order_by", "desc");
 
-        String authToken = jwtGenerator.generateAuthorizationHeader(params);
+        String authToken = jwtGenerator.generateAuthorizationHeaderForRepeatableQuery(params);
 
         return webClient.get()
                 .uri(uriBuilder -> {
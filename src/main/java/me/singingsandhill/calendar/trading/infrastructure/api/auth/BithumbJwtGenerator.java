@@ -8,27 +8,48 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * 빗썸 Private API JWT 서명기.
+ * 서명 키(HMAC256 {@link Algorithm})는 기동 시 1회 생성해 재사용하고, 반복되는 조회 파라미터의
+ * query_hash 는 LRU 로 캐시한다 ({@link #repeatableQueryHash}) — 요청(및 429 재시도)마다 남는 작업은
+ * nonce·timestamp 생성과 서명뿐이다. 주문/취소처럼 매번 다른 파라미터는 캐시를 거치지 않는다.
+ */
 @Component
 public class BithumbJwtGenerator {
 
     private static final Logger log = LoggerFactory.getLogger(BithumbJwtGenerator.class);
 
+    // 반복 조회 파라미터(market=KRW-ADA 등) query_hash LRU 상한
+    static final int QUERY_HASH_CACHE_LIMIT = 64;
+    private static final HexFormat HEX = HexFormat.of();
+
     private final String accessKey;
     private final String secretKey;
     private final boolean configured;
+    private final Algorithm algorithm;
+    private final Map<String, String> queryHashCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > QUERY_HASH_CACHE_LIMIT;
+                }
+            });
 
     public BithumbJwtGenerator(TradingProperties tradingProperties) {
         this.accessKey = tradingProperties.getBithumb().getAccessKey();
         this.secretKey = tradingProperties.getBithumb().getSecretKey();
         this.configured = isNotEmpty(accessKey) && isNotEmpty(secretKey);
+        this.algorithm = configured ? Algorithm.HMAC256(secretKey) : null;
     }
 
     @PostConstruct
@@ -52,7 +73,6 @@ public class BithumbJwtGenerator {
      * 파라미터가 없는 요청에 대한 JWT 토큰 생성
      */
     public String generateToken() {
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
         return JWT.create()
                 .withClaim("access_key", accessKey)
                 .withClaim("nonce", UUID.randomUUID().toString())
@@ -64,10 +84,13 @@ public class BithumbJwtGenerator {
      * 파라미터가 있는 요청에 대한 JWT 토큰 생성 (query_hash 포함)
      */
     public String generateTokenWithParams(Map<String, Object> params) {
-        String queryString = buildQueryString(params);
-        String queryHash = sha512(queryString);
+        return generateTokenWithQueryHash(queryHash(params));
+    }
 
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
+    /**
+     * 미리 계산한 query_hash 로 JWT 토큰 생성 — 재시도 루프에서 파라미터 직렬화/해시를 반복하지 않는다.
+     */
+    public String generateTokenWithQueryHash(String queryHash) {
         return JWT.create()
                 .withClaim("access_key", accessKey)
                 .withClaim("nonce", UUID.randomUUID().toString())
@@ -91,6 +114,34 @@ public class BithumbJwtGenerator {
         return "Bearer " + generateTokenWithParams(params);
     }
 
+    /**
+     * Authorization 헤더 값 생성 (반복 조회 파라미터 — query_hash 캐시 사용)
+     */
+    public String generateAuthorizationHeaderForRepeatableQuery(Map<String, Object> params) {
+        return "Bearer " + generateTokenWithQueryHash(repeatableQueryHash(params));
+    }
+
+    /**
+     * Authorization 헤더 값 생성 (미리 계산한 query_hash 사용)
+     */
+    public String generateAuthorizationHeaderWithQueryHash(String queryHash) {
+        return "Bearer " + generateTokenWithQueryHash(queryHash);
+    }
+
+    /**
+     * 파라미터의 query_hash(SHA512, hex). 캐시하지 않는다 — 주문/취소 등 한 번 쓰고 마는 파라미터용.
+     */
+    public String queryHash(Map<String, Object> params) {
+        return sha512(buildQueryString(params));
+    }
+
+    /**
+     * 반복 조회 파라미터의 query_hash — 최근 쓰인 쿼리 문자열 QUERY_HASH_CACHE_LIMIT 개까지 캐시한다.
+     */
+    public String repeatableQueryHash(Map<String, Object> params) {
+        return queryHashCache.computeIfAbsent(buildQueryString(params), this::sha512);
+    }
+
     public String getAccessKey() {
         return accessKey;
     }
@@ -105,7 +156,7 @@ public class BithumbJwtGenerator {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-512");
             md.update(input.getBytes(StandardCharsets.UTF_8));
-            return String.format("%0128x", new BigInteger(1, md.digest()));
+            return HEX.formatHex(md.digest());
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("SHA-512 algorithm not available", e);
         }
@@ -19,8 +19,18 @@ public record BithumbOrderResponse(
     @JsonProperty("locked") String locked,
     @JsonProperty("executed_volume") String executedVolume,
     @JsonProperty("trades_count") Integer tradesCount,
-    @JsonProperty("trades") List<TradeDetail> trades
+    @JsonProperty("trades") List<TradeDetail> trades,
+    // 틱 스윕 일괄 정합화: 주문 목록 응답을 선영속화 Trade 의 client_order_id 와 매칭 (미포함 응답이면 null)
+    @JsonProperty("client_order_id") String clientOrderId
 ) {
+    public BithumbOrderResponse(String uuid, String side, String ordType, String price, String state,
+                                String market, String createdAt, String volume, String remainingVolume,
+                                String reservedFee, String remainingFee, String paidFee, String locked,
+                                String executedVolume, Integer tradesCount, List<TradeDetail> trades) {
+        this(uuid, side, ordType, price, state, market, createdAt, volume, remainingVolume,
+                reservedFee, remainingFee, paidFee, locked, executedVolume, tradesCount, trades, null);
+    }
+
     public record TradeDetail(
         @JsonProperty("market") String market,
         @JsonProperty("uuid") String uuid,
@@ -1,11 +1,17 @@
 package me.singingsandhill.calendar.trading.infrastructure.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 
@@ -20,7 +26,7 @@ public class WebClientConfig {
     private static final int WRITE_TIMEOUT_SEC = 30;
 
     @Bean
-    public WebClient.Builder webClientBuilder() {
+    public WebClient.Builder webClientBuilder(ObjectProvider<MeterRegistry> meterRegistryProvider) {
         HttpClient httpClient = HttpClient.create()
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MS)
                 .responseTimeout(Duration.ofSeconds(READ_TIMEOUT_SEC))
@@ -28,7 +34,56 @@ public class WebClientConfig {
                         .addHandlerLast(new ReadTimeoutHandler(READ_TIMEOUT_SEC, TimeUnit.SECONDS))
                         .addHandlerLast(new WriteTimeoutHandler(WRITE_TIMEOUT_SEC, TimeUnit.SECONDS)));
 
-        return WebClient.builder()
+        WebClient.Builder builder = WebClient.builder()
                 .clientConnector(new ReactorClientHttpConnector(httpClient));
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+        if (registry != null) {
+            builder.filter(metricsFilter(registry));
+        }
+        return builder;
+    }
+
+    /**
+     * 거래소(Bithumb/KIS) 엔드포인트별 지연·에러 계측.
+     * uri 태그는 경로만 사용한다 — 쿼리(uuid, client_order_id 등)를 태그에 넣으면 카디널리티가 폭발한다.
+     * status 는 HTTP 코드, 전송 실패 시 예외 클래스명, .block(timeout) 취소 시 CANCELLED.
+     */
+    private ExchangeFilterFunction metricsFilter(MeterRegistry registry) {
+        return (request, next) -> {
+            long startNanos = System.nanoTime();
+            return next.exchange(request)
+                    .doOnSuccess(response -> recordExchange(registry, request,
+                            String.valueOf(response.statusCode().value()),
+                            response.statusCode().isError(), startNanos))
+                    .doOnError(ex -> recordExchange(registry, request,
+                            ex.getClass().getSimpleName(), true, startNanos))
+                    .doOnCancel(() -> recordExchange(registry, request, "CANCELLED", true, startNanos));
+        };
+    }
+
+    private void recordExchange(MeterRegistry registry, ClientRequest request,
+                                String status, boolean error, long startNanos) {
+        String host = request.url().getHost();
+        String uri = request.url().getPath();
+        String method = request.method().name();
+        Timer.builder("exchange.http.client")
+                .description("거래소 HTTP 호출 지연")
+                .tag("host", host)
+                .tag("uri", uri)
+                .tag("method", method)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (error) {
+            Counter.builder("exchange.http.client.errors")
+                    .description("거래소 HTTP 호출 실패 (4xx/5xx, 전송 오류, 타임아웃)")
+                    .tag("host", host)
+                    .tag("uri", uri)
+                    .tag("method", method)
+                    .tag("status", status)
+                    .register(registry)
+                    .increment();
+        }
     }
 }
@@ -9,18 +9,25 @@ import me.singingsandhill.calendar.trading.domain.trade.TradeRepository;
 import me.singingsandhill.calendar.trading.domain.trade.TradeStatus;
 import me.singingsandhill.calendar.trading.infrastructure.api.BithumbApiClient;
 import me.singingsandhill.calendar.trading.infrastructure.config.TradingProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/trading")
 public class ChartApiController {
 
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
     private final CandleService candleService;
     private final IndicatorService indicatorService;
     private final BithumbApiClient bithumbApiClient;
@@ -47,7 +54,7 @@ public class ChartApiController {
             @RequestParam(defaultValue = "200") int count) {
         List<Candle> candles = candleService.getLatestCandles(count);
         String market = tradingProperties.getBot().getMarket();
-        IndicatorResult indicators = indicatorService.calculate(market);
+        IndicatorResult indicators = indicatorService.calculateCached(market);
 
         List<CandleDto> candleDtos = candles.stream()
                 .map(c -> new CandleDto(
@@ -60,7 +67,62 @@ public class ChartApiController {
                 ))
                 .toList();
 
-        IndicatorDto indicatorDto = indicators != null ? new IndicatorDto(
+        return ResponseEntity.ok(new CandleDataResponse(candleDtos, toIndicatorDto(indicators)));
+    }
+
+    /**
+     * 캔들 데이터 조회 (차트 폴링용, 컬럼형)
+     * - since(epoch 초) 지정 시 그 시각 이후(포함) 캔들만 반환 — 마지막 봉 갱신 + 신규 봉 추가
+     * - ETag = 최신 캔들 시각 기준. If-None-Match 일치 시 본문 없이 304
+     * - 시간·OHLCV 를 병렬 배열로 내려 캔들별 객체/문자열 시각을 만들지 않는다
+     */
+    @GetMapping("/chart/candles")
+    public ResponseEntity<ColumnarCandleResponse> getColumnarCandles(
+            @RequestParam(defaultValue = "200") int count,
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        Optional<Candle> latest = candleService.getLatestCandle();
+        String etag = "\"" + latest.map(c -> toEpochSecond(c.getCandleDateTime())).orElse(0L)
+                + "-" + count + "-" + (since != null ? since : "all") + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        List<Candle> candles = since != null
+                ? candleService.getCandlesSince(LocalDateTime.ofInstant(Instant.ofEpochSecond(since), KST), count)
+                : candleService.getLatestCandles(count).reversed();
+
+        int n = candles.size();
+        long[] time = new long[n];
+        double[] open = new double[n];
+        double[] high = new double[n];
+        double[] low = new double[n];
+        double[] close = new double[n];
+        double[] volume = new double[n];
+        for (int i = 0; i < n; i++) {
+            Candle c = candles.get(i);
+            time[i] = toEpochSecond(c.getCandleDateTime());
+            open[i] = c.getOpeningPrice().doubleValue();
+            high[i] = c.getHighPrice().doubleValue();
+            low[i] = c.getLowPrice().doubleValue();
+            close[i] = c.getTradePrice().doubleValue();
+            volume[i] = c.getVolume().doubleValue();
+        }
+
+        String market = tradingProperties.getBot().getMarket();
+        IndicatorDto indicatorDto = toIndicatorDto(indicatorService.calculateCached(market));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(new ColumnarCandleResponse(market, time, open, high, low, close, volume, indicatorDto));
+    }
+
+    private long toEpochSecond(LocalDateTime candleDateTime) {
+        return candleDateTime.atZone(KST).toEpochSecond();
+    }
+
+    private IndicatorDto toIndicatorDto(IndicatorResult indicators) {
+        return indicators != null ? new IndicatorDto(
                 indicators.ma5() != null ? indicators.ma5().doubleValue() : null,
                 indicators.ma20() != null ? indicators.ma20().doubleValue() : null,
                 indicators.ma60() != null ? indicators.ma60().doubleValue() : null,
@@ -68,8 +130,6 @@ public class ChartApiController {
                 indicators.stochK() != null ? indicators.stochK().doubleValue() : null,
                 indicators.stochD() != null ? indicators.stochD().doubleValue() : null
         ) : null;
-
-        return ResponseEntity.ok(new CandleDataResponse(candleDtos, indicatorDto));
     }
 
     /**
@@ -79,7 +139,7 @@ public class ChartApiController {
     public ResponseEntity<Map<String, Object>> getTicker() {
         String market = tradingProperties.getBot().getMarket();
         Double currentPrice = bithumbApiClient.getCurrentPrice();
-        IndicatorResult indicators = indicatorService.calculate(market);
+        IndicatorResult indicators = indicatorService.calculateCached(market);
 
         Map<String, Object> response = new HashMap<>();
         response.put("market", market);
@@ -128,6 +188,18 @@ public class ChartApiController {
     // Response DTOs
     public record CandleDataResponse(List<CandleDto> candles, IndicatorDto indicators) {}
 
+    /** 컬럼형 캔들 응답 — t(epoch 초)·o·h·l·c·v 병렬 배열, 시간 오름차순. */
+    public record ColumnarCandleResponse(
+            String market,
+            long[] t,
+            double[] o,
+            double[] h,
+            double[] l,
+            double[] c,
+            double[] v,
+            IndicatorDto indicators
+    ) {}
+
     public record CandleDto(
             String time,
             double open,
@@ -13,17 +13,29 @@ import me.singingsandhill.calendar.trading.infrastructure.api.dto.BithumbAccount
 import me.singingsandhill.calendar.trading.infrastructure.api.dto.BithumbOrderResponse;
 import me.singingsandhill.calendar.trading.infrastructure.api.dto.BithumbOrderbookResponse;
 import me.singingsandhill.calendar.trading.infrastructure.config.TradingProperties;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * 트레이딩 API 검증용 컨트롤러
@@ -35,22 +47,55 @@ public class TradingVerificationApiController {
 
     private static final Logger log = LoggerFactory.getLogger(TradingVerificationApiController.class);
 
+    /** /full 개별 검증 타임아웃. 초과한 검증만 timedOut 으로 보고하고 나머지 결과는 그대로 반환한다. */
+    private static final Duration DEFAULT_CHECK_TIMEOUT = Duration.ofSeconds(10);
+
     private final BithumbApiClient bithumbApiClient;
     private final BithumbJwtGenerator jwtGenerator;
     private final TradingProperties tradingProperties;
     private final TradeRepository tradeRepository;
     private final PositionRepository positionRepository;
+    private final Duration checkTimeout;
+    // 검증은 블로킹 Bithumb/DB 호출이므로 가상 스레드로 팬아웃한다 (요청 빈도가 낮아 풀 상한 불필요)
+    private final ExecutorService verificationExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
+    @Autowired
     public TradingVerificationApiController(BithumbApiClient bithumbApiClient,
                                             BithumbJwtGenerator jwtGenerator,
                                             TradingProperties tradingProperties,
                                             TradeRepository tradeRepository,
                                             PositionRepository positionRepository) {
+        this(bithumbApiClient, jwtGenerator, tradingProperties, tradeRepository, positionRepository,
+                DEFAULT_CHECK_TIMEOUT);
+    }
+
+    TradingVerificationApiController(BithumbApiClient bithumbApiClient,
+                                     BithumbJwtGenerator jwtGenerator,
+                                     TradingProperties tradingProperties,
+                                     TradeRepository tradeRepository,
+                                     PositionRepository positionRepository,
+                                     Duration checkTimeout) {
         this.bithumbApiClient = bithumbApiClient;
         this.jwtGenerator = jwtGenerator;
         this.tradingProperties = tradingProperties;
         this.tradeRepository = tradeRepository;
         this.positionRepository = positionRepository;
+        this.checkTimeout = checkTimeout;
+    }
+
+    /**
+     * 검증 스레드를 닫는다. 종료 시점에 남은 검증은 응답을 받을 곳이 없으므로 인터럽트한다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        verificationExecutor.shutdownNow();
+        try {
+            if (!verificationExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Trading verification checks still running at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
@@ -461,33 +506,107 @@ public class TradingVerificationApiController {
     /**
      * 전체 검증 실행 (가격 + 잔고)
      * 테스트 주문은 실제 돈이 사용되므로 별도 호출 필요
+     *
+     * 검증 항목은 서로 독립이므로 동시에 실행한다 — 응답 시간은 합이 아니라 가장 느린 검증 하나.
+     * 각 항목에 latencyMs 를 붙이고, 타임아웃/예외 난 항목만 실패로 표시한다.
      */
     @GetMapping("/full")
     public ResponseEntity<Map<String, Object>> fullVerification() {
+        long startNanos = System.nanoTime();
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("timestamp", LocalDateTime.now().toString());
 
-        // 1. Config
-        result.put("config", verifyConfig().getBody());
+        Map<String, CompletableFuture<Map<String, Object>>> checks = startChecks();
+        checks.forEach((name, future) -> result.put(name, future.join()));
 
-        // 2. Price
-        result.put("price", verifyPrice().getBody());
+        result.put("totalLatencyMs", elapsedMillis(startNanos));
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * /full 의 SSE 버전. 검증이 끝나는 순서대로 이벤트(name=검증명)를 내보내고,
+     * 모두 끝나면 done 이벤트(totalLatencyMs)로 닫는다.
+     */
+    @GetMapping(value = "/full/stream", produces = "text/event-stream")
+    public SseEmitter fullVerificationStream() {
+        long startNanos = System.nanoTime();
+        SseEmitter emitter = new SseEmitter(checkTimeout.plusSeconds(5).toMillis());
+
+        Map<String, CompletableFuture<Map<String, Object>>> checks = startChecks();
+        checks.forEach((name, future) -> future.thenAccept(body -> sendEvent(emitter, name, body)));
+
+        CompletableFuture.allOf(checks.values().toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, ex) -> {
+                    Map<String, Object> done = new LinkedHashMap<>();
+                    done.put("timestamp", LocalDateTime.now().toString());
+                    done.put("totalLatencyMs", elapsedMillis(startNanos));
+                    sendEvent(emitter, "done", done);
+                    emitter.complete();
+                });
+        return emitter;
+    }
 
-        // 3. Balance (API 키 설정된 경우만)
-        if (jwtGenerator.isConfigured()) {
-            result.put("balance", verifyBalance().getBody());
-        } else {
+    private Map<String, CompletableFuture<Map<String, Object>>> startChecks() {
+        Map<String, CompletableFuture<Map<String, Object>>> checks = new LinkedHashMap<>();
+        checks.put("config", runCheck("config", () -> verifyConfig().getBody()));
+        checks.put("price", runCheck("price", () -> verifyPrice().getBody()));
+        // Balance (API 키 설정된 경우만)
+        checks.put("balance", runCheck("balance", () -> {
+            if (jwtGenerator.isConfigured()) {
+                return verifyBalance().getBody();
+            }
             Map<String, Object> balanceSkip = new LinkedHashMap<>();
             balanceSkip.put("skipped", true);
             balanceSkip.put("reason", "API 키 미설정");
-            result.put("balance", balanceSkip);
-        }
+            return balanceSkip;
+        }));
+        checks.put("recentTrades", runCheck("recentTrades", () -> getRecentTrades(5).getBody()));
+        checks.put("recentPositions", runCheck("recentPositions", () -> getRecentPositions(5).getBody()));
+        return checks;
+    }
 
-        // 4. Recent trades/positions
-        result.put("recentTrades", getRecentTrades(5).getBody());
-        result.put("recentPositions", getRecentPositions(5).getBody());
+    /**
+     * 검증 하나를 가상 스레드에서 실행하고 latencyMs 를 붙인다.
+     * 타임아웃 시 작업 자체는 WebClient 자체 타임아웃으로 정리되도록 두고, 응답만 먼저 확정한다.
+     */
+    private CompletableFuture<Map<String, Object>> runCheck(String name, Supplier<Map<String, Object>> check) {
+        long startNanos = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+                    Map<String, Object> body = new LinkedHashMap<>(check.get());
+                    body.put("latencyMs", elapsedMillis(startNanos));
+                    return body;
+                }, verificationExecutor)
+                .orTimeout(checkTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                            ? ex.getCause() : ex;
+                    boolean timedOut = cause instanceof TimeoutException;
+                    if (!timedOut) {
+                        log.error("{} 검증 실패", name, cause);
+                    } else {
+                        log.warn("{} 검증 타임아웃 ({}ms)", name, checkTimeout.toMillis());
+                    }
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("success", false);
+                    body.put("timedOut", timedOut);
+                    body.put("error", timedOut ? "검증 타임아웃 (" + checkTimeout.toMillis() + "ms)" : cause.getMessage());
+                    body.put("errorType", cause.getClass().getSimpleName());
+                    body.put("latencyMs", elapsedMillis(startNanos));
+                    return body;
+                });
+    }
 
-        return ResponseEntity.ok(result);
+    private void sendEvent(SseEmitter emitter, String name, Map<String, Object> body) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(body));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 이탈 — 남은 검증 결과는 버린다
+            log.debug("검증 스트림 전송 실패 ({}): {}", name, e.getMessage());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 
     // === Helper Methods ===
@@ -18,6 +18,11 @@
     const INTERVAL_POSITIONS = 15000;
     const INTERVAL_TRADE_MARKERS = 30000;
     const INTERVAL_EVENTS = 20000;
+    const INTERVAL_CHART = 15000;
+
+    // 차트 증분 조회 상태: 마지막 봉 시각(epoch 초) + ETag
+    let lastCandleTime = null;
+    let chartEtag = null;
 
     let lastEventsAt = null;
 
@@ -34,6 +39,7 @@
         setInterval(loadActivePositions, INTERVAL_POSITIONS);
         setInterval(loadClosedPositions, INTERVAL_POSITIONS * 2);
         setInterval(loadTradeMarkers, INTERVAL_TRADE_MARKERS);
+        setInterval(loadChartDelta, INTERVAL_CHART);
         setInterval(loadEvents, INTERVAL_EVENTS);
         setInterval(updateEventsFreshness, 1000);
 
@@ -73,21 +79,48 @@
 
     async function loadChartData() {
         try {
-            const data = await TradingFetch.json('/api/trading/candles?count=200');
-            if (data.candles && data.candles.length > 0) {
-                const candleData = data.candles.map(c => ({
-                    time: new Date(c.time).getTime() / 1000,
-                    open: c.open, high: c.high, low: c.low, close: c.close
-                })).reverse();
+            const data = await TradingFetch.json('/api/trading/chart/candles?count=200');
+            const candleData = toCandleData(data);
+            if (candleData.length > 0) {
                 candleSeries.setData(candleData);
-                const last = candleData[candleData.length - 1];
-                document.getElementById('current-price').textContent =
-                    last.close.toLocaleString() + ' KRW';
+                lastCandleTime = candleData[candleData.length - 1].time;
+                updateCurrentPrice(candleData[candleData.length - 1]);
                 await loadTradeMarkers();
             }
         } catch (e) { console.error('chart load fail', e); }
     }
 
+    // 마지막 봉 이후만 받아 갱신 (ETag 일치 시 304 — 본문 없음)
+    async function loadChartDelta() {
+        if (!candleSeries || lastCandleTime == null) return;
+        try {
+            const res = await fetch('/api/trading/chart/candles?count=200&since=' + lastCandleTime, {
+                headers: chartEtag ? { 'Accept': 'application/json', 'If-None-Match': chartEtag }
+                                   : { 'Accept': 'application/json' }
+            });
+            if (res.status === 304 || !res.ok) return;
+            chartEtag = res.headers.get('ETag');
+            const candleData = toCandleData(await res.json());
+            candleData.forEach(c => candleSeries.update(c));
+            if (candleData.length > 0) {
+                lastCandleTime = candleData[candleData.length - 1].time;
+                updateCurrentPrice(candleData[candleData.length - 1]);
+            }
+        } catch (e) { /* keep last good */ }
+    }
+
+    function toCandleData(data) {
+        if (!data || !data.t) return [];
+        return data.t.map((t, i) => ({
+            time: t, open: data.o[i], high: data.h[i], low: data.l[i], close: data.c[i]
+        }));
+    }
+
+    function updateCurrentPrice(last) {
+        document.getElementById('current-price').textContent =
+            last.close.toLocaleString() + ' KRW';
+    }
+
     async function loadTradeMarkers() {
         try {
             const trades = await TradingFetch.json('/api/trading/chart/trades?minutes=200');
@@ -0,0 +1,57 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.concurrency.BoundedFanOut;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 실행 수 제한 fan-out 검증.
+ * - 결과는 입력 순서, 동시 실행은 parallelism 개까지
+ * - 실패/시간 초과 입력은 fallback 값으로 채우고 나머지는 계속 진행
+ */
+class BoundedFanOutTest {
+
+    @Test
+    void keepsInputOrder_andNeverExceedsParallelism() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Integer> inputs = IntStream.range(0, 20).boxed().toList();
+
+        List<Integer> results = BoundedFanOut.map(inputs, 3, i -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+                return i * 2;
+            } finally {
+                running.decrementAndGet();
+            }
+        }, (i, e) -> -1);
+
+        assertThat(results).isEqualTo(inputs.stream().map(i -> i * 2).toList());
+        assertThat(peak.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void failuresAndTimeouts_areReplacedByFallback() {
+        List<String> results = BoundedFanOut.map(List.of(1, 2, 3), 2, Duration.ofMillis(100),
+            i -> {
+                if (i == 1) {
+                    throw new IllegalStateException("boom");
+                }
+                if (i == 2) {
+                    Thread.sleep(5_000);
+                }
+                return "ok" + i;
+            },
+            (i, e) -> e instanceof TimeoutException ? "timeout" : e.getMessage());
+
+        assertThat(results).containsExactly("boom", "timeout", "ok3");
+    }
+}
@@ -0,0 +1,160 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.backtest.BacktestClock;
+import me.singingsandhill.calendar.stock.application.service.EntryAttemptAnalyticsService;
+import me.singingsandhill.calendar.stock.application.service.EntryAttemptAnalyticsService.AttemptEffectiveness;
+import me.singingsandhill.calendar.stock.application.service.EntryAttemptAnalyticsService.GroupStats;
+import me.singingsandhill.calendar.stock.domain.candle.CandleInterval;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandle;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandleRepository;
+import me.singingsandhill.calendar.stock.domain.position.StockCloseReason;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionStatus;
+import me.singingsandhill.calendar.stock.domain.screening.EntryAttempt;
+import me.singingsandhill.calendar.stock.domain.screening.EntryAttemptRepository;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 진입 시도 사후 분석 검증.
+ * - 시도 다음 분봉부터 TP1 / 손절 도달을 판정한다 (같은 봉이면 손절)
+ * - 거부 사유, 체결강도/불균형 구간별로 적중률을 낸다
+ * - 분봉 없는 수락 시도는 포지션 결과로 대신하고, 지난 거래일은 캐시한다
+ */
+class EntryAttemptAnalyticsServiceTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 4);
+    private static final LocalDate D1 = LocalDate.of(2026, 3, 3);
+
+    private final EntryAttemptRepository attemptRepository = mock(EntryAttemptRepository.class);
+    private final StockCandleRepository candleRepository = mock(StockCandleRepository.class);
+    private final StockPositionRepository positionRepository = mock(StockPositionRepository.class);
+    private final StockProperties props = new StockProperties();
+    private final BacktestClock clock = new BacktestClock(TODAY.atTime(12, 0), KST);
+    private final EntryAttemptAnalyticsService service = new EntryAttemptAnalyticsService(
+        attemptRepository, candleRepository, positionRepository, props, clock);
+
+    private static EntryAttempt attempt(String code, LocalDateTime at, boolean accepted, String reason,
+                                        String strength, String imbalance) {
+        return EntryAttempt.of(at.toLocalDate(), code, at, accepted, accepted ? 3 : 1, 2,
+            accepted || !"strength".equals(reason), accepted, true,
+            new BigDecimal("10000"), new BigDecimal("9800"),
+            strength != null ? new BigDecimal(strength) : null,
+            imbalance != null ? new BigDecimal(imbalance) : null, reason);
+    }
+
+    /** 1분봉 (고가, 저가, 종가) */
+    private static StockCandle bar(String code, LocalDateTime at, String high, String low, String close) {
+        return StockCandle.of(code, at, CandleInterval.MINUTE_1, new BigDecimal("10000"),
+            new BigDecimal(high), new BigDecimal(low), new BigDecimal(close), 100L, null);
+    }
+
+    private void bars(String code, List<StockCandle> candles) {
+        // 저장소는 최신순으로 준다
+        List<StockCandle> desc = new ArrayList<>(candles);
+        Collections.reverse(desc);
+        when(candleRepository.findByStockCodeAndIntervalAndDateTimeRange(
+            eq(code), eq(CandleInterval.MINUTE_1), any(), any())).thenReturn(desc);
+    }
+
+    @Test
+    void rejectedAttempts_areScoredAgainstLaterBars() {
+        LocalDateTime t = D1.atTime(9, 30, 15);
+        when(attemptRepository.findTradingDates(D1, D1)).thenReturn(List.of(D1));
+        when(attemptRepository.findByTradingDate(D1)).thenReturn(List.of(
+            attempt("000001", t, false, "strength", "90", "1.2"),
+            attempt("000001", t.plusSeconds(20), false, "strength", "91", "1.2"),   // 같은 분 중복
+            attempt("000002", t, false, "imbalance", "130", "0.6"),
+            attempt("000003", t, true, null, "130", "1.6")));
+        bars("000001", List.of(
+            bar("000001", D1.atTime(9, 30), "10200", "9990", "10100"),      // 시도한 분 — 보지 않음
+            bar("000001", D1.atTime(9, 31), "10100", "9950", "10050"),
+            bar("000001", D1.atTime(9, 32), "10160", "10000", "10150")));   // TP1(10150) 도달
+        bars("000002", List.of(
+            bar("000002", D1.atTime(9, 31), "10200", "9840", "9900")));     // 같은 봉 양쪽 → 손절
+        bars("000003", List.of(
+            bar("000003", D1.atTime(9, 31), "10100", "9900", "10050"),
+            bar("000003", D1.atTime(11, 20), "10100", "9950", "10080")));   // 시간 청산 +0.8%
+
+        AttemptEffectiveness result = service.analyze(D1, D1, 2);
+
+        GroupStats rejected = result.groups().get(EntryAttemptAnalyticsService.REJECTED);
+        assertThat(rejected.attempts()).isEqualTo(2);
+        assertThat(rejected.tp1Hits()).isEqualTo(1);
+        assertThat(rejected.stopHits()).isEqualTo(1);
+        assertThat(rejected.tp1HitRate()).isEqualByComparingTo("50.0");
+        assertThat(result.groups().get("REJECTED:strength").tp1HitRate()).isEqualByComparingTo("100.0");
+        assertThat(result.groups().get("REJECTED:imbalance").stopHitRate()).isEqualByComparingTo("100.0");
+
+        GroupStats accepted = result.groups().get(EntryAttemptAnalyticsService.ACCEPTED);
+        assertThat(accepted.timeExits()).isEqualTo(1);
+        assertThat(accepted.avgTimeExitReturn()).isEqualByComparingTo("0.80");
+
+        assertThat(result.groups().get("strength:80-100").attempts()).isEqualTo(1);
+        assertThat(result.groups().get("strength:120-150").attempts()).isEqualTo(2);
+        assertThat(result.groups().get("imbalance:0.5-0.8").stopHits()).isEqualTo(1);
+        assertThat(List.copyOf(result.groups().keySet())).startsWith("ACCEPTED", "REJECTED");
+    }
+
+    @Test
+    void acceptedWithoutBars_fallsBackToPosition_andPastDaysAreCached() {
+        LocalDateTime t = D1.atTime(9, 40);
+        when(attemptRepository.findTradingDates(any(), any())).thenReturn(List.of(D1));
+        when(attemptRepository.findByTradingDate(D1)).thenReturn(List.of(
+            attempt("000005", t, true, null, null, null)));
+        when(candleRepository.findByStockCodeAndIntervalAndDateTimeRange(any(), any(), any(), any()))
+            .thenReturn(List.of());
+        StockPosition position = StockPosition.reconstitute(1L, null, "000005", D1, StockPositionStatus.CLOSED,
+            new BigDecimal("10000"), 10, new BigDecimal("100000"), t.plusSeconds(2), 0, new BigDecimal("10150"),
+            true, false, false, null, null, null, null, false,
+            new BigDecimal("1500"), null, StockCloseReason.TP1, t.plusMinutes(4), null, null);
+        when(positionRepository.findByTradingDate(D1)).thenReturn(List.of(position));
+
+        AttemptEffectiveness first = service.analyze(D1, D1);
+        AttemptEffectiveness second = service.analyze(D1, D1);
+
+        assertThat(first.groups().get(EntryAttemptAnalyticsService.ACCEPTED).tp1Hits()).isEqualTo(1);
+        assertThat(second.groups()).isEqualTo(first.groups());
+        verify(attemptRepository, times(1)).findByTradingDate(D1);
+
+        service.evict();
+        service.analyze(D1, D1);
+        verify(attemptRepository, times(2)).findByTradingDate(D1);
+    }
+
+    @Test
+    void today_isNeverCached_andMissingDataIsCountedSeparately() {
+        when(attemptRepository.findTradingDates(any(), any())).thenReturn(List.of(TODAY));
+        when(attemptRepository.findByTradingDate(TODAY)).thenReturn(List.of(
+            attempt("000007", TODAY.atTime(9, 10), false, "time", "110", "1.1")));
+        when(candleRepository.findByStockCodeAndIntervalAndDateTimeRange(any(), any(), any(), any()))
+            .thenReturn(List.of());
+
+        service.analyze(TODAY, TODAY);
+        AttemptEffectiveness result = service.analyze(TODAY, TODAY);
+
+        GroupStats rejected = result.groups().get(EntryAttemptAnalyticsService.REJECTED);
+        assertThat(rejected.noData()).isEqualTo(1);
+        assertThat(rejected.evaluated()).isZero();
+        assertThat(rejected.tp1HitRate()).isEqualByComparingTo("0");
+        verify(attemptRepository, times(2)).findByTradingDate(TODAY);
+    }
+}
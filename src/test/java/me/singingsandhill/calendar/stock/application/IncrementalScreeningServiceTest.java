@@ -0,0 +1,213 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.backtest.BacktestClock;
+import me.singingsandhill.calendar.stock.application.concurrency.StockCodeLocks;
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import me.singingsandhill.calendar.stock.application.service.IncrementalScreeningService;
+import me.singingsandhill.calendar.stock.application.service.ScreeningService;
+import me.singingsandhill.calendar.stock.application.service.StockStateRegistry;
+import me.singingsandhill.calendar.stock.application.service.UniverseBuilder;
+import me.singingsandhill.calendar.stock.domain.stock.Stock;
+import me.singingsandhill.calendar.stock.domain.stock.StockRepository;
+import me.singingsandhill.calendar.stock.domain.stock.StockState;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 증분 스크리닝 검증.
+ * - 유니버스를 slice 단위 라운드로빈으로 재평가하고, 패턴 진행 중/제외된 종목은 건너뛴다
+ * - 빈 자리는 기준+admit-margin 이상만 편입, 자리가 없으면 swap-margin 이상 앞설 때만 교체
+ * - WATCHING 종목은 연속 Floor 탈락 횟수가 차야 제외된다 (시세 실패/타임아웃은 탈락으로 세지 않는다)
+ * - 교체는 편입 저장이 성공한 뒤에만 기존 종목을 뺀다
+ */
+class IncrementalScreeningServiceTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 4);
+
+    private final ScreeningService screeningService = mock(ScreeningService.class);
+    private final UniverseBuilder universeBuilder = mock(UniverseBuilder.class);
+    private final StockRepository stockRepository = mock(StockRepository.class);
+    private final StockProperties props = new StockProperties();
+    private final BacktestClock clock = new BacktestClock(TODAY.atTime(9, 40), KST);
+    private final StockCodeLocks locks = new StockCodeLocks();
+    private final StockStateRegistry registry = new StockStateRegistry(stockRepository, props, locks, clock);
+    private final IncrementalScreeningService service = new IncrementalScreeningService(
+        screeningService, universeBuilder, registry, locks, props, StockBotMetrics.noop(), clock);
+
+    private final List<Stock> watched = new ArrayList<>();
+
+    IncrementalScreeningServiceTest() {
+        props.getScreening().setIncrementalEnabled(true);
+        props.getScreening().setIncrementalSliceSize(2);
+        props.getScreening().setMaxWatchlistSize(2);
+        when(stockRepository.findByTradingDate(TODAY)).thenReturn(watched);
+        when(screeningService.saveAdmitted(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private static Stock stock(String code, String score) {
+        Stock stock = new Stock(code, code, TODAY);
+        stock.setCompositeScore(new BigDecimal(score));
+        return stock;
+    }
+
+    private void universe(String... codes) {
+        when(universeBuilder.currentUniverse(TODAY))
+            .thenReturn(new UniverseBuilder.Snapshot(TODAY, List.of(codes), 0, 0, codes.length));
+    }
+
+    /** slice 재평가 결과 (코드 → 점수). 없는 코드는 Floor 탈락. */
+    private void rescore(List<String> slice, Map<String, String> scores) {
+        rescore(slice, scores, Set.of());
+    }
+
+    /** failed 코드는 판정하지 못한 종목 (시세 실패/타임아웃). */
+    private void rescore(List<String> slice, Map<String, String> scores, Set<String> failed) {
+        when(screeningService.rescore(TODAY, slice)).thenReturn(new ScreeningService.Rescore(slice.stream()
+            .filter(scores::containsKey)
+            .map(code -> stock(code, scores.get(code)))
+            .toList(), failed));
+    }
+
+    @Test
+    void slicesRoundRobin_skippingStocksPastWatching() {
+        Stock inPattern = stock("000002", "70");
+        inPattern.updateState(StockState.PULLBACK);
+        watched.add(inPattern);
+        universe("000001", "000002", "000003", "000004");
+        when(screeningService.rescore(eq(TODAY), any())).thenReturn(ScreeningService.Rescore.EMPTY);
+
+        service.step(TODAY);
+        service.step(TODAY);
+
+        verify(screeningService).rescore(TODAY, List.of("000001", "000003"));
+        verify(screeningService).rescore(TODAY, List.of("000004", "000001"));
+    }
+
+    @Test
+    void freeSlot_admitsOnlyAboveThresholdPlusMargin() {
+        watched.add(stock("000001", "50"));
+        universe("000001", "000002", "000003");
+        props.getScreening().setIncrementalSliceSize(3);
+        props.getScreening().setMaxWatchlistSize(3);
+        // min-score-threshold 40 + admit-margin 5 = 45
+        rescore(List.of("000001", "000002", "000003"), Map.of("000001", "50", "000002", "60", "000003", "44"));
+
+        IncrementalScreeningService.Result result = service.step(TODAY);
+
+        assertThat(result.admitted()).containsExactly("000002");
+        assertThat(result.evicted()).isEmpty();
+        assertThat(result.watchlist()).extracting(Stock::getStockCode).containsExactlyInAnyOrder("000001", "000002");
+        assertThat(registry.find("000002", TODAY)).map(Stock::getState).contains(StockState.WATCHING);
+        assertThat(service.leaderboard(TODAY)).extracting(IncrementalScreeningService.LeaderboardEntry::stockCode)
+            .containsExactly("000002", "000001", "000003");
+    }
+
+    @Test
+    void fullWatchlist_swapsOnlyWhenChallengerLeadsBySwapMargin() {
+        props.getScreening().setMaxWatchlistSize(1);
+        Stock incumbent = stock("000001", "50");
+        watched.add(incumbent);
+        universe("000001", "000002");
+        rescore(List.of("000001", "000002"), Map.of("000001", "50", "000002", "55"));
+
+        IncrementalScreeningService.Result first = service.step(TODAY);
+
+        assertThat(first.changed()).isFalse();
+        verify(screeningService, never()).saveAdmitted(anyList());
+
+        rescore(List.of("000001", "000002"), Map.of("000001", "50", "000002", "65"));
+        IncrementalScreeningService.Result second = service.step(TODAY);
+
+        assertThat(second.admitted()).containsExactly("000002");
+        assertThat(second.evicted()).containsExactly("000001");
+        assertThat(incumbent.getState()).isEqualTo(StockState.FILTERED_OUT);
+        verify(stockRepository).saveAll(argThat(saved -> saved.size() == 1
+            && saved.get(0).getStockCode().equals("000001")
+            && saved.get(0).getState() == StockState.FILTERED_OUT));
+    }
+
+    @Test
+    void watchingStock_isEvictedAfterConsecutiveFloorMisses() {
+        props.getScreening().setIncrementalSliceSize(1);
+        Stock incumbent = stock("000001", "50");
+        watched.add(incumbent);
+        universe("000001");
+        rescore(List.of("000001"), Map.of());
+
+        IncrementalScreeningService.Result first = service.step(TODAY);
+        assertThat(first.evicted()).isEmpty();
+        assertThat(incumbent.getState()).isEqualTo(StockState.WATCHING);
+
+        IncrementalScreeningService.Result second = service.step(TODAY);
+        assertThat(second.evicted()).containsExactly("000001");
+        assertThat(incumbent.getState()).isEqualTo(StockState.FILTERED_OUT);
+        assertThat(second.watchlist()).isEmpty();
+    }
+
+    @Test
+    void failedEvaluations_areNotCountedAsFloorMisses() {
+        props.getScreening().setIncrementalSliceSize(1);
+        Stock incumbent = stock("000001", "50");
+        watched.add(incumbent);
+        universe("000001");
+        rescore(List.of("000001"), Map.of(), Set.of("000001"));
+
+        service.step(TODAY);
+        IncrementalScreeningService.Result second = service.step(TODAY);
+
+        assertThat(second.evicted()).isEmpty();
+        assertThat(incumbent.getState()).isEqualTo(StockState.WATCHING);
+
+        // 판정된 Floor 탈락만 센다 — 실패 뒤 첫 탈락은 아직 1회
+        rescore(List.of("000001"), Map.of());
+        assertThat(service.step(TODAY).evicted()).isEmpty();
+        assertThat(service.step(TODAY).evicted()).containsExactly("000001");
+    }
+
+    @Test
+    void swap_keepsIncumbent_whenAdmitSaveFails() {
+        props.getScreening().setMaxWatchlistSize(1);
+        Stock incumbent = stock("000001", "50");
+        watched.add(incumbent);
+        universe("000001", "000002");
+        rescore(List.of("000001", "000002"), Map.of("000001", "50", "000002", "65"));
+        when(screeningService.saveAdmitted(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        IncrementalScreeningService.Result result = service.step(TODAY);
+
+        assertThat(result.admitted()).isEmpty();
+        assertThat(result.evicted()).isEmpty();
+        assertThat(incumbent.getState()).isEqualTo(StockState.WATCHING);
+        assertThat(result.watchlist()).extracting(Stock::getStockCode).containsExactly("000001");
+    }
+
+    @Test
+    void afterEndTime_doesNothing() {
+        clock.set(TODAY.atTime(10, 31));
+        universe("000001");
+
+        IncrementalScreeningService.Result result = service.step(TODAY);
+
+        assertThat(result.evaluated()).isZero();
+        verify(screeningService, never()).rescore(any(), any());
+    }
+}
@@ -0,0 +1,128 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.backtest.BacktestClock;
+import me.singingsandhill.calendar.stock.application.service.MinuteBarRecorder;
+import me.singingsandhill.calendar.stock.domain.candle.CandleInterval;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandle;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandleRepository;
+import me.singingsandhill.calendar.stock.infrastructure.api.KisRealtimeClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 1분봉 기록기 검증.
+ * - 같은 분 관측들이 OHLC 로 모이고 거래량은 누적 거래량 차이
+ * - 분이 바뀌어도 flush 전에는 저장하지 않는다 (트레이딩 틱에서 DB 미접근)
+ * - flush 시 경과한 분까지 확정해 한 번에 저장, 확정된 분의 늦은 관측은 버린다
+ * - 종료 시 대기열을 저장하고 끝날 때까지 기다린다, 종료 후 flush 는 아무것도 하지 않는다
+ */
+class MinuteBarRecorderTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDateTime T0920 = LocalDateTime.of(2026, 3, 2, 9, 20);
+
+    private final StockCandleRepository candleRepository = mock(StockCandleRepository.class);
+    private final BacktestClock clock = new BacktestClock(T0920, KST);
+
+    private MinuteBarRecorder recorder() {
+        return new MinuteBarRecorder(candleRepository, new StockProperties(),
+            mock(KisRealtimeClient.class), clock);
+    }
+
+    private void observe(MinuteBarRecorder recorder, LocalDateTime at, String price, long cumulativeVolume) {
+        clock.set(at);
+        recorder.onQuote(new KisQuoteResponse("005930", new BigDecimal(price), new BigDecimal("70000"),
+            null, null, new BigDecimal("69000"), null, null, cumulativeVolume, null,
+            null, null, null, null, null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aggregatesQuotesIntoMinuteBars_andWritesOnFlush() {
+        MinuteBarRecorder recorder = recorder();
+
+        observe(recorder, T0920.plusSeconds(5), "71000", 1_000);
+        observe(recorder, T0920.plusSeconds(20), "71300", 1_400);
+        observe(recorder, T0920.plusSeconds(35), "70800", 1_900);
+        observe(recorder, T0920.plusSeconds(50), "71100", 2_000);
+        observe(recorder, T0920.plusSeconds(65), "71200", 2_300);   // 09:21 — 09:20 봉 확정
+
+        verify(candleRepository, never()).saveAll(anyList());
+        assertThat(recorder.recentBars("005930")).hasSize(1);
+
+        clock.set(T0920.plusMinutes(2).plusSeconds(1));              // 09:22:01 flush
+        recorder.flush();
+
+        ArgumentCaptor<List<StockCandle>> captor = ArgumentCaptor.forClass(List.class);
+        verify(candleRepository, timeout(2_000)).saveAll(captor.capture());
+        List<StockCandle> bars = captor.getValue();
+        assertThat(bars).hasSize(2);
+
+        StockCandle first = bars.get(0);
+        assertThat(first.getCandleDateTime()).isEqualTo(T0920);
+        assertThat(first.getInterval()).isEqualTo(CandleInterval.MINUTE_1);
+        assertThat(first.getOpenPrice()).isEqualByComparingTo("71000");
+        assertThat(first.getHighPrice()).isEqualByComparingTo("71300");
+        assertThat(first.getLowPrice()).isEqualByComparingTo("70800");
+        assertThat(first.getClosePrice()).isEqualByComparingTo("71100");
+        assertThat(first.getVolume()).isEqualTo(1_000L);
+
+        StockCandle second = bars.get(1);
+        assertThat(second.getCandleDateTime()).isEqualTo(T0920.plusMinutes(1));
+        assertThat(second.getVolume()).isEqualTo(300L);
+
+        // 이미 확정된 09:21 분의 늦은 관측은 새 봉을 만들지 않는다
+        observe(recorder, T0920.plusSeconds(70), "71500", 2_400);
+        assertThat(recorder.recentBars("005930")).hasSize(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shutdown_persistsQueuedBarsBeforeReturning() {
+        MinuteBarRecorder recorder = recorder();
+
+        observe(recorder, T0920.plusSeconds(5), "71000", 1_000);
+        observe(recorder, T0920.plusSeconds(65), "71200", 2_300);   // 09:20 봉 확정 (대기열)
+
+        recorder.shutdown();
+
+        ArgumentCaptor<List<StockCandle>> captor = ArgumentCaptor.forClass(List.class);
+        verify(candleRepository).saveAll(captor.capture());         // 종료가 저장 완료까지 기다린다
+        assertThat(captor.getValue()).extracting(StockCandle::getCandleDateTime).containsExactly(T0920);
+
+        clock.set(T0920.plusMinutes(3));
+        recorder.flush();
+        recorder.shutdown();
+        verify(candleRepository).saveAll(anyList());                 // 진행 중이던 09:21 봉은 저장하지 않는다
+    }
+
+    @Test
+    void backtestMode_recordsNothing() {
+        StockProperties props = new StockProperties();
+        props.getBot().setMode(StockProperties.Bot.Mode.BACKTEST);
+        MinuteBarRecorder recorder = new MinuteBarRecorder(candleRepository, props,
+            mock(KisRealtimeClient.class), clock);
+
+        observe(recorder, T0920.plusSeconds(5), "71000", 1_000);
+        observe(recorder, T0920.plusSeconds(65), "71200", 2_300);
+        clock.set(T0920.plusMinutes(2));
+        recorder.flush();
+
+        assertThat(recorder.recentBars("005930")).isEmpty();
+        verify(candleRepository, never()).saveAll(anyList());
+    }
+}
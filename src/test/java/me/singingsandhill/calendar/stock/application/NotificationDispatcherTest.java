@@ -0,0 +1,225 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.backtest.BacktestClock;
+import me.singingsandhill.calendar.stock.application.notification.NotificationChannel;
+import me.singingsandhill.calendar.stock.application.notification.NotificationDispatcher;
+import me.singingsandhill.calendar.stock.application.notification.NotificationOutbox;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotification;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotificationRepository;
+import me.singingsandhill.calendar.stock.domain.notification.StockNotificationStatus;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알림 outbox 디스패처 검증.
+ * - digest 창 안의 알림은 모았다가 한 번에 보낸다
+ * - 실패하면 지수 백오프로 재시도하고 maxAttempts 에서 FAILED
+ * - 느린 채널이 dispatchDue 호출을 막지 않고, 발송 중인 채널은 중복 발송하지 않는다
+ * - 행을 읽는 사이 끝난 발송의 배치를 다시 보내지 않는다 (채널 점유 후 조회)
+ */
+class NotificationDispatcherTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDateTime T0920 = LocalDate.of(2026, 3, 2).atTime(9, 20);
+
+    private final BacktestClock clock = new BacktestClock(T0920, KST);
+    private final InMemoryNotifications repository = new InMemoryNotifications();
+    private final StockProperties props = new StockProperties();
+    private final NotificationOutbox outbox = new NotificationOutbox(repository, props, clock);
+
+    @Test
+    void notificationsWithinDigestWindow_areSentAsOneBatch() {
+        RecordingChannel channel = new RecordingChannel();
+        NotificationDispatcher dispatcher = new NotificationDispatcher(
+            repository, List.of(channel), props, clock, Runnable::run);
+
+        outbox.enqueue("test", "A", "a", "<p>a</p>");
+        clock.set(T0920.plusSeconds(10));
+        outbox.enqueue("test", "B", "b", "<p>b</p>");
+        outbox.enqueue("test", "C", "c", "<p>c</p>");
+
+        assertThat(dispatcher.dispatchDue()).isZero();        // 첫 알림이 아직 30초 창 안
+
+        clock.set(T0920.plusSeconds(31));
+        assertThat(dispatcher.dispatchDue()).isEqualTo(1);
+
+        assertThat(channel.batches).hasSize(1);
+        assertThat(channel.batches.get(0)).extracting(StockNotification::getKind).containsExactly("A", "B", "C");
+        assertThat(repository.rows).allMatch(n -> n.getStatus() == StockNotificationStatus.SENT);
+    }
+
+    @Test
+    void failures_backOffExponentially_thenGiveUp() {
+        props.getNotification().setMaxAttempts(3);
+        RecordingChannel channel = new RecordingChannel();
+        channel.failing = true;
+        NotificationDispatcher dispatcher = new NotificationDispatcher(
+            repository, List.of(channel), props, clock, Runnable::run);
+
+        outbox.enqueue("test", "A", "a", "<p>a</p>");
+        StockNotification row = repository.rows.get(0);
+
+        clock.set(T0920.plusSeconds(31));
+        dispatcher.dispatchDue();
+        assertThat(row.getNextAttemptAt()).isEqualTo(T0920.plusSeconds(31 + 30));
+
+        clock.set(T0920.plusSeconds(60));
+        assertThat(dispatcher.dispatchDue()).isZero();        // 아직 재시도 시각 전
+
+        clock.set(T0920.plusSeconds(61));
+        dispatcher.dispatchDue();
+        assertThat(row.getNextAttemptAt()).isEqualTo(T0920.plusSeconds(61 + 60));
+
+        clock.set(T0920.plusSeconds(121));
+        dispatcher.dispatchDue();
+        assertThat(row.getStatus()).isEqualTo(StockNotificationStatus.FAILED);
+        assertThat(row.getAttempts()).isEqualTo(3);
+        assertThat(dispatcher.dispatchDue()).isZero();
+    }
+
+    @Test
+    void slowChannel_doesNotBlockCaller_norGetDuplicateBatches() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingChannel channel = new RecordingChannel();
+        channel.gate = release;
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        NotificationDispatcher dispatcher = new NotificationDispatcher(
+            repository, List.of(channel), props, clock, pool);
+
+        props.getNotification().setDigestWindowSeconds(0);
+        outbox.enqueue("test", "A", "a", "<p>a</p>");
+        clock.set(T0920.plusSeconds(1));
+
+        long start = System.nanoTime();
+        assertThat(dispatcher.dispatchDue()).isEqualTo(1);
+        assertThat(dispatcher.dispatchDue()).isZero();        // 발송 중
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(500);
+
+        release.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(channel.batches).hasSize(1);
+        assertThat(repository.rows.get(0).getStatus()).isEqualTo(StockNotificationStatus.SENT);
+    }
+
+    @Test
+    void deliveryFinishingDuringRead_isNotResent() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingChannel channel = new RecordingChannel();
+        channel.gate = release;
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        NotificationDispatcher dispatcher = new NotificationDispatcher(
+            repository, List.of(channel), props, clock, pool);
+
+        props.getNotification().setDigestWindowSeconds(0);
+        outbox.enqueue("test", "A", "a", "<p>a</p>");
+        clock.set(T0920.plusSeconds(1));
+        assertThat(dispatcher.dispatchDue()).isEqualTo(1);
+
+        // 다음 호출이 행을 읽는 동안 진행 중이던 발송이 끝난다 — 읽은 행은 아직 PENDING
+        repository.onFindDue = () -> {
+            release.countDown();
+            try {
+                pool.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        dispatcher.dispatchDue();
+
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(channel.batches).hasSize(1);
+    }
+
+    @Test
+    void outboxRejectsWhenFull() {
+        props.getNotification().setMaxPending(2);
+
+        assertThat(outbox.enqueue("test", "A", "a", "a")).isTrue();
+        assertThat(outbox.enqueue("test", "B", "b", "b")).isTrue();
+        assertThat(outbox.enqueue("test", "C", "c", "c")).isFalse();
+        assertThat(repository.rows).hasSize(2);
+    }
+
+    private static final class RecordingChannel implements NotificationChannel {
+        final List<List<StockNotification>> batches = new CopyOnWriteArrayList<>();
+        volatile boolean failing;
+        volatile CountDownLatch gate;
+
+        @Override
+        public String name() {
+            return "test";
+        }
+
+        @Override
+        public void deliver(List<StockNotification> batch) throws Exception {
+            if (gate != null) {
+                gate.await(5, TimeUnit.SECONDS);
+            }
+            if (failing) {
+                throw new IllegalStateException("smtp down");
+            }
+            batches.add(List.copyOf(batch));
+        }
+    }
+
+    private static final class InMemoryNotifications implements StockNotificationRepository {
+        final List<StockNotification> rows = new CopyOnWriteArrayList<>();
+        volatile Runnable onFindDue;
+        private long nextId = 1;
+
+        @Override
+        public synchronized StockNotification save(StockNotification notification) {
+            if (notification.getId() == null) {
+                notification.setId(nextId++);
+                rows.add(notification);
+            }
+            return notification;
+        }
+
+        @Override
+        public void saveAll(List<StockNotification> notifications) {
+            notifications.forEach(this::save);
+        }
+
+        @Override
+        public List<StockNotification> findDue(LocalDateTime now, int limit) {
+            List<StockNotification> due = rows.stream()
+                .filter(n -> n.getStatus() == StockNotificationStatus.PENDING && !n.getNextAttemptAt().isAfter(now))
+                .sorted(Comparator.comparing(StockNotification::getCreatedAt))
+                .limit(limit)
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+            Runnable hook = onFindDue;
+            onFindDue = null;
+            if (hook != null) {
+                hook.run();
+            }
+            return due;
+        }
+
+        @Override
+        public long countPending() {
+            return rows.stream().filter(n -> n.getStatus() == StockNotificationStatus.PENDING).count();
+        }
+
+        @Override
+        public long deleteFinishedBefore(LocalDateTime before) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import me.singingsandhill.calendar.stock.application.service.PreMarketWarmup;
+import me.singingsandhill.calendar.stock.application.service.ScreeningService;
+import me.singingsandhill.calendar.stock.application.service.StockWriteTransactions;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignalRepository;
+import me.singingsandhill.calendar.stock.domain.stock.StockRepository;
+import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisDailyPriceResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 장 전 워밍업 검증.
+ * - 거래일 이전 마지막 일봉 + 장 전 시세의 시총을 거래일 스냅샷으로 캐시
+ * - 스크리닝은 워밍업 시총이 floor 미달인 종목을 장중 시세 조회 없이 제외
+ */
+class PreMarketWarmupTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    private final KoreaInvestmentApiClient api = mock(KoreaInvestmentApiClient.class);
+    private final StockProperties props = new StockProperties();
+
+    private static KisQuoteResponse preMarketQuote(String code, String marketCap) {
+        BigDecimal prevClose = new BigDecimal("10000");
+        return new KisQuoteResponse(code, prevClose, null, null, null, prevClose, null, null, 0L, null,
+            new BigDecimal(marketCap), null, null, null, null);
+    }
+
+    private static KisDailyPriceResponse daily(String date, String close, long volume) {
+        BigDecimal c = new BigDecimal(close);
+        return new KisDailyPriceResponse(date, c, c, c, c, volume, c.multiply(BigDecimal.valueOf(volume)),
+            null, null, null);
+    }
+
+    @Test
+    void cachesPriorDayPerTradingDate_skippingTodaysRow() {
+        when(api.isConfigured()).thenReturn(true);
+        when(api.isAuthenticated()).thenReturn(true);
+        when(api.getQuotes(anyCollection())).thenReturn(Map.of("005930", preMarketQuote("005930", "400000000000000")));
+        when(api.getDailyPrices("005930", 2)).thenReturn(List.of(
+            daily("20260302", "0", 0L),
+            daily("20260227", "10000", 1_234_567L)));
+
+        PreMarketWarmup warmup = new PreMarketWarmup(api, props);
+        PreMarketWarmup.Snapshot snapshot = warmup.warmUp(TODAY, List.of("005930", "000660"));
+
+        assertThat(snapshot.authenticated()).isTrue();
+        PreMarketWarmup.PriorDay prior = warmup.priorDay(TODAY, "005930").orElseThrow();
+        assertThat(prior.prevClose()).isEqualByComparingTo("10000");
+        assertThat(prior.prevVolume()).isEqualTo(1_234_567L);
+        assertThat(prior.marketCap()).isEqualByComparingTo("400000000000000");
+        assertThat(warmup.priorDay(TODAY, "000660")).isEmpty();
+        assertThat(warmup.priorDay(TODAY.plusDays(1), "005930")).isEmpty();
+    }
+
+    @Test
+    void screeningSkipsLiveQuotesForCodesBelowWarmedMarketCapFloor() {
+        when(api.getQuotes(anyCollection())).thenReturn(Map.of(
+            "005930", preMarketQuote("005930", "400000000000000"),
+            "123456", preMarketQuote("123456", "1000000000")));
+        when(api.getDailyPrices(anyString(), anyInt())).thenReturn(List.of());
+
+        PreMarketWarmup warmup = new PreMarketWarmup(api, props);
+        warmup.warmUp(TODAY, List.of("005930", "123456"));
+
+        ScreeningService screening = new ScreeningService(mock(StockRepository.class),
+            mock(StockSignalRepository.class), api, props, warmup, StockBotMetrics.noop(),
+            StockWriteTransactions.inline());
+        screening.executeScreening(TODAY, List.of("005930", "123456"));
+
+        verify(api).getQuote("005930");
+        verify(api, never()).getQuote("123456");
+    }
+}
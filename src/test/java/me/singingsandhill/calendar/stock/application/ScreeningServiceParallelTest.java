@@ -0,0 +1,94 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import me.singingsandhill.calendar.stock.application.service.PreMarketWarmup;
+import me.singingsandhill.calendar.stock.application.service.ScreeningService;
+import me.singingsandhill.calendar.stock.application.service.StockWriteTransactions;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignalRepository;
+import me.singingsandhill.calendar.stock.domain.stock.Stock;
+import me.singingsandhill.calendar.stock.domain.stock.StockRepository;
+import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 스크리닝 동시 평가 회귀 테스트.
+ *
+ * 기대:
+ *  - 동시 평가 수가 screening.parallelism 을 넘지 않는다.
+ *  - 동점 후보는 유니버스 입력 순서 그대로 선정된다 (실행 순서와 무관).
+ *  - perStockTimeoutMs 를 넘긴 종목만 탈락하고 나머지는 정상 선정.
+ */
+class ScreeningServiceParallelTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    private final KoreaInvestmentApiClient api = mock(KoreaInvestmentApiClient.class);
+    private final StockRepository stockRepository = mock(StockRepository.class);
+    private final StockSignalRepository signalRepository = mock(StockSignalRepository.class);
+
+    private ScreeningService service(int parallelism, long timeoutMs) {
+        StockProperties props = new StockProperties();
+        props.getScreening().setParallelism(parallelism);
+        props.getScreening().setPerStockTimeoutMs(timeoutMs);
+        props.getScreening().setMaxWatchlistSize(10);
+        return new ScreeningService(stockRepository, signalRepository, api, props,
+            new PreMarketWarmup(api, props), StockBotMetrics.noop(), StockWriteTransactions.inline());
+    }
+
+    /** 갭 4%, 체결강도 120, 시총 1조 — 모든 floor 통과, 종목 간 동일 점수. */
+    private static KisQuoteResponse passingQuote(String code) {
+        return new KisQuoteResponse(code, new BigDecimal("10400"), new BigDecimal("10400"),
+            new BigDecimal("10500"), new BigDecimal("10300"), new BigDecimal("10000"),
+            new BigDecimal("400"), new BigDecimal("4.0"), 1_000_000L, new BigDecimal("10000000000"),
+            new BigDecimal("1000000000000"), null, null, null, new BigDecimal("120"));
+    }
+
+    @Test
+    void concurrencyIsBounded_andTiesKeepUniverseOrder() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(api.getQuote(anyString())).thenAnswer(inv -> {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(50);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return passingQuote(inv.getArgument(0));
+        });
+
+        List<String> universe = List.of("000001", "000002", "000003", "000004", "000005", "000006");
+        List<Stock> selected = service(2, 5_000).executeScreening(TODAY, universe);
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+        assertThat(selected).extracting(Stock::getStockCode).containsExactlyElementsOf(universe);
+    }
+
+    @Test
+    void slowStockTimesOut_othersAreSelected() {
+        when(api.getQuote(anyString())).thenAnswer(inv -> {
+            String code = inv.getArgument(0);
+            if (code.equals("000002")) {
+                Thread.sleep(5_000);
+            }
+            return passingQuote(code);
+        });
+
+        List<Stock> selected = service(8, 200).executeScreening(TODAY, List.of("000001", "000002", "000003"));
+
+        assertThat(selected).extracting(Stock::getStockCode).containsExactly("000001", "000003");
+    }
+}
@@ -0,0 +1,93 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.observability.SlidingWindowCounter;
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * lock-free sliding window 카운터 검증.
+ * - 창을 벗어난 버킷은 합계에서 빠진다
+ * - 링을 한 바퀴 돈 버킷은 이전 값 없이 다시 쓰인다
+ * - 다중 스레드 동시 기록에서 합계가 정확하다
+ */
+class SlidingWindowCounterTest {
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000L);
+
+    @Test
+    void bucketsOutsideWindow_areExcluded() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(300, now::get);
+
+        counter.add(3);
+        now.addAndGet(100);
+        counter.add(2);
+        assertThat(counter.sum()).isEqualTo(5);
+        assertThat(counter.sum(60)).isEqualTo(2);
+
+        now.addAndGet(200);     // 첫 기록은 300초 전 → 창 밖
+        assertThat(counter.sum()).isEqualTo(2);
+
+        now.addAndGet(100);
+        assertThat(counter.sum()).isZero();
+    }
+
+    @Test
+    void wrappedBucket_isResetBeforeReuse() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, now::get);
+
+        counter.add(7);
+        now.addAndGet(10);      // 같은 인덱스, 다른 초
+        counter.increment();
+
+        assertThat(counter.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentIncrements_areAllCounted() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(300, now::get);
+        int threads = 16;
+        int perThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    counter.increment();
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(counter.sum()).isEqualTo((long) threads * perThread);
+    }
+
+    @Test
+    void metrics_breakDownCallsByTrId() {
+        StockBotMetrics metrics = StockBotMetrics.noop();
+
+        metrics.recordApiCall("FHKST01010100", 5_000_000L);
+        metrics.recordApiCall("FHKST01010100", 7_000_000L);
+        metrics.recordApiCall("TTTC0802U", 30_000_000L);
+
+        assertThat(metrics.apiCallsLast5min()).isEqualTo(3);
+        assertThat(metrics.apiCallsLast5minByTrId())
+            .containsEntry("FHKST01010100", 2L)
+            .containsEntry("TTTC0802U", 1L);
+    }
+}
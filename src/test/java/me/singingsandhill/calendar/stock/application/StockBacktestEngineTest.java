@@ -0,0 +1,129 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.backtest.BacktestCandleCsv;
+import me.singingsandhill.calendar.stock.application.backtest.BacktestResult;
+import me.singingsandhill.calendar.stock.application.backtest.StockBacktestEngine;
+import me.singingsandhill.calendar.stock.domain.candle.CandleInterval;
+import me.singingsandhill.calendar.stock.domain.candle.StockCandle;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 백테스트 엔진 회귀 테스트 (합성 분봉).
+ *
+ * 기대:
+ *  - 100 종목 오전장 재생이 수 초 안에 끝난다 (가상 시계, sleep 없음).
+ *  - 갭 → 고점 → 눌림목 → 반등 경로에서 실제 서비스 체인이 포지션을 연다.
+ *  - 시간 청산 후 전 포지션 종료, 실현 손익 = 예수금 증감 (수수료/매도세 반영).
+ *  - 미래 분봉이 보이지 않는다 (스크리닝 시점 현재가 = 직전 마감 봉 종가).
+ */
+class StockBacktestEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+    private static final BigDecimal PREV_CLOSE = new BigDecimal("10000");
+    private static final BigDecimal INITIAL_CASH = new BigDecimal("100000000");
+
+    @Test
+    void replaysHundredSymbolMorning_opensPositionsAndSettlesWithFees() {
+        List<StockCandle> candles = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String code = String.format("%06d", i + 1);
+            // 갭 2.0% ~ 4.97% — 종목마다 점수가 달라지도록
+            BigDecimal gap = new BigDecimal("0.02").add(BigDecimal.valueOf(i * 3, 4));
+            candles.addAll(gapPullbackDay(code, gap));
+        }
+
+        StockProperties props = new StockProperties();
+        props.getBot().setMode(StockProperties.Bot.Mode.BACKTEST);
+
+        BacktestResult result = new StockBacktestEngine(props).run(TODAY, candles, INITIAL_CASH);
+
+        assertThat(result.universeSize()).isEqualTo(100);
+        assertThat(result.watchlistSize()).isPositive();
+        assertThat(result.positions()).isNotEmpty();
+        assertThat(result.positions()).hasSizeLessThanOrEqualTo(props.getBot().getMaxPositions());
+        assertThat(result.positions()).allMatch(StockPosition::isClosed);
+        // 진입/청산 시각은 가상 시계 기준
+        assertThat(result.positions()).allSatisfy(p -> {
+            assertThat(p.getEnteredAt().toLocalDate()).isEqualTo(TODAY);
+            assertThat(p.getClosedAt()).isAfterOrEqualTo(p.getEnteredAt());
+        });
+        assertThat(result.acceptedEntryAttempts()).isGreaterThanOrEqualTo(result.positions().size());
+
+        assertThat(result.totalFees()).isPositive();
+        assertThat(result.endingCash().subtract(result.initialCash()))
+            .isEqualByComparingTo(result.realizedPnl());
+
+        assertThat(result.elapsedMs()).isLessThan(10_000L);
+    }
+
+    @Test
+    void csvFixture_roundTripsCandles() throws Exception {
+        String csv = """
+            stock_code,candle_date_time,interval,open,high,low,close,volume,trade_value
+            # comment
+            005930,2026-02-27T00:00:00,DAILY,70000,71000,69500,70500,1000000,
+            005930,2026-03-02T09:00:00,MINUTE_1,72000,72300,71900,72200,12000,866400000
+            """;
+
+        List<StockCandle> candles = BacktestCandleCsv.read(new StringReader(csv));
+
+        assertThat(candles).hasSize(2);
+        assertThat(candles.get(0).getInterval()).isEqualTo(CandleInterval.DAILY);
+        assertThat(candles.get(0).getTradeValue()).isNull();
+        assertThat(candles.get(1).getClosePrice()).isEqualByComparingTo("72200");
+        assertThat(candles.get(1).getVolume()).isEqualTo(12000L);
+    }
+
+    /**
+     * 09:00 시가 = 전일 종가 × (1 + gap), 09:19 까지 완만한 상승(+1.0%),
+     * 09:20 고점(+1.6%), 09:21~09:24 눌림(-2.0%), 09:25~ 반등 후 상승, 이후 보합.
+     */
+    private static List<StockCandle> gapPullbackDay(String code, BigDecimal gap) {
+        List<StockCandle> bars = new ArrayList<>();
+        bars.add(StockCandle.of(code, TODAY.minusDays(3).atStartOfDay(), CandleInterval.DAILY,
+            PREV_CLOSE, PREV_CLOSE, PREV_CLOSE, PREV_CLOSE, 1_000_000L, null));
+
+        BigDecimal open = PREV_CLOSE.multiply(BigDecimal.ONE.add(gap));
+        BigDecimal high = open.multiply(new BigDecimal("1.016"));
+
+        List<BigDecimal> closes = new ArrayList<>();
+        for (int k = 1; k <= 20; k++) {
+            closes.add(open.multiply(BigDecimal.ONE.add(BigDecimal.valueOf(5L * k, 4))));   // 09:00~09:19
+        }
+        closes.add(high);                                                                   // 09:20
+        for (String r : List.of("0.990", "0.982", "0.980", "0.980")) {                     // 09:21~09:24
+            closes.add(high.multiply(new BigDecimal(r)));
+        }
+        for (int k = 1; k <= 20; k++) {                                                     // 09:25~09:44
+            closes.add(high.multiply(new BigDecimal("0.983").add(BigDecimal.valueOf(k, 3))));
+        }
+        while (closes.size() < 150) {                                                       // ~11:29
+            closes.add(closes.get(closes.size() - 1));
+        }
+
+        LocalDateTime t = TODAY.atTime(LocalTime.of(9, 0));
+        BigDecimal prev = open;
+        for (BigDecimal rawClose : closes) {
+            BigDecimal close = rawClose.setScale(0, RoundingMode.HALF_UP);
+            long volume = close.compareTo(prev) >= 0 ? 2_000L : 1_000L;
+            bars.add(StockCandle.of(code, t, CandleInterval.MINUTE_1,
+                prev, prev.max(close), prev.min(close), close, volume, null));
+            prev = close;
+            t = t.plusMinutes(1);
+        }
+        return bars;
+    }
+}
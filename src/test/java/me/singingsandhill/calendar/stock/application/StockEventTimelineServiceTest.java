@@ -0,0 +1,184 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.observability.TradeEvent;
+import me.singingsandhill.calendar.stock.application.observability.TradeEventStore;
+import me.singingsandhill.calendar.stock.application.service.StockEventTimelineService;
+import me.singingsandhill.calendar.stock.application.service.StockEventTimelineService.TimelineEvent;
+import me.singingsandhill.calendar.stock.domain.position.StockCloseReason;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionStatus;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignal;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignalRepository;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignalType;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 이벤트 타임라인 검증.
+ * - 소스별 최신 limit 건만 요청하고 heap merge 로 시간 역순 상위 limit 건을 낸다
+ * - 커서는 소스별 keyset 경계로 풀린다 (같은 시각이면 소스 순서로 이어감)
+ * - 이벤트 세그먼트 페이지를 이어 받으면 중복/누락 없이 전체가 나온다 (시계가 뒤로 가도)
+ */
+class StockEventTimelineServiceTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDateTime T0920 = TODAY.atTime(9, 20);
+
+    @TempDir
+    Path dir;
+
+    private final StockPositionRepository positionRepository = mock(StockPositionRepository.class);
+    private final StockSignalRepository signalRepository = mock(StockSignalRepository.class);
+    private TradeEventStore eventStore;
+
+    @AfterEach
+    void tearDown() {
+        if (eventStore != null) {
+            eventStore.stop();
+        }
+    }
+
+    private TradeEventStore newStore() {
+        StockProperties props = new StockProperties();
+        props.getEventStore().setDir(dir.toString());
+        TradeEventStore store = new TradeEventStore(props);
+        store.start();
+        return store;
+    }
+
+    private static StockPosition position(long id, LocalDateTime enteredAt, LocalDateTime closedAt) {
+        return StockPosition.reconstitute(id, null, "00593" + id, TODAY,
+            closedAt != null ? StockPositionStatus.CLOSED : StockPositionStatus.OPEN,
+            new BigDecimal("70000"), 10, new BigDecimal("700000"),
+            enteredAt, closedAt != null ? 0 : 10, closedAt != null ? new BigDecimal("71000") : null,
+            false, false, false, null, null, null, null, false,
+            closedAt != null ? new BigDecimal("10000") : null, null,
+            closedAt != null ? StockCloseReason.TP1 : null, closedAt, null, null);
+    }
+
+    private static StockSignal signal(long id, LocalDateTime time) {
+        StockSignal signal = mock(StockSignal.class);
+        when(signal.getId()).thenReturn(id);
+        when(signal.getSignalTime()).thenReturn(time);
+        when(signal.getSignalType()).thenReturn(StockSignalType.HIGH_FORMED);
+        when(signal.getStockCode()).thenReturn("000660");
+        return signal;
+    }
+
+    @Test
+    void tables_areMergedNewestFirst_withLimitPushedDown() {
+        eventStore = newStore();
+        StockPosition p1 = position(1, T0920, T0920.plusMinutes(5));
+        StockPosition p2 = position(2, T0920.plusMinutes(2), null);
+        when(positionRepository.findEnteredBefore(eq(TODAY), any(), anyLong(), eq(3)))
+            .thenReturn(List.of(p2, p1));
+        when(positionRepository.findClosedBefore(eq(TODAY), any(), anyLong(), eq(3)))
+            .thenReturn(List.of(p1));
+        StockSignal s1 = signal(7, T0920.plusMinutes(3));
+        when(signalRepository.findByTypesBefore(anyCollection(), any(), any(), anyLong(), eq(3)))
+            .thenReturn(List.of(s1));
+        StockEventTimelineService service =
+            new StockEventTimelineService(positionRepository, signalRepository, eventStore);
+
+        List<TimelineEvent> page = service.timeline(TODAY, null, 3);
+
+        assertThat(page).extracting(TimelineEvent::kind)
+            .containsExactly("TP1", "SIGNAL_HIGH_FORMED", "ENTRY");
+        assertThat(page).extracting(TimelineEvent::time)
+            .containsExactly(T0920.plusMinutes(5), T0920.plusMinutes(3), T0920.plusMinutes(2));
+        verify(positionRepository).findEnteredBefore(TODAY, TODAY.plusDays(1).atStartOfDay(), Long.MAX_VALUE, 3);
+    }
+
+    @Test
+    void cursor_isTranslatedToPerSourceKeysetBounds() {
+        eventStore = newStore();
+        StockEventTimelineService service =
+            new StockEventTimelineService(positionRepository, signalRepository, eventStore);
+        String cursor = T0920 + "_1_42";     // 청산 소스, id 42
+
+        service.timeline(TODAY, cursor, 5);
+
+        verify(positionRepository).findEnteredBefore(TODAY, T0920, Long.MAX_VALUE, 5);   // 같은 시각 진입은 아직 남음
+        verify(positionRepository).findClosedBefore(TODAY, T0920, 42L, 5);
+        verify(signalRepository).findByTypesBefore(anyCollection(), eq(TODAY.atStartOfDay()), eq(T0920),
+            eq(Long.MIN_VALUE), eq(5));                                                    // 같은 시각 시그널은 이미 지남
+    }
+
+    @Test
+    void eventStorePages_coverAllEventsWithoutDuplicates() {
+        eventStore = newStore();
+        long base = T0920.atZone(KST).toInstant().toEpochMilli();
+        for (int i = 0; i < 7; i++) {
+            long millis = base + (i / 2) * 1_000L;      // 두 건씩 같은 ms
+            eventStore.accept(new TradeEvent(millis, "POSITION_OPENED", "INFO", "TRADING", TODAY.toString(),
+                "00000" + i, null, Map.of("stockCode", "00000" + i, "entryPrice", "10000", "quantity", "1")));
+            eventStore.accept(new TradeEvent(millis, "ENTRY_ATTEMPT", "INFO", "TRADING", TODAY.toString(),
+                "00000" + i, null, Map.of("stockCode", "00000" + i)));
+        }
+        eventStore.stop();
+        StockEventTimelineService service =
+            new StockEventTimelineService(positionRepository, signalRepository, eventStore);
+
+        List<String> codes = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < 10; page++) {
+            List<TimelineEvent> events = service.timeline(TODAY, cursor, 3);
+            if (events.isEmpty()) {
+                break;
+            }
+            events.forEach(e -> codes.add(e.stockCode()));
+            cursor = events.get(events.size() - 1).cursor();
+        }
+
+        assertThat(codes).containsExactly("000006", "000005", "000004", "000003", "000002", "000001", "000000");
+    }
+
+    @Test
+    void eventStorePages_followIndexTime_whenClockStepsBack() {
+        eventStore = newStore();
+        long base = T0920.atZone(KST).toInstant().toEpochMilli();
+        long[] millis = {base, base + 5_000, base + 1_000, base + 2_000, base + 6_000};   // 2, 3번째는 시계가 뒤로 감
+        for (int i = 0; i < millis.length; i++) {
+            eventStore.accept(new TradeEvent(millis[i], "POSITION_OPENED", "INFO", "TRADING", TODAY.toString(),
+                "00000" + i, null, Map.of("stockCode", "00000" + i, "entryPrice", "10000", "quantity", "1")));
+        }
+        eventStore.stop();
+        StockEventTimelineService service =
+            new StockEventTimelineService(positionRepository, signalRepository, eventStore);
+
+        List<String> codes = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < 10; page++) {
+            List<TimelineEvent> events = service.timeline(TODAY, cursor, 2);
+            if (events.isEmpty()) {
+                break;
+            }
+            events.forEach(e -> codes.add(e.stockCode()));
+            cursor = events.get(events.size() - 1).cursor();
+        }
+
+        assertThat(codes).containsExactly("000004", "000003", "000002", "000001", "000000");
+    }
+}
@@ -0,0 +1,182 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.backtest.BacktestClock;
+import me.singingsandhill.calendar.stock.application.service.StockPerformanceService;
+import me.singingsandhill.calendar.stock.application.service.StockPerformanceService.PerformanceSummary;
+import me.singingsandhill.calendar.stock.domain.performance.StockDailyPerformance;
+import me.singingsandhill.calendar.stock.domain.performance.StockDailyPerformanceRepository;
+import me.singingsandhill.calendar.stock.domain.position.StockCloseReason;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionStatus;
+import me.singingsandhill.calendar.stock.domain.trade.StockTrade;
+import me.singingsandhill.calendar.stock.domain.trade.StockTradeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 거래일 성과 롤업 검증.
+ * - 청산 포지션을 (청산 사유, 진입 시) 단위로 집계하고 수수료를 붙인다
+ * - 조회는 롤업 행만 합산하고, 아직 롤업 안 된 오늘만 즉석 집계한다
+ * - 백필은 롤업 없는 날만, 재계산은 기간 전체를 다시 쓴다
+ */
+class StockPerformanceServiceTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 4);
+    private static final LocalDate D1 = LocalDate.of(2026, 3, 2);
+    private static final LocalDate D2 = LocalDate.of(2026, 3, 3);
+
+    private final StockPositionRepository positionRepository = mock(StockPositionRepository.class);
+    private final StockTradeRepository tradeRepository = mock(StockTradeRepository.class);
+    private final InMemoryPerformance performanceRepository = new InMemoryPerformance();
+    private final BacktestClock clock = new BacktestClock(TODAY.atTime(12, 0), KST);
+    private final StockPerformanceService service =
+        new StockPerformanceService(positionRepository, tradeRepository, performanceRepository, clock);
+
+    private static StockPosition closed(long id, LocalDate date, int entryHour, String pnl, StockCloseReason reason) {
+        LocalDateTime entered = date.atTime(entryHour, 10);
+        return StockPosition.reconstitute(id, null, "00000" + id, date, StockPositionStatus.CLOSED,
+            new BigDecimal("10000"), 10, new BigDecimal("100000"), entered, 0, new BigDecimal("10100"),
+            false, false, false, null, null, null, null, false,
+            new BigDecimal(pnl), null, reason, entered.plusMinutes(5), null, null);
+    }
+
+    private static StockTrade sell(long positionId, String fee) {
+        StockTrade trade = mock(StockTrade.class);
+        when(trade.getPositionId()).thenReturn(positionId);
+        when(trade.getFee()).thenReturn(new BigDecimal(fee));
+        return trade;
+    }
+
+    @Test
+    void rollup_groupsByReasonAndEntryHour_withFees() {
+        when(positionRepository.findByTradingDate(D1)).thenReturn(List.of(
+            closed(1, D1, 9, "3000", StockCloseReason.TP1),
+            closed(2, D1, 9, "5000", StockCloseReason.TP1),
+            closed(3, D1, 10, "-2000", StockCloseReason.STOP_LOSS)));
+        List<StockTrade> sells = List.of(sell(1, "15"), sell(3, "12"));
+        when(tradeRepository.findByOrderedAtBetween(D1.atStartOfDay(), D2.atStartOfDay())).thenReturn(sells);
+
+        List<StockDailyPerformance> rows = service.rollup(D1);
+
+        assertThat(rows).hasSize(2);
+        StockDailyPerformance tp1 = rows.stream().filter(r -> r.getCloseReason().equals("TP1")).findFirst().orElseThrow();
+        assertThat(tp1.getEntryHour()).isEqualTo(9);
+        assertThat(tp1.getClosedCount()).isEqualTo(2);
+        assertThat(tp1.getWinCount()).isEqualTo(2);
+        assertThat(tp1.getRealizedPnl()).isEqualByComparingTo("8000");
+        assertThat(tp1.getBestPnl()).isEqualByComparingTo("5000");
+        assertThat(tp1.getFees()).isEqualByComparingTo("15");
+        assertThat(tp1.getHoldingSeconds()).isEqualTo(600);
+        assertThat(performanceRepository.rows.get(D1)).hasSize(2);
+    }
+
+    @Test
+    void hasClosedPositions_followsClosedPositionsOfTheDay() {
+        when(positionRepository.findClosedPositions(D1)).thenReturn(List.of(
+            closed(1, D1, 9, "3000", StockCloseReason.TP1)));
+        when(positionRepository.findClosedPositions(D2)).thenReturn(List.of());
+
+        assertThat(service.hasClosedPositions(D1)).isTrue();
+        assertThat(service.hasClosedPositions(D2)).isFalse();
+    }
+
+    @Test
+    void dayWithoutCloses_isStillMarkedRolledUp() {
+        when(positionRepository.findByTradingDate(D1)).thenReturn(List.of());
+
+        service.rollup(D1);
+
+        assertThat(performanceRepository.findRolledUpDates(D1, D1)).containsExactly(D1);
+        assertThat(service.summarize(D1, D1, null).closedCount()).isZero();
+    }
+
+    @Test
+    void summarize_readsRollups_andAggregatesUnrolledTodayLive() {
+        when(positionRepository.findByTradingDate(D1)).thenReturn(List.of(
+            closed(1, D1, 9, "3000", StockCloseReason.TP1),
+            closed(2, D1, 11, "-1000", StockCloseReason.STOP_LOSS)));
+        service.rollup(D1);
+        when(positionRepository.findByTradingDate(TODAY)).thenReturn(List.of(
+            closed(5, TODAY, 10, "4000", StockCloseReason.TP2)));
+
+        PerformanceSummary summary = service.summarize(D1, TODAY, null);
+
+        assertThat(summary.closedCount()).isEqualTo(3);
+        assertThat(summary.winCount()).isEqualTo(2);
+        assertThat(summary.lossCount()).isEqualTo(1);
+        assertThat(summary.totalPnl()).isEqualByComparingTo("6000");
+        assertThat(summary.winRate()).isEqualByComparingTo("66.7");
+        assertThat(summary.worstPnl()).isEqualByComparingTo("-1000");
+        assertThat(summary.reasonCounts()).containsExactly(
+            Map.entry("TP1", 1L), Map.entry("TP2", 1L), Map.entry("STOP_LOSS", 1L));
+        assertThat(summary.hourBuckets().get("09-10")).containsExactly(1, 0);
+        assertThat(summary.hourBuckets().get("11-12")).containsExactly(0, 1);
+        assertThat(summary.days()).extracting(StockPerformanceService.DailyPerformance::tradingDate)
+            .containsExactly(D1, TODAY);
+        assertThat(performanceRepository.rows).doesNotContainKey(TODAY);     // 오늘은 저장하지 않음
+
+        PerformanceSummary stopLossOnly = service.summarize(D1, TODAY, "STOP_LOSS");
+        assertThat(stopLossOnly.closedCount()).isEqualTo(1);
+        assertThat(stopLossOnly.totalPnl()).isEqualByComparingTo("-1000");
+    }
+
+    @Test
+    void backfill_fillsOnlyMissingDays_recomputeRewritesRange() {
+        when(positionRepository.findTradingDates(any(), any())).thenReturn(List.of(D1, D2));
+        when(positionRepository.findByTradingDate(any())).thenReturn(List.of());
+        performanceRepository.replaceDay(D1, List.of(
+            StockDailyPerformance.empty(D1, StockDailyPerformance.UNKNOWN_REASON, 0, D1.atTime(16, 0))));
+
+        assertThat(service.backfill()).isEqualTo(1);
+        assertThat(performanceRepository.replaced).containsExactly(D1, D2);
+        assertThat(service.backfill()).isZero();
+
+        assertThat(service.recompute(D1, D2, 2)).isEqualTo(2);
+        verify(positionRepository, never()).findByTradingDate(TODAY);
+    }
+
+    private static final class InMemoryPerformance implements StockDailyPerformanceRepository {
+        final Map<LocalDate, List<StockDailyPerformance>> rows = new ConcurrentHashMap<>();
+        final List<LocalDate> replaced = new ArrayList<>();
+
+        @Override
+        public synchronized void replaceDay(LocalDate tradingDate, List<StockDailyPerformance> dayRows) {
+            rows.put(tradingDate, List.copyOf(dayRows));
+            replaced.add(tradingDate);
+        }
+
+        @Override
+        public List<StockDailyPerformance> findByTradingDateBetween(LocalDate from, LocalDate to) {
+            return rows.entrySet().stream()
+                .filter(e -> !e.getKey().isBefore(from) && !e.getKey().isAfter(to))
+                .sorted(Map.Entry.comparingByKey())
+                .flatMap(e -> e.getValue().stream())
+                .toList();
+        }
+
+        @Override
+        public List<LocalDate> findRolledUpDates(LocalDate from, LocalDate to) {
+            return rows.keySet().stream()
+                .filter(d -> !d.isBefore(from) && !d.isAfter(to))
+                .sorted()
+                .toList();
+        }
+    }
+}
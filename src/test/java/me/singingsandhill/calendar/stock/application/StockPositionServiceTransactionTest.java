@@ -0,0 +1,199 @@
+package me.singingsandhill.calendar.stock.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.stock.application.concurrency.StockCodeLocks;
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import me.singingsandhill.calendar.stock.application.backtest.BacktestClock;
+import me.singingsandhill.calendar.stock.application.service.StockPositionService;
+import me.singingsandhill.calendar.stock.application.service.StockStateRegistry;
+import me.singingsandhill.calendar.stock.application.service.StockWriteTransactions;
+import me.singingsandhill.calendar.stock.domain.position.StockCloseReason;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignal;
+import me.singingsandhill.calendar.stock.domain.signal.StockSignalRepository;
+import me.singingsandhill.calendar.stock.domain.stock.Stock;
+import me.singingsandhill.calendar.stock.domain.stock.StockRepository;
+import me.singingsandhill.calendar.stock.domain.stock.StockState;
+import me.singingsandhill.calendar.stock.domain.trade.StockTrade;
+import me.singingsandhill.calendar.stock.domain.trade.StockTradeRepository;
+import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisOrderResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 포지션 서비스 트랜잭션 경계 검증.
+ * - KIS 시세/주문 HTTP 는 트랜잭션 밖에서 호출된다
+ * - 체결 결과 저장은 짧은 트랜잭션 1개로 묶이고 점유 시간이 stock.db.hold 에 기록된다
+ * - 전량 청산은 상태 머신 저장소의 Stock 을 청산 처리하고 flush 로 기록한다 (DB 사본을 따로 쓰지 않는다)
+ * - 락 밖에서 읽은 포지션으로 청산해도, 그사이 다른 청산이 판 수량은 다시 팔지 않는다
+ */
+class StockPositionServiceTransactionTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+    private final List<String> calls = new ArrayList<>();
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final KoreaInvestmentApiClient kisApiClient = mock(KoreaInvestmentApiClient.class);
+    private final StockPositionRepository positionRepository = mock(StockPositionRepository.class);
+    private final StockTradeRepository tradeRepository = mock(StockTradeRepository.class);
+    private final StockRepository stockRepository = mock(StockRepository.class);
+    private final StockSignalRepository signalRepository = mock(StockSignalRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StockCodeLocks locks = new StockCodeLocks();
+    private final BacktestClock clock = new BacktestClock(TODAY.atTime(9, 30), ZoneId.of("Asia/Seoul"));
+    private final StockStateRegistry stateRegistry = new StockStateRegistry(stockRepository, new StockProperties(),
+        locks, clock);
+    private final StockPositionService service;
+
+    StockPositionServiceTransactionTest() {
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> {
+            calls.add("begin");
+            inTransaction.set(true);
+            return null;
+        });
+        doAnswer(inv -> {
+            calls.add("commit");
+            inTransaction.set(false);
+            return null;
+        }).when(transactionManager).commit(any());
+
+        KisQuoteResponse quote = quote("10000");
+        when(kisApiClient.getQuote(anyString())).thenAnswer(inv -> http("quote", quote));
+        when(kisApiClient.getAvailableCash()).thenAnswer(inv -> http("cash", new BigDecimal("10000000")));
+        when(kisApiClient.getBuyableQuantity(anyString(), any())).thenAnswer(inv -> http("buyable", 1000));
+        KisOrderResponse filled = KisOrderResponse.simulated("ORD-1");
+        when(kisApiClient.buyMarket(anyString(), anyInt())).thenAnswer(inv -> http("buy", filled));
+        when(kisApiClient.sellMarket(anyString(), anyInt())).thenAnswer(inv -> http("sell", filled));
+
+        when(positionRepository.save(any())).thenAnswer(inv -> write("position", inv.getArgument(0)));
+        when(tradeRepository.save(any())).thenAnswer(inv -> write("trade", inv.getArgument(0)));
+        when(stockRepository.save(any())).thenAnswer(inv -> write("stock", inv.getArgument(0)));
+        when(signalRepository.save(any())).thenAnswer(inv -> write("signal", inv.getArgument(0)));
+
+        service = new StockPositionService(positionRepository, tradeRepository, stockRepository, signalRepository,
+            kisApiClient, new StockProperties(), locks, stateRegistry, clock,
+            new StockWriteTransactions(transactionManager, new StockBotMetrics(registry)));
+    }
+
+    private static KisQuoteResponse quote(String price) {
+        BigDecimal p = new BigDecimal(price);
+        return new KisQuoteResponse("005930", p, p, p, p, p, null, null, 1_000L, null,
+            null, null, null, null, null);
+    }
+
+    private <T> T http(String name, T result) {
+        assertThat(inTransaction).as("KIS %s inside transaction", name).isFalse();
+        calls.add(name);
+        return result;
+    }
+
+    private <T> T write(String name, T entity) {
+        assertThat(inTransaction).as("%s saved outside transaction", name).isTrue();
+        calls.add("save:" + name);
+        return entity;
+    }
+
+    @Test
+    void openPosition_ordersOutsideTransaction_thenSavesInOne() {
+        Stock stock = new Stock("005930", "삼성전자", TODAY);
+
+        StockPosition position = service.openPosition(stock);
+
+        assertThat(position).isNotNull();
+        assertThat(calls).containsExactly(
+            "quote", "cash", "buyable", "buy",
+            "begin", "save:position", "save:trade", "save:stock", "commit");
+        verify(transactionManager, times(1)).getTransaction(any());
+        assertThat(registry.get("stock.db.hold").tag("phase", "open_position").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void partialExit_sellsOutsideTransaction_thenSavesTradePositionSignalTogether() {
+        StockPosition position = StockPosition.open("005930", TODAY, new BigDecimal("10000"), 10,
+            new BigDecimal("9850"), new BigDecimal("10100"), TODAY.atTime(9, 30));
+
+        service.executePartialExit(position, 3, new BigDecimal("10150"), StockCloseReason.TP1);
+
+        assertThat(calls).containsExactly(
+            "sell", "begin", "save:trade", "save:position", "save:signal", "commit");
+        assertThat(position.getRemainingQuantity()).isEqualTo(7);
+        verify(signalRepository).save(any(StockSignal.class));
+        verify(tradeRepository).save(any(StockTrade.class));
+    }
+
+    @Test
+    void closePosition_exitsTrackedStock_andFlushWritesIt() {
+        Stock tracked = new Stock("005930", "삼성전자", TODAY);
+        tracked.setId(7L);
+        tracked.markEntered(new BigDecimal("10000"));
+        when(stockRepository.findByTradingDate(TODAY)).thenReturn(List.of(tracked));
+        stateRegistry.reload(TODAY);
+        StockPosition position = StockPosition.open("005930", TODAY, new BigDecimal("10000"), 10,
+            new BigDecimal("9850"), new BigDecimal("10100"), TODAY.atTime(9, 30));
+        position.setStockId(7L);
+        clock.set(TODAY.atTime(9, 41));
+
+        service.closePosition(position, new BigDecimal("9800"), StockCloseReason.STOP_LOSS);
+
+        assertThat(position.getClosedAt()).isEqualTo(TODAY.atTime(9, 41));
+        assertThat(tracked.getState()).isEqualTo(StockState.EXITED);
+        verify(stockRepository, never()).findById(anyLong());
+
+        service.flushStockStates();
+        verify(stockRepository).saveAll(argThat(saved -> saved.size() == 1
+            && saved.get(0).getId().equals(7L) && saved.get(0).getState() == StockState.EXITED));
+    }
+
+    @Test
+    void closePosition_withStaleRead_sellsOnlyWhatConcurrentExitLeft() {
+        StockPosition stored = StockPosition.open("005930", TODAY, new BigDecimal("10000"), 10,
+            new BigDecimal("9850"), new BigDecimal("10100"), TODAY.atTime(9, 30));
+        stored.setId(5L);
+        // 일괄 청산이 락 밖에서 읽은 사본 (같은 행, 다른 객체)
+        StockPosition stale = StockPosition.open("005930", TODAY, new BigDecimal("10000"), 10,
+            new BigDecimal("9850"), new BigDecimal("10100"), TODAY.atTime(9, 30));
+        stale.setId(5L);
+        when(positionRepository.findById(5L)).thenAnswer(inv -> Optional.of(stored));
+
+        // 읽기와 청산 사이에 마감을 넘긴 리스크 체크가 TP1 으로 3주를 먼저 판다
+        service.executePartialExit(stored, 3, new BigDecimal("10150"), StockCloseReason.TP1);
+        service.closePosition(stale, new BigDecimal("10100"), StockCloseReason.TIME_EXIT);
+
+        verify(kisApiClient).sellMarket("005930", 3);
+        verify(kisApiClient).sellMarket("005930", 7);
+        verify(kisApiClient, never()).sellMarket("005930", 10);
+        assertThat(stored.isClosed()).isTrue();
+        assertThat(stale.getRemainingQuantity()).isEqualTo(10);
+
+        // 이미 닫힌 포지션은 긴급 청산이 다시 팔지 않는다
+        service.closePosition(stale, new BigDecimal("10100"), StockCloseReason.EMERGENCY);
+        verify(kisApiClient, times(2)).sellMarket(anyString(), anyInt());
+    }
+}
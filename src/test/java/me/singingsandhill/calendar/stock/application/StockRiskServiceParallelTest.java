@@ -0,0 +1,200 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.concurrency.StockCodeLocks;
+import me.singingsandhill.calendar.stock.application.service.StockPositionService;
+import me.singingsandhill.calendar.stock.application.service.StockRiskService;
+import me.singingsandhill.calendar.stock.domain.position.StockCloseReason;
+import me.singingsandhill.calendar.stock.domain.position.StockPosition;
+import me.singingsandhill.calendar.stock.domain.position.StockPositionRepository;
+import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 포지션별 동시 리스크 체크 검증.
+ * - 한 종목 청산 주문이 느려도 다른 종목 손절은 기다리지 않는다
+ * - 손절 대상이 먼저 발송된다
+ * - 종목 락이 틱 deadline 을 넘겨 잡혀 있으면 그 종목은 이번 틱에 건너뛴다
+ * - 틱 도중 이전 청산이 락을 놓아도 락 아래에서 다시 읽어 이중 매도하지 않는다
+ */
+class StockRiskServiceParallelTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+    private static final Clock CLOCK = Clock.system(ZoneId.of("Asia/Seoul"));
+
+    private final StockPositionRepository positionRepository = mock(StockPositionRepository.class);
+    private final StockPositionService positionService = mock(StockPositionService.class);
+    private final KoreaInvestmentApiClient kisApiClient = mock(KoreaInvestmentApiClient.class);
+    private final StockCodeLocks locks = new StockCodeLocks();
+    private long nextId = 1;
+
+    /** 락 아래 재조회가 같은 객체를 돌려주도록 id 를 붙여 저장소에 등록한다. */
+    private StockPosition position(String code, String entry, String stopLoss) {
+        StockPosition position = StockPosition.open(
+            code, TODAY, new BigDecimal(entry), 10, new BigDecimal(stopLoss), new BigDecimal(entry),
+            TODAY.atTime(9, 30));
+        position.setId(nextId++);
+        when(positionRepository.findById(position.getId())).thenReturn(Optional.of(position));
+        return position;
+    }
+
+    private static KisQuoteResponse quote(String code, String price) {
+        BigDecimal p = new BigDecimal(price);
+        return new KisQuoteResponse(code, p, p, p, p, p, null, null, 1_000L, null,
+            null, null, null, null, null);
+    }
+
+    private StockProperties props(long deadlineMillis) {
+        StockProperties props = new StockProperties();
+        props.getRisk().setEvaluationDeadlineMillis(deadlineMillis);
+        return props;
+    }
+
+    @Test
+    void slowExitOnOneCode_doesNotDelayStopLossOnAnother() throws Exception {
+        StockPosition slow = position("000660", "100000", "98500");
+        StockPosition fast = position("005930", "70000", "68950");
+        when(positionRepository.findOpenPositions(TODAY)).thenReturn(List.of(slow, fast));
+        when(kisApiClient.getQuotes(anyCollection())).thenReturn(Map.of(
+            "000660", quote("000660", "98000"),
+            "005930", quote("005930", "68000")));
+
+        CountDownLatch fastClosed = new CountDownLatch(1);
+        AtomicBoolean fastClosedWhileSlowPending = new AtomicBoolean();
+        doAnswer(inv -> {
+            // 순차 실행이었다면 여기서 fast 손절을 기다리다 타임아웃
+            fastClosedWhileSlowPending.set(fastClosed.await(2, TimeUnit.SECONDS));
+            return null;
+        }).when(positionService).closePosition(eq(slow), any(), any());
+        doAnswer(inv -> {
+            fastClosed.countDown();
+            return null;
+        }).when(positionService).closePosition(eq(fast), any(), any());
+
+        StockRiskService service = new StockRiskService(
+            positionRepository, positionService, kisApiClient, props(3_000), locks, CLOCK);
+        service.checkAndExecuteRiskRules(TODAY);
+
+        verify(positionService).closePosition(eq(fast), any(), eq(StockCloseReason.STOP_LOSS));
+        verify(positionService).closePosition(eq(slow), any(), eq(StockCloseReason.STOP_LOSS));
+        assertThat(fastClosedWhileSlowPending).isTrue();
+    }
+
+    @Test
+    void stopLossIsDispatchedBeforeOtherPositions() {
+        StockPosition hold = position("000660", "100000", "98500");
+        StockPosition stop = position("005930", "70000", "68950");
+        when(positionRepository.findOpenPositions(TODAY)).thenReturn(List.of(hold, stop));
+        when(kisApiClient.getQuotes(anyCollection())).thenReturn(Map.of(
+            "000660", quote("000660", "100100"),
+            "005930", quote("005930", "68000")));
+
+        StockRiskService service = new StockRiskService(
+            positionRepository, positionService, kisApiClient, props(3_000), locks, CLOCK, Runnable::run);
+        service.checkAndExecuteRiskRules(TODAY);
+
+        InOrder order = inOrder(positionService, positionRepository);
+        order.verify(positionService).closePosition(eq(stop), any(), eq(StockCloseReason.STOP_LOSS));
+        order.verify(positionRepository, atLeastOnce()).save(hold);
+    }
+
+    @Test
+    void lockHeldPastDeadline_skipsThatCodeThisTick() throws Exception {
+        StockPosition stop = position("005930", "70000", "68950");
+        when(positionRepository.findOpenPositions(TODAY)).thenReturn(List.of(stop));
+        when(kisApiClient.getQuotes(anyCollection())).thenReturn(Map.of("005930", quote("005930", "68000")));
+
+        ReentrantLock lock = locks.get("005930");
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            lock.lock();
+            try {
+                held.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        held.await();
+
+        StockRiskService service = new StockRiskService(
+            positionRepository, positionService, kisApiClient, props(100), locks, CLOCK);
+        long start = System.nanoTime();
+        service.checkAndExecuteRiskRules(TODAY);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Thread.sleep(300); // 이번 틱 락 대기가 확실히 끝난 뒤 놓아준다
+        release.countDown();
+        holder.join();
+
+        assertThat(elapsedMs).isLessThan(1_000);
+        verify(positionService, never()).closePosition(any(), any(), any());
+    }
+
+    @Test
+    void exitReleasingLockMidTick_isSeenByRereadUnderLock() throws Exception {
+        StockPosition stale = position("005930", "70000", "68950");
+        StockPosition closed = position("005930", "70000", "68950");
+        closed.closeRemaining(new BigDecimal("68000"), StockCloseReason.STOP_LOSS, BigDecimal.ZERO, BigDecimal.ZERO,
+            TODAY.atTime(9, 31));
+        when(positionRepository.findById(stale.getId())).thenReturn(Optional.of(closed));
+        when(positionRepository.findOpenPositions(TODAY)).thenReturn(List.of(stale));
+
+        // 이전 틱 청산이 락을 쥔 채 틱이 포지션을 읽고, 시세 조회 도중 청산을 끝내며 락을 놓는다
+        ReentrantLock lock = locks.get("005930");
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread previousExit = Thread.ofVirtual().start(() -> {
+            lock.lock();
+            try {
+                held.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        held.await();
+        when(kisApiClient.getQuotes(anyCollection())).thenAnswer(inv -> {
+            release.countDown();
+            previousExit.join();
+            return Map.of("005930", quote("005930", "68000"));
+        });
+
+        StockRiskService service = new StockRiskService(
+            positionRepository, positionService, kisApiClient, props(3_000), locks, CLOCK, Runnable::run);
+        service.checkAndExecuteRiskRules(TODAY);
+
+        verify(positionService, never()).closePosition(any(), any(), any());
+    }
+}
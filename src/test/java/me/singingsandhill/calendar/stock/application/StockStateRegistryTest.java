@@ -0,0 +1,160 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.backtest.BacktestClock;
+import me.singingsandhill.calendar.stock.application.concurrency.StockCodeLocks;
+import me.singingsandhill.calendar.stock.application.service.StockStateRegistry;
+import me.singingsandhill.calendar.stock.domain.stock.Stock;
+import me.singingsandhill.calendar.stock.domain.stock.StockRepository;
+import me.singingsandhill.calendar.stock.domain.stock.StockState;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인메모리 상태 머신 저장소 검증.
+ * - 거래일 첫 조회 시 stock_monitoring 에서 적재 (재시작 복구)
+ * - 가격만 바뀐 종목은 체크포인트 간격마다 1회만 저장
+ * - 상태 전이는 다음 flush 에 반드시 저장
+ * - 동시 flush 는 사본을 뜬 순서대로 저장 (늦게 끝난 저장이 새 상태를 되돌리지 않음)
+ */
+class StockStateRegistryTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDateTime T0920 = TODAY.atTime(9, 20);
+
+    private final StockRepository stockRepository = mock(StockRepository.class);
+    private final BacktestClock clock = new BacktestClock(T0920, KST);
+
+    private Stock stock(String code, StockState state) {
+        Stock stock = new Stock(code, "종목" + code, TODAY);
+        stock.setId(1L);
+        stock.updateState(state);
+        return stock;
+    }
+
+    @Test
+    void loadsTradingDayLazily_andServesFromMemory() {
+        Stock watching = stock("005930", StockState.WATCHING);
+        Stock filtered = stock("000660", StockState.FILTERED_OUT);
+        when(stockRepository.findByTradingDate(TODAY)).thenReturn(List.of(watching, filtered));
+        StockStateRegistry registry = new StockStateRegistry(stockRepository, new StockProperties(), new StockCodeLocks(), clock);
+
+        assertThat(registry.findActive(TODAY)).containsExactly(watching);
+        assertThat(registry.find("000660", TODAY)).contains(filtered);
+        assertThat(registry.findByState(TODAY, StockState.ENTRY_READY)).isEmpty();
+
+        verify(stockRepository, times(1)).findByTradingDate(TODAY);
+    }
+
+    @Test
+    void priceOnlyChanges_areCheckpointedOncePerInterval() {
+        Stock watching = stock("005930", StockState.WATCHING);
+        when(stockRepository.findByTradingDate(TODAY)).thenReturn(List.of(watching));
+        StockStateRegistry registry = new StockStateRegistry(stockRepository, new StockProperties(), new StockCodeLocks(), clock);
+        registry.findActive(TODAY);
+
+        watching.updateCurrentPrice(new BigDecimal("71000"));
+        registry.markChanged(watching, false);
+        assertThat(registry.flush()).isEqualTo(1);          // 첫 관측은 체크포인트
+
+        for (int sec = 5; sec < 60; sec += 5) {
+            clock.set(T0920.plusSeconds(sec));
+            watching.updateCurrentPrice(new BigDecimal("71000").add(BigDecimal.valueOf(sec)));
+            registry.markChanged(watching, false);
+            assertThat(registry.flush()).isZero();
+        }
+
+        clock.set(T0920.plusSeconds(60));
+        registry.markChanged(watching, false);
+        assertThat(registry.flush()).isEqualTo(1);
+
+        verify(stockRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void transitions_areWrittenOnNextFlush_andRetriedAfterFailure() {
+        Stock watching = stock("005930", StockState.WATCHING);
+        when(stockRepository.findByTradingDate(TODAY)).thenReturn(List.of(watching));
+        StockStateRegistry registry = new StockStateRegistry(stockRepository, new StockProperties(), new StockCodeLocks(), clock);
+        registry.markChanged(watching, false);
+        registry.flush();
+
+        clock.set(T0920.plusSeconds(5));
+        watching.recordHighFormed(new BigDecimal("72000"), LocalDateTime.now(clock));
+        registry.markChanged(watching, true);
+
+        when(stockRepository.saveAll(anyList())).thenThrow(new RuntimeException("db down"));
+        assertThat(registry.flush()).isZero();
+
+        when(stockRepository.saveAll(anyList())).thenReturn(List.of(watching));
+        assertThat(registry.flush()).isEqualTo(1);
+        assertThat(registry.flush()).isZero();
+    }
+
+    @Test
+    void concurrentFlushes_commitInSnapshotOrder() throws Exception {
+        Stock watching = stock("005930", StockState.WATCHING);
+        when(stockRepository.findByTradingDate(TODAY)).thenReturn(List.of(watching));
+        StockStateRegistry registry = new StockStateRegistry(stockRepository, new StockProperties(), new StockCodeLocks(), clock);
+        registry.findActive(TODAY);
+
+        List<StockState> saved = new CopyOnWriteArrayList<>();
+        CountDownLatch firstSaving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(stockRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Stock> batch = inv.getArgument(0);
+            if (firstSaving.getCount() > 0) {
+                firstSaving.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            saved.add(batch.get(0).getState());
+            return batch;
+        });
+
+        registry.markChanged(watching, true);
+        Thread tick = Thread.ofVirtual().start(registry::flush);
+        assertThat(firstSaving.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 첫 저장이 끝나기 전에 전이가 일어나고 다른 스레드가 flush 한다
+        watching.recordHighFormed(new BigDecimal("72000"), LocalDateTime.now(clock));
+        registry.markChanged(watching, true);
+        Thread poll = Thread.ofVirtual().start(registry::flush);
+        Thread.sleep(100);
+        release.countDown();
+        tick.join(5_000);
+        poll.join(5_000);
+
+        assertThat(saved).containsExactly(StockState.WATCHING, StockState.HIGH_FORMED);
+    }
+
+    @Test
+    void newTradingDate_reloadsFromRepository() {
+        LocalDate tomorrow = TODAY.plusDays(1);
+        when(stockRepository.findByTradingDate(TODAY)).thenReturn(List.of(stock("005930", StockState.WATCHING)));
+        when(stockRepository.findByTradingDate(tomorrow)).thenReturn(List.of());
+        StockStateRegistry registry = new StockStateRegistry(stockRepository, new StockProperties(), new StockCodeLocks(), clock);
+
+        assertThat(registry.findActive(TODAY)).hasSize(1);
+        assertThat(registry.findActive(tomorrow)).isEmpty();
+
+        verify(stockRepository).findByTradingDate(tomorrow);
+        verify(stockRepository, never()).saveAll(anyList());
+    }
+}
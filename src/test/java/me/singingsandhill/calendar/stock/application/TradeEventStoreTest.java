@@ -0,0 +1,164 @@
+package me.singingsandhill.calendar.stock.application;
+
+import me.singingsandhill.calendar.stock.application.observability.TradeEvent;
+import me.singingsandhill.calendar.stock.application.observability.TradeEventStore;
+import me.singingsandhill.calendar.stock.application.observability.TradeEvents;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 거래 이벤트 저장소 검증.
+ * - TradeEvents 로 남긴 이벤트가 거래일 세그먼트에 쌓이고 종목/시각/이름으로 조회된다
+ * - 재시작 후 파일만으로 인덱스를 다시 만들고, 잘린 마지막 줄은 버린다
+ * - suppressSink 범위(백테스트)의 이벤트는 저장소로 넘어오지 않는다
+ * - 메모리 인덱스는 최근 indexed-days 만 들고, 내려놓은 날짜도 파일에서 다시 조회된다
+ */
+class TradeEventStoreTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+    private static final long T0920 = TODAY.atTime(9, 20).atZone(KST).toInstant().toEpochMilli();
+
+    @TempDir
+    Path dir;
+
+    private TradeEventStore store;
+
+    private TradeEventStore newStore() {
+        return newStore(new StockProperties());
+    }
+
+    private TradeEventStore newStore(StockProperties props) {
+        props.getEventStore().setDir(dir.toString());
+        TradeEventStore s = new TradeEventStore(props);
+        s.start();
+        return s;
+    }
+
+    private static TradeEvent event(long millis, String name, String stockCode) {
+        return new TradeEvent(millis, name, "INFO", "TRADING", TODAY.toString(), stockCode, null,
+            Map.of("stockCode", stockCode));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.stop();
+        }
+    }
+
+    @Test
+    void tradeEventsBuilder_reachesStoreViaSink() {
+        store = newStore();
+
+        TradeEvents.event("POSITION_OPENED")
+            .with("stockCode", "005930")
+            .with("entryPrice", "70000")
+            .log();
+        store.stop();
+
+        LocalDate today = LocalDate.now(KST);
+        List<TradeEvent> events = store.scan(today, "005930", null, null, null, 10, true);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).event()).isEqualTo("POSITION_OPENED");
+        assertThat(events.get(0).field("entryPrice")).isEqualTo("70000");
+    }
+
+    @Test
+    void suppressedScope_keepsEventsOutOfStore_includingChildThreads() throws Exception {
+        store = newStore();
+
+        try (TradeEvents.SinkScope ignored = TradeEvents.suppressSink()) {
+            TradeEvents.event("POSITION_OPENED").with("stockCode", "000660").log();
+            Thread.ofVirtual()
+                .start(() -> TradeEvents.event("POSITION_CLOSED").with("stockCode", "000660").log())
+                .join();
+        }
+        TradeEvents.event("STATE_CHANGED").with("stockCode", "000660").log();
+        store.stop();
+
+        assertThat(store.scan(LocalDate.now(KST), "000660", null, null, null, 10, false))
+            .extracting(TradeEvent::event)
+            .containsExactly("STATE_CHANGED");
+    }
+
+    @Test
+    void onlyRecentDaysStayIndexed_olderDaysAreRereadFromFile() {
+        StockProperties props = new StockProperties();
+        props.getEventStore().setIndexedDays(1);
+        store = newStore(props);
+        long day = 24L * 60 * 60 * 1000;
+        store.accept(event(T0920 - 2 * day, "STATE_CHANGED", "005930"));
+        store.accept(event(T0920 - day, "POSITION_OPENED", "005930"));
+        store.accept(event(T0920, "POSITION_CLOSED", "005930"));
+        store.stop();
+
+        assertThat(store.scan(TODAY.minusDays(2), "005930", null, null, null, 10, false))
+            .extracting(TradeEvent::event).containsExactly("STATE_CHANGED");
+        assertThat(store.scan(TODAY.minusDays(1), "005930", null, null, null, 10, false))
+            .extracting(TradeEvent::event).containsExactly("POSITION_OPENED");
+        assertThat(store.scan(TODAY, "005930", null, null, null, 10, false))
+            .extracting(TradeEvent::event).containsExactly("POSITION_CLOSED");
+    }
+
+    @Test
+    void scan_filtersByStockCodeTimeRangeAndName() {
+        store = newStore();
+        for (int i = 0; i < 10; i++) {
+            store.accept(event(T0920 + i * 1_000L, i % 2 == 0 ? "STATE_CHANGED" : "ENTRY_ATTEMPT",
+                i % 3 == 0 ? "005930" : "000660"));
+        }
+        store.stop();
+
+        List<TradeEvent> samsung = store.scan(TODAY, "005930", null, null, null, 10, false);
+        assertThat(samsung).extracting(TradeEvent::epochMillis)
+            .containsExactly(T0920, T0920 + 3_000, T0920 + 6_000, T0920 + 9_000);
+
+        List<TradeEvent> window = store.scan(TODAY, null, null,
+            Instant.ofEpochMilli(T0920 + 2_000), Instant.ofEpochMilli(T0920 + 5_000), 10, true);
+        assertThat(window).extracting(TradeEvent::epochMillis)
+            .containsExactly(T0920 + 4_000, T0920 + 3_000, T0920 + 2_000);
+
+        List<TradeEvent> latestStateChanges = store.scan(TODAY, null, Set.of("STATE_CHANGED"), null, null, 2, true);
+        assertThat(latestStateChanges).extracting(TradeEvent::epochMillis)
+            .containsExactly(T0920 + 8_000, T0920 + 6_000);
+
+        assertThat(store.scan(TODAY.minusDays(1), null, null, null, null, 10, true)).isEmpty();
+    }
+
+    @Test
+    void restart_rebuildsIndexFromSegment_andDropsTornTail() throws Exception {
+        store = newStore();
+        store.accept(event(T0920, "STATE_CHANGED", "005930"));
+        store.accept(event(T0920 + 1_000, "POSITION_OPENED", "005930"));
+        store.stop();
+
+        Path segment = dir.resolve("trade-events-" + TODAY + ".jsonl");
+        Files.writeString(segment, "{\"epochMillis\":", StandardOpenOption.APPEND);
+
+        store = newStore();
+        assertThat(store.scan(TODAY, "005930", null, null, null, 10, false)).hasSize(2);
+
+        store.accept(event(T0920 + 2_000, "POSITION_CLOSED", "005930"));
+        store.stop();
+
+        assertThat(store.scan(TODAY, "005930", null, null, null, 10, false))
+            .extracting(TradeEvent::event)
+            .containsExactly("STATE_CHANGED", "POSITION_OPENED", "POSITION_CLOSED");
+        assertThat(Files.readAllLines(segment)).hasSize(3);
+    }
+}
@@ -2,15 +2,24 @@ package me.singingsandhill.calendar.stock.application;
 
 import me.singingsandhill.calendar.stock.application.service.UniverseBuilder;
 import me.singingsandhill.calendar.stock.infrastructure.api.KoreaInvestmentApiClient;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisRankingQuery;
 import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatcher;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -21,6 +30,10 @@ import static org.mockito.Mockito.when;
  *  - 거래량순위가 비었거나(0건) API 가 실패하면 정적 fallback-codes 로 폴백 (무회귀).
  *  - 동일 코드는 중복 제거.
  *  - 캐싱: 같은 거래일에 두 번 호출하면 같은 Snapshot.
+ *  - 여러 순위 소스/페이지를 합산 점수순으로 합치고 pool-size 로 자른다.
+ *  - 거래일 스냅샷은 파일로 저장되어 재시작한 빌더가 순위 API 없이 다시 읽는다.
+ *  - 순위 조회 실패로 폴백만 담긴 스냅샷은 저장하지 않아 재시작 시 순위 API 를 다시 시도한다.
+ *  - 보관 일수보다 오래된 스냅샷 파일은 저장 시 지운다.
  */
 class UniverseBuilderTest {
 
@@ -32,11 +45,19 @@ class UniverseBuilderTest {
     }
 
     private UniverseBuilder builder(List<String> pinned, List<String> fallback, int rankTop) {
+        return new UniverseBuilder(props(pinned, fallback, rankTop), api);
+    }
+
+    private static StockProperties props(List<String> pinned, List<String> fallback, int rankTop) {
         StockProperties props = new StockProperties();
         props.getUniverse().setPinned(pinned);
         props.getUniverse().setFallbackCodes(fallback);
         props.getUniverse().setRankApiTop(rankTop);
-        return new UniverseBuilder(props, api);
+        return props;
+    }
+
+    private static ArgumentMatcher<KisRankingQuery> page(KisRankingQuery.Source source, String market) {
+        return q -> q != null && q.source() == source && q.market().equals(market);
     }
 
     // ===== 정적 fallback 경로 (rank 비활성) =====
@@ -62,7 +83,7 @@ class UniverseBuilderTest {
 
     @Test
     void usesVolumeRankWhenEnabled() {
-        when(api.getTopVolumeCodes(anyInt())).thenReturn(List.of("111111", "222222"));
+        when(api.getRankingCodes(any())).thenReturn(List.of("111111", "222222"));
         UniverseBuilder b = builder(List.of("005930"), List.of("999999"), 30);
 
         UniverseBuilder.Snapshot snap = b.refresh(LocalDate.of(2026, 5, 1));
@@ -75,7 +96,7 @@ class UniverseBuilderTest {
 
     @Test
     void deduplicatesRankAgainstPinned() {
-        when(api.getTopVolumeCodes(anyInt())).thenReturn(List.of("005930", "111111"));
+        when(api.getRankingCodes(any())).thenReturn(List.of("005930", "111111"));
         UniverseBuilder b = builder(List.of("005930"), List.of(), 30);
 
         UniverseBuilder.Snapshot snap = b.refresh(LocalDate.of(2026, 5, 1));
@@ -86,7 +107,7 @@ class UniverseBuilderTest {
 
     @Test
     void fallsBackToStaticPoolWhenRankEmpty() {
-        when(api.getTopVolumeCodes(anyInt())).thenReturn(List.of());
+        when(api.getRankingCodes(any())).thenReturn(List.of());
         UniverseBuilder b = builder(List.of("005930"), List.of("000660", "035420"), 30);
 
         UniverseBuilder.Snapshot snap = b.refresh(LocalDate.of(2026, 5, 1));
@@ -98,7 +119,7 @@ class UniverseBuilderTest {
 
     @Test
     void fallsBackWhenRankApiThrows() {
-        when(api.getTopVolumeCodes(anyInt())).thenThrow(new RuntimeException("KIS 5xx"));
+        when(api.getRankingCodes(any())).thenThrow(new RuntimeException("KIS 5xx"));
         UniverseBuilder b = builder(List.of(), List.of("000660"), 30);
 
         UniverseBuilder.Snapshot snap = b.refresh(LocalDate.of(2026, 5, 1));
@@ -109,6 +130,114 @@ class UniverseBuilderTest {
         assertThat(snap.fallback()).isEqualTo(1);
     }
 
+    // ===== 다중 소스 합산 =====
+
+    @Test
+    void mergesSourcesAndPagesByScore_andCapsPool() {
+        StockProperties props = props(List.of("005930"), List.of("999999"), 30);
+        props.getUniverse().setRankSources(List.of("VOLUME", "TURNOVER", "FLUCTUATION"));
+        props.getUniverse().setRankMarkets(List.of("0001", "1001"));
+        props.getUniverse().setPoolSize(4);
+        when(api.getRankingCodes(any())).thenReturn(List.of());
+        when(api.getRankingCodes(argThat(page(KisRankingQuery.Source.VOLUME, "0001"))))
+            .thenReturn(List.of("111111", "222222", "333333"));
+        when(api.getRankingCodes(argThat(page(KisRankingQuery.Source.TURNOVER, "0001"))))
+            .thenReturn(List.of("222222", "111111"));
+        when(api.getRankingCodes(argThat(page(KisRankingQuery.Source.FLUCTUATION, "1001"))))
+            .thenReturn(List.of("444444", "222222"));
+
+        UniverseBuilder.Snapshot snap = new UniverseBuilder(props, api).refresh(LocalDate.of(2026, 5, 1));
+
+        // 222222: 0.67 + 1.0 + 0.5, 111111: 1.0 + 0.5, 444444: 1.0, 333333: 0.33 → pool-size 4 (pinned 포함)
+        assertThat(snap.codes()).containsExactly("005930", "222222", "111111", "444444");
+        assertThat(snap.rankApi()).isEqualTo(4);
+        assertThat(snap.fallback()).isZero();
+        verify(api, times(6)).getRankingCodes(any());
+    }
+
+    @Test
+    void failedPage_doesNotDropOtherPages() {
+        StockProperties props = props(List.of(), List.of("999999"), 30);
+        props.getUniverse().setRankSources(List.of("VOLUME", "FLUCTUATION"));
+        when(api.getRankingCodes(argThat(page(KisRankingQuery.Source.VOLUME, "0000"))))
+            .thenThrow(new RuntimeException("KIS 5xx"));
+        when(api.getRankingCodes(argThat(page(KisRankingQuery.Source.FLUCTUATION, "0000"))))
+            .thenReturn(List.of("444444"));
+
+        UniverseBuilder.Snapshot snap = new UniverseBuilder(props, api).refresh(LocalDate.of(2026, 5, 1));
+
+        assertThat(snap.codes()).containsExactly("444444");
+        assertThat(snap.fallback()).isZero();
+    }
+
+    // ===== 스냅샷 파일 =====
+
+    @Test
+    void restartedBuilder_reusesPersistedSnapshot(@TempDir Path dir) {
+        StockProperties props = props(List.of("005930"), List.of("999999"), 30);
+        props.getUniverse().setSnapshotDir(dir.toString());
+        when(api.getRankingCodes(any())).thenReturn(List.of("111111", "222222"));
+        LocalDate day = LocalDate.of(2026, 5, 1);
+
+        UniverseBuilder.Snapshot built = new UniverseBuilder(props, api).refresh(day);
+        assertThat(Files.exists(dir.resolve("universe-2026-05-01.json"))).isTrue();
+
+        KoreaInvestmentApiClient freshApi = mock(KoreaInvestmentApiClient.class);
+        UniverseBuilder.Snapshot restored = new UniverseBuilder(props, freshApi).currentUniverse(day);
+
+        assertThat(restored).isEqualTo(built);
+        verify(freshApi, never()).getRankingCodes(any());
+    }
+
+    @Test
+    void snapshotOfOtherDay_isIgnored(@TempDir Path dir) {
+        StockProperties props = props(List.of(), List.of("000660"), 0);
+        props.getUniverse().setSnapshotDir(dir.toString());
+        new UniverseBuilder(props, api).refresh(LocalDate.of(2026, 5, 1));
+
+        UniverseBuilder.Snapshot next = new UniverseBuilder(props, api).currentUniverse(LocalDate.of(2026, 5, 4));
+
+        assertThat(next.tradingDate()).isEqualTo(LocalDate.of(2026, 5, 4));
+        assertThat(Files.exists(dir.resolve("universe-2026-05-04.json"))).isTrue();
+    }
+
+    @Test
+    void fallbackOnlySnapshot_isNotPersisted_andRankIsRetriedAfterRestart(@TempDir Path dir) {
+        StockProperties props = props(List.of(), List.of("000660"), 30);
+        props.getUniverse().setSnapshotDir(dir.toString());
+        when(api.getRankingCodes(any())).thenReturn(List.of());
+        LocalDate day = LocalDate.of(2026, 5, 1);
+
+        UniverseBuilder.Snapshot failed = new UniverseBuilder(props, api).refresh(day);
+        assertThat(failed.rankApi()).isZero();
+        assertThat(Files.exists(dir.resolve("universe-2026-05-01.json"))).isFalse();
+
+        KoreaInvestmentApiClient recoveredApi = mock(KoreaInvestmentApiClient.class);
+        when(recoveredApi.getRankingCodes(any())).thenReturn(List.of("111111"));
+        UniverseBuilder.Snapshot retried = new UniverseBuilder(props, recoveredApi).currentUniverse(day);
+
+        assertThat(retried.codes()).containsExactly("111111");
+        assertThat(retried.rankApi()).isEqualTo(1);
+        assertThat(Files.exists(dir.resolve("universe-2026-05-01.json"))).isTrue();
+    }
+
+    @Test
+    void save_prunesSnapshotsOlderThanRetention(@TempDir Path dir) throws Exception {
+        StockProperties props = props(List.of(), List.of("000660"), 0);
+        props.getUniverse().setSnapshotDir(dir.toString());
+        props.getUniverse().setSnapshotRetentionDays(7);
+        Files.writeString(dir.resolve("universe-2026-04-23.json"), "{}");
+        Files.writeString(dir.resolve("universe-2026-04-24.json"), "{}");
+        Files.writeString(dir.resolve("notes.json"), "{}");
+
+        new UniverseBuilder(props, api).refresh(LocalDate.of(2026, 5, 1));
+
+        assertThat(Files.exists(dir.resolve("universe-2026-04-23.json"))).isFalse();
+        assertThat(Files.exists(dir.resolve("universe-2026-04-24.json"))).isTrue();
+        assertThat(Files.exists(dir.resolve("universe-2026-05-01.json"))).isTrue();
+        assertThat(Files.exists(dir.resolve("notes.json"))).isTrue();
+    }
+
     // ===== 스냅샷 캐싱 =====
 
     @Test
@@ -26,7 +26,8 @@ class StockPositionTakeProfitTest {
             entry,
             100,
             entry.multiply(new BigDecimal("0.985")), // SL -1.5%
-            dayHigh
+            dayHigh,
+            TODAY.atTime(9, 30)
         );
     }
 
@@ -0,0 +1,169 @@
+package me.singingsandhill.calendar.stock.infrastructure.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 틱 단위 시세 캐시 검증.
+ * - 틱 안에서는 종목당 1회만 조회, 틱이 바뀌면 다시 조회
+ * - 동시 요청은 첫 호출 결과를 공유 (single-flight)
+ * - 틱 밖에서는 캐시를 거치지 않음, 예외는 캐시하지 않음
+ * - 틱 범위는 연 스레드에만 묶이고, inCurrentTick 으로 감싼 작업에만 넘어간다
+ * - 일괄 현재가는 이번 틱에 조회하지 않은 종목만 묶어 1회 조회
+ */
+class KisMarketDataCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final KisMarketDataCache cache = new KisMarketDataCache(registry);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Function<String, KisQuoteResponse> loader = code -> {
+        calls.incrementAndGet();
+        return quote(code);
+    };
+
+    private static KisQuoteResponse quote(String code) {
+        return new KisQuoteResponse(code, new BigDecimal("10400"), new BigDecimal("10400"),
+            new BigDecimal("10500"), new BigDecimal("10300"), new BigDecimal("10000"),
+            new BigDecimal("400"), new BigDecimal("4.0"), 1_000_000L, new BigDecimal("10000000000"),
+            new BigDecimal("1000000000000"), null, null, null, new BigDecimal("120"));
+    }
+
+    private double count(String type, String result) {
+        return registry.get("kis.marketdata.cache").tag("type", type).tag("result", result).counter().count();
+    }
+
+    @Test
+    void loadsOncePerCodePerTick() {
+        try (KisMarketDataCache.TickScope tick = cache.beginTick()) {
+            cache.quote("005930", loader);
+            cache.quote("005930", loader);
+            cache.quote("000660", loader);
+        }
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(count("quote", "miss")).isEqualTo(2);
+        assertThat(count("quote", "hit")).isEqualTo(1);
+
+        try (KisMarketDataCache.TickScope tick = cache.beginTick()) {
+            cache.quote("005930", loader);
+        }
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void bypassesOutsideTick() {
+        cache.quote("005930", loader);
+        cache.quote("005930", loader);
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(count("quote", "bypass")).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentCallersShareSingleFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, KisQuoteResponse> slowLoader = code -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return quote(code);
+        };
+
+        AtomicReference<KisQuoteResponse> first = new AtomicReference<>();
+        AtomicReference<KisQuoteResponse> second = new AtomicReference<>();
+        try (KisMarketDataCache.TickScope tick = cache.beginTick();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> a = executor.submit(KisMarketDataCache.inCurrentTick(() -> first.set(cache.quote("005930", slowLoader))));
+            Future<?> b = executor.submit(KisMarketDataCache.inCurrentTick(() -> second.set(cache.quote("005930", slowLoader))));
+            Thread.sleep(100);
+            release.countDown();
+            a.get(5, TimeUnit.SECONDS);
+            b.get(5, TimeUnit.SECONDS);
+
+            assertThat(first.get()).isSameAs(second.get());
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void tickIsBoundToOpeningThread_andHandedOffOnlyExplicitly() throws Exception {
+        try (KisMarketDataCache.TickScope tick = cache.beginTick();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            cache.quote("005930", loader);
+            // 같은 시각 다른 스레드(스크리닝/수동 API)는 이 틱 캐시를 읽지 않는다
+            executor.submit(() -> cache.quote("005930", loader)).get(5, TimeUnit.SECONDS);
+            executor.submit(KisMarketDataCache.inCurrentTick(() -> cache.quote("005930", loader)))
+                .get(5, TimeUnit.SECONDS);
+        }
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(count("quote", "bypass")).isEqualTo(1);
+        assertThat(count("quote", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void handedOffTaskRunningAfterTickClosed_bypassesCache() {
+        Runnable late;
+        try (KisMarketDataCache.TickScope tick = cache.beginTick()) {
+            cache.quote("005930", loader);
+            late = KisMarketDataCache.inCurrentTick(() -> cache.quote("005930", loader));
+        }
+        late.run();
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(count("quote", "bypass")).isEqualTo(1);
+    }
+
+    @Test
+    void multiQuotesLoadOnlyUncachedCodes_inOneBatch() {
+        List<List<String>> batches = new ArrayList<>();
+        Function<List<String>, Map<String, KisQuoteResponse>> batchLoader = codes -> {
+            batches.add(codes);
+            return Map.of("005930", quote("005930"), "000660", quote("000660"));
+        };
+
+        try (KisMarketDataCache.TickScope tick = cache.beginTick()) {
+            Map<String, KisQuoteResponse> first = cache.quotes(List.of("005930", "000660", "035420"), batchLoader);
+            Map<String, KisQuoteResponse> second = cache.quotes(List.of("000660", "005380"), batchLoader);
+
+            assertThat(first).containsOnlyKeys("005930", "000660");
+            assertThat(second).containsOnlyKeys("000660");
+        }
+        assertThat(batches).containsExactly(List.of("005930", "000660", "035420"), List.of("005380"));
+        assertThat(count("multi_quote", "hit")).isEqualTo(1);
+        assertThat(count("multi_quote", "miss")).isEqualTo(4);
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        Function<String, KisQuoteResponse> failing = code -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("rate limited");
+        };
+
+        try (KisMarketDataCache.TickScope tick = cache.beginTick()) {
+            assertThatThrownBy(() -> cache.quote("005930", failing)).isInstanceOf(IllegalStateException.class);
+            assertThat(cache.quote("005930", loader).stockCode()).isEqualTo("005930");
+        }
+        assertThat(calls.get()).isEqualTo(2);
+    }
+}
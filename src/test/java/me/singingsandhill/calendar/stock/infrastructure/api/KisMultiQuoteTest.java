@@ -0,0 +1,171 @@
+package me.singingsandhill.calendar.stock.infrastructure.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisQuoteResponse;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 멀티종목 시세조회(FHKST11300006) 계약을 로컬 HTTP 스텁(MockWebServer)으로 검증한다.
+ * - 요청: 종목마다 FID_COND_MRKT_DIV_CODE_n / FID_INPUT_ISCD_n
+ * - 응답: inter2_* 필드 → KisQuoteResponse 매핑 (체결강도/시가총액은 없음)
+ * - rt_cd != "0" 이면 빈 결과
+ * - 일괄 응답에서 빠진 종목만 단건 조회로 보충 (KoreaInvestmentApiClient.getQuotes)
+ */
+class KisMultiQuoteTest {
+
+    private static final String MULTI_PRICE_BODY = """
+        {
+          "rt_cd": "0",
+          "msg_cd": "MCA00000",
+          "msg1": "정상처리 되었습니다.",
+          "output": [
+            {
+              "inter_shrn_iscd": "005930",
+              "inter_kor_isnm": "삼성전자",
+              "inter2_prpr": "70000",
+              "inter2_oprc": "69000",
+              "inter2_hgpr": "71000",
+              "inter2_lwpr": "68500",
+              "inter2_prdy_clpr": "68000",
+              "inter2_prdy_vrss": "2000",
+              "prdy_ctrt": "2.94",
+              "acml_vol": "12345678",
+              "acml_tr_pbmn": "864197460000"
+            },
+            {
+              "inter_shrn_iscd": "999999",
+              "inter2_prpr": "1000"
+            }
+          ]
+        }
+        """;
+
+    private MockWebServer server;
+    private final KisAuthService auth = mock(KisAuthService.class);
+    private KisRestClient restClient;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        StockProperties props = new StockProperties();
+        props.getKis().setBaseUrl(server.url("/").toString());
+        ObjectProvider<StockBotMetrics> metricsProvider = mock(ObjectProvider.class);
+
+        when(auth.isConfigured()).thenReturn(true);
+        when(auth.buildAuthHeaders("FHKST11300006")).thenReturn(Map.of("tr_id", "FHKST11300006"));
+        restClient = new KisRestClient(WebClient.builder(), auth, props, metricsProvider,
+            new KisRateLimiter(props, metricsProvider));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private void respond(String body) {
+        server.enqueue(new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody(body));
+    }
+
+    @Test
+    void multiQuote_mapsInter2FieldsAndSendsIndexedParams() throws InterruptedException {
+        respond(MULTI_PRICE_BODY);
+
+        Map<String, KisQuoteResponse> quotes = restClient.getMultiQuotes(List.of("005930", "000660"));
+
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(request).isNotNull();
+        assertThat(request.getRequestUrl().encodedPath()).isEqualTo("/uapi/domestic-stock/v1/quotations/intstock-multprice");
+        assertThat(request.getRequestUrl().queryParameter("FID_COND_MRKT_DIV_CODE_1")).isEqualTo("J");
+        assertThat(request.getRequestUrl().queryParameter("FID_INPUT_ISCD_1")).isEqualTo("005930");
+        assertThat(request.getRequestUrl().queryParameter("FID_INPUT_ISCD_2")).isEqualTo("000660");
+        assertThat(request.getHeader("tr_id")).isEqualTo("FHKST11300006");
+
+        // 요청하지 않은 종목(999999)은 버리고, 응답에 없는 종목(000660)은 비워 둔다
+        assertThat(quotes).containsOnlyKeys("005930");
+        KisQuoteResponse quote = quotes.get("005930");
+        assertThat(quote.stockCode()).isEqualTo("005930");
+        assertThat(quote.currentPrice()).isEqualByComparingTo("70000");
+        assertThat(quote.openPrice()).isEqualByComparingTo("69000");
+        assertThat(quote.highPrice()).isEqualByComparingTo("71000");
+        assertThat(quote.lowPrice()).isEqualByComparingTo("68500");
+        assertThat(quote.prevClosePrice()).isEqualByComparingTo("68000");
+        assertThat(quote.priceChange()).isEqualByComparingTo("2000");
+        assertThat(quote.changeRate()).isEqualByComparingTo("2.94");
+        assertThat(quote.volume()).isEqualTo(12_345_678L);
+        assertThat(quote.tradeValue()).isEqualByComparingTo("864197460000");
+        assertThat(quote.contractStrength()).isNull();
+        assertThat(quote.marketCap()).isNull();
+    }
+
+    @Test
+    void multiQuote_returnsEmpty_whenRtCdIsNotZero() {
+        respond("""
+            {"rt_cd": "1", "msg_cd": "EGW00201", "msg1": "초당 거래건수를 초과하였습니다.", "output": []}
+            """);
+
+        Map<String, KisQuoteResponse> quotes = restClient.getMultiQuotes(List.of("005930"));
+
+        assertThat(quotes).isEmpty();
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void multiQuote_skipsCall_whenNotConfigured() {
+        when(auth.isConfigured()).thenReturn(false);
+
+        assertThat(restClient.getMultiQuotes(List.of("005930"))).isEmpty();
+        assertThat(server.getRequestCount()).isZero();
+    }
+
+    @Test
+    void getQuotes_fillsCodesMissingFromMultiQuote_withSingleQuote() {
+        KisRestClient rest = mock(KisRestClient.class);
+        KoreaInvestmentApiClient apiClient = new KoreaInvestmentApiClient(auth, rest, new StockProperties(),
+            new KisMarketDataCache(new SimpleMeterRegistry()));
+        KisQuoteResponse samsung = quote("005930", "70000");
+        KisQuoteResponse hynix = quote("000660", "180000");
+        when(rest.getMultiQuotes(anyList())).thenReturn(Map.of("005930", samsung));
+        when(rest.getQuote("000660")).thenReturn(hynix);
+        when(rest.getQuote("035720")).thenReturn(null);
+
+        Map<String, KisQuoteResponse> quotes = apiClient.getQuotes(List.of("005930", "000660", "035720"));
+
+        assertThat(quotes).containsOnlyKeys("005930", "000660");
+        assertThat(quotes.get("005930")).isSameAs(samsung);
+        assertThat(quotes.get("000660")).isSameAs(hynix);
+        verify(rest, never()).getQuote("005930");
+    }
+
+    private static KisQuoteResponse quote(String code, String price) {
+        BigDecimal p = new BigDecimal(price);
+        return new KisQuoteResponse(code, p, p, p, p, p, BigDecimal.ZERO, BigDecimal.ZERO, 0L,
+            BigDecimal.ZERO, null, null, null, null, null);
+    }
+}
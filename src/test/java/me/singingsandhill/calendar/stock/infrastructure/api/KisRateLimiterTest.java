@@ -0,0 +1,97 @@
+package me.singingsandhill.calendar.stock.infrastructure.api;
+
+import me.singingsandhill.calendar.stock.application.observability.StockBotMetrics;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * KIS 토큰 버킷 검증.
+ * - 버스트(용량) 소진 후에는 TPS 속도로만 토큰 지급
+ * - 시세 버킷이 말라도 주문 버킷은 즉시 지급 (버킷 분리)
+ * - 같은 버킷 대기열에서 HIGH 가 먼저 대기 중인 LOW 를 앞지른다
+ */
+class KisRateLimiterTest {
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<StockBotMetrics> metricsProvider = mock(ObjectProvider.class);
+
+    private KisRateLimiter limiter(double quoteTps, double orderTps, long timeoutMs) {
+        StockProperties props = new StockProperties();
+        props.getRateLimit().setQuoteTps(quoteTps);
+        props.getRateLimit().setOrderTps(orderTps);
+        props.getRateLimit().setAcquireTimeoutMs(timeoutMs);
+        return new KisRateLimiter(props, metricsProvider);
+    }
+
+    @Test
+    void afterBurst_tokensArriveAtConfiguredRate() throws Exception {
+        KisRateLimiter limiter = limiter(10, 5, 2_000);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.acquire(KisRateLimiter.Lane.QUOTE)).isTrue();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.acquire(KisRateLimiter.Lane.QUOTE)).isTrue();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 10 TPS → 5개에 약 500ms
+        assertThat(elapsedMs).isBetween(400L, 1_500L);
+    }
+
+    @Test
+    void exhaustedQuoteBucket_doesNotDelayOrders() throws Exception {
+        KisRateLimiter limiter = limiter(1, 5, 50);
+        assertThat(limiter.acquire(KisRateLimiter.Lane.QUOTE)).isTrue();
+        assertThat(limiter.acquire(KisRateLimiter.Lane.QUOTE)).isFalse();
+
+        long start = System.nanoTime();
+        assertThat(limiter.acquire(KisRateLimiter.Lane.ORDER)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(20L);
+    }
+
+    @Test
+    void highPriorityOvertakesWaitingLowPriority() throws Exception {
+        KisRateLimiter limiter = limiter(5, 5, 5_000);
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(KisRateLimiter.Lane.QUOTE);
+        }
+
+        List<KisRateLimiter.Priority> order = new CopyOnWriteArrayList<>();
+        CountDownLatch lowWaiting = new CountDownLatch(3);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 3; i++) {
+                executor.submit(() -> {
+                    lowWaiting.countDown();
+                    if (limiter.acquire(KisRateLimiter.Lane.QUOTE, KisRateLimiter.Priority.LOW)) {
+                        order.add(KisRateLimiter.Priority.LOW);
+                    }
+                    return null;
+                });
+            }
+            lowWaiting.await();
+            Thread.sleep(20);
+            executor.submit(() -> {
+                if (limiter.acquire(KisRateLimiter.Lane.QUOTE, KisRateLimiter.Priority.HIGH)) {
+                    order.add(KisRateLimiter.Priority.HIGH);
+                }
+                return null;
+            });
+        }
+
+        assertThat(order).hasSize(4);
+        assertThat(order.get(0)).isEqualTo(KisRateLimiter.Priority.HIGH);
+    }
+}
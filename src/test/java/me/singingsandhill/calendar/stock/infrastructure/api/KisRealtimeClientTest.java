@@ -0,0 +1,209 @@
+package me.singingsandhill.calendar.stock.infrastructure.api;
+
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisOrderbookResponse;
+import me.singingsandhill.calendar.stock.infrastructure.api.dto.KisRealtimeTrade;
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * KIS 실시간 웹소켓 계약을 로컬 웹소켓 스텁(MockWebServer upgrade)으로 검증한다.
+ * - 구독 메시지 형식(approval_key / tr_type / tr_id / tr_key)
+ * - 체결·호가 프레임 파싱 → 종목별 최신 틱 + 리스너 전달
+ * - PINGPONG 에코 (세션 유지)
+ * - 구독 거절은 msg_cd 로 판단해 접속키 무효일 때만 키를 다시 받고 새 키로 재접속한다
+ */
+class KisRealtimeClientTest {
+
+    private static final String CODE = "005930";
+
+    private MockWebServer server;
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private volatile WebSocket serverSocket;
+    private final KisAuthService auth = mock(KisAuthService.class);
+    private final StockProperties props = new StockProperties();
+    private KisRealtimeClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.enqueue(webSocketUpgrade());
+        server.start();
+
+        props.getRealtime().setEnabled(true);
+        props.getRealtime().setUrl(server.url("/").toString().replaceFirst("^http", "ws"));
+        props.getRealtime().setStaleSeconds(60);
+
+        when(auth.getApprovalKey()).thenReturn("approval-test");
+        client = new KisRealtimeClient(auth, props);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.disconnect();
+        server.shutdown();
+    }
+
+    private MockResponse webSocketUpgrade() {
+        return new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+            @Override
+            public void onOpen(WebSocket webSocket, Response response) {
+                serverSocket = webSocket;
+            }
+
+            @Override
+            public void onMessage(WebSocket webSocket, String text) {
+                received.add(text);
+            }
+        });
+    }
+
+    private static String tradeFields(String code, String price, String strength) {
+        String[] f = new String[46];
+        Arrays.fill(f, "0");
+        f[0] = code;
+        f[1] = "093015";
+        f[2] = price;
+        f[7] = "70000";
+        f[8] = "71500";
+        f[9] = "69900";
+        f[10] = "71100";
+        f[11] = "71000";
+        f[13] = "123456";
+        f[18] = strength;
+        return String.join("^", f);
+    }
+
+    private static String orderbookFields(String code) {
+        String[] f = new String[59];
+        Arrays.fill(f, "0");
+        f[0] = code;
+        f[3] = "71100";
+        f[13] = "71000";
+        f[23] = "500";
+        f[33] = "800";
+        f[43] = "10000";
+        f[44] = "15000";
+        return String.join("^", f);
+    }
+
+    @Test
+    void subscribesTradeAndOrderbook_thenStoresLatestTickAndNotifiesListener() throws Exception {
+        List<KisRealtimeTrade> notified = new CopyOnWriteArrayList<>();
+        client.addTradeListener(notified::add);
+
+        client.updateSubscriptions(List.of(CODE));
+
+        String first = received.poll(5, TimeUnit.SECONDS);
+        String second = received.poll(5, TimeUnit.SECONDS);
+        assertThat(first).contains("\"approval_key\":\"approval-test\"")
+            .contains("\"tr_type\":\"1\"").contains("\"tr_id\":\"H0STCNT0\"").contains("\"tr_key\":\"" + CODE + "\"");
+        assertThat(second).contains("\"tr_id\":\"H0STASP0\"");
+
+        // 2건 묶음 프레임 — 마지막 레코드가 최신
+        serverSocket.send("0|H0STCNT0|002|" + tradeFields(CODE, "71000", "110.5") + "^" + tradeFields(CODE, "71200", "115.3"));
+        serverSocket.send("0|H0STASP0|001|" + orderbookFields(CODE));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((client.getFreshTrade(CODE) == null || client.getFreshOrderbook(CODE) == null
+                || client.getFreshTrade(CODE).price().compareTo(new BigDecimal("71200")) != 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        KisRealtimeTrade trade = client.getFreshTrade(CODE);
+        assertThat(trade.price()).isEqualByComparingTo("71200");
+        assertThat(trade.tradeStrength()).isEqualByComparingTo("115.3");
+        assertThat(trade.cumulativeVolume()).isEqualTo(123456L);
+        assertThat(notified).extracting(KisRealtimeTrade::price)
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(new BigDecimal("71000"), new BigDecimal("71200"));
+
+        KisOrderbookResponse orderbook = client.getFreshOrderbook(CODE);
+        assertThat(orderbook.ask1Price()).isEqualByComparingTo("71100");
+        assertThat(orderbook.calculateOrderImbalance()).isEqualByComparingTo("1.5");
+    }
+
+    @Test
+    void pingPongIsEchoed_andRemovedCodesAreUnsubscribed() throws Exception {
+        client.updateSubscriptions(List.of(CODE));
+        received.poll(5, TimeUnit.SECONDS);
+        received.poll(5, TimeUnit.SECONDS);
+
+        String ping = "{\"header\":{\"tr_id\":\"PINGPONG\",\"datetime\":\"20260302093015\"}}";
+        serverSocket.send(ping);
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(ping);
+
+        client.updateSubscriptions(List.of("000660"));
+        List<String> next = List.of(
+            received.poll(5, TimeUnit.SECONDS), received.poll(5, TimeUnit.SECONDS),
+            received.poll(5, TimeUnit.SECONDS), received.poll(5, TimeUnit.SECONDS));
+        assertThat(next).filteredOn(m -> m.contains("\"tr_type\":\"2\"")).hasSize(2)
+            .allMatch(m -> m.contains(CODE));
+        assertThat(next).filteredOn(m -> m.contains("\"tr_type\":\"1\"")).hasSize(2)
+            .allMatch(m -> m.contains("000660"));
+        assertThat(client.getSubscribedCodes()).containsExactly("000660");
+    }
+
+    @Test
+    void subscriptionRejection_invalidatesApprovalKeyOnlyForInvalidApprovalCode() {
+        client.handleMessage("{\"header\":{\"tr_id\":\"H0STCNT0\",\"tr_key\":\"005930\",\"encrypt\":\"N\"},"
+            + "\"body\":{\"rt_cd\":\"1\",\"msg_cd\":\"OPSP0002\",\"msg1\":\"ALREADY IN SUBSCRIBE (approval)\"}}");
+        verify(auth, never()).invalidateApprovalKey();
+
+        client.handleMessage("{\"header\":{\"tr_id\":\"H0STCNT0\",\"tr_key\":\"005930\",\"encrypt\":\"N\"},"
+            + "\"body\":{\"rt_cd\":\"1\",\"msg_cd\":\"OPSP0011\",\"msg1\":\"invalid approval : NOT FOUND\"}}");
+        verify(auth).invalidateApprovalKey();
+    }
+
+    @Test
+    void invalidApprovalRejection_reconnectsWithFreshKey() throws Exception {
+        props.getRealtime().setReconnectDelaySeconds(0);
+        server.enqueue(webSocketUpgrade());
+        when(auth.getApprovalKey()).thenReturn("approval-test", "approval-2");
+
+        client.updateSubscriptions(List.of(CODE));
+        assertThat(received.poll(5, TimeUnit.SECONDS)).contains("\"approval_key\":\"approval-test\"");
+        received.poll(5, TimeUnit.SECONDS);
+
+        serverSocket.send("{\"header\":{\"tr_id\":\"H0STCNT0\",\"tr_key\":\"005930\",\"encrypt\":\"N\"},"
+            + "\"body\":{\"rt_cd\":\"1\",\"msg_cd\":\"OPSP0011\",\"msg1\":\"invalid approval : NOT FOUND\"}}");
+
+        String first = received.poll(5, TimeUnit.SECONDS);
+        String second = received.poll(5, TimeUnit.SECONDS);
+        verify(auth).invalidateApprovalKey();
+        assertThat(first).contains("\"approval_key\":\"approval-2\"").contains("\"tr_id\":\"H0STCNT0\"");
+        assertThat(second).contains("\"approval_key\":\"approval-2\"").contains("\"tr_id\":\"H0STASP0\"");
+        assertThat(client.getSubscribedCodes()).containsExactly(CODE);
+    }
+
+    @Test
+    void nonDataFrameWithoutHeader_isIgnored() {
+        client.handleMessage(" {\"body\":{\"rt_cd\":\"1\",\"msg1\":\"approval\"}}");
+        client.handleMessage("not json");
+
+        verify(auth, never()).invalidateApprovalKey();
+        assertThat(client.getFreshTrade(CODE)).isNull();
+    }
+}
@@ -0,0 +1,82 @@
+package me.singingsandhill.calendar.stock.infrastructure.api;
+
+import me.singingsandhill.calendar.stock.infrastructure.config.StockProperties;
+import me.singingsandhill.calendar.stock.infrastructure.persistence.entity.KisTokenJpaEntity;
+import me.singingsandhill.calendar.stock.infrastructure.persistence.repository.KisTokenJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 접근토큰 영속 저장 검증.
+ * - DB 에는 암호문만 남고, 같은 appSecret 으로만 복호화된다
+ * - 재시작한 KisAuthService 는 저장된 유효 토큰을 발급 호출 없이 바로 쓴다
+ */
+class KisTokenStoreTest {
+
+    private final KisTokenJpaRepository repository = mock(KisTokenJpaRepository.class);
+
+    private static StockProperties props(String appSecret) {
+        StockProperties props = new StockProperties();
+        props.getKis().setAppKey("app-key");
+        props.getKis().setAppSecret(appSecret);
+        return props;
+    }
+
+    private KisTokenJpaEntity savedEntity(KisTokenStore store) {
+        ArgumentCaptor<KisTokenJpaEntity> captor = ArgumentCaptor.forClass(KisTokenJpaEntity.class);
+        verify(repository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void storesOnlyCiphertext_andRoundTripsWithSameSecret() {
+        KisTokenStore store = new KisTokenStore(repository, props("secret-1"));
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(20);
+        store.save("access-token-value", expiresAt);
+
+        KisTokenJpaEntity entity = savedEntity(store);
+        assertThat(entity.getEncryptedToken()).doesNotContain("access-token-value");
+        assertThat(entity.getCredentialKey()).hasSize(64).doesNotContain("app-key");
+
+        when(repository.findById(entity.getCredentialKey())).thenReturn(Optional.of(entity));
+        KisTokenStore.StoredToken loaded = store.load().orElseThrow();
+        assertThat(loaded.accessToken()).isEqualTo("access-token-value");
+        assertThat(loaded.expiresAt()).isEqualTo(expiresAt);
+    }
+
+    @Test
+    void changedSecret_cannotDecrypt() {
+        KisTokenStore original = new KisTokenStore(repository, props("secret-1"));
+        original.save("access-token-value", LocalDateTime.now().plusHours(20));
+        KisTokenJpaEntity entity = savedEntity(original);
+        when(repository.findById(anyString())).thenReturn(Optional.of(entity));
+
+        KisTokenStore rotated = new KisTokenStore(repository, props("secret-2"));
+        assertThat(rotated.load()).isEmpty();
+    }
+
+    @Test
+    void restartedAuthService_usesStoredTokenWithoutIssuing() {
+        StockProperties props = props("secret-1");
+        KisTokenStore store = new KisTokenStore(repository, props);
+        store.save("stored-token", LocalDateTime.now().plusHours(20));
+        when(repository.findById(anyString())).thenReturn(Optional.of(savedEntity(store)));
+
+        // baseUrl 은 존재하지 않는 주소 — 발급 호출을 하면 실패한다
+        props.getKis().setBaseUrl("http://127.0.0.1:9");
+        KisTokenStore restartedStore = new KisTokenStore(repository, props);
+        KisAuthService auth = new KisAuthService(WebClient.builder(), props, restartedStore);
+
+        assertThat(auth.getAccessToken()).isEqualTo("stored-token");
+    }
+}
@@ -0,0 +1,77 @@
+package me.singingsandhill.calendar.trading.application.service;
+
+import me.singingsandhill.calendar.trading.application.dto.IndicatorResult;
+import me.singingsandhill.calendar.trading.domain.candle.Candle;
+import me.singingsandhill.calendar.trading.domain.candle.CandleRepository;
+import me.singingsandhill.calendar.trading.infrastructure.config.TradingProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 차트/티커 폴링용 지표 캐시: 최신 캔들 시각이 같으면 재계산하지 않고, 새 캔들이 들어오면 다시 계산한다.
+ */
+class IndicatorServiceCacheTest {
+
+    private static final String MARKET = "KRW-ADA";
+    private static final LocalDateTime T = LocalDateTime.of(2026, 5, 30, 12, 0);
+
+    private final CandleRepository repo = mock(CandleRepository.class);
+    private final IndicatorService service = new IndicatorService(repo, new TradingProperties());
+
+    private Candle candle(LocalDateTime time, double close) {
+        BigDecimal c = BigDecimal.valueOf(close);
+        return new Candle(null, MARKET, time, c, c, c, c, BigDecimal.ONE, BigDecimal.ONE, time);
+    }
+
+    private List<Candle> window(LocalDateTime latest) {
+        List<Candle> candles = new ArrayList<>();
+        for (int i = 0; i < 80; i++) candles.add(candle(latest.minusMinutes(i), 100 + i));
+        return candles;
+    }
+
+    @Test
+    void sameLatestCandle_reusesCachedResult() {
+        when(repo.findLatestByMarket(MARKET)).thenReturn(Optional.of(candle(T, 100)));
+        when(repo.findByMarketOrderByDateTimeDesc(eq(MARKET), anyInt())).thenReturn(window(T));
+
+        IndicatorResult first = service.calculateCached(MARKET);
+        IndicatorResult second = service.calculateCached(MARKET);
+
+        assertThat(second).isSameAs(first);
+        verify(repo, times(1)).findByMarketOrderByDateTimeDesc(eq(MARKET), anyInt());
+    }
+
+    @Test
+    void newCandle_invalidatesCache() {
+        when(repo.findLatestByMarket(MARKET)).thenReturn(Optional.of(candle(T, 100)));
+        when(repo.findByMarketOrderByDateTimeDesc(eq(MARKET), anyInt())).thenReturn(window(T));
+        service.calculateCached(MARKET);
+
+        LocalDateTime next = T.plusMinutes(1);
+        when(repo.findLatestByMarket(MARKET)).thenReturn(Optional.of(candle(next, 99)));
+        when(repo.findByMarketOrderByDateTimeDesc(eq(MARKET), anyInt())).thenReturn(window(next));
+        service.calculateCached(MARKET);
+
+        verify(repo, times(2)).findByMarketOrderByDateTimeDesc(eq(MARKET), anyInt());
+    }
+
+    @Test
+    void noCandles_returnsNull() {
+        when(repo.findLatestByMarket(MARKET)).thenReturn(Optional.empty());
+
+        assertThat(service.calculateCached(MARKET)).isNull();
+    }
+}
@@ -1,5 +1,7 @@
 package me.singingsandhill.calendar.trading.application.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.trading.application.observability.TradingBotMetrics;
 import me.singingsandhill.calendar.trading.domain.position.Position;
 import me.singingsandhill.calendar.trading.infrastructure.config.TradingProperties;
 import org.junit.jupiter.api.Test;
@@ -19,7 +21,8 @@ class TradingBotServiceEntryGuardTest {
 
     private TradingBotService service(TradingProperties props) {
         return new TradingBotService(null, null, null, null, null, null, null, null,
-                props, null, null, null, mock(PlatformTransactionManager.class));
+                props, null, null, null, mock(PlatformTransactionManager.class),
+                new TradingBotMetrics(new SimpleMeterRegistry()));
     }
 
     private Position posEntry(String entryPrice) {
@@ -1,5 +1,7 @@
 package me.singingsandhill.calendar.trading.application.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.trading.application.observability.TradingBotMetrics;
 import me.singingsandhill.calendar.trading.domain.account.AccountSnapshotRepository;
 import me.singingsandhill.calendar.trading.domain.position.Position;
 import me.singingsandhill.calendar.trading.domain.position.PositionRepository;
@@ -72,7 +74,8 @@ class TradingBotServiceExecutedVolumeTest {
 
         TradingBotService svc = new TradingBotService(
                 null, null, indicators, risk, rebalance, api, tradeRepo, posRepo,
-                new TradingProperties(), mock(TradingEventService.class), breaker, snapRepo, txm);
+                new TradingProperties(), mock(TradingEventService.class), breaker, snapRepo, txm,
+                new TradingBotMetrics(new SimpleMeterRegistry()));
 
         Signal signal = mock(Signal.class);
         when(signal.getTotalScore()).thenReturn(50);
@@ -1,5 +1,7 @@
 package me.singingsandhill.calendar.trading.application.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.trading.application.observability.TradingBotMetrics;
 import me.singingsandhill.calendar.trading.domain.account.AccountSnapshotRepository;
 import me.singingsandhill.calendar.trading.domain.position.Position;
 import me.singingsandhill.calendar.trading.domain.position.PositionRepository;
@@ -42,7 +44,8 @@ class TradingBotServiceManualGuardTest {
         return new TradingBotService(null, null, null, risk, null, api,
                 mock(me.singingsandhill.calendar.trading.domain.trade.TradeRepository.class), posRepo,
                 props, mock(TradingEventService.class), breaker, snapRepo,
-                mock(PlatformTransactionManager.class));
+                mock(PlatformTransactionManager.class),
+                new TradingBotMetrics(new SimpleMeterRegistry()));
     }
 
     private BithumbAccountResponse acct(String balance) {
@@ -1,5 +1,7 @@
 package me.singingsandhill.calendar.trading.application.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.trading.application.observability.TradingBotMetrics;
 import me.singingsandhill.calendar.trading.domain.account.AccountSnapshotRepository;
 import me.singingsandhill.calendar.trading.domain.position.Position;
 import me.singingsandhill.calendar.trading.domain.position.PositionRepository;
@@ -47,7 +49,8 @@ class TradingBotServiceManualTest {
         AccountSnapshotRepository snapRepo = mock(AccountSnapshotRepository.class);
         when(snapRepo.findFirstByMarketAndDateRange(any(), any(), any())).thenReturn(Optional.empty());
         return new TradingBotService(null, null, null, risk, null, api, tradeRepo, posRepo,
-                props, mock(TradingEventService.class), breaker, snapRepo, mock(PlatformTransactionManager.class));
+                props, mock(TradingEventService.class), breaker, snapRepo, mock(PlatformTransactionManager.class),
+                new TradingBotMetrics(new SimpleMeterRegistry()));
     }
 
     private Position posOpenedAt(LocalDateTime openedAt, String entryPrice, String volume) {
@@ -1,5 +1,7 @@
 package me.singingsandhill.calendar.trading.application.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.trading.application.observability.TradingBotMetrics;
 import me.singingsandhill.calendar.trading.domain.account.AccountSnapshotRepository;
 import me.singingsandhill.calendar.trading.domain.position.Position;
 import me.singingsandhill.calendar.trading.domain.position.PositionRepository;
@@ -72,7 +74,8 @@ class TradingBotServiceOrderReconciliationTest {
         PlatformTransactionManager txm = mock(PlatformTransactionManager.class);
 
         svc = new TradingBotService(candles, signals, indicators, risk, rebalance, api, tradeRepo, posRepo,
-                new TradingProperties(), mock(TradingEventService.class), breaker, snapRepo, txm);
+                new TradingProperties(), mock(TradingEventService.class), breaker, snapRepo, txm,
+                new TradingBotMetrics(new SimpleMeterRegistry()));
 
         // 서킷브레이커·잔고·가드 통과 (ExecutedVolumeTest 하네스와 동일)
         when(breaker.isEntryBlocked(any(), any())).thenReturn(false);
@@ -330,6 +333,134 @@ class TradingBotServiceOrderReconciliationTest {
         verify(api, never()).getOrderByClientOrderId(anyString());
     }
 
+    // ==================== 틱 스윕: 주문 목록 일괄 정합화 ====================
+
+    private BithumbOrderResponse withCid(BithumbOrderResponse o, String cid) {
+        return new BithumbOrderResponse(o.uuid(), o.side(), o.ordType(), o.price(), o.state(), o.market(),
+                o.createdAt(), o.volume(), o.remainingVolume(), o.reservedFee(), o.remainingFee(), o.paidFee(),
+                o.locked(), o.executedVolume(), o.tradesCount(), o.trades(), cid);
+    }
+
+    @Test
+    void sweep_matchesRecentOrderList_byClientOrderId_withoutPerOrderLookup() {
+        Trade filled = submitted("cid-20", LocalDateTime.now().minusSeconds(30));
+        Trade cancelled = new Trade(21L, "cid-21", null, MARKET, TradeType.BUY, "market",
+                BigDecimal.ZERO, new BigDecimal("10000"), null, null, null, TradeStatus.SUBMITTED, 50, null,
+                LocalDateTime.now().minusSeconds(40), null, LocalDateTime.now().minusSeconds(40), "cid-21");
+        when(tradeRepo.findByStatus(TradeStatus.SUBMITTED)).thenReturn(List.of(filled, cancelled));
+        when(api.getRecentOrders(MARKET, "done", 1, 100)).thenReturn(List.of(withCid(buyFill("ex-20"), "cid-20")));
+        when(api.getRecentOrders(MARKET, "cancel", 1, 100)).thenReturn(List.of(withCid(stateOnly("ex-21", "cancel"), "cid-21")));
+
+        svc.reconcileSubmittedOrders(MARKET);
+
+        assertThat(filled.getStatus()).isEqualTo(TradeStatus.DONE);
+        assertThat(filled.getUuid()).isEqualTo("ex-20");
+        assertThat(cancelled.getStatus()).isEqualTo(TradeStatus.CANCEL);
+        verify(api, never()).getOrderByClientOrderId(anyString());
+        verify(posRepo).save(any());
+    }
+
+    @Test
+    void sweep_listedDoneWithoutTrades_fetchesDetailByUuidOnce() {
+        Trade trade = submitted("cid-22", LocalDateTime.now().minusSeconds(30));
+        when(tradeRepo.findByStatus(TradeStatus.SUBMITTED)).thenReturn(List.of(trade));
+        when(api.getRecentOrders(MARKET, "done", 1, 100)).thenReturn(List.of(withCid(stateOnly("ex-22", "done"), "cid-22")));
+        when(api.getOrder("ex-22")).thenReturn(buyFill("ex-22"));
+
+        svc.reconcileSubmittedOrders(MARKET);
+
+        assertThat(trade.getStatus()).isEqualTo(TradeStatus.DONE);
+        verify(api).getOrder("ex-22");
+        verify(api, never()).getRecentOrders(any(), org.mockito.ArgumentMatchers.eq("cancel"),
+                org.mockito.ArgumentMatchers.anyInt(), org.mockito.ArgumentMatchers.anyInt());
+        verify(api, never()).getOrderByClientOrderId(anyString());
+    }
+
+    /** 시장가 매수 248개 체결 후 잔량 취소 — 목록엔 cancel + executed_volume 만 있고 trades 는 없다. */
+    private BithumbOrderResponse cancelWithFill(String uuid, List<BithumbOrderResponse.TradeDetail> trades) {
+        return new BithumbOrderResponse(uuid, "bid", "price", "250000", "cancel", MARKET,
+                null, null, "0", "0", "0", "621.875", "0", "248", trades.size(), trades);
+    }
+
+    @Test
+    void sweep_listedCancelWithExecutedVolume_fetchesDetail_andOpensPosition() {
+        Trade trade = submitted("cid-23", LocalDateTime.now().minusSeconds(30));
+        when(tradeRepo.findByStatus(TradeStatus.SUBMITTED)).thenReturn(List.of(trade));
+        when(api.getRecentOrders(MARKET, "cancel", 1, 100))
+                .thenReturn(List.of(withCid(cancelWithFill("ex-23", List.of()), "cid-23")));
+        BithumbOrderResponse.TradeDetail fill = new BithumbOrderResponse.TradeDetail(
+                MARKET, "t1", "1000", "248", "248000", "bid", "2026-07-08T10:00:00");
+        when(api.getOrder("ex-23")).thenReturn(cancelWithFill("ex-23", List.of(fill)));
+
+        svc.reconcileSubmittedOrders(MARKET);
+
+        assertThat(trade.getStatus()).isEqualTo(TradeStatus.DONE);
+        assertThat(trade.getExecutedVolume()).isEqualByComparingTo("248");
+        assertThat(trade.getPositionId()).isEqualTo(77L);
+        verify(api).getOrder("ex-23");
+        ArgumentCaptor<Position> pos = ArgumentCaptor.forClass(Position.class);
+        verify(posRepo).save(pos.capture());
+        assertThat(pos.getValue().getStopLossPrice()).isEqualByComparingTo("985");
+        assertThat(pos.getValue().getTakeProfitPrice()).isEqualByComparingTo("1030");
+    }
+
+    @Test
+    void sweep_cancelWithExecutedVolume_withoutTradesInDetail_staysSubmitted() {
+        Trade trade = submitted("cid-24", LocalDateTime.now().minusSeconds(30));
+        when(tradeRepo.findByStatus(TradeStatus.SUBMITTED)).thenReturn(List.of(trade));
+        when(api.getRecentOrders(MARKET, "cancel", 1, 100))
+                .thenReturn(List.of(withCid(cancelWithFill("ex-24", List.of()), "cid-24")));
+        when(api.getOrder("ex-24")).thenReturn(cancelWithFill("ex-24", List.of()));
+
+        svc.reconcileSubmittedOrders(MARKET);
+
+        // 체결량이 있으면 CANCEL 로 닫지 않는다 — 체결가를 확보할 때까지 SUBMITTED 로 남아 다음 틱 재시도
+        assertThat(trade.getStatus()).isEqualTo(TradeStatus.SUBMITTED);
+        verify(tradeRepo, never()).save(any());
+        verify(posRepo, never()).save(any());
+    }
+
+    @Test
+    void sweep_unlistedStragglers_perOrderLookupCappedPerTick() {
+        List<Trade> backlog = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            backlog.add(submitted("cid-s-" + i, LocalDateTime.now().minusSeconds(30)));
+        }
+        when(tradeRepo.findByStatus(TradeStatus.SUBMITTED)).thenReturn(backlog);
+
+        svc.reconcileSubmittedOrders(MARKET);
+
+        // 목록에 없는 주문만 개별 재조회 — 틱당 3건 상한, 나머지는 다음 틱
+        verify(api, org.mockito.Mockito.times(3)).getOrderByClientOrderId(anyString());
+    }
+
+    @Test
+    void sweep_listedDoneWithoutTrades_detailLookupCappedPerTick_restNextTick() {
+        List<Trade> backlog = new ArrayList<>();
+        List<BithumbOrderResponse> listed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            backlog.add(submitted("cid-d-" + i, LocalDateTime.now().minusSeconds(30)));
+            listed.add(withCid(stateOnly("ex-d-" + i, "done"), "cid-d-" + i));
+            when(api.getOrder("ex-d-" + i)).thenReturn(buyFill("ex-d-" + i));
+        }
+        when(tradeRepo.findByStatus(TradeStatus.SUBMITTED)).thenReturn(backlog);
+        when(api.getRecentOrders(MARKET, "done", 1, 100)).thenReturn(listed);
+
+        svc.reconcileSubmittedOrders(MARKET);
+
+        verify(api, org.mockito.Mockito.times(3)).getOrder(anyString());
+        assertThat(backlog).filteredOn(t -> t.getStatus() == TradeStatus.DONE).hasSize(3);
+
+        // 다음 틱: 남은 SUBMITTED 2건만 상세 조회
+        when(tradeRepo.findByStatus(TradeStatus.SUBMITTED))
+                .thenReturn(backlog.stream().filter(t -> t.getStatus() == TradeStatus.SUBMITTED).toList());
+        svc.reconcileSubmittedOrders(MARKET);
+
+        verify(api, org.mockito.Mockito.times(5)).getOrder(anyString());
+        assertThat(backlog).allMatch(t -> t.getStatus() == TradeStatus.DONE);
+        verify(api, never()).getOrderByClientOrderId(anyString());
+    }
+
     // ==================== executeSell: 매도 선영속화 (§8-B 확장) ====================
 
     /** 1100원 × 10개 매도 체결, 수수료 27.5 (PersistenceTest 와 동일 픽스처). */
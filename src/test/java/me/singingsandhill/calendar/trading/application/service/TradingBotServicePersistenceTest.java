@@ -1,5 +1,7 @@
 package me.singingsandhill.calendar.trading.application.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.trading.application.observability.TradingBotMetrics;
 import me.singingsandhill.calendar.trading.domain.position.Position;
 import me.singingsandhill.calendar.trading.domain.position.PositionRepository;
 import me.singingsandhill.calendar.trading.domain.position.PositionStatus;
@@ -42,7 +44,8 @@ class TradingBotServicePersistenceTest {
                                       PositionRepository posRepo, TradingCircuitBreaker breaker) {
         PlatformTransactionManager txm = mock(PlatformTransactionManager.class);
         return new TradingBotService(null, null, null, null, null, api, tradeRepo, posRepo,
-                new TradingProperties(), mock(TradingEventService.class), breaker, null, txm);
+                new TradingProperties(), mock(TradingEventService.class), breaker, null, txm,
+                new TradingBotMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
@@ -1,5 +1,7 @@
 package me.singingsandhill.calendar.trading.application.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.singingsandhill.calendar.trading.application.observability.TradingBotMetrics;
 import me.singingsandhill.calendar.trading.domain.account.AccountSnapshotRepository;
 import me.singingsandhill.calendar.trading.domain.position.Position;
 import me.singingsandhill.calendar.trading.domain.position.PositionRepository;
@@ -92,7 +94,8 @@ class TradingV2LostResponseSweepTest {
         PlatformTransactionManager txm = mock(PlatformTransactionManager.class);
 
         svc = new TradingBotService(null, null, indicators, risk, rebalance, api, tradeRepo, posRepo,
-                props, mock(TradingEventService.class), breaker, snapRepo, txm);
+                props, mock(TradingEventService.class), breaker, snapRepo, txm,
+                new TradingBotMetrics(new SimpleMeterRegistry()));
 
         // 가드 통과 셋업
         when(breaker.isEntryBlocked(any(), any())).thenReturn(false);
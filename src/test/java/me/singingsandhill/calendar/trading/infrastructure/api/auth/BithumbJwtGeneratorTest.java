@@ -0,0 +1,111 @@
+package me.singingsandhill.calendar.trading.infrastructure.api.auth;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import me.singingsandhill.calendar.trading.infrastructure.config.TradingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 서명 키 재사용 + query_hash 캐시가 토큰 형식(클레임·서명)을 바꾸지 않는지 검증한다.
+ * 캐시는 반복 조회 파라미터에만 쓰이고 LRU 상한을 넘지 않는다.
+ */
+class BithumbJwtGeneratorTest {
+
+    private static final String SECRET = "test-secret-key";
+
+    private BithumbJwtGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        TradingProperties props = new TradingProperties();
+        props.getBithumb().setAccessKey("test-access-key");
+        props.getBithumb().setSecretKey(SECRET);
+        generator = new BithumbJwtGenerator(props);
+    }
+
+    private DecodedJWT verify(String header) {
+        assertThat(header).startsWith("Bearer ");
+        return JWT.require(Algorithm.HMAC256(SECRET)).build().verify(header.substring("Bearer ".length()));
+    }
+
+    private String sha512Hex(String input) throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-512");
+        return HexFormat.of().formatHex(md.digest(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void parameterlessToken_isSignedWithCachedKey_andHasNoQueryHash() {
+        DecodedJWT jwt = verify(generator.generateAuthorizationHeader());
+
+        assertThat(jwt.getClaim("access_key").asString()).isEqualTo("test-access-key");
+        assertThat(jwt.getClaim("nonce").asString()).isNotBlank();
+        assertThat(jwt.getClaim("query_hash").isMissing()).isTrue();
+    }
+
+    @Test
+    void paramToken_queryHashMatchesSha512OfQueryString() throws Exception {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("market", "KRW-ADA");
+        params.put("page", 1);
+
+        DecodedJWT jwt = verify(generator.generateAuthorizationHeader(params));
+
+        assertThat(jwt.getClaim("query_hash").asString()).isEqualTo(sha512Hex("market=KRW-ADA&page=1"));
+        assertThat(jwt.getClaim("query_hash_alg").asString()).isEqualTo("SHA512");
+    }
+
+    @Test
+    void repeatableQueryHash_isCachedPerQueryString() {
+        String first = generator.repeatableQueryHash(Map.of("market", "KRW-ADA"));
+        String second = generator.repeatableQueryHash(Map.of("market", "KRW-ADA"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(generator.repeatableQueryHash(Map.of("market", "KRW-BTC"))).isNotEqualTo(first);
+    }
+
+    @Test
+    void orderQueryHash_bypassesCache() {
+        Map<String, Object> order = Map.of("market", "KRW-ADA", "client_order_id", "cid-1");
+
+        String first = generator.queryHash(order);
+        String second = generator.queryHash(order);
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+    }
+
+    @Test
+    void repeatableQueryHash_evictsLeastRecentlyUsedPastLimit() {
+        String hot = generator.repeatableQueryHash(Map.of("market", "KRW-ADA"));
+        String cold = generator.repeatableQueryHash(Map.of("market", "KRW-BTC"));
+        for (int i = 0; i < BithumbJwtGenerator.QUERY_HASH_CACHE_LIMIT - 1; i++) {
+            generator.repeatableQueryHash(Map.of("market", "KRW-ADA"));
+            generator.repeatableQueryHash(Map.of("uuid", "order-" + i));
+        }
+
+        assertThat(generator.repeatableQueryHash(Map.of("market", "KRW-ADA"))).isSameAs(hot);
+        assertThat(generator.repeatableQueryHash(Map.of("market", "KRW-BTC"))).isNotSameAs(cold);
+    }
+
+    @Test
+    void precomputedQueryHash_freshNoncePerToken() {
+        String hash = generator.repeatableQueryHash(Map.of("market", "KRW-ADA"));
+
+        DecodedJWT a = verify(generator.generateAuthorizationHeaderWithQueryHash(hash));
+        DecodedJWT b = verify(generator.generateAuthorizationHeaderWithQueryHash(hash));
+
+        // 재시도마다 nonce 는 새로, query_hash 는 그대로
+        assertThat(a.getClaim("nonce").asString()).isNotEqualTo(b.getClaim("nonce").asString());
+        assertThat(a.getClaim("query_hash").asString()).isEqualTo(hash);
+        assertThat(b.getClaim("query_hash").asString()).isEqualTo(hash);
+    }
+}
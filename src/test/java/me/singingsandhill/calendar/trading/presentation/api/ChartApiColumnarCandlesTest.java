@@ -0,0 +1,92 @@
+package me.singingsandhill.calendar.trading.presentation.api;
+
+import me.singingsandhill.calendar.trading.application.service.CandleService;
+import me.singingsandhill.calendar.trading.application.service.IndicatorService;
+import me.singingsandhill.calendar.trading.domain.candle.Candle;
+import me.singingsandhill.calendar.trading.domain.candle.CandleRepository;
+import me.singingsandhill.calendar.trading.domain.trade.TradeRepository;
+import me.singingsandhill.calendar.trading.infrastructure.api.BithumbApiClient;
+import me.singingsandhill.calendar.trading.infrastructure.config.TradingProperties;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 차트 폴링(컬럼형) 캔들: 최신 캔들이 그대로면 If-None-Match 로 304, since 는 그 시각 이후만 오름차순으로 내린다.
+ */
+class ChartApiColumnarCandlesTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDateTime T = LocalDateTime.of(2026, 5, 30, 12, 0);
+
+    private final TradingProperties props = new TradingProperties();
+    private final String market = props.getBot().getMarket();
+    private final CandleRepository repo = mock(CandleRepository.class);
+    private final ChartApiController controller = new ChartApiController(
+            new CandleService(repo, mock(BithumbApiClient.class), props),
+            mock(IndicatorService.class), mock(BithumbApiClient.class), props, mock(TradeRepository.class));
+
+    private Candle candle(LocalDateTime time) {
+        BigDecimal c = BigDecimal.valueOf(100);
+        return new Candle(null, market, time, c, c, c, c, BigDecimal.ONE, BigDecimal.ONE, time);
+    }
+
+    private static long epoch(LocalDateTime time) {
+        return time.atZone(KST).toEpochSecond();
+    }
+
+    @Test
+    void unchangedLatestCandle_answers304_newCandleChangesEtag() {
+        when(repo.findLatestByMarket(market)).thenReturn(Optional.of(candle(T)));
+        when(repo.findByMarketOrderByDateTimeDesc(market, 200)).thenReturn(List.of(candle(T), candle(T.minusMinutes(1))));
+
+        ResponseEntity<ChartApiController.ColumnarCandleResponse> first = controller.getColumnarCandles(200, null, null);
+        String etag = first.getHeaders().getETag();
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody().t()).containsExactly(epoch(T.minusMinutes(1)), epoch(T));
+
+        ResponseEntity<ChartApiController.ColumnarCandleResponse> cached = controller.getColumnarCandles(200, null, etag);
+        assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(cached.getBody()).isNull();
+        verify(repo, times(1)).findByMarketOrderByDateTimeDesc(anyString(), anyInt());
+
+        when(repo.findLatestByMarket(market)).thenReturn(Optional.of(candle(T.plusMinutes(1))));
+        ResponseEntity<ChartApiController.ColumnarCandleResponse> next = controller.getColumnarCandles(200, null, etag);
+        assertThat(next.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(next.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void since_returnsCandlesFromThatTimeAscending_boundedByKstNow() {
+        when(repo.findLatestByMarket(market)).thenReturn(Optional.of(candle(T)));
+        when(repo.findByMarketAndDateTimeRange(eq(market), eq(T.minusMinutes(1)), any()))
+                .thenReturn(List.of(candle(T), candle(T.minusMinutes(1))));
+
+        ResponseEntity<ChartApiController.ColumnarCandleResponse> response =
+                controller.getColumnarCandles(200, epoch(T.minusMinutes(1)), null);
+
+        assertThat(response.getBody().t()).containsExactly(epoch(T.minusMinutes(1)), epoch(T));
+        verify(repo, never()).findByMarketOrderByDateTimeDesc(anyString(), anyInt());
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repo).findByMarketAndDateTimeRange(eq(market), eq(T.minusMinutes(1)), to.capture());
+        assertThat(to.getValue()).isAfter(LocalDateTime.now(KST));
+    }
+}
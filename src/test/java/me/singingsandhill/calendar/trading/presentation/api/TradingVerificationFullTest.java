@@ -0,0 +1,65 @@
+package me.singingsandhill.calendar.trading.presentation.api;
+
+import me.singingsandhill.calendar.trading.domain.position.PositionRepository;
+import me.singingsandhill.calendar.trading.domain.trade.TradeRepository;
+import me.singingsandhill.calendar.trading.infrastructure.api.BithumbApiClient;
+import me.singingsandhill.calendar.trading.infrastructure.api.auth.BithumbJwtGenerator;
+import me.singingsandhill.calendar.trading.infrastructure.config.TradingProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * /full 팬아웃: 검증 항목이 동시에 돌고, 느린 항목 하나가 타임아웃돼도 나머지 결과는 그대로 나온다.
+ */
+class TradingVerificationFullTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void slowCheckTimesOut_othersStillReportWithLatency() {
+        BithumbApiClient api = mock(BithumbApiClient.class);
+        BithumbJwtGenerator jwt = mock(BithumbJwtGenerator.class);
+        TradeRepository tradeRepo = mock(TradeRepository.class);
+        PositionRepository posRepo = mock(PositionRepository.class);
+        when(jwt.isConfigured()).thenReturn(false);
+        when(tradeRepo.findByMarketOrderByCreatedAtDesc(anyString(), anyInt(), anyInt())).thenReturn(List.of());
+        when(posRepo.findByMarketOrderByOpenedAtDesc(anyString(), anyInt(), anyInt())).thenReturn(List.of());
+
+        CountDownLatch never = new CountDownLatch(1);
+        when(api.getOrderbook()).thenAnswer(inv -> {
+            never.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        TradingVerificationApiController controller = new TradingVerificationApiController(
+                api, jwt, new TradingProperties(), tradeRepo, posRepo, Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        Map<String, Object> result = controller.fullVerification().getBody();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        never.countDown();
+
+        assertThat(elapsedMs).isLessThan(3_000);
+        assertThat(result).containsKeys("config", "price", "balance", "recentTrades", "recentPositions",
+                "totalLatencyMs");
+
+        Map<String, Object> price = (Map<String, Object>) result.get("price");
+        assertThat(price).containsEntry("success", false).containsEntry("timedOut", true);
+
+        Map<String, Object> trades = (Map<String, Object>) result.get("recentTrades");
+        assertThat(trades).containsEntry("success", true).containsKey("latencyMs");
+
+        Map<String, Object> balance = (Map<String, Object>) result.get("balance");
+        assertThat(balance).containsEntry("skipped", true);
+    }
+}